@@ -0,0 +1,63 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A class used to measure appending a single record to a {@link TextBlock} that is used again for every batch,
+ * the way our writer threads use it. Run with {@code -prof gc}, once warmed up, an appended record should not
+ * allocate a single byte, {@code gc.alloc.rate.norm} should stay at zero.
+ * <p>
+ * The records share their date like the records of a batch do, and hold color codes and characters that take
+ * up more than a single byte once encoded.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextBlockBenchmark
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final String DATE = "2022-01-05 10:15:00";
+	private static final int BATCH_SIZE = 512;
+	private static final String[] MESSAGES = {
+			"&aNotch &7broke &eDIAMOND_ORE &7at 12,64,-30",
+			"Notch placed TORCH at 12,65,-30",
+			"§bNotch§r said: ça marche, ünïcödé ✓",
+			"Notch executed /home base"
+	};
+	private final TextBlock block = new TextBlock();
+	private long timestamp;
+	
+	/**
+	 * A method used to append a single record to our block, the block is cleared once it holds a full batch.
+	 *
+	 * @return Length of the block, so the appended record is never optimized away
+	 * @since 1.3
+	 */
+	@Benchmark
+	public long append()
+	{
+		if (block.size() == BATCH_SIZE) {
+			block.clear();
+		}
+		int index = (int) (timestamp++ & 3);
+		
+		block.append(timestamp, DATE, MESSAGES[index], index + 1, 1);
+		return block.getLength();
+	}
+}
@@ -0,0 +1,94 @@
+package com.frostdeveloper.playerlogs.util;
+
+import com.frostdeveloper.playerlogs.definition.Variable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A class used to compare rendering a message through a compiled {@link Template} with the chain of
+ * {@code replaceAll} calls our placeholders were applied with before, one call for every variable we know of.
+ * The message holds the custom variables of a block event and a server variable, the way a module renders
+ * its configured message.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateBenchmark
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final String SOURCE = "%miner% broke %block_type% at %block_location% (%server_ram_used%MB used)";
+	private static final int MB = 1048576;
+	private final Map<String, Object> variables = new LinkedHashMap<>();
+	
+	/**
+	 * A constructor used to define the custom variables of our event.
+	 *
+	 * @since 1.3
+	 */
+	public TemplateBenchmark()
+	{
+		variables.put("%miner%", "Notch");
+		variables.put("%block_type%", "DIAMOND_ORE");
+		variables.put("%block_location%", "12,64,-30");
+	}
+	
+	/**
+	 * A method used to render our message through its cached template, within the context of an event.
+	 *
+	 * @return Rendered message
+	 * @since 1.3
+	 */
+	@Benchmark
+	public String render()
+	{
+		try (PlaceholderContext context = PlaceholderContext.obtain(null)) {
+			for (Map.Entry<String, Object> variable : variables.entrySet()) {
+				context.set(variable.getKey(), variable.getValue());
+			}
+			return Template.of(SOURCE).render(context);
+		}
+	}
+	
+	/**
+	 * A method used to render our message the way it was rendered before templates, every server variable
+	 * and every custom variable is replaced by its own call.
+	 *
+	 * @return Rendered message
+	 * @since 1.3
+	 */
+	@Benchmark
+	public String replaceAll()
+	{
+		Runtime r    = Runtime.getRuntime();
+		String input = SOURCE;
+		
+		// SERVER VARIABLES
+		input = input.replaceAll(Variable.RAM_USED.toVar(), String.valueOf((r.totalMemory() - r.freeMemory()) / MB));
+		input = input.replaceAll(Variable.RAM_TOTAL.toVar(), String.valueOf(r.totalMemory() / MB));
+		input = input.replaceAll(Variable.RAM_FREE.toVar(), String.valueOf(r.freeMemory() / MB));
+		input = input.replaceAll(Variable.RAM_MAX.toVar(), String.valueOf(r.maxMemory() / MB));
+		
+		// CUSTOM VARIABLES
+		for (Map.Entry<String, Object> variable : variables.entrySet()) {
+			input = input.replaceAll(variable.getKey(), String.valueOf(variable.getValue()));
+		}
+		return input;
+	}
+}
@@ -4,21 +4,31 @@ import com.frostdeveloper.api.FrostAPI;
 import com.frostdeveloper.api.exception.FailedMethodException;
 import com.frostdeveloper.api.handler.Report;
 import com.frostdeveloper.playerlogs.command.BaseCommand;
+import com.frostdeveloper.playerlogs.core.ConfigWatcher;
+import com.frostdeveloper.playerlogs.core.PlayerIndex;
+import com.frostdeveloper.playerlogs.core.SessionCache;
+import com.frostdeveloper.playerlogs.core.Configuration;
 import com.frostdeveloper.playerlogs.manager.CommandManager;
 import com.frostdeveloper.playerlogs.manager.ConfigManager;
 import com.frostdeveloper.playerlogs.manager.LocaleManager;
 import com.frostdeveloper.playerlogs.manager.ModuleManager;
+import com.frostdeveloper.playerlogs.service.AggregationService;
+import com.frostdeveloper.playerlogs.service.InspectService;
+import com.frostdeveloper.playerlogs.service.LogService;
 import com.frostdeveloper.playerlogs.service.MetricsService;
+import com.frostdeveloper.playerlogs.service.MigrationService;
+import com.frostdeveloper.playerlogs.service.RateLimitService;
+import com.frostdeveloper.playerlogs.service.RetentionService;
 import com.frostdeveloper.playerlogs.service.UpdateService;
 import com.frostdeveloper.playerlogs.util.Util;
 import me.clip.placeholderapi.PlaceholderAPIPlugin;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 public class PlayerLogs extends JavaPlugin
@@ -26,6 +36,24 @@ public class PlayerLogs extends JavaPlugin
 	// CLASS INSTANCES
 	private static PlayerLogs instance;
 	private FrostAPI api;
+	private Report report;
+	
+	// MANAGERS AND SERVICES
+	private ConfigManager configManager;
+	private LocaleManager localeManager;
+	private ModuleManager moduleManager;
+	private PlayerIndex playerIndex;
+	private SessionCache sessionCache;
+	private CommandManager commandManager;
+	private LogService logService;
+	private ConfigWatcher configWatcher;
+	private UpdateService updateService;
+	private MetricsService metricsService;
+	private RetentionService retentionService;
+	private InspectService inspectService;
+	private MigrationService migrationService;
+	private AggregationService aggregationService;
+	private RateLimitService rateLimitService;
 	
 	/**
 	 * A method invoked on plugin enable.
@@ -38,14 +66,30 @@ public class PlayerLogs extends JavaPlugin
 		try {
 			instance = this;
 			api      = FrostAPI.getInstance();
-			getLogger().setFilter(new LogFilter());
+			
+			// MEASURE HOW LONG ENABLING TAKES AND HOW OFTEN OUR CONFIGURATION FILES ARE PARSED WHILE DOING SO
+			long start = System.nanoTime();
+			int parses = Configuration.getParseCount();
+			initializeServices();
 			
 			getLocaleManager().initialize();
 			getConfigManager().initialize();
 			getModuleManager().initialize();
+			getPlayerIndex().initialize();
+			getSessionCache().initialize();
 			
+			// RECORDS THAT WERE NOT WRITTEN BEFORE A CRASH ARE RECOVERED FROM OUR JOURNAL FIRST
+			getLogService().initialize();
+			getAggregationService().initialize();
+			getRateLimitService().initialize();
+			getMigrationService().initialize();
+			getConfigWatcher().initialize();
 			getUpdateManager().initialize();
 			getMetricsService().initialize();
+			getRetentionService().initialize();
+			getInspectService().initialize();
+			
+			debug("plugin.enable.timing", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), Configuration.getParseCount() - parses);
 			
 			if (isPAPIHooked()) {
 				Plugin papi = getPlugin(PlaceholderAPIPlugin.class);
@@ -79,6 +123,116 @@ public class PlayerLogs extends JavaPlugin
 		}
 	}
 	
+	/**
+	 * A method invoked on plugin disable.
+	 *
+	 * @since 1.3
+	 */
+	@Override
+	public void onDisable()
+	{
+		try {
+			if (configWatcher != null) {
+				configWatcher.shutdown();
+			}
+			
+			if (moduleManager != null) {
+				moduleManager.getDispatcher().shutdown();
+			}
+			
+			if (aggregationService != null) {
+				aggregationService.shutdown();
+			}
+			
+			if (rateLimitService != null) {
+				rateLimitService.shutdown();
+			}
+			
+			if (migrationService != null) {
+				migrationService.shutdown();
+			}
+			
+			if (retentionService != null) {
+				retentionService.shutdown();
+			}
+			
+			if (logService != null) {
+				logService.shutdown();
+			}
+			
+			if (inspectService != null) {
+				inspectService.shutdown();
+			}
+			log("plugin.disable.success", getDescription().getVersion());
+		}
+		catch (Exception ex) {
+			log("plugin.disable.failed", getDescription().getVersion());
+			getReport().create(ex);
+		}
+		finally {
+			aggregationService = null;
+			rateLimitService   = null;
+			migrationService   = null;
+			inspectService     = null;
+			retentionService   = null;
+			metricsService     = null;
+			updateService      = null;
+			configWatcher      = null;
+			logService         = null;
+			commandManager     = null;
+			sessionCache       = null;
+			playerIndex        = null;
+			moduleManager      = null;
+			localeManager      = null;
+			configManager      = null;
+		}
+	}
+	
+	/**
+	 * A method used to create each of our managers and services exactly once. The order of creation matters
+	 * as later managers depend on the ones created before them.
+	 *
+	 * @since 1.3
+	 */
+	private void initializeServices()
+	{
+		report           = new Report(Util.toFile("crash-report/report.log"));
+		configManager    = new ConfigManager("config.yml", true);
+		localeManager    = new LocaleManager();
+		moduleManager    = new ModuleManager("modules.yml", true);
+		playerIndex      = new PlayerIndex(Util.toFile(moduleManager.getLogDirectory(), ".players"));
+		sessionCache     = new SessionCache();
+		migrationService = new MigrationService(Util.toFile(moduleManager.getLogDirectory(), ".migrations"));
+		commandManager   = new CommandManager();
+		getLogger().setFilter(new LogFilter());
+		
+		inspectService     = new InspectService();
+		logService         = new LogService();
+		aggregationService = new AggregationService();
+		rateLimitService   = new RateLimitService();
+		configWatcher      = new ConfigWatcher();
+		updateService      = new UpdateService();
+		metricsService     = new MetricsService();
+		retentionService   = new RetentionService();
+	}
+	
+	/**
+	 * A method used to reload our managers. Our configurations swap in a freshly parsed snapshot while our
+	 * locale manager and log filter are replaced by new instances, since the message file and debug state
+	 * depend on the values of the reloaded configuration.
+	 *
+	 * @since 1.3
+	 */
+	public void reload()
+	{
+		configManager.reload();
+		moduleManager.reload();
+		sessionCache.invalidate();
+		
+		localeManager = new LocaleManager();
+		getLogger().setFilter(new LogFilter());
+	}
+	
 	/**
 	 * A method used to verify that all requirements are met for the plugin to work.
 	 *
@@ -103,6 +257,24 @@ public class PlayerLogs extends JavaPlugin
 		}
 	}
 	
+	/**
+	 * A method used to verify our managers and refresh our services once our configuration was reloaded,
+	 * either by our reload command or by our config watcher. This method must be called from the main thread.
+	 *
+	 * @since 1.3
+	 */
+	public void initializeReload()
+	{
+		// VERIFY MANAGERS
+		initializeAudit();
+		getLocaleManager().initializeAudit();
+		getModuleManager().initializeAudit();
+		
+		// REFRESH SERVICES THAT CACHE OUR CONFIGURATION
+		getRateLimitService().refresh();
+		getAggregationService().refresh();
+	}
+	
 	/**
 	 * A method used to return whether this plugin is in developer mode.
 	 *
@@ -278,58 +450,132 @@ public class PlayerLogs extends JavaPlugin
 	 * @return Report handler
 	 * @since 1.2
 	 */
-	public Report getReport() { return new Report(Util.toFile("crash-report/report.log")); }
-
+	public Report getReport()
+	{
+		if (report == null) {
+			return new Report(Util.toFile("crash-report/report.log"));
+		}
+		return report;
+	}
+	
 	/**
-	 * A method used to return an instance of the MetricsService class
+	 * A method used to return the instance of our LogService class, this service is created once
+	 * the plugin is enabled and is shared by all modules.
+	 *
+	 * @return LogService class
+	 * @since 1.3
+	 */
+	public LogService getLogService()                  { return logService;     }
+	
+	/**
+	 * A method used to return the instance of our ConfigWatcher class
+	 *
+	 * @return ConfigWatcher class
+	 * @since 1.3
+	 */
+	public ConfigWatcher getConfigWatcher()            { return configWatcher;  }
+	
+	/**
+	 * A method used to return the instance of our MetricsService class
 	 *
 	 * @return MetricsService class
 	 * @since 1.0
 	 */
-	@Contract (" -> new")
-	public @NotNull MetricsService getMetricsService() { return new MetricsService();        }
-
+	public MetricsService getMetricsService()          { return metricsService; }
+	
+	/**
+	 * A method used to return the instance of our RetentionService class
+	 *
+	 * @return RetentionService class
+	 * @since 1.3
+	 */
+	public RetentionService getRetentionService()      { return retentionService; }
+	
+	/**
+	 * A method used to return the instance of our InspectService class
+	 *
+	 * @return InspectService class
+	 * @since 1.3
+	 */
+	public InspectService getInspectService()          { return inspectService; }
+	
 	/**
-	 * A method used to return an instance of the UpdateService class
+	 * A method used to return the instance of our MigrationService class
+	 *
+	 * @return MigrationService class
+	 * @since 1.3
+	 */
+	public MigrationService getMigrationService()      { return migrationService; }
+	
+	/**
+	 * A method used to return the instance of our AggregationService class
+	 *
+	 * @return AggregationService class
+	 * @since 1.3
+	 */
+	public AggregationService getAggregationService()  { return aggregationService; }
+	
+	/**
+	 * A method used to return the instance of our RateLimitService class
+	 *
+	 * @return RateLimitService class
+	 * @since 1.3
+	 */
+	public RateLimitService getRateLimitService()      { return rateLimitService; }
+	
+	/**
+	 * A method used to return the instance of our UpdateService class
 	 *
 	 * @return UpdateService class
 	 * @since 1.0
 	 */
-	@Contract (" -> new")
-	public @NotNull UpdateService getUpdateManager()   { return new UpdateService();         }
+	public UpdateService getUpdateManager()            { return updateService;  }
 	
 	/**
-	 * A method used to get an instance of the ModuleManager class
+	 * A method used to return the instance of our ModuleManager class
 	 *
 	 * @return ModuleManager instance;
 	 * @since 1.1
 	 */
-	@Contract (" -> new")
-	public @NotNull ModuleManager getModuleManager()   { return new ModuleManager("modules.yml", true); }
-
+	public ModuleManager getModuleManager()            { return moduleManager;  }
+	
+	/**
+	 * A method used to return the instance of our PlayerIndex class
+	 *
+	 * @return PlayerIndex instance
+	 * @since 1.3
+	 */
+	public PlayerIndex getPlayerIndex()                { return playerIndex;    }
+	
 	/**
-	 * A method used to return an instance of the ConfigManager class
+	 * A method used to return the instance of our SessionCache class
+	 *
+	 * @return SessionCache instance
+	 * @since 1.3
+	 */
+	public SessionCache getSessionCache()              { return sessionCache;   }
+	
+	/**
+	 * A method used to return the instance of our ConfigManager class
 	 *
 	 * @return ConfigManager class
 	 * @since 1.0
 	 */
-	@Contract (" -> new")
-	public @NotNull ConfigManager getConfigManager() { return new ConfigManager("config.yml", true); }
-
+	public ConfigManager getConfigManager()            { return configManager;  }
+	
 	/**
-	 * A method used to return an instance of the LocaleManager class
+	 * A method used to return the instance of our LocaleManager class
 	 *
 	 * @return LocaleManager class
 	 * @since 1.0
 	 * */
-	@Contract (" -> new")
-	public @NotNull LocaleManager getLocaleManager()   { return new LocaleManager();         }
+	public LocaleManager getLocaleManager()            { return localeManager;  }
 	
 	/**
-	 * A method used to return an instance of the CommandManager class
+	 * A method used to return the instance of our CommandManager class
 	 *
 	 * @return CommandManager class
 	 * @since 1.2
 	 */
-	public @NotNull CommandManager getCommandManager() { return new CommandManager();        }
+	public CommandManager getCommandManager()          { return commandManager; }
 }
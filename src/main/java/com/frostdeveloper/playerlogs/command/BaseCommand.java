@@ -3,12 +3,19 @@ package com.frostdeveloper.playerlogs.command;
 import com.frostdeveloper.api.FrostAPI;
 import com.frostdeveloper.playerlogs.PlayerLogs;
 import com.frostdeveloper.playerlogs.definition.Permission;
-import com.frostdeveloper.playerlogs.manager.ConfigManager;
+import com.frostdeveloper.playerlogs.definition.StorageType;
 import com.frostdeveloper.playerlogs.manager.LocaleManager;
 import com.frostdeveloper.playerlogs.manager.ModuleManager;
+import com.frostdeveloper.playerlogs.model.LogQuery;
+import com.frostdeveloper.playerlogs.model.LogRecord;
 import com.frostdeveloper.playerlogs.model.Module;
+import com.frostdeveloper.playerlogs.service.MigrationService;
+import com.frostdeveloper.playerlogs.service.RetentionService;
 import com.frostdeveloper.playerlogs.service.UpdateService;
+import com.frostdeveloper.playerlogs.storage.SegmentExporter;
 import com.frostdeveloper.playerlogs.util.Util;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -17,9 +24,12 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A class used to implement necessary methods required to make our base command work as intended
@@ -32,11 +42,12 @@ public class BaseCommand implements CommandExecutor, TabCompleter
 	// CLASS INSTANCES
 	private final PlayerLogs plugin     = PlayerLogs.getInstance();
 	private final FrostAPI api          = plugin.getFrostAPI();
-	private final ConfigManager config  = plugin.getConfigManager();
 	private final ModuleManager module  = plugin.getModuleManager();
-	private final LocaleManager locale  = plugin.getLocaleManager();
 	private final UpdateService updater = plugin.getUpdateManager();
 	
+	// CLASS SPECIFIC OBJECTS
+	private static final int PAGE_SIZE = 10;
+	
 	/**
 	 * Executes the given command, returning its success.
 	 * <br>
@@ -70,13 +81,27 @@ public class BaseCommand implements CommandExecutor, TabCompleter
 					executeReload(sender);
 					return true;
 				case "help":
-				case "purge":
 					executeUnsupported(sender);
 					return true;
+				case "purge":
+					executePurge(sender, label, args);
+					return true;
+				case "search":
+					executeSearch(sender, label, args);
+					return true;
+				case "inspect":
+					executeInspect(sender);
+					return true;
+				case "migrate":
+					executeMigrate(sender, label, args);
+					return true;
 				case "modules":
 				case "module":
 					executeModule(sender, command, label, args);
 					return true;
+				case "export":
+					executeExport(sender);
+					return true;
 				default:
 					executeInvalid(sender, command, label);
 					return true;
@@ -123,14 +148,8 @@ public class BaseCommand implements CommandExecutor, TabCompleter
 	{
 		if (Permission.isPermitted(sender, Permission.CMD_RELOAD)) {
 			// CONFIGURATION RELOAD
-			config.reload();
-			locale.reload();
-			module.reload();
-			
-			// VERIFY MANAGERS
-			plugin.initializeAudit();
-			locale.initializeAudit();
-			module.initializeAudit();
+			plugin.reload();
+			plugin.initializeReload();
 			
 			if (sender instanceof Player) {
 				sendMessage(sender, "plugin.reload.success");
@@ -204,6 +223,213 @@ public class BaseCommand implements CommandExecutor, TabCompleter
 		}
 	}
 	
+	/**
+	 * A method used to execute our export task. Every binary segment is rendered back into our text format,
+	 * the export runs in the background so the server does not have to wait for it.
+	 *
+	 * @param sender Entity that executed the command
+	 * @since 1.3
+	 */
+	private void executeExport(CommandSender sender)
+	{
+		if (Permission.isPermitted(sender, Permission.CMD_EXPORT)) {
+			File target = Util.toFile(module.getLogDirectory(), "export");
+			sendMessage(sender, "export.segment.start", target.getPath());
+			
+			Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+				try {
+					long count = SegmentExporter.exportAll(target);
+					sendMessage(sender, "export.segment.success", count, target.getPath());
+				}
+				catch (IOException ex) {
+					plugin.getReport().create(ex);
+					sendMessage(sender, "export.segment.failed");
+				}
+			});
+		}
+		else {
+			executeNoAccess(sender);
+		}
+	}
+	
+	/**
+	 * A method used to execute our purge task. Logs of a module, a player or every log older than the given
+	 * age are removed in the background, the sender is notified of the progress while the purge runs.
+	 *
+	 * @param sender Entity that executed the command
+	 * @param label The label used to execute command
+	 * @param args Passed command arguments
+	 * @since 1.3
+	 */
+	private void executePurge(CommandSender sender, String label, String[] args)
+	{
+		if (Permission.isPermitted(sender, Permission.CMD_PURGE)) {
+			if (args.length != 3) {
+				String usage = api.format("/{0} purge <module|player|all> <age>", label);
+				executeInvalid(sender, label, usage);
+				return;
+			}
+			
+			long age = Util.toDuration(args[2]);
+			
+			if (age <= 0) {
+				sendMessage(sender, "purge.age.invalid", args[2]);
+				return;
+			}
+			
+			// RESOLVE TARGET, MODULES TAKE PRIORITY OVER PLAYERS
+			boolean all          = args[1].equalsIgnoreCase("all");
+			Module target        = all ? null : module.getModule(args[1]);
+			OfflinePlayer player = all || target != null ? null : Util.getOfflinePlayer(args[1]);
+			
+			if (!all && target == null && player == null) {
+				sendMessage(sender, "purge.target.unknown", args[1]);
+				return;
+			}
+			
+			long cutoff = System.currentTimeMillis() - age;
+			sendMessage(sender, "purge.start", args[1], args[2]);
+			
+			Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+				RetentionService.Result result = plugin.getRetentionService().purge(target, player, cutoff, (deleted, total) -> {
+					sendMessage(sender, "purge.progress", deleted, total);
+				});
+				
+				if (result == null) {
+					sendMessage(sender, "purge.busy");
+				}
+				else {
+					sendMessage(sender, "purge.success", result.getFiles(), result.getRecords());
+				}
+			});
+		}
+		else {
+			executeNoAccess(sender);
+		}
+	}
+	
+	/**
+	 * A method used to execute our search task. The query is parsed right away so that the sender is told
+	 * about invalid filters, the search itself runs in the background and returns a single page of results.
+	 *
+	 * @param sender Entity that executed the command
+	 * @param label The label used to execute command
+	 * @param args Passed command arguments
+	 * @since 1.3
+	 */
+	private void executeSearch(CommandSender sender, String label, String[] args)
+	{
+		if (Permission.isPermitted(sender, Permission.CMD_SEARCH)) {
+			StorageType storage = plugin.getLogService().getStorageType();
+			
+			if (args.length < 2) {
+				String usage = api.format("/{0} search [player:<name>] [module:<module>] [since:<age>] [until:<age>] [contains:<text>] [page:<page>]", label);
+				executeInvalid(sender, label, usage);
+				return;
+			}
+			
+			LogQuery query;
+			
+			try {
+				query = LogQuery.parse(args, 1);
+			}
+			catch (IllegalArgumentException ex) {
+				sendMessage(sender, "search.query.invalid", ex.getMessage());
+				return;
+			}
+			
+			Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+				try {
+					long start = System.nanoTime();
+					List<LogRecord> results = storage.search(query, (query.getPage() - 1) * PAGE_SIZE, PAGE_SIZE + 1);
+					long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+					
+					if (results.isEmpty()) {
+						sendMessage(sender, "search.result.empty", elapsed);
+						return;
+					}
+					sendMessage(sender, "search.result.header", query.getPage(), elapsed);
+					
+					for (LogRecord record : results.subList(0, Math.min(PAGE_SIZE, results.size()))) {
+						sendMessage(sender, "search.result.line", record.getDate(), record.getMessage());
+					}
+					
+					if (results.size() > PAGE_SIZE) {
+						sendMessage(sender, "search.result.next", query.getPage() + 1);
+					}
+				}
+				catch (IOException ex) {
+					plugin.getReport().create(ex);
+					sendMessage(sender, "search.failed");
+				}
+			});
+		}
+		else {
+			executeNoAccess(sender);
+		}
+	}
+	
+	/**
+	 * A method used to execute our inspect task, it toggles inspect mode for the sender. While in inspect
+	 * mode, clicking a block returns its history instead of changing it.
+	 *
+	 * @param sender Entity that executed the command
+	 * @since 1.3
+	 */
+	private void executeInspect(CommandSender sender)
+	{
+		if (Permission.isPermitted(sender, Permission.CMD_INSPECT)) {
+			if (!(sender instanceof Player)) {
+				sendMessage(sender, "inspect.player.only");
+				return;
+			}
+			
+			if (plugin.getInspectService().toggle((Player) sender)) {
+				sendMessage(sender, "inspect.enabled");
+			}
+			else {
+				sendMessage(sender, "inspect.disabled");
+			}
+		}
+		else {
+			executeNoAccess(sender);
+		}
+	}
+	
+	/**
+	 * A method used to execute our migrate task, it lists the progress of every migration we know of.
+	 *
+	 * @param sender Entity that executed the command
+	 * @param label The label used to execute command
+	 * @param args Passed command arguments
+	 * @since 1.3
+	 */
+	private void executeMigrate(CommandSender sender, String label, String[] args)
+	{
+		if (Permission.isPermitted(sender, Permission.CMD_MIGRATE)) {
+			if (args.length != 2 || !args[1].equalsIgnoreCase("status")) {
+				String usage = api.format("/{0} migrate status", label);
+				executeInvalid(sender, label, usage);
+				return;
+			}
+			
+			List<MigrationService.Job> jobs = plugin.getMigrationService().getJobs();
+			
+			if (jobs.isEmpty()) {
+				sendMessage(sender, "migrate.status.empty");
+				return;
+			}
+			sendMessage(sender, "migrate.status.header");
+			
+			for (MigrationService.Job job : jobs) {
+				sendMessage(sender, "migrate.status.line", job.getIdentifier(), job.getState().name().toLowerCase(), job.getDone(), job.getTotal());
+			}
+		}
+		else {
+			executeNoAccess(sender);
+		}
+	}
+	
 	/*
 	 * INVALID COMMAND HANDLERS
 	 */
@@ -283,6 +509,8 @@ public class BaseCommand implements CommandExecutor, TabCompleter
 	 */
 	private void sendMessage(@NotNull CommandSender sender, String message, Object... param)
 	{
+		LocaleManager locale = plugin.getLocaleManager();
+		
 		if (sender instanceof Player) {
 			sender.sendMessage(api.format(Util.getPrefix() + Util.format(locale.getMessage(message)), param));
 		}
@@ -316,6 +544,21 @@ public class BaseCommand implements CommandExecutor, TabCompleter
 				api.addToList(options,"reload", Permission.isPermitted(sender, Permission.CMD_RELOAD));
 				api.addToList(options,"update", Permission.isPermitted(sender, Permission.CMD_UPDATE));
 				api.addToList(options, "module", Permission.isPermitted(sender, Permission.CMD_MODULE));
+				api.addToList(options, "export", Permission.isPermitted(sender, Permission.CMD_EXPORT));
+				api.addToList(options, "purge", Permission.isPermitted(sender, Permission.CMD_PURGE));
+				api.addToList(options, "search", Permission.isPermitted(sender, Permission.CMD_SEARCH));
+				api.addToList(options, "inspect", Permission.isPermitted(sender, Permission.CMD_INSPECT));
+				api.addToList(options, "migrate", Permission.isPermitted(sender, Permission.CMD_MIGRATE));
+				return options;
+			}
+			
+			// /playerlog search <you are here>
+			if (args.length >= 2 && args[0].equalsIgnoreCase("search")) {
+				List<String> options = new ArrayList<>();
+				
+				for (String filter : new String[] { "player:", "module:", "since:", "until:", "contains:", "page:" }) {
+					api.addToList(options, filter, Permission.isPermitted(sender, Permission.CMD_SEARCH));
+				}
 				return options;
 			}
 			
@@ -326,10 +569,34 @@ public class BaseCommand implements CommandExecutor, TabCompleter
 					api.addToList(options, "info", Permission.isPermitted(sender, Permission.CMD_MODULE_INFO));
 					return options;
 				}
+				
+				if (args[0].equalsIgnoreCase("migrate")) {
+					List<String> options = new ArrayList<>();
+					api.addToList(options, "status", Permission.isPermitted(sender, Permission.CMD_MIGRATE));
+					return options;
+				}
+				
+				if (args[0].equalsIgnoreCase("purge")) {
+					List<String> options = new ArrayList<>();
+					api.addToList(options, "all", Permission.isPermitted(sender, Permission.CMD_PURGE));
+					
+					for (Module current : module.getMasterList()) {
+						api.addToList(options, current.getIdentifier(), Permission.isPermitted(sender, Permission.CMD_PURGE));
+					}
+					return options;
+				}
 			}
 			
 			// /playerlog arg1 arg2 <you are here>
 			if (args.length == 3) {
+				if (args[0].equalsIgnoreCase("purge")) {
+					List<String> options = new ArrayList<>();
+					api.addToList(options, "30d", Permission.isPermitted(sender, Permission.CMD_PURGE));
+					api.addToList(options, "7d", Permission.isPermitted(sender, Permission.CMD_PURGE));
+					api.addToList(options, "12h", Permission.isPermitted(sender, Permission.CMD_PURGE));
+					return options;
+				}
+				
 				if (args[1].equalsIgnoreCase("info")) {
 					List<String> options = new ArrayList<>();
 					for (Module current : module.getMasterList()) {
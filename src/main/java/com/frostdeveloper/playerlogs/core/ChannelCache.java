@@ -0,0 +1,136 @@
+package com.frostdeveloper.playerlogs.core;
+
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A class used to keep a limited amount of log files open in append mode. Files are keyed by their resolved
+ * path, once the limit is reached the least recently used file is closed to make room for the next one.
+ * <p>
+ * This class is not thread-safe, every writer thread owns its own cache.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class ChannelCache
+{
+	// CLASS INSTANCES
+	private final PlayerLogs plugin = PlayerLogs.getInstance();
+	
+	// CLASS SPECIFIC OBJECTS
+	private final Map<Path, FileChannel> channels;
+	
+	/**
+	 * A constructor used to define the maximum amount of files this cache may keep open.
+	 *
+	 * @param limit Maximum amount of open files
+	 * @since 1.3
+	 */
+	public ChannelCache(int limit)
+	{
+		final int capacity = Math.max(1, limit);
+		
+		this.channels = new LinkedHashMap<Path, FileChannel>(16, 0.75f, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Path, FileChannel> eldest)
+			{
+				if (size() > capacity) {
+					close(eldest.getValue());
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+	
+	/**
+	 * A method used to return an open channel for a file, if the file is not open yet, it will be opened
+	 * in append mode and created if it does not exist.
+	 *
+	 * @param file Target file
+	 * @return An open channel
+	 * @throws IOException Thrown if the file could not be opened
+	 * @since 1.3
+	 */
+	public @NotNull FileChannel get(@NotNull File file) throws IOException
+	{
+		Path path = toKey(file);
+		FileChannel channel = channels.get(path);
+		
+		if (channel == null || !channel.isOpen()) {
+			channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+			channels.put(path, channel);
+		}
+		return channel;
+	}
+	
+	/**
+	 * A method used to close the channel of a single file if it is open.
+	 *
+	 * @param file Target file
+	 * @since 1.3
+	 */
+	public void close(@NotNull File file)
+	{
+		FileChannel channel = channels.remove(toKey(file));
+		
+		if (channel != null) {
+			close(channel);
+		}
+	}
+	
+	/**
+	 * A method used to close all channels that are currently open.
+	 *
+	 * @since 1.3
+	 */
+	public void closeAll()
+	{
+		for (FileChannel channel : channels.values()) {
+			close(channel);
+		}
+		channels.clear();
+	}
+	
+	/**
+	 * A method used to return the amount of files currently open.
+	 *
+	 * @return Open file count
+	 * @since 1.3
+	 */
+	public int size() { return channels.size(); }
+	
+	/**
+	 * A method used to close a channel, if the channel fails to close, a report will be created.
+	 *
+	 * @param channel Target channel
+	 * @since 1.3
+	 */
+	private void close(@NotNull FileChannel channel)
+	{
+		try {
+			channel.close();
+		}
+		catch (IOException ex) {
+			plugin.getReport().create(ex);
+		}
+	}
+	
+	/**
+	 * A method used to resolve the key a file is stored under.
+	 *
+	 * @param file Target file
+	 * @return Resolved path
+	 * @since 1.3
+	 */
+	private @NotNull Path toKey(@NotNull File file) { return file.toPath().toAbsolutePath().normalize(); }
+}
@@ -0,0 +1,128 @@
+package com.frostdeveloper.playerlogs.core;
+
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A class used to watch our data folder for edited configuration files. Once a file is edited, the
+ * {@link Configuration} belonging to that file will swap in a freshly parsed snapshot. Our managers and
+ * services are then refreshed on the main thread, the same way our reload command does.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class ConfigWatcher
+{
+	// CLASS INSTANCES
+	private final PlayerLogs plugin = PlayerLogs.getInstance();
+	
+	// CLASS SPECIFIC OBJECTS
+	private WatchService service;
+	private Thread thread;
+	
+	/**
+	 * A method used to start watching our data folder.
+	 *
+	 * @since 1.3
+	 */
+	public void initialize()
+	{
+		try {
+			service = FileSystems.getDefault().newWatchService();
+			plugin.getDataFolder().toPath().register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+			
+			thread = new Thread(this::watch, "PlayerLogs-ConfigWatcher");
+			thread.setDaemon(true);
+			thread.start();
+		}
+		catch (IOException ex) {
+			plugin.getReport().create(ex);
+		}
+	}
+	
+	/**
+	 * A method used to stop watching our data folder.
+	 *
+	 * @since 1.3
+	 */
+	public void shutdown()
+	{
+		try {
+			if (service != null) {
+				service.close();
+			}
+		}
+		catch (IOException ex) {
+			plugin.getReport().create(ex);
+		}
+	}
+	
+	/**
+	 * A method used by our watcher thread to wait for file changes. Editors often write a file in several
+	 * steps, therefore changes are collected for a short moment before the configurations are reloaded.
+	 *
+	 * @since 1.3
+	 */
+	private void watch()
+	{
+		try {
+			while (true) {
+				WatchKey key = service.take();
+				Set<File> changed = new HashSet<>();
+				boolean reloaded  = false;
+				
+				do {
+					collect(key, changed);
+					key.reset();
+				}
+				while ((key = service.poll(250, TimeUnit.MILLISECONDS)) != null);
+				
+				for (File file : changed) {
+					try {
+						reloaded |= Configuration.reload(file);
+					}
+					catch (Exception ex) {
+						plugin.getReport().create(ex);
+					}
+				}
+				
+				if (reloaded && plugin.isEnabled()) {
+					// PLAYER DIRECTORIES DEPEND ON OUR CONFIGURATION, RESOLVE THEM AGAIN
+					plugin.getSessionCache().invalidate();
+					Bukkit.getScheduler().runTask(plugin, plugin::initializeReload);
+				}
+			}
+		}
+		catch (ClosedWatchServiceException | InterruptedException ignored) {}
+	}
+	
+	/**
+	 * A method used to collect the files that were changed for a watch key.
+	 *
+	 * @param key Target key
+	 * @param changed The collected files
+	 * @since 1.3
+	 */
+	private void collect(@NotNull WatchKey key, @NotNull Set<File> changed)
+	{
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.context() instanceof Path) {
+				changed.add(new File(plugin.getDataFolder(), event.context().toString()));
+			}
+		}
+	}
+}
@@ -7,7 +7,6 @@ import com.frostdeveloper.playerlogs.definition.Config;
 import com.frostdeveloper.playerlogs.util.Util;
 import com.google.common.base.Charsets;
 import com.tchristofferson.configupdater.ConfigUpdater;
-import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.jetbrains.annotations.NotNull;
@@ -17,6 +16,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A class used to handle our default methods for any new configuration. This method provides the developer
@@ -32,17 +36,25 @@ public class Configuration
 	private final FrostAPI api      = plugin.getFrostAPI();
 	
 	// CLASS SPECIFIC OBJECTS
+	private static final Map<File, AtomicReference<FileConfiguration>> snapshots = new ConcurrentHashMap<>();
+	private static final Set<File> watched = ConcurrentHashMap.newKeySet();
+	private static final AtomicInteger parses = new AtomicInteger();
+	private final AtomicReference<FileConfiguration> snapshot;
 	private final File configFile;
 	private final boolean reload;
-	private FileConfiguration config;
 	
 	/**
 	 * A super constructor used to define the variables needed to determine how this class works.
+	 * <p>
+	 * The configuration is parsed once and kept as a snapshot that is shared by every instance targeting the
+	 * same file. The snapshot is never modified, a reload will parse the file again and swap the snapshot as
+	 * a whole, this way reading a value never has to touch the disk.
 	 *
 	 * @param target This parameter is used to define the path in which the desired
 	 *               configuration will be located.
-	 * @param reload This parameter will define if the configuration should always automatically reload
-	 *               its values, if set to false, the target will only update on a complete reload or shutdown.
+	 * @param reload This parameter will define if the configuration should automatically reload its values
+	 *               once the file is edited, if set to false, the target will only update on a complete
+	 *               reload or shutdown.
 	 * @since 1.2
 	 */
 	public Configuration(@NotNull String target, boolean reload)
@@ -51,7 +63,12 @@ public class Configuration
 		
 		this.configFile = Util.toFile(target);
 		this.reload     = reload;
-		this.config     = YamlConfiguration.loadConfiguration(api.toFile(target));
+		
+		this.snapshot   = snapshots.computeIfAbsent(configFile.getAbsoluteFile(), file -> new AtomicReference<>(parse(file)));
+		
+		if (reload) {
+			watched.add(configFile.getAbsoluteFile());
+		}
 	}
 	
 	/**
@@ -63,6 +80,7 @@ public class Configuration
 	{
 		if (!getFile().exists()) {
 			plugin.saveResource(getName(), false);
+			reload();
 		}
 	}
 	
@@ -77,46 +95,64 @@ public class Configuration
 	{
 		if (!getFile().exists()) {
 			plugin.saveResource(getName(), replace);
+			reload();
 		}
 	}
 	
 	/**
-	 * Loads this {@link FileConfiguration} from the specified location.
-	 * <p>
-	 * All the values contained within this configuration will be removed,
-	 * leaving only settings and defaults, and the new values will be loaded
-	 * from the given file.
+	 * Loads this configuration from its file.
 	 * <p>
-	 * If the file cannot be loaded for any reason, an exception will be
-	 * thrown.
+	 * All the values contained within this configuration will be replaced by the values loaded from
+	 * the file, the previous snapshot remains untouched for anyone still reading it.
+	 *
+	 * @since 1.2
+	 */
+	public void loadConfiguration() { reload(); }
+	
+	/**
+	 * This method is used to reload our configurations from disk, If the resource does not exist inside
+	 * the jar file, the reloaded configuration will not contain any defaults.
 	 *
 	 * @since 1.2
 	 */
-	public void loadConfiguration()
+	public void reload() { snapshot.set(parse(getFile())); }
+	
+	/**
+	 * A method used to reload a configuration once its file was edited. If the file does not belong to a
+	 * configuration that allows automatic reloads, this method will do nothing.
+	 *
+	 * @param file The edited file
+	 * @return Whether a configuration was reloaded
+	 * @since 1.3
+	 */
+	public static boolean reload(@NotNull File file)
 	{
-		try {
-			config.load(getFile());
-		}
-		catch (IOException | InvalidConfigurationException ex) {
-			plugin.getReport().create(ex);
+		File key = file.getAbsoluteFile();
+		
+		if (!watched.contains(key)) {
+			return false;
 		}
+		snapshots.get(key).set(parse(key));
+		return true;
 	}
 	
 	/**
-	 * This method is used to reload our configurations from disk, If the resource does not exist inside
-	 * the jar file, this method will return no changes.
+	 * A method used to parse a configuration file and its bundled defaults into a new snapshot.
 	 *
-	 * @since 1.2
+	 * @param file Target file
+	 * @return Parsed configuration
+	 * @since 1.3
 	 */
-	public void reload()
+	private static @NotNull FileConfiguration parse(@NotNull File file)
 	{
-		config = YamlConfiguration.loadConfiguration(getFile());
+		FileConfiguration config = YamlConfiguration.loadConfiguration(file);
+		parses.incrementAndGet();
 		
-		final InputStream defConfigStream = api.getResource(getName());
-		if (defConfigStream == null) {
-			return;
+		final InputStream defConfigStream = FrostAPI.getInstance().getResource(file.getName());
+		if (defConfigStream != null) {
+			config.setDefaults(YamlConfiguration.loadConfiguration(new InputStreamReader(defConfigStream, Charsets.UTF_8)));
 		}
-		config.setDefaults(YamlConfiguration.loadConfiguration(new InputStreamReader(defConfigStream, Charsets.UTF_8)));
+		return config;
 	}
 	
 	/**
@@ -129,6 +165,7 @@ public class Configuration
 	{
 		try {
 			ConfigUpdater.update(plugin, getName(), getFile());
+			reload();
 		}
 		catch (IOException ex) {
 			plugin.getReport().create(ex);
@@ -136,19 +173,29 @@ public class Configuration
 	}
 	
 	/**
-	 * A method used to return the configuration and its values. If the auto reload parameter was set to true,
-	 * this method will take care of automatically reloading the configuration and returning the reloaded values.
+	 * A method used to return how many times a configuration file was parsed since the server started.
+	 *
+	 * @return Total parse count
+	 * @since 1.3
+	 */
+	public static int getParseCount()                        { return parses.get();                               }
+	
+	/**
+	 * A method used to return the current snapshot of the configuration and its values. The snapshot must be
+	 * treated as read-only, it is shared between threads and is replaced as a whole on reload.
 	 *
 	 * @return The configuration map.
 	 * @since 1.2
 	 */
-	public FileConfiguration getConfig()
-	{
-		if (reload) {
-			reload();
-		}
-		return config;
-	}
+	public FileConfiguration getConfig()                     { return snapshot.get();                             }
+	
+	/**
+	 * A method used to return whether this configuration reloads automatically once its file is edited.
+	 *
+	 * @return Whether the configuration is watched
+	 * @since 1.3
+	 */
+	public boolean isWatched()                               { return reload;                                     }
 	
 	/**
 	 * A method used to return an object of the configuration file.
@@ -238,5 +285,5 @@ public class Configuration
 	 * @return Whether path is a list
 	 * @since 1.2
 	 */
-	public boolean isList(@NotNull Config path)              { return config.isList(path.getPath());              }
+	public boolean isList(@NotNull Config path)              { return getConfig().isList(path.getPath());         }
 }
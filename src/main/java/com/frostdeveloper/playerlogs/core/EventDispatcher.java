@@ -0,0 +1,139 @@
+package com.frostdeveloper.playerlogs.core;
+
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.model.Module;
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A class used to pass events to our modules. Instead of registering every module as a listener of its own,
+ * a single executor is registered for every event class that at least one module logs. The executor passes
+ * an event straight to the modules of its class, without any reflection.
+ * <p>
+ * Our executors listen on the monitor priority and ignore cancelled events, so only events that actually
+ * took place are logged. Every event is checked against the limits of its module before it is passed on.
+ * A module that is unregistered no longer receives any event, an executor is removed from its handler list
+ * once no module needs it anymore.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class EventDispatcher
+{
+	// CLASS INSTANCES
+	private final PlayerLogs plugin = PlayerLogs.getInstance();
+	
+	// CLASS SPECIFIC OBJECTS
+	private final Map<Class<? extends Event>, Route> routes = new LinkedHashMap<>();
+	
+	/**
+	 * A class used to pass the events of a single class to the modules that log them.
+	 *
+	 * @since 1.3
+	 */
+	private class Route implements Listener, EventExecutor
+	{
+		private final Class<? extends Event> type;
+		private volatile Module[] modules = new Module[0];
+		
+		/**
+		 * A constructor used to define the event class of this route.
+		 *
+		 * @param type Event class
+		 * @since 1.3
+		 */
+		private Route(@NotNull Class<? extends Event> type) { this.type = type; }
+		
+		/**
+		 * A method used to pass an event to every module of this route. A module that fails to log an event
+		 * does not keep the other modules from logging it.
+		 *
+		 * @param listener This route
+		 * @param event Triggered event
+		 * @since 1.3
+		 */
+		@Override
+		public void execute(@NotNull Listener listener, @NotNull Event event)
+		{
+			// EVENTS THAT SHARE THE HANDLER LIST OF THEIR PARENT ARE PASSED TO US AS WELL
+			if (!type.isInstance(event)) {
+				return;
+			}
+			
+			for (Module module : modules) {
+				try {
+					// A LIMITED EVENT IS DROPPED BEFORE ANY OF ITS PLACEHOLDERS ARE RENDERED
+					if (plugin.getRateLimitService().acquire(module, module.getPlayer(event))) {
+						module.handle(event);
+					}
+				}
+				catch (RuntimeException ex) {
+					plugin.getReport().create(ex);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * A method used to route events to the given modules only. Executors are registered for event classes
+	 * that are logged for the first time and removed for event classes no module logs anymore.
+	 *
+	 * @param registered Registered modules
+	 * @since 1.3
+	 */
+	public synchronized void update(@NotNull List<Module> registered)
+	{
+		Map<Class<? extends Event>, List<Module>> grouped = new LinkedHashMap<>();
+		
+		for (Module module : registered) {
+			grouped.computeIfAbsent(module.getEvent(), key -> new ArrayList<>()).add(module);
+		}
+		
+		// REMOVE EVERY EXECUTOR NO MODULE NEEDS ANYMORE
+		Iterator<Map.Entry<Class<? extends Event>, Route>> iterator = routes.entrySet().iterator();
+		
+		while (iterator.hasNext()) {
+			Map.Entry<Class<? extends Event>, Route> entry = iterator.next();
+			
+			if (!grouped.containsKey(entry.getKey())) {
+				HandlerList.unregisterAll(entry.getValue());
+				iterator.remove();
+			}
+		}
+		
+		for (Map.Entry<Class<? extends Event>, List<Module>> entry : grouped.entrySet()) {
+			Route route = routes.get(entry.getKey());
+			
+			if (route == null) {
+				route = new Route(entry.getKey());
+				routes.put(entry.getKey(), route);
+				Bukkit.getPluginManager().registerEvent(entry.getKey(), route, EventPriority.MONITOR, route, plugin, true);
+			}
+			route.modules = entry.getValue().toArray(new Module[0]);
+		}
+	}
+	
+	/**
+	 * A method used to remove every executor from its handler list.
+	 *
+	 * @since 1.3
+	 */
+	public synchronized void shutdown()
+	{
+		for (Route route : routes.values()) {
+			HandlerList.unregisterAll(route);
+		}
+		routes.clear();
+	}
+}
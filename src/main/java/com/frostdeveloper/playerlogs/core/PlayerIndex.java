@@ -0,0 +1,380 @@
+package com.frostdeveloper.playerlogs.core;
+
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.manager.ModuleManager;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A class used to remember every player that has logs, by their unique id, last known name and the name of
+ * their log directory. Our maintenance tasks iterate this index instead of every player that ever joined, so
+ * the server never has to load the data file of each player to start up.
+ * <p>
+ * The index is stored inside our log directory as an append-only file, a player is appended once they join
+ * with a new name or their directory changes, and the file is compacted once it holds too many outdated
+ * entries. The first time the index is loaded it is built from the players known to the server.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class PlayerIndex implements Listener
+{
+	// CLASS INSTANCES
+	private final PlayerLogs plugin     = PlayerLogs.getInstance();
+	private final ModuleManager manager = plugin.getModuleManager();
+	
+	// CLASS SPECIFIC OBJECTS
+	private static final int MAGIC = 0x504C5049;
+	private static final int VERSION = 1;
+	
+	private final Map<UUID, Entry> entries = new LinkedHashMap<>();
+	private final Map<String, Entry> names = new LinkedHashMap<>();
+	private final File file;
+	private boolean loaded;
+	private int stored;
+	
+	/**
+	 * A class used to describe a single indexed player.
+	 *
+	 * @since 1.3
+	 */
+	public static class Entry
+	{
+		private final UUID uniqueId;
+		private final String name;
+		private final String directory;
+		
+		/**
+		 * A constructor used to define the values of an indexed player.
+		 *
+		 * @param uniqueId Unique id of the player
+		 * @param name Last known name of the player
+		 * @param directory Name of the player's log directory
+		 * @since 1.3
+		 */
+		private Entry(@NotNull UUID uniqueId, @NotNull String name, @NotNull String directory)
+		{
+			this.uniqueId  = uniqueId;
+			this.name      = name;
+			this.directory = directory;
+		}
+		
+		/**
+		 * A method used to return the unique id of this player.
+		 *
+		 * @return Unique id
+		 * @since 1.3
+		 */
+		public @NotNull UUID getUniqueId()   { return uniqueId;  }
+		
+		/**
+		 * A method used to return the last known name of this player.
+		 *
+		 * @return Player name
+		 * @since 1.3
+		 */
+		public @NotNull String getName()     { return name;      }
+		
+		/**
+		 * A method used to return the name of this player's log directory.
+		 *
+		 * @return Directory name
+		 * @since 1.3
+		 */
+		public @NotNull String getDirectory() { return directory; }
+	}
+	
+	/**
+	 * A constructor used to define the file our index is stored in.
+	 *
+	 * @param file Index file
+	 * @since 1.3
+	 */
+	public PlayerIndex(@NotNull File file) { this.file = file; }
+	
+	/**
+	 * A method used to register our listener, so joining players are added to our index. The index itself
+	 * is loaded once it is first used, which is after our log directory was patched.
+	 *
+	 * @since 1.3
+	 */
+	public void initialize() { Bukkit.getPluginManager().registerEvents(this, plugin); }
+	
+	/**
+	 * A method used to record the name and directory of a player, the index file is only written to when
+	 * either of them changed.
+	 *
+	 * @param uniqueId Unique id of the player
+	 * @param name Current name of the player
+	 * @param directory Name of the player's log directory
+	 * @since 1.3
+	 */
+	public synchronized void update(@NotNull UUID uniqueId, @NotNull String name, @NotNull String directory)
+	{
+		load();
+		
+		Entry current = entries.get(uniqueId);
+		
+		if (current != null && current.getName().equals(name) && current.getDirectory().equals(directory)) {
+			return;
+		}
+		
+		Entry entry = new Entry(uniqueId, name, directory);
+		put(entry);
+		
+		try {
+			if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
+				throw new IOException("Failed to create directory for: " + file.getName());
+			}
+			
+			boolean created = !file.exists() || file.length() == 0;
+			
+			try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)))) {
+				if (created) {
+					output.writeInt(MAGIC);
+					output.writeInt(VERSION);
+				}
+				write(output, entry);
+			}
+			stored++;
+		}
+		catch (IOException ex) {
+			plugin.getReport().create(ex);
+		}
+	}
+	
+	/**
+	 * A method used to return an indexed player by their unique id.
+	 *
+	 * @param uniqueId Target unique id
+	 * @return Indexed player, or null if the player is unknown
+	 * @since 1.3
+	 */
+	public synchronized @Nullable Entry get(@NotNull UUID uniqueId)
+	{
+		load();
+		return entries.get(uniqueId);
+	}
+	
+	/**
+	 * A method used to return an indexed player by their last known name, ignoring case.
+	 *
+	 * @param name Target name
+	 * @return Indexed player, or null if no player was last known by this name
+	 * @since 1.3
+	 */
+	public synchronized @Nullable Entry find(@NotNull String name)
+	{
+		load();
+		return names.get(name.toLowerCase(Locale.ROOT));
+	}
+	
+	/**
+	 * A method used to return every indexed player whose log directory exists.
+	 *
+	 * @return Indexed players
+	 * @since 1.3
+	 */
+	public synchronized @NotNull List<Entry> getEntries()
+	{
+		List<Entry> list = new ArrayList<>();
+		load();
+		
+		for (Entry entry : entries.values()) {
+			if (new File(manager.getLogDirectory(), entry.getDirectory()).exists()) {
+				list.add(entry);
+			}
+		}
+		return list;
+	}
+	
+	/**
+	 * A listener used to add a joining player to our index. The index is written in the background so a
+	 * join never waits for the disk.
+	 *
+	 * @param event Triggered event
+	 * @since 1.3
+	 */
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onPlayerJoin(@NotNull PlayerJoinEvent event)
+	{
+		Player player    = event.getPlayer();
+		UUID uniqueId    = player.getUniqueId();
+		String name      = player.getName();
+		String directory = plugin.getSessionCache().get(player).getDirectory().getName();
+		
+		Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> update(uniqueId, name, directory));
+	}
+	
+	/**
+	 * A method used to load our index the first time it is used. If no index exists yet, it is built from
+	 * the players known to the server, this only happens once.
+	 *
+	 * @since 1.3
+	 */
+	private void load()
+	{
+		if (loaded) {
+			return;
+		}
+		loaded = true;
+		
+		try {
+			if (file.exists()) {
+				read();
+			}
+			else {
+				rebuild();
+			}
+		}
+		catch (IOException ex) {
+			plugin.getReport().create(ex);
+		}
+	}
+	
+	/**
+	 * A method used to read our index file, if it holds more outdated entries than current ones or ends with
+	 * an incomplete entry, it is compacted.
+	 *
+	 * @throws IOException Thrown if the file could not be read or compacted
+	 * @since 1.3
+	 */
+	private void read() throws IOException
+	{
+		boolean damaged = false;
+		
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+				throw new IOException("Unsupported player index: " + file.getName());
+			}
+			
+			while (true) {
+				long most;
+				
+				try {
+					most = input.readLong();
+				}
+				catch (EOFException ex) {
+					break;
+				}
+				put(new Entry(new UUID(most, input.readLong()), input.readUTF(), input.readUTF()));
+				stored++;
+			}
+		}
+		catch (EOFException ex) {
+			// AN INTERRUPTED WRITE LEFT AN INCOMPLETE ENTRY BEHIND
+			damaged = true;
+		}
+		
+		if (damaged || stored > entries.size() * 2) {
+			save();
+		}
+	}
+	
+	/**
+	 * A method used to build our index from every player known to the server that has a log directory.
+	 *
+	 * @throws IOException Thrown if the index could not be written
+	 * @since 1.3
+	 */
+	private void rebuild() throws IOException
+	{
+		for (OfflinePlayer current : Bukkit.getOfflinePlayers()) {
+			if (current.getName() == null) {
+				continue;
+			}
+			
+			File uuidDir = new File(manager.getLogDirectory(), current.getUniqueId().toString());
+			File nameDir = new File(manager.getLogDirectory(), current.getName());
+			
+			if (uuidDir.exists() || nameDir.exists()) {
+				put(new Entry(current.getUniqueId(), current.getName(), uuidDir.exists() ? uuidDir.getName() : nameDir.getName()));
+			}
+		}
+		save();
+	}
+	
+	/**
+	 * A method used to write every current entry to a new index file, which then replaces the old one.
+	 *
+	 * @throws IOException Thrown if the index could not be written
+	 * @since 1.3
+	 */
+	private void save() throws IOException
+	{
+		if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
+			throw new IOException("Failed to create directory for: " + file.getName());
+		}
+		
+		File temp = new File(file.getPath() + ".tmp");
+		
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			
+			for (Entry entry : entries.values()) {
+				write(output, entry);
+			}
+		}
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		stored = entries.size();
+	}
+	
+	/**
+	 * A method used to add an entry to our lookup maps, replacing the previous entry of the same player.
+	 *
+	 * @param entry Target entry
+	 * @since 1.3
+	 */
+	private void put(@NotNull Entry entry)
+	{
+		Entry previous = entries.put(entry.getUniqueId(), entry);
+		
+		if (previous != null && Objects.equals(names.get(previous.getName().toLowerCase(Locale.ROOT)), previous)) {
+			names.remove(previous.getName().toLowerCase(Locale.ROOT));
+		}
+		names.put(entry.getName().toLowerCase(Locale.ROOT), entry);
+	}
+	
+	/**
+	 * A method used to write a single entry.
+	 *
+	 * @param output Target output
+	 * @param entry Target entry
+	 * @throws IOException Thrown if the entry could not be written
+	 * @since 1.3
+	 */
+	private static void write(@NotNull DataOutputStream output, @NotNull Entry entry) throws IOException
+	{
+		output.writeLong(entry.getUniqueId().getMostSignificantBits());
+		output.writeLong(entry.getUniqueId().getLeastSignificantBits());
+		output.writeUTF(entry.getName());
+		output.writeUTF(entry.getDirectory());
+	}
+}
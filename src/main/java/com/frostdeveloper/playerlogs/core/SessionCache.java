@@ -0,0 +1,224 @@
+package com.frostdeveloper.playerlogs.core;
+
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.manager.ModuleManager;
+import com.frostdeveloper.playerlogs.util.Util;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A class used to keep a session for every online player. A session holds the resolved log directory of a
+ * player and the log file of every module they were logged by, so an event only has to look up the session
+ * instead of resolving the same paths again.
+ * <p>
+ * A session is created once a player joins and dropped once they leave. Every session is dropped once the
+ * layout of our log directory may have changed, it is then resolved again once it is next used.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class SessionCache implements Listener
+{
+	// CLASS INSTANCES
+	private final PlayerLogs plugin     = PlayerLogs.getInstance();
+	private final ModuleManager manager = plugin.getModuleManager();
+	
+	// CLASS SPECIFIC OBJECTS
+	private final Map<UUID, Session> sessions = new ConcurrentHashMap<>();
+	
+	/**
+	 * A class used to describe the session of a single player.
+	 *
+	 * @since 1.3
+	 */
+	public static class Session
+	{
+		private final Map<String, File> files = new ConcurrentHashMap<>();
+		private final UUID uniqueId;
+		private final String name;
+		private final File directory;
+		private volatile boolean created;
+		
+		/**
+		 * A constructor used to define the values of a session.
+		 *
+		 * @param uniqueId Unique id of the player
+		 * @param name Name of the player
+		 * @param directory Log directory of the player
+		 * @since 1.3
+		 */
+		private Session(@NotNull UUID uniqueId, @NotNull String name, @NotNull File directory)
+		{
+			this.uniqueId  = uniqueId;
+			this.name      = name;
+			this.directory = directory;
+		}
+		
+		/**
+		 * A method used to create the log directory of this player, the directory is only checked once per
+		 * session.
+		 *
+		 * @throws IllegalArgumentException Thrown if the directory could not be created
+		 * @since 1.3
+		 */
+		public void createDirectory()
+		{
+			if (created) {
+				return;
+			}
+			
+			if (!directory.exists() && !directory.mkdirs()) {
+				throw new IllegalArgumentException("Failed to create directory for: " + name);
+			}
+			created = true;
+		}
+		
+		/**
+		 * A method used to return the log file of a module inside the directory of this player.
+		 *
+		 * @param module Full identifier of the module
+		 * @return Module file
+		 * @since 1.3
+		 */
+		public @NotNull File getModuleFile(@NotNull String module)
+		{
+			return files.computeIfAbsent(module, key -> Util.toFile(directory, key + ".log"));
+		}
+		
+		/**
+		 * A method used to return the unique id of this player.
+		 *
+		 * @return Unique id
+		 * @since 1.3
+		 */
+		public @NotNull UUID getUniqueId()  { return uniqueId;  }
+		
+		/**
+		 * A method used to return the name of this player.
+		 *
+		 * @return Player name
+		 * @since 1.3
+		 */
+		public @NotNull String getName()    { return name;      }
+		
+		/**
+		 * A method used to return the log directory of this player.
+		 *
+		 * @return Player directory
+		 * @since 1.3
+		 */
+		public @NotNull File getDirectory() { return directory; }
+	}
+	
+	/**
+	 * A method used to register our listeners and to create a session for every player that is already
+	 * online, such as after a reload.
+	 *
+	 * @since 1.3
+	 */
+	public void initialize()
+	{
+		Bukkit.getPluginManager().registerEvents(this, plugin);
+		Bukkit.getOnlinePlayers().forEach(this::get);
+	}
+	
+	/**
+	 * A method used to return the session of a player, it is created if the player has none yet. Only the
+	 * sessions of online players are kept, so a session is never created again once its player left.
+	 *
+	 * @param player Target player
+	 * @return Player session
+	 * @since 1.3
+	 */
+	public @NotNull Session get(@NotNull Player player)
+	{
+		Session session = sessions.get(player.getUniqueId());
+		
+		if (session != null) {
+			return session;
+		}
+		
+		session = new Session(player.getUniqueId(), player.getName(), manager.getUserDirectory(player));
+		
+		if (player.isOnline()) {
+			Session previous = sessions.putIfAbsent(player.getUniqueId(), session);
+			return previous != null ? previous : session;
+		}
+		return session;
+	}
+	
+	/**
+	 * A method used to return the log file of a module for a player. The file of a player without a session
+	 * is resolved on its own.
+	 *
+	 * @param uniqueId Target unique id
+	 * @param name Target name
+	 * @param module Full identifier of the module
+	 * @return Module file
+	 * @since 1.3
+	 */
+	public @NotNull File getModuleFile(@NotNull UUID uniqueId, @NotNull String name, @NotNull String module)
+	{
+		Session session = sessions.get(uniqueId);
+		
+		if (session != null) {
+			return session.getModuleFile(module);
+		}
+		return Util.toFile(manager.getUserDirectory(uniqueId, name), module + ".log");
+	}
+	
+	/**
+	 * A method used to drop the session of a single player, it is resolved again once it is next used.
+	 *
+	 * @param uniqueId Target unique id
+	 * @since 1.3
+	 */
+	public void invalidate(@NotNull UUID uniqueId) { sessions.remove(uniqueId); }
+	
+	/**
+	 * A method used to drop every session, this must be called once the layout of our log directory may
+	 * have changed.
+	 *
+	 * @since 1.3
+	 */
+	public void invalidate()                       { sessions.clear();          }
+	
+	/**
+	 * A listener used to create the session of a joining player.
+	 *
+	 * @param event Triggered event
+	 * @since 1.3
+	 */
+	@EventHandler(priority = EventPriority.LOWEST)
+	public void onPlayerJoin(@NotNull PlayerJoinEvent event) { get(event.getPlayer()); }
+	
+	/**
+	 * A listener used to drop the session of a leaving player. Our modules log a quit on the same priority,
+	 * therefore the session is only dropped once the event was handled by every listener.
+	 *
+	 * @param event Triggered event
+	 * @since 1.3
+	 */
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onPlayerQuit(@NotNull PlayerQuitEvent event)
+	{
+		UUID uniqueId = event.getPlayer().getUniqueId();
+		
+		Bukkit.getScheduler().runTask(plugin, () -> {
+			if (Bukkit.getPlayer(uniqueId) == null) {
+				sessions.remove(uniqueId);
+			}
+		});
+	}
+}
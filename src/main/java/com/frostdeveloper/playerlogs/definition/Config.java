@@ -59,6 +59,91 @@ public enum Config
 	 * @since 1.0
 	 */
 	DEBUG_MODE("debug-log"),
+	/**
+	 * A path used to determine the amount of threads used to write our logs.
+	 *
+	 * @since 1.3
+	 */
+	WRITER_THREADS("writer-threads"),
+	/**
+	 * A path used to determine how many records can wait to be written before an event has to wait.
+	 *
+	 * @since 1.3
+	 */
+	QUEUE_CAPACITY("queue-capacity"),
+	/**
+	 * A path used to determine how long, in milliseconds, an event may wait for a full queue before its
+	 * record is dropped.
+	 *
+	 * @since 1.3
+	 */
+	QUEUE_TIMEOUT("queue-timeout"),
+	/**
+	 * A path used to determine the maximum amount of records written in one batch.
+	 *
+	 * @since 1.3
+	 */
+	BATCH_SIZE("batch-size"),
+	/**
+	 * A path used to determine how long, in milliseconds, a batch may wait before it is written.
+	 *
+	 * @since 1.3
+	 */
+	BATCH_INTERVAL("batch-interval"),
+	/**
+	 * A path used to determine how many log files may be kept open at the same time.
+	 *
+	 * @since 1.3
+	 */
+	MAX_OPEN_FILES("max-open-files"),
+	/**
+	 * A path used to determine the size of the journal of every writer thread, in megabytes.
+	 *
+	 * @since 1.3
+	 */
+	JOURNAL_SIZE("journal-size"),
+	/**
+	 * A path used to determine how often, in milliseconds, a journal is written to disk.
+	 *
+	 * @since 1.3
+	 */
+	JOURNAL_SYNC_INTERVAL("journal-sync-interval"),
+	/**
+	 * A path used to determine which storage backend our logs are written to.
+	 *
+	 * @since 1.3
+	 */
+	STORAGE_TYPE("storage-type"),
+	/**
+	 * A path used to determine the maximum size of a binary segment in megabytes.
+	 *
+	 * @since 1.3
+	 */
+	SEGMENT_SIZE("segment-size"),
+	/**
+	 * A path used to determine how often our global log is rotated.
+	 *
+	 * @since 1.3
+	 */
+	ROTATION_INTERVAL("rotation-interval"),
+	/**
+	 * A path used to determine the size in megabytes at which our global log is rotated.
+	 *
+	 * @since 1.3
+	 */
+	ROTATION_SIZE("rotation-size"),
+	/**
+	 * A path used to determine how many files a purge may delete per second.
+	 *
+	 * @since 1.3
+	 */
+	PURGE_RATE("purge-rate"),
+	/**
+	 * A path used to determine how many threads may migrate our logs at once.
+	 *
+	 * @since 1.3
+	 */
+	MIGRATION_THREADS("migration-threads"),
 	/**
 	 * A path used to determine if we should modularize loggers
 	 *
@@ -71,6 +156,12 @@ public enum Config
 	 * @since 1.1
 	 */
 	USE_UUID("use-uuid"),
+	/**
+	 * A path to the section that defines the rate limits and sampling of our modules.
+	 *
+	 * @since 1.3
+	 */
+	LIMITS("limits"),
 	
 	/* MODULE CONFIGURATION FILE */
 	
@@ -86,6 +177,12 @@ public enum Config
 	 * @since 1.1
 	 */
 	MODULE_JOIN_MSG("join-module.message"),
+	/**
+	 * A path to determine how long the join modules logs are kept.
+	 *
+	 * @since 1.3
+	 */
+	MODULE_JOIN_RETENTION("join-module.retention"),
 	/**
 	 * A path to determine if the quit module is enabled.
 	 *
@@ -98,6 +195,12 @@ public enum Config
 	 * @since 1.1
 	 */
 	MODULE_QUIT_MSG("quit-module.message"),
+	/**
+	 * A path to determine how long the quit modules logs are kept.
+	 *
+	 * @since 1.3
+	 */
+	MODULE_QUIT_RETENTION("quit-module.retention"),
 	/**
 	 * A path to determine if the chat module is enabled.
 	 *
@@ -110,6 +213,12 @@ public enum Config
 	 * @since 1.1
 	 */
 	MODULE_CHAT_MSG("chat-module.message"),
+	/**
+	 * A path to determine how long the chat modules logs are kept.
+	 *
+	 * @since 1.3
+	 */
+	MODULE_CHAT_RETENTION("chat-module.retention"),
 	/**
 	 * A path to determine if the command module is enabled.
 	 *
@@ -122,6 +231,12 @@ public enum Config
 	 * @since 1.1
 	 */
 	MODULE_CMD_MSG("command-module.message"),
+	/**
+	 * A path to determine how long the command modules logs are kept.
+	 *
+	 * @since 1.3
+	 */
+	MODULE_CMD_RETENTION("command-module.retention"),
 	/**
 	 * A path to determine if the death module is enabled.
 	 *
@@ -134,6 +249,12 @@ public enum Config
 	 * @since 1.1
 	 */
 	MODULE_DEATH_MSG("death-module.message"),
+	/**
+	 * A path to determine how long the death modules logs are kept.
+	 *
+	 * @since 1.3
+	 */
+	MODULE_DEATH_RETENTION("death-module.retention"),
 	/**
 	 * A path to determine if the world-change module is enabled.
 	 *
@@ -146,6 +267,12 @@ public enum Config
 	 * @since 1.1
 	 */
 	MODULE_WORLD_MSG("world-change-module.message"),
+	/**
+	 * A path to determine how long the world-change modules logs are kept.
+	 *
+	 * @since 1.3
+	 */
+	MODULE_WORLD_RETENTION("world-change-module.retention"),
 	/**
 	 * A path to determine if the break module is enabled.
 	 *
@@ -158,6 +285,18 @@ public enum Config
 	 * @since 1.1
 	 */
 	MODULE_BREAK_MSG("block-break-module.message"),
+	/**
+	 * A path to determine how long the block-break modules logs are kept.
+	 *
+	 * @since 1.3
+	 */
+	MODULE_BREAK_RETENTION("block-break-module.retention"),
+	/**
+	 * A path to determine in which window the block-break modules changes are aggregated.
+	 *
+	 * @since 1.3
+	 */
+	MODULE_BREAK_AGGREGATE("block-break-module.aggregate"),
 	/**
 	 * A path to determine if the place module is enabled.
 	 *
@@ -170,6 +309,18 @@ public enum Config
 	 * @since 1.1
 	 */
 	MODULE_PLACE_MSG("block-place-module.message"),
+	/**
+	 * A path to determine how long the block-place modules logs are kept.
+	 *
+	 * @since 1.3
+	 */
+	MODULE_PLACE_RETENTION("block-place-module.retention"),
+	/**
+	 * A path to determine in which window the block-place modules changes are aggregated.
+	 *
+	 * @since 1.3
+	 */
+	MODULE_PLACE_AGGREGATE("block-place-module.aggregate"),
 	/**
 	 * A path to determine if the ram module is enabled.
 	 *
@@ -188,6 +339,12 @@ public enum Config
 	 * @since 1.2
 	 */
 	MODULE_RAM_COOLDOWN("ram-module.cooldown"),
+	/**
+	 * A path to determine how long the ram modules logs are kept.
+	 *
+	 * @since 1.3
+	 */
+	MODULE_RAM_RETENTION("ram-module.retention"),
 	/**
 	 * A path to determine if our enchant module is enabled.
 	 *
@@ -200,6 +357,12 @@ public enum Config
 	 * @since 1.2
 	 */
 	MODULE_ENCHANT_MSG("enchant-module.message"),
+	/**
+	 * A path to determine how long the enchant modules logs are kept.
+	 *
+	 * @since 1.3
+	 */
+	MODULE_ENCHANT_RETENTION("enchant-module.retention"),
 	/**
 	 * A path to determine if our enchant module is enabled.
 	 *
@@ -211,7 +374,13 @@ public enum Config
 	 *
 	 * @since 1.2
 	 */
-	MODULE_TELEPORT_MSG("teleport-module.message");
+	MODULE_TELEPORT_MSG("teleport-module.message"),
+	/**
+	 * A path to determine how long the teleport modules logs are kept.
+	 *
+	 * @since 1.3
+	 */
+	MODULE_TELEPORT_RETENTION("teleport-module.retention");
 	
 	/*
 	 * --------------------------------------------------------------
@@ -52,7 +52,42 @@ public enum Permission
 	 *
 	 * @since 1.2
 	 */
-	CMD_MODULE_INFO("playerlogs.command.module.info");
+	CMD_MODULE_INFO("playerlogs.command.module.info"),
+	/**
+	 * This value defines the permission string that allows any permitted user
+	 * to export our binary segments into text files.
+	 *
+	 * @since 1.3
+	 */
+	CMD_EXPORT("playerlogs.command.export"),
+	/**
+	 * This value defines the permission string that allows any permitted user
+	 * to purge old logs.
+	 *
+	 * @since 1.3
+	 */
+	CMD_PURGE("playerlogs.command.purge"),
+	/**
+	 * This value defines the permission string that allows any permitted user
+	 * to search our logs.
+	 *
+	 * @since 1.3
+	 */
+	CMD_SEARCH("playerlogs.command.search"),
+	/**
+	 * This value defines the permission string that allows any permitted user
+	 * to inspect the history of a block.
+	 *
+	 * @since 1.3
+	 */
+	CMD_INSPECT("playerlogs.command.inspect"),
+	/**
+	 * This value defines the permission string that allows any permitted user
+	 * to view the progress of our migrations.
+	 *
+	 * @since 1.3
+	 */
+	CMD_MIGRATE("playerlogs.command.migrate");
 	
 	/*
 	 * --------------------------------------------------------------
@@ -0,0 +1,104 @@
+package com.frostdeveloper.playerlogs.definition;
+
+import com.frostdeveloper.playerlogs.model.LogQuery;
+import com.frostdeveloper.playerlogs.model.LogRecord;
+import com.frostdeveloper.playerlogs.storage.LogSink;
+import com.frostdeveloper.playerlogs.storage.SegmentSearcher;
+import com.frostdeveloper.playerlogs.storage.SegmentSink;
+import com.frostdeveloper.playerlogs.storage.SqlSink;
+import com.frostdeveloper.playerlogs.storage.TextSearcher;
+import com.frostdeveloper.playerlogs.storage.TextSink;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * An enum used to define the storage backends our logs can be written to.
+ *
+ * @since 1.3
+ */
+public enum StorageType
+{
+	/**
+	 * This enum value defines our plain text layout, every record is appended to the global log and optionally
+	 * to the module file of its player.
+	 *
+	 * @since 1.3
+	 */
+	TEXT,
+	/**
+	 * This enum value defines our embedded SQLite database.
+	 *
+	 * @since 1.3
+	 */
+	SQL,
+	/**
+	 * This enum value defines our append-only binary segments.
+	 *
+	 * @since 1.3
+	 */
+	SEGMENT;
+	
+	/**
+	 * A method used to create a new sink for a writer thread.
+	 *
+	 * @param writer Writer index
+	 * @param fileLimit Maximum amount of files the sink may keep open
+	 * @param segmentSize Maximum size of a segment in bytes
+	 * @return A new sink
+	 * @since 1.3
+	 */
+	public @NotNull LogSink createSink(int writer, int fileLimit, long segmentSize)
+	{
+		switch (this) {
+			case SQL:
+				return new SqlSink();
+			case SEGMENT:
+				return new SegmentSink(writer, segmentSize);
+			default:
+				return new TextSink(fileLimit);
+		}
+	}
+	
+	/**
+	 * A method used to return a single page of records that match a query.
+	 *
+	 * @param query Target query
+	 * @param offset Amount of matching records to skip
+	 * @param limit Maximum amount of records to return
+	 * @return Matching records
+	 * @throws IOException Thrown if our logs could not be read
+	 * @since 1.3
+	 */
+	public @NotNull List<LogRecord> search(@NotNull LogQuery query, int offset, int limit) throws IOException
+	{
+		switch (this) {
+			case SQL:
+				return SqlSink.search(query, offset, limit);
+			case SEGMENT:
+				return SegmentSearcher.search(query, offset, limit);
+			default:
+				return TextSearcher.search(query, offset, limit);
+		}
+	}
+	
+	/**
+	 * A method used to return the storage type matching a configured value, if the value is unknown, our
+	 * text layout is returned.
+	 *
+	 * @param value Configured value
+	 * @return Matching storage type
+	 * @since 1.3
+	 */
+	public static @NotNull StorageType fromString(@Nullable String value)
+	{
+		for (StorageType type : values()) {
+			if (type.name().equalsIgnoreCase(value)) {
+				return type;
+			}
+		}
+		return TEXT;
+	}
+}
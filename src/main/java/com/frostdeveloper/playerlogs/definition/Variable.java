@@ -1,5 +1,11 @@
 package com.frostdeveloper.playerlogs.definition;
 
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * An enum used to define and return the variables available in this plugin.
  *
@@ -62,8 +68,15 @@ public enum Variable
 	 */
 	
 	// CLASS SPECIFIC OBJECTS
+	private static final Map<String, Variable> lookup = new HashMap<>();
 	private final String var;
 	
+	static {
+		for (Variable current : values()) {
+			lookup.put(current.toVar(), current);
+		}
+	}
+	
 	/**
 	 * A constructor used to define the required parameters needed for each enum value.
 	 *
@@ -79,4 +92,13 @@ public enum Variable
 	 * @since 1.2
 	 */
 	public String toVar() { return var;     }
+	
+	/**
+	 * A method used to return the enum value assigned to a variable.
+	 *
+	 * @param var Target variable, including its percent signs
+	 * @return The matching enum value, or null if the variable is not one of ours
+	 * @since 1.3
+	 */
+	public static @Nullable Variable fromVar(@NotNull String var) { return lookup.get(var); }
 }
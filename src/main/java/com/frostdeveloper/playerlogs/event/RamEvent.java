@@ -1,7 +1,7 @@
 package com.frostdeveloper.playerlogs.event;
 
 import com.frostdeveloper.api.FrostAPI;
-import com.frostdeveloper.playerlogs.util.Placeholder;
+import com.frostdeveloper.playerlogs.util.Template;
 import org.bukkit.event.Event;
 import org.bukkit.event.HandlerList;
 import org.jetbrains.annotations.NotNull;
@@ -29,7 +29,7 @@ public class RamEvent extends Event
 	public String getMessage()
 	{
 		String message = api.format("TOTAL/MAX: %server_ram_total% MB / %server_ram_max% MB | FREE/USED: %server_ram_free% MB | %server_ram_used% MB");
-		return Placeholder.set(message);
+		return Template.of(message).render();
 	}
 	
 	/**
@@ -28,6 +28,18 @@ public class LocaleManager implements Manager
 	private final Properties prop = new Properties(true);
 	private final Properties defaultProp = new Properties();
 	
+	/**
+	 * A constructor used to load our default messages and, if present, our custom message file. Both maps
+	 * are kept in memory until this manager is replaced on reload.
+	 *
+	 * @since 1.3
+	 */
+	public LocaleManager()
+	{
+		defaultProp.load(plugin.getResource(messageFile.getName()));
+		reload();
+	}
+	
 	/**
 	 * This method is used to configure and update our messages if an update is available.
 	 *
@@ -38,6 +50,7 @@ public class LocaleManager implements Manager
 	{
 		if (config.getBoolean(Config.CUSTOM_MESSAGE) && !messageFile.exists()) {
 			getDefaultMap().store(messageFile);
+			reload();
 			plugin.log("index.create.success", messageFile.getName());
 		}
 	}
@@ -97,8 +110,8 @@ public class LocaleManager implements Manager
 	}
 	
 	/**
-	 * A method used to reload our custom property map, the default map by default will always reload
-	 * when using the {@link #getDefaultMap()} method.
+	 * A method used to reload our custom property map, the default map is loaded once when this
+	 * manager is created.
 	 *
 	 * @see #getDefaultMap()
 	 * @since 1.2
@@ -118,11 +131,7 @@ public class LocaleManager implements Manager
 	 * @return Default property map
 	 * @since 1.2
 	 */
-	public Properties getDefaultMap()
-	{
-		defaultProp.load(plugin.getResource(messageFile.getName()));
-		return defaultProp;
-	}
+	public Properties getDefaultMap() { return defaultProp; }
 	
 	/**
 	 * A method used to return our custom property map
@@ -130,13 +139,7 @@ public class LocaleManager implements Manager
 	 * @return Custom property map
 	 * @since 1.2
 	 */
-	public Properties getPropMap()
-	{
-		if (messageFile.exists()) {
-			prop.load(messageFile);
-		}
-		return prop;
-	}
+	public Properties getPropMap()    { return prop;        }
 	
 	/**
 	 * A method used to return a localized message.
@@ -147,10 +150,8 @@ public class LocaleManager implements Manager
 	 */
 	public String getMessage(String key)
 	{
-		if (getPropMap().getProperty(key) != null || getDefaultMap().getProperty(key) != null) {
-			return getPropMap().getProperty(key, getDefaultMap().getProperty(key));
-		}
-		return key;
+		String message = prop.getProperty(key, defaultProp.getProperty(key));
+		return message != null ? message : key;
 	}
 	
 	/**
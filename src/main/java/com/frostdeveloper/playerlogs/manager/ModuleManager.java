@@ -1,10 +1,14 @@
 package com.frostdeveloper.playerlogs.manager;
 
 import com.frostdeveloper.api.FrostAPI;
-import com.frostdeveloper.api.exception.FailedMethodException;
 import com.frostdeveloper.playerlogs.PlayerLogs;
 import com.frostdeveloper.playerlogs.core.Configuration;
+import com.frostdeveloper.playerlogs.core.EventDispatcher;
+import com.frostdeveloper.playerlogs.core.PlayerIndex;
 import com.frostdeveloper.playerlogs.definition.Config;
+import com.frostdeveloper.playerlogs.migration.InactiveMigration;
+import com.frostdeveloper.playerlogs.migration.LayoutMigration;
+import com.frostdeveloper.playerlogs.migration.ModuleFileMigration;
 import com.frostdeveloper.playerlogs.model.Manager;
 import com.frostdeveloper.playerlogs.model.Module;
 import com.frostdeveloper.playerlogs.model.Scheduler;
@@ -15,10 +19,20 @@ import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
-import java.util.Objects;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
 
 /**
  * A manager tasked with handling all tasks related to our modules, this module will register, unregister,
@@ -34,8 +48,13 @@ public class ModuleManager extends Configuration implements Manager
 	private final FrostAPI api      = plugin.getFrostAPI();
 	
 	// CLASS SPECIFIC OBJECTS
+	private static final int LAYOUT_VERSION = 1;
 	private static final ArrayList<Module> registered = new ArrayList<>();
 	private static final ArrayList<Module> master = new ArrayList<>();
+	private static volatile Map<String, Module> lookup = Collections.emptyMap();
+	private static volatile BitSet registeredIds = new BitSet();
+	private final EventDispatcher dispatcher = new EventDispatcher();
+	private volatile LayoutMigration correction;
 	
 	/**
 	 * A super constructor used to define the variables needed to determine how this class works.
@@ -70,31 +89,14 @@ public class ModuleManager extends Configuration implements Manager
 			api.renameIndex(activityLog, "global.log");
 		}
 		
-		// RENAME MODULE FILES FROM -activity TO -module AND MOVE UN-SUPPORTED MODULES TO UNSUPPORTED DIRECTORY
-		for (OfflinePlayer offlinePlayer : Bukkit.getOfflinePlayers()) {
-			File playerDir;
-			
-			if (getBoolean(Config.USE_UUID)) {
-				playerDir = Util.toFile(getLogDirectory(), api.toString(offlinePlayer.getUniqueId()));
-			}
-			else {
-				playerDir = Util.toFile(getLogDirectory(), offlinePlayer.getName());
-			}
-			
-			if (playerDir.exists()) {
-				for (File currentModuleFile : Objects.requireNonNull(playerDir.listFiles())) {
-					String partialName     = currentModuleFile.getName().split("-")[0];
-					Module module          = getModuleByPartial(partialName);
-					
-					if (module != null) {
-						String moduleFileName  = module.getFullIdentifier() + ".log";
-						api.renameIndex(currentModuleFile, moduleFileName);
-					}
-					else {
-						api.relocateIndex(currentModuleFile, Util.toFile(playerDir, "unsupported/{0}", currentModuleFile.getName()));
-					}
-				}
-			}
+		// LOGS OF DISABLED MODULES USED TO BE MOVED INTO INACTIVE DIRECTORIES, RESTORE THEM IN THE BACKGROUND ONCE
+		if (!plugin.getMigrationService().isComplete(InactiveMigration.IDENTIFIER)) {
+			plugin.getMigrationService().submit(new InactiveMigration());
+		}
+		
+		// RENAME MODULE FILES FROM -activity TO -module AND MOVE UN-SUPPORTED MODULES, THIS RUNS IN THE BACKGROUND ONCE
+		if (!plugin.getMigrationService().isComplete(ModuleFileMigration.IDENTIFIER)) {
+			plugin.getMigrationService().submit(new ModuleFileMigration());
 		}
 	}
 	
@@ -151,6 +153,15 @@ public class ModuleManager extends Configuration implements Manager
 		master.add(new RamModule());
 		master.add(new TeleportModule());
 		master.add(new WorldModule());
+		
+		// EVERY NAME A MODULE IS KNOWN BY POINTS TO IT, THE MAP IS NEVER MODIFIED ONCE PUBLISHED
+		Map<String, Module> names = new HashMap<>();
+		
+		for (Module module : master) {
+			names.put(module.getIdentifier(), module);
+			names.put(module.getFullIdentifier(), module);
+		}
+		lookup = Collections.unmodifiableMap(names);
 	}
 	
 	/**
@@ -207,46 +218,27 @@ public class ModuleManager extends Configuration implements Manager
 				addToRegistry(module);
 				module.initialize();
 			}
-			
-			for (OfflinePlayer current : Bukkit.getOfflinePlayers()) {
-				File moduleFile = module.getModuleFile(current);
-				File inactiveFile = api.toFile(getUserDirectory(current), "inactive/" + moduleFile.getName());
-				
-				if (moduleFile.exists() && !module.isEnabled()) {
-					api.relocateIndex(moduleFile, inactiveFile);
-				}
-				
-				if (inactiveFile.exists() && module.isEnabled()) {
-					api.relocateIndex(inactiveFile, moduleFile);
-				}
-				
-				if (inactiveFile.getParentFile().exists()) {
-					if (Objects.requireNonNull(inactiveFile.getParentFile().listFiles()).length == 0) {
-						if (!inactiveFile.getParentFile().delete()) {
-							throw new FailedMethodException("Failed to delete inactive directory for ", current.getName());
-						}
-					}
-				}
-			}
 		}
 		
 		// REMOVE REGISTERED MODULES WHEN NO LONGER REGISTERED
 		for (Module module : getMasterList()) {
 			if (!module.isEnabled() && module.isRegistered()) {
 				getRegisteredList().remove(module);
+				setRegistered(module, false);
 				
 				if (module instanceof Scheduler) {
 					((Scheduler) module).cancel();
 				}
 				
-				module.removeListener();
-				
 				if (!getRegisteredList().contains(module)) {
 					plugin.debug("module.unregister.success", module.getFullIdentifier());
 				}
 			}
 		}
 		
+		// ROUTE EVENTS TO REGISTERED MODULES ONLY
+		dispatcher.update(getRegisteredList());
+		
 		if (announce) {
 			plugin.log("module.register.total", getCount());
 		}
@@ -254,32 +246,112 @@ public class ModuleManager extends Configuration implements Manager
 	
 	/**
 	 * A method used to correct all existing player files to match the desired configuration. It will rename
-	 * the directories to use UUID's or Player names accordingly.
+	 * the directories to use UUID's or Player names accordingly. The directories are renamed by a background
+	 * migration, once complete the layout is recorded in a marker file, the correction will only run again
+	 * once the desired layout no longer matches that marker.
 	 *
+	 * @since 1.2
 	 */
-	public void initializeCorrection()
+	public synchronized void initializeCorrection()
 	{
 		boolean useUUID = getBoolean(Config.USE_UUID);
-		int changes = 0;
+		String layout   = getLayout(useUUID);
 		
-		// ITERATE THROUGH ALL PLAYER AND CORRECT THE DIRECTORIES
-		for (OfflinePlayer current : Bukkit.getOfflinePlayers()) {
-			File uuidDir    = Util.toFile(getLogDirectory(), api.toString(current.getUniqueId()));
-			File playerDir  = Util.toFile(getLogDirectory(), current.getName());
-			
-			if (useUUID && playerDir.exists()) {
-				api.renameIndex(playerDir, uuidDir.getName());
-				changes++;
-			}
-			
-			if (!useUUID && uuidDir.exists()) {
-				api.renameIndex(uuidDir, playerDir.getName());
-				changes++;
+		// A RUNNING CORRECTION IS FINISHED FIRST, IT CORRECTS AGAIN ONCE COMPLETE
+		if (correction != null || layout.equals(readLayout())) {
+			return;
+		}
+		
+		LayoutMigration migration = new LayoutMigration(useUUID, layout);
+		
+		if (plugin.getMigrationService().submit(migration)) {
+			correction = migration;
+			plugin.getSessionCache().invalidate();
+		}
+	}
+	
+	/**
+	 * A method used by our layout migration once every player directory was renamed, it records the layout
+	 * and corrects again if the configuration was changed while we were migrating.
+	 *
+	 * @param migration Completed migration
+	 * @since 1.3
+	 */
+	public synchronized void completeCorrection(@NotNull LayoutMigration migration)
+	{
+		writeLayout(migration.getLayout());
+		correction = null;
+		plugin.getSessionCache().invalidate();
+		initializeCorrection();
+	}
+	
+	/**
+	 * A method used by our layout migration once a player directory could not be renamed. Players are then
+	 * written into the directory of the desired layout, the correction runs again the next time our modules
+	 * are initialized, which appends any directory that is left behind.
+	 *
+	 * @param migration Failed migration
+	 * @since 1.3
+	 */
+	public synchronized void failCorrection(@NotNull LayoutMigration migration)
+	{
+		if (correction == migration) {
+			correction = null;
+			plugin.getSessionCache().invalidate();
+			plugin.log(Level.WARNING, "migrate.failed", migration.getIdentifier());
+		}
+	}
+	
+	/**
+	 * A method used to return the layout our log directory should have with the current configuration.
+	 *
+	 * @param useUUID Whether player directories are named by uuid
+	 * @return Desired layout
+	 * @since 1.3
+	 */
+	private @NotNull String getLayout(boolean useUUID)
+	{
+		return LAYOUT_VERSION + ":" + (useUUID ? "uuid" : "name");
+	}
+	
+	/**
+	 * A method used to read the layout recorded by our last correction, if no correction has been completed
+	 * yet, this method will return null.
+	 *
+	 * @return Recorded layout
+	 * @since 1.3
+	 */
+	private @Nullable String readLayout()
+	{
+		File marker = getLayoutFile();
+		
+		try {
+			if (marker.exists()) {
+				return new String(Files.readAllBytes(marker.toPath()), StandardCharsets.UTF_8).trim();
 			}
 		}
+		catch (IOException ex) {
+			plugin.getReport().create(ex);
+		}
+		return null;
+	}
+	
+	/**
+	 * A method used to record the layout of our log directory after a completed correction.
+	 *
+	 * @param layout Completed layout
+	 * @since 1.3
+	 */
+	private void writeLayout(@NotNull String layout)
+	{
+		File marker = getLayoutFile();
+		api.createParent(marker);
 		
-		if (changes > 0) {
-			plugin.debug("user.correction.total", changes);
+		try {
+			Files.write(marker.toPath(), layout.getBytes(StandardCharsets.UTF_8));
+		}
+		catch (IOException ex) {
+			plugin.getReport().create(ex);
 		}
 	}
 	
@@ -295,15 +367,37 @@ public class ModuleManager extends Configuration implements Manager
 	{
 		Validate.notNull(module, "Could not add to registry, The module defined cannot be null!");
 		
-		if (!registered.contains(module)) {
+		if (!isRegistered(module)) {
 			registered.add(module);
-			
-			if (getRegisteredList().contains(module)) {
-				plugin.debug("module.register.success", module.getFullIdentifier());
-			}
+			setRegistered(module, true);
+			plugin.debug("module.register.success", module.getFullIdentifier());
 		}
 	}
 	
+	/**
+	 * A method used to determine whether a module is registered, this method may be called from any thread.
+	 *
+	 * @param module Target module
+	 * @return Module registry status
+	 * @since 1.3
+	 */
+	public boolean isRegistered(@NotNull Module module) { return registeredIds.get(module.getDescriptor().getId()); }
+	
+	/**
+	 * A method used to record the registry status of a module. The bitset is copied before it is changed,
+	 * so a thread reading our registry never sees a bitset that is being modified.
+	 *
+	 * @param module Target module
+	 * @param state Whether the module is registered
+	 * @since 1.3
+	 */
+	private static synchronized void setRegistered(@NotNull Module module, boolean state)
+	{
+		BitSet copy = (BitSet) registeredIds.clone();
+		copy.set(module.getDescriptor().getId(), state);
+		registeredIds = copy;
+	}
+	
 	/**
 	 * A method used to return the identifier list of all registered modules.
 	 *
@@ -331,6 +425,12 @@ public class ModuleManager extends Configuration implements Manager
 	 */
 	public Module getModuleByPartial(String partial)
 	{
+		Module exact = getModule(partial);
+		
+		if (exact != null) {
+			return exact;
+		}
+		
 		for (Module module : getMasterList()) {
 			if (module.getFullIdentifier().toLowerCase().contains(partial)) {
 				return module;
@@ -339,6 +439,20 @@ public class ModuleManager extends Configuration implements Manager
 		return null;
 	}
 	
+	/**
+	 * This method is used to return a module based on its identifier or full identifier, unlike
+	 * {@link #getModuleByPartial(String)} the name must match exactly.
+	 *
+	 * @param identifier Module identifier
+	 * @return Requested module, or null if no module matches
+	 * @since 1.3
+	 */
+	public Module getModule(String identifier)
+	{
+		getMasterList();
+		return lookup.get(identifier.toLowerCase(Locale.ROOT));
+	}
+	
 	/* GET COUNTS */
 	
 	/**
@@ -369,6 +483,22 @@ public class ModuleManager extends Configuration implements Manager
 	 */
 	public File getLogDirectory()             { return Util.toFile("log-files");                           }
 	
+	/**
+	 * A method used to return the marker file that records the layout of our log directory.
+	 *
+	 * @return Layout marker file
+	 * @since 1.3
+	 */
+	public File getLayoutFile()               { return Util.toFile(getLogDirectory(), ".layout");          }
+	
+	/**
+	 * A method used to return the dispatcher that passes events to our registered modules.
+	 *
+	 * @return Event dispatcher
+	 * @since 1.3
+	 */
+	public EventDispatcher getDispatcher()    { return dispatcher;                                        }
+	
 	/**
 	 * A method used to return the required user directory, this method automatically configures based on the
 	 * configuration's requirements.
@@ -379,10 +509,7 @@ public class ModuleManager extends Configuration implements Manager
 	 */
 	public File getUserDirectory(Player player)
 	{
-		if (!getBoolean(Config.USE_UUID)) {
-			return Util.toFile(getLogDirectory(), player.getName());
-		}
-		return Util.toFile(getLogDirectory(), api.toString(player.getUniqueId()));
+		return getUserDirectory(player.getUniqueId(), player.getName());
 	}
 	
 	/**
@@ -395,9 +522,31 @@ public class ModuleManager extends Configuration implements Manager
 	 */
 	public File getUserDirectory(OfflinePlayer player)
 	{
-		if (!getBoolean(Config.USE_UUID)) {
-			return Util.toFile(getLogDirectory(), player.getName());
+		return getUserDirectory(player.getUniqueId(), player.getName());
+	}
+	
+	/**
+	 * A method used to return the required user directory for a player that is only known by its unique id
+	 * and name, this method automatically configures based on the configuration's requirements.
+	 *
+	 * @param uuid Target unique id
+	 * @param name Target name
+	 * @return User directory
+	 * @since 1.3
+	 */
+	public File getUserDirectory(UUID uuid, String name)
+	{
+		LayoutMigration migration = correction;
+		boolean useUUID           = getBoolean(Config.USE_UUID);
+		
+		// WHILE WE MIGRATE, PLAYERS THAT WERE NOT MIGRATED YET KEEP WRITING INTO THEIR PREVIOUS DIRECTORY
+		if (migration != null) {
+			useUUID = migration.isPending(uuid) != migration.isUUID();
+		}
+		
+		if (!useUUID) {
+			return Util.toFile(getLogDirectory(), name);
 		}
-		return Util.toFile(getLogDirectory(), api.toString(player.getUniqueId()));
+		return Util.toFile(getLogDirectory(), api.toString(uuid));
 	}
 }
@@ -0,0 +1,114 @@
+package com.frostdeveloper.playerlogs.migration;
+
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.core.PlayerIndex;
+import com.frostdeveloper.playerlogs.manager.ModuleManager;
+import com.frostdeveloper.playerlogs.model.Migration;
+import com.frostdeveloper.playerlogs.util.Util;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A migration used to move every log that was placed inside an inactive directory by an older version back
+ * into its player's directory, logs of a disabled module now stay where they are. A log is left in place if
+ * its player already has a log of the same module, inactive directories are deleted once empty. This
+ * migration only has to run once.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class InactiveMigration extends Migration
+{
+	// CLASS INSTANCES
+	private final PlayerLogs plugin     = PlayerLogs.getInstance();
+	private final ModuleManager manager = plugin.getModuleManager();
+	
+	// CLASS SPECIFIC OBJECTS
+	public static final String IDENTIFIER = "inactive-logs";
+	
+	/**
+	 * A method used to return the identifier of this migration.
+	 *
+	 * @return Migration identifier
+	 * @since 1.3
+	 */
+	@Override
+	public @NotNull String getIdentifier() { return IDENTIFIER; }
+	
+	/**
+	 * A method used to return every indexed player that still has an inactive directory.
+	 *
+	 * @return Unique ids of the remaining players
+	 * @since 1.3
+	 */
+	@Override
+	public @NotNull List<String> collect()
+	{
+		List<String> targets = new ArrayList<>();
+		
+		for (PlayerIndex.Entry current : plugin.getPlayerIndex().getEntries()) {
+			if (getInactive(current).exists()) {
+				targets.add(current.getUniqueId().toString());
+			}
+		}
+		return targets;
+	}
+	
+	/**
+	 * A method used to restore the inactive logs of a single player.
+	 *
+	 * @param target Unique id of the player
+	 * @throws IOException Thrown if a log could not be moved or the inactive directory could not be deleted
+	 * @since 1.3
+	 */
+	@Override
+	public void migrate(@NotNull String target) throws IOException
+	{
+		PlayerIndex.Entry entry = plugin.getPlayerIndex().get(UUID.fromString(target));
+		
+		if (entry == null) {
+			return;
+		}
+		
+		File inactive = getInactive(entry);
+		File[] files  = inactive.listFiles(file -> file.isFile() && file.getName().endsWith(".log"));
+		
+		if (files == null) {
+			return;
+		}
+		
+		// WAITS UNTIL NO WRITER HOLDS A FILE OF THIS PLAYER OPEN, A LOG WRITTEN MEANWHILE IS APPENDED TO
+		plugin.getLogService().invalidate();
+		
+		for (File file : files) {
+			File restored = Util.toFile(inactive.getParentFile(), file.getName());
+			
+			if (!restored.exists()) {
+				merge(file, restored);
+			}
+		}
+		
+		File[] remaining = inactive.listFiles();
+		
+		if (remaining != null && remaining.length == 0 && !inactive.delete()) {
+			throw new IOException("Failed to delete inactive directory for: " + entry.getName());
+		}
+	}
+	
+	/**
+	 * A method used to return the inactive directory of a player.
+	 *
+	 * @param entry Indexed player
+	 * @return Inactive directory
+	 * @since 1.3
+	 */
+	private @NotNull File getInactive(@NotNull PlayerIndex.Entry entry)
+	{
+		return Util.toFile(manager.getUserDirectory(entry.getUniqueId(), entry.getName()), "inactive");
+	}
+}
@@ -0,0 +1,184 @@
+package com.frostdeveloper.playerlogs.migration;
+
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.core.PlayerIndex;
+import com.frostdeveloper.playerlogs.manager.ModuleManager;
+import com.frostdeveloper.playerlogs.model.Migration;
+import com.frostdeveloper.playerlogs.util.Util;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A migration used to rename every player directory once players should be stored by uuid instead of name,
+ * or the other way around. Until a player was migrated, their logs keep being written into their previous
+ * directory, so no log is split between both directories while we migrate.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class LayoutMigration extends Migration
+{
+	// CLASS INSTANCES
+	private final PlayerLogs plugin     = PlayerLogs.getInstance();
+	private final ModuleManager manager = plugin.getModuleManager();
+	
+	// CLASS SPECIFIC OBJECTS
+	private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+	private final boolean useUUID;
+	private final String layout;
+	
+	/**
+	 * A constructor used to define the layout we migrate to.
+	 *
+	 * @param useUUID Whether player directories are named by uuid once migrated
+	 * @param layout Layout that is recorded once migrated
+	 * @since 1.3
+	 */
+	public LayoutMigration(boolean useUUID, @NotNull String layout)
+	{
+		this.useUUID = useUUID;
+		this.layout  = layout;
+	}
+	
+	/**
+	 * A method used to return the identifier of this migration.
+	 *
+	 * @return Migration identifier
+	 * @since 1.3
+	 */
+	@Override
+	public @NotNull String getIdentifier() { return "layout-" + (useUUID ? "uuid" : "name"); }
+	
+	/**
+	 * A method used to return every indexed player whose directory still uses the previous layout.
+	 *
+	 * @return Unique ids of the remaining players
+	 * @since 1.3
+	 */
+	@Override
+	public @NotNull List<String> collect()
+	{
+		List<String> targets = new ArrayList<>();
+		
+		for (PlayerIndex.Entry current : plugin.getPlayerIndex().getEntries()) {
+			if (getSource(current).exists()) {
+				pending.add(current.getUniqueId());
+				targets.add(current.getUniqueId().toString());
+			}
+		}
+		return targets;
+	}
+	
+	/**
+	 * A method used to move the directory of a single player. New logs are written into the new directory
+	 * before the old one is moved, any log written into the old directory meanwhile is appended afterwards.
+	 *
+	 * @param target Unique id of the player
+	 * @throws IOException Thrown if the directory could not be moved
+	 * @since 1.3
+	 */
+	@Override
+	public void migrate(@NotNull String target) throws IOException
+	{
+		UUID uniqueId           = UUID.fromString(target);
+		PlayerIndex.Entry entry = plugin.getPlayerIndex().get(uniqueId);
+		
+		pending.remove(uniqueId);
+		plugin.getSessionCache().invalidate(uniqueId);
+		
+		if (entry == null) {
+			return;
+		}
+		File destination = getTarget(entry);
+		
+		// WAITS UNTIL NO WRITER HOLDS A FILE OF THE PREVIOUS DIRECTORY OPEN, NEW LOGS ALREADY USE THE NEW ONE
+		plugin.getLogService().invalidate();
+		merge(getSource(entry), destination);
+		plugin.getPlayerIndex().update(uniqueId, entry.getName(), destination.getName());
+	}
+	
+	/**
+	 * A method used to migrate any directory that was recreated by a log written while we were migrating,
+	 * and to record our layout once every directory was moved.
+	 *
+	 * @throws IOException Thrown if a directory could not be moved
+	 * @since 1.3
+	 */
+	@Override
+	public void complete() throws IOException
+	{
+		for (String target : collect()) {
+			migrate(target);
+		}
+		manager.completeCorrection(this);
+	}
+	
+	/**
+	 * A method used to stop sending players that were not migrated to their previous directory once a
+	 * directory could not be moved. The remaining directories are moved once the correction runs again.
+	 *
+	 * @since 1.3
+	 */
+	@Override
+	public void fail()
+	{
+		pending.clear();
+		manager.failCorrection(this);
+	}
+	
+	/**
+	 * A method used to determine whether a player still has to be migrated.
+	 *
+	 * @param uniqueId Unique id of the player
+	 * @return Whether the player still uses the previous layout
+	 * @since 1.3
+	 */
+	public boolean isPending(@NotNull UUID uniqueId) { return pending.contains(uniqueId); }
+	
+	/**
+	 * A method used to determine whether player directories are named by uuid once migrated.
+	 *
+	 * @return Whether our layout uses uuids
+	 * @since 1.3
+	 */
+	public boolean isUUID()                         { return useUUID;                     }
+	
+	/**
+	 * A method used to return the layout that is recorded once migrated.
+	 *
+	 * @return Migrated layout
+	 * @since 1.3
+	 */
+	public @NotNull String getLayout()              { return layout;                      }
+	
+	/**
+	 * A method used to return the directory of a player in the previous layout.
+	 *
+	 * @param entry Indexed player
+	 * @return Previous directory
+	 * @since 1.3
+	 */
+	private @NotNull File getSource(@NotNull PlayerIndex.Entry entry)
+	{
+		return Util.toFile(manager.getLogDirectory(), useUUID ? entry.getName() : entry.getUniqueId().toString());
+	}
+	
+	/**
+	 * A method used to return the directory of a player in the layout we migrate to.
+	 *
+	 * @param entry Indexed player
+	 * @return New directory
+	 * @since 1.3
+	 */
+	private @NotNull File getTarget(@NotNull PlayerIndex.Entry entry)
+	{
+		return Util.toFile(manager.getLogDirectory(), useUUID ? entry.getUniqueId().toString() : entry.getName());
+	}
+}
@@ -0,0 +1,95 @@
+package com.frostdeveloper.playerlogs.migration;
+
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.core.PlayerIndex;
+import com.frostdeveloper.playerlogs.manager.ModuleManager;
+import com.frostdeveloper.playerlogs.model.Migration;
+import com.frostdeveloper.playerlogs.model.Module;
+import com.frostdeveloper.playerlogs.util.Util;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A migration used to rename the module logs written by older versions, such as {@code break-activity.log},
+ * to the name of their module. Logs of modules that no longer exist are moved into an unsupported directory.
+ * This migration only has to run once.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class ModuleFileMigration extends Migration
+{
+	// CLASS INSTANCES
+	private final PlayerLogs plugin     = PlayerLogs.getInstance();
+	private final ModuleManager manager = plugin.getModuleManager();
+	
+	// CLASS SPECIFIC OBJECTS
+	public static final String IDENTIFIER = "module-files";
+	
+	/**
+	 * A method used to return the identifier of this migration.
+	 *
+	 * @return Migration identifier
+	 * @since 1.3
+	 */
+	@Override
+	public @NotNull String getIdentifier() { return IDENTIFIER; }
+	
+	/**
+	 * A method used to return every indexed player, each of their directories is checked once.
+	 *
+	 * @return Unique ids of every indexed player
+	 * @since 1.3
+	 */
+	@Override
+	public @NotNull List<String> collect()
+	{
+		List<String> targets = new ArrayList<>();
+		
+		for (PlayerIndex.Entry current : plugin.getPlayerIndex().getEntries()) {
+			targets.add(current.getUniqueId().toString());
+		}
+		return targets;
+	}
+	
+	/**
+	 * A method used to rename the module logs inside the directory of a single player.
+	 *
+	 * @param target Unique id of the player
+	 * @throws IOException Thrown if a log could not be moved
+	 * @since 1.3
+	 */
+	@Override
+	public void migrate(@NotNull String target) throws IOException
+	{
+		PlayerIndex.Entry entry = plugin.getPlayerIndex().get(UUID.fromString(target));
+		
+		if (entry == null) {
+			return;
+		}
+		
+		File playerDir = manager.getUserDirectory(entry.getUniqueId(), entry.getName());
+		File[] files   = playerDir.listFiles(File::isFile);
+		
+		if (files == null) {
+			return;
+		}
+		
+		for (File currentModuleFile : files) {
+			Module module = manager.getModuleByPartial(currentModuleFile.getName().split("-")[0]);
+			File moved    = module != null
+					? Util.toFile(playerDir, module.getDescriptor().getFileName())
+					: Util.toFile(playerDir, "unsupported/{0}", currentModuleFile.getName());
+			
+			if (!moved.equals(currentModuleFile)) {
+				plugin.getLogService().invalidate();
+				merge(currentModuleFile, moved);
+			}
+		}
+	}
+}
@@ -0,0 +1,213 @@
+package com.frostdeveloper.playerlogs.model;
+
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.util.Util;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * A class used to describe a search through our logs. A query is made of filters written as {@code key:value},
+ * for example {@code player:Notch module:break since:2h contains:diamond}. Every filter is optional, a word
+ * without a key is treated as a {@code contains} filter.
+ * <ul>
+ *     <li>{@code player} - The name or unique id of a player</li>
+ *     <li>{@code module} - The identifier of a module</li>
+ *     <li>{@code since} - Only match records newer than this duration</li>
+ *     <li>{@code until} - Only match records older than this duration</li>
+ *     <li>{@code contains} - Only match records whose message contains this text, ignoring case</li>
+ *     <li>{@code page} - The page of results to return</li>
+ * </ul>
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class LogQuery
+{
+	// CLASS SPECIFIC OBJECTS
+	private final List<String> terms = new ArrayList<>();
+	private UUID player;
+	private String module;
+	private long since = Long.MIN_VALUE;
+	private long until = Long.MAX_VALUE;
+	private int page = 1;
+	
+	/**
+	 * A method used to parse a query from command arguments.
+	 *
+	 * @param args Command arguments
+	 * @param from Index of the first argument that belongs to the query
+	 * @return Parsed query
+	 * @throws IllegalArgumentException Thrown with the invalid filter as its message if a filter is invalid
+	 * @since 1.3
+	 */
+	public static @NotNull LogQuery parse(@NotNull String[] args, int from)
+	{
+		LogQuery query = new LogQuery();
+		long now       = System.currentTimeMillis();
+		
+		for (int i = from; i < args.length; i++) {
+			String argument = args[i];
+			int separator   = argument.indexOf(':');
+			String key      = separator > 0 ? argument.substring(0, separator).toLowerCase(Locale.ROOT) : "contains";
+			String value    = separator > 0 ? argument.substring(separator + 1) : argument;
+			
+			if (value.isEmpty()) {
+				throw new IllegalArgumentException(argument);
+			}
+			
+			switch (key) {
+				case "player":
+					query.player = toUniqueId(value);
+					break;
+				case "module":
+					Module module = PlayerLogs.getInstance().getModuleManager().getModule(value);
+					
+					if (module == null) {
+						throw new IllegalArgumentException(argument);
+					}
+					query.module = module.getFullIdentifier();
+					break;
+				case "since":
+				case "until":
+					long duration = Util.toDuration(value);
+					
+					if (duration < 0) {
+						throw new IllegalArgumentException(argument);
+					}
+					
+					if (key.equals("since")) {
+						query.since = now - duration;
+					}
+					else {
+						query.until = now - duration;
+					}
+					break;
+				case "page":
+					try {
+						query.page = Math.max(1, Integer.parseInt(value));
+					}
+					catch (NumberFormatException ex) {
+						throw new IllegalArgumentException(argument);
+					}
+					break;
+				case "contains":
+					query.terms.add(value.toLowerCase(Locale.ROOT));
+					break;
+				default:
+					throw new IllegalArgumentException(argument);
+			}
+		}
+		return query;
+	}
+	
+	/**
+	 * A method used to determine whether a record matches every filter of this query.
+	 *
+	 * @param record Target record
+	 * @return Whether the record matches
+	 * @since 1.3
+	 */
+	public boolean matches(@NotNull LogRecord record)
+	{
+		if (record.getTimestamp() < since || record.getTimestamp() > until) {
+			return false;
+		}
+		
+		if (module != null && !module.equals(record.getModule())) {
+			return false;
+		}
+		
+		if (player != null && !player.equals(record.getPlayer())) {
+			return false;
+		}
+		
+		String message = record.getMessage().toLowerCase(Locale.ROOT);
+		
+		for (String term : terms) {
+			if (!message.contains(term)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * A method used to return the unique id of a player that is either known by its unique id or its name.
+	 *
+	 * @param value Unique id or name
+	 * @return Unique id of the player
+	 * @throws IllegalArgumentException Thrown if no player matches the value
+	 * @since 1.3
+	 */
+	private static @NotNull UUID toUniqueId(@NotNull String value)
+	{
+		try {
+			return UUID.fromString(value);
+		}
+		catch (IllegalArgumentException ignored) {}
+		
+		OfflinePlayer player = Util.getOfflinePlayer(value);
+		
+		if (player == null) {
+			throw new IllegalArgumentException("player:" + value);
+		}
+		return player.getUniqueId();
+	}
+	
+	/* GETTER METHODS */
+	
+	/**
+	 * A method used to return the player this query is filtered by.
+	 *
+	 * @return Target player, or null if not filtered
+	 * @since 1.3
+	 */
+	public @Nullable UUID getPlayer()       { return player;                              }
+	
+	/**
+	 * A method used to return the full identifier of the module this query is filtered by.
+	 *
+	 * @return Module identifier, or null if not filtered
+	 * @since 1.3
+	 */
+	public @Nullable String getModule()     { return module;                              }
+	
+	/**
+	 * A method used to return the start of the time range of this query.
+	 *
+	 * @return Start timestamp
+	 * @since 1.3
+	 */
+	public long getSince()                  { return since;                               }
+	
+	/**
+	 * A method used to return the end of the time range of this query.
+	 *
+	 * @return End timestamp
+	 * @since 1.3
+	 */
+	public long getUntil()                  { return until;                               }
+	
+	/**
+	 * A method used to return the lower case texts a message must contain.
+	 *
+	 * @return Search terms
+	 * @since 1.3
+	 */
+	public @NotNull List<String> getTerms() { return Collections.unmodifiableList(terms); }
+	
+	/**
+	 * A method used to return the requested page.
+	 *
+	 * @return Page number, starting at one
+	 * @since 1.3
+	 */
+	public int getPage()                    { return page;                                }
+}
@@ -0,0 +1,228 @@
+package com.frostdeveloper.playerlogs.model;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * A class used to define a single finished log entry. A record is created on the thread that triggered
+ * an event and is handed to our writer, which passes it on to the storage backend that is in use.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class LogRecord
+{
+	// CLASS SPECIFIC OBJECTS
+	private final long timestamp;
+	private final String date;
+	private final String module;
+	private final UUID player;
+	private final String name;
+	private final String message;
+	private final boolean modular;
+	private final String world;
+	private final int x;
+	private final int y;
+	private final int z;
+	private final String material;
+	private final boolean detail;
+	
+	/**
+	 * A constructor used to define the required values of a log record.
+	 *
+	 * @param timestamp The time the record was created, in milliseconds
+	 * @param date      The date the record was created, as it appears in our text logs
+	 * @param module    The full identifier of the module that created this record
+	 * @param player    The unique id of the player this record belongs to, can be null
+	 * @param name      The name of the player this record belongs to, can be null
+	 * @param message   The message to print
+	 * @param modular   Whether the record should also be stored as part of the player's own logs
+	 * @since 1.3
+	 */
+	public LogRecord(long timestamp, @NotNull String date, @NotNull String module, @Nullable UUID player, @Nullable String name, @NotNull String message, boolean modular)
+	{
+		this(timestamp, date, module, player, name, message, modular, null, 0, 0, 0, null);
+	}
+	
+	/**
+	 * A constructor used to define the values of a log record that took place at a location.
+	 *
+	 * @param timestamp The time the record was created, in milliseconds
+	 * @param date      The date the record was created, as it appears in our text logs
+	 * @param module    The full identifier of the module that created this record
+	 * @param player    The unique id of the player this record belongs to, can be null
+	 * @param name      The name of the player this record belongs to, can be null
+	 * @param message   The message to print
+	 * @param modular   Whether the record should also be stored as part of the player's own logs
+	 * @param world     The world the record took place in, can be null if it has no location
+	 * @param x         The block x coordinate
+	 * @param y         The block y coordinate
+	 * @param z         The block z coordinate
+	 * @param material  The material involved, can be null
+	 * @since 1.3
+	 */
+	public LogRecord(long timestamp, @NotNull String date, @NotNull String module, @Nullable UUID player, @Nullable String name, @NotNull String message, boolean modular, @Nullable String world, int x, int y, int z, @Nullable String material)
+	{
+		this(timestamp, date, module, player, name, message, modular, world, x, y, z, material, false);
+	}
+	
+	/**
+	 * A constructor used to define the values of a log record that took place at a location, a detailed record
+	 * only keeps the exact change for our searchable storage and block index and is left out of our text logs.
+	 *
+	 * @param timestamp The time the record was created, in milliseconds
+	 * @param date      The date the record was created, as it appears in our text logs
+	 * @param module    The full identifier of the module that created this record
+	 * @param player    The unique id of the player this record belongs to, can be null
+	 * @param name      The name of the player this record belongs to, can be null
+	 * @param message   The message to print
+	 * @param modular   Whether the record should also be stored as part of the player's own logs
+	 * @param world     The world the record took place in, can be null if it has no location
+	 * @param x         The block x coordinate
+	 * @param y         The block y coordinate
+	 * @param z         The block z coordinate
+	 * @param material  The material involved, can be null
+	 * @param detail    Whether the record is left out of our text logs
+	 * @since 1.3
+	 */
+	public LogRecord(long timestamp, @NotNull String date, @NotNull String module, @Nullable UUID player, @Nullable String name, @NotNull String message, boolean modular, @Nullable String world, int x, int y, int z, @Nullable String material, boolean detail)
+	{
+		this.timestamp = timestamp;
+		this.date      = date;
+		this.module    = module;
+		this.player    = player;
+		this.name      = name;
+		this.message   = message;
+		this.modular   = modular && player != null;
+		this.world     = world;
+		this.x         = x;
+		this.y         = y;
+		this.z         = z;
+		this.material  = material;
+		this.detail    = detail;
+	}
+	
+	/**
+	 * A method used to return the time this record was created, in milliseconds.
+	 *
+	 * @return Record timestamp
+	 * @since 1.3
+	 */
+	public long getTimestamp()             { return timestamp; }
+	
+	/**
+	 * A method used to return the date this record was created.
+	 *
+	 * @return Record date
+	 * @since 1.3
+	 */
+	public @NotNull String getDate()       { return date;      }
+	
+	/**
+	 * A method used to return the full identifier of the module that created this record.
+	 *
+	 * @return Module identifier
+	 * @since 1.3
+	 */
+	public @NotNull String getModule()     { return module;    }
+	
+	/**
+	 * A method used to return the unique id of the player this record belongs to.
+	 *
+	 * @return Player unique id, can be null
+	 * @since 1.3
+	 */
+	public @Nullable UUID getPlayer()      { return player;    }
+	
+	/**
+	 * A method used to return the name of the player this record belongs to.
+	 *
+	 * @return Player name, can be null
+	 * @since 1.3
+	 */
+	public @Nullable String getName()      { return name;      }
+	
+	/**
+	 * A method used to return the message of this record.
+	 *
+	 * @return Record message
+	 * @since 1.3
+	 */
+	public @NotNull String getMessage()    { return message;   }
+	
+	/**
+	 * A method used to return whether this record should also be stored as part of the player's own logs.
+	 *
+	 * @return Whether the record is modular
+	 * @since 1.3
+	 */
+	public boolean isModular()             { return modular;   }
+	
+	/**
+	 * A method used to return whether this record took place at a location.
+	 *
+	 * @return Whether a location is present
+	 * @since 1.3
+	 */
+	public boolean hasLocation()           { return world != null; }
+	
+	/**
+	 * A method used to return the world this record took place in.
+	 *
+	 * @return World name, can be null
+	 * @since 1.3
+	 */
+	public @Nullable String getWorld()     { return world;     }
+	
+	/**
+	 * A method used to return the block x coordinate of this record.
+	 *
+	 * @return Block x coordinate
+	 * @since 1.3
+	 */
+	public int getX()                      { return x;         }
+	
+	/**
+	 * A method used to return the block y coordinate of this record.
+	 *
+	 * @return Block y coordinate
+	 * @since 1.3
+	 */
+	public int getY()                      { return y;         }
+	
+	/**
+	 * A method used to return the block z coordinate of this record.
+	 *
+	 * @return Block z coordinate
+	 * @since 1.3
+	 */
+	public int getZ()                      { return z;         }
+	
+	/**
+	 * A method used to return the material involved in this record.
+	 *
+	 * @return Material name, can be null
+	 * @since 1.3
+	 */
+	public @Nullable String getMaterial()  { return material;  }
+	
+	/**
+	 * A method used to return whether this record is left out of our text logs, its change is then written
+	 * as part of an aggregated line instead.
+	 *
+	 * @return Whether the record is detailed
+	 * @since 1.3
+	 */
+	public boolean isDetail()              { return detail;    }
+	
+	/**
+	 * A method used to return the key our writer uses to decide which thread handles this record. Records
+	 * of the same player, or of the same module if there is no player, are always handled in order.
+	 *
+	 * @return Partition key
+	 * @since 1.3
+	 */
+	public int getPartition() { return player != null ? player.hashCode() : module.hashCode(); }
+}
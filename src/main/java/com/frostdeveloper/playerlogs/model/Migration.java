@@ -0,0 +1,107 @@
+package com.frostdeveloper.playerlogs.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A class used to define a change to the layout of our log directory that is applied in the background. A
+ * migration is split into targets, such as the directory of a single player, every target is migrated on
+ * its own so a migration can be resumed after a restart. Migrating a target must be safe to repeat.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public abstract class Migration
+{
+	/**
+	 * A method used to return the identifier of this migration, it is used to record its progress.
+	 *
+	 * @return Migration identifier
+	 * @since 1.3
+	 */
+	public abstract @NotNull String getIdentifier();
+	
+	/**
+	 * A method used to return every target that still has to be migrated. This method is called once the
+	 * migration is submitted, before any target is migrated.
+	 *
+	 * @return Remaining targets
+	 * @since 1.3
+	 */
+	public abstract @NotNull List<String> collect();
+	
+	/**
+	 * A method used to migrate a single target, this method is called from our migration threads.
+	 *
+	 * @param target Target to migrate
+	 * @throws IOException Thrown if the target could not be migrated
+	 * @since 1.3
+	 */
+	public abstract void migrate(@NotNull String target) throws IOException;
+	
+	/**
+	 * A method called once every target was migrated successfully.
+	 *
+	 * @throws IOException Thrown if the migration could not be completed
+	 * @since 1.3
+	 */
+	public void complete() throws IOException { }
+	
+	/**
+	 * A method called once a target could not be migrated, the migration is submitted again the next time
+	 * its owner asks for it.
+	 *
+	 * @since 1.3
+	 */
+	public void fail() { }
+	
+	/**
+	 * A method used to move a file or directory to a new location. If the new location already exists, which
+	 * happens once a log was written there while we were migrating, the logs are appended to the existing
+	 * ones instead.
+	 *
+	 * @param source Current location
+	 * @param target New location
+	 * @throws IOException Thrown if the source could not be moved
+	 * @since 1.3
+	 */
+	protected void merge(@NotNull File source, @NotNull File target) throws IOException
+	{
+		if (!source.exists()) {
+			return;
+		}
+		
+		if (!target.exists()) {
+			if (!target.getParentFile().exists() && !target.getParentFile().mkdirs()) {
+				throw new IOException("Failed to create directory for: " + target.getName());
+			}
+			Files.move(source.toPath(), target.toPath());
+			return;
+		}
+		
+		if (source.isDirectory()) {
+			for (File child : Objects.requireNonNull(source.listFiles())) {
+				merge(child, new File(target, child.getName()));
+			}
+			Files.deleteIfExists(source.toPath());
+			return;
+		}
+		
+		try (FileChannel input = new FileInputStream(source).getChannel(); FileChannel output = new FileOutputStream(target, true).getChannel()) {
+			long position = 0;
+			
+			while (position < input.size()) {
+				position += input.transferTo(position, input.size() - position, output);
+			}
+		}
+		Files.delete(source.toPath());
+	}
+}
@@ -2,23 +2,30 @@ package com.frostdeveloper.playerlogs.model;
 
 import com.frostdeveloper.api.FrostAPI;
 import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.core.EventDispatcher;
+import com.frostdeveloper.playerlogs.core.SessionCache;
 import com.frostdeveloper.playerlogs.definition.Config;
 import com.frostdeveloper.playerlogs.definition.Variable;
 import com.frostdeveloper.playerlogs.manager.LocaleManager;
 import com.frostdeveloper.playerlogs.manager.ModuleManager;
+import com.frostdeveloper.playerlogs.service.AggregationService;
+import com.frostdeveloper.playerlogs.service.LogService;
+import com.frostdeveloper.playerlogs.util.PlaceholderContext;
+import com.frostdeveloper.playerlogs.util.Template;
 import com.frostdeveloper.playerlogs.util.Util;
-import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
-import org.bukkit.event.Listener;
+import org.bukkit.event.Event;
+import org.bukkit.event.player.PlayerEvent;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * An interface used to define the required classes needed in-order for a module to work.
@@ -32,7 +39,9 @@ public abstract class Module
 	protected final PlayerLogs plugin     = PlayerLogs.getInstance();
 	protected final FrostAPI api          = plugin.getFrostAPI();
 	protected final ModuleManager manager = plugin.getModuleManager();
-	protected final LocaleManager locale  = plugin.getLocaleManager();
+	
+	// CLASS SPECIFIC OBJECTS
+	private final ModuleDescriptor descriptor = ModuleDescriptor.of(getClass());
 	
 	/**
 	 * A method used to return the message assigned to a module
@@ -59,20 +68,63 @@ public abstract class Module
 	public abstract boolean isEnabled();
 	
 	/**
-	 * A method used to return the active handler list for a module.
+	 * A method used to return how long the logs of a module are kept. A module log of a player is a single
+	 * file, so it is only removed once it was not written to for longer than this retention.
 	 *
-	 * @since 1.2
+	 * @return Retention in milliseconds, zero if logs are kept forever
+	 * @since 1.3
 	 */
-	public abstract void removeListener();
+	public abstract long getRetention();
+	
+	/**
+	 * A method used to return the window in which the block changes of this module are merged into a single
+	 * line of our text logs, see {@link AggregationService}.
+	 *
+	 * @return Window in milliseconds, zero if changes are not aggregated
+	 * @since 1.3
+	 */
+	public long getAggregateWindow() { return 0; }
+	
+	/**
+	 * A method used to return the event this module logs, every event of this class is passed to
+	 * {@link #handle(Event)} while the module is registered.
+	 *
+	 * @return Event class
+	 * @since 1.3
+	 */
+	public abstract @NotNull Class<? extends Event> getEvent();
+	
+	/**
+	 * A method used to log an event, it is called by our {@link EventDispatcher} once an event of
+	 * {@link #getEvent()} was not cancelled by any other plugin.
+	 *
+	 * @param event Triggered event
+	 * @since 1.3
+	 */
+	public abstract void handle(@NotNull Event event);
+	
+	/**
+	 * A method used to return the player of an event logged by this module, it is used to limit how many
+	 * events a single player may log.
+	 *
+	 * @param event Triggered event
+	 * @return Player of the event, can be null
+	 * @since 1.3
+	 */
+	public @Nullable Player getPlayer(@NotNull Event event)
+	{
+		return event instanceof PlayerEvent ? ((PlayerEvent) event).getPlayer() : null;
+	}
 	
 	/* EXECUTABLE METHODS */
 	
 	/**
-	 * A method is called once the module is registered, and initializes the assigned arithmetic.
+	 * A method is called once the module is registered, and initializes the assigned arithmetic. Events are
+	 * routed to a registered module by our {@link EventDispatcher}.
 	 *
 	 * @since 1.2
 	 */
-	public void initialize() { Bukkit.getServer().getPluginManager().registerEvents((Listener) this, plugin); }
+	public void initialize() { }
 	
 	/**
 	 * A method used to get a modules' information as an array.
@@ -82,6 +134,7 @@ public abstract class Module
 	 */
 	public ArrayList<String> getInformation()
 	{
+		LocaleManager locale = plugin.getLocaleManager();
 		ArrayList<String> description = new ArrayList<>();
 		description.add(api.format(locale.getMessage("module.description.identifier"), getFullIdentifier()));
 		description.add(api.format(locale.getMessage("module.description.registered"), isRegistered()));
@@ -96,7 +149,7 @@ public abstract class Module
 	 * @return Module registry status
 	 * @since 1.2
 	 */
-	public boolean isRegistered() { return  manager.getRegisteredList().contains(this); }
+	public boolean isRegistered() { return manager.isRegistered(this); }
 	
 	/* GETTER METHODS */
 	
@@ -107,11 +160,7 @@ public abstract class Module
 	 * @return Module identifier
 	 * @since 1.0
 	 */
-	public @NotNull String getIdentifier()
-	{
-		String rawModuleName = this.getClass().getSimpleName().toLowerCase();
-		return rawModuleName.replace("module", "");
-	}
+	public @NotNull String getIdentifier()            { return descriptor.getIdentifier();     }
 	
 	/**
 	 * A method used to return the full identifier for a module.
@@ -119,11 +168,15 @@ public abstract class Module
 	 * @return Full module identifier
 	 * @since 1.2
 	 */
-	public @NotNull String getFullIdentifier()
-	{
-		String rawModuleName = this.getClass().getSimpleName().toLowerCase();
-		return rawModuleName.replace("module", "-module");
-	}
+	public @NotNull String getFullIdentifier()        { return descriptor.getFullIdentifier(); }
+	
+	/**
+	 * A method used to return the descriptor of a module, it holds every name the module is known by.
+	 *
+	 * @return Module descriptor
+	 * @since 1.3
+	 */
+	public @NotNull ModuleDescriptor getDescriptor() { return descriptor;                     }
 	
 	/**
 	 * A method used to return a modules name
@@ -131,10 +184,7 @@ public abstract class Module
 	 * @return Module name
 	 * @since 1.2
 	 */
-	public String getName()
-	{
-		return getIdentifier().substring(0, 1).toUpperCase() + getIdentifier().substring(1) + " Module";
-	}
+	public String getName()                           { return descriptor.getName();           }
 	
 	/**
 	 * A method used to return the modules file,
@@ -144,7 +194,7 @@ public abstract class Module
 	 */
 	public File getModuleFile(Player player)
 	{
-		return Util.toFile(manager.getUserDirectory(player), getFullIdentifier() + ".log");
+		return getSession(player).getModuleFile(getFullIdentifier());
 	}
 	
 	/**
@@ -155,11 +205,127 @@ public abstract class Module
 	 */
 	public File getModuleFile(OfflinePlayer player)
 	{
-		return Util.toFile(manager.getUserDirectory(player), getFullIdentifier() + ".log");
+		return Util.toFile(manager.getUserDirectory(player), descriptor.getFileName());
+	}
+	
+	/**
+	 * A method used to return the modules file of a player that is only known by its unique id and name.
+	 *
+	 * @param uuid Target unique id
+	 * @param name Target name
+	 * @return A valid module file
+	 * @since 1.3
+	 */
+	public File getModuleFile(UUID uuid, String name)
+	{
+		return plugin.getSessionCache().getModuleFile(uuid, name, getFullIdentifier());
+	}
+	
+	/**
+	 * A method used to return the session of an online player, it holds the resolved paths of the player.
+	 *
+	 * @param player Target player
+	 * @return Player session
+	 * @since 1.3
+	 */
+	protected @NotNull SessionCache.Session getSession(@NotNull Player player)
+	{
+		return plugin.getSessionCache().get(player);
+	}
+	
+	/* RENDER METHODS */
+	
+	/**
+	 * A method used to render a message defined in our configuration or by a module. These messages
+	 * rarely change, therefore their compiled {@link Template} is cached and reused.
+	 *
+	 * @param player Target player, can be null
+	 * @param message Target message
+	 * @return Rendered message
+	 * @since 1.3
+	 */
+	protected @NotNull String render(@Nullable Player player, @NotNull String message)
+	{
+		return Template.of(message).render(player);
+	}
+	
+	/**
+	 * A method used to render a message list defined in our configuration.
+	 *
+	 * @param player Target player, can be null
+	 * @param message Target messages
+	 * @return Rendered messages
+	 * @since 1.3
+	 */
+	protected @NotNull List<String> render(@Nullable Player player, @NotNull List<String> message)
+	{
+		List<String> output = new ArrayList<>(message.size());
+		
+		for (String current : message) {
+			output.add(render(player, current));
+		}
+		return output;
+	}
+	
+	/**
+	 * A method used to render a message using the custom variables of an event.
+	 *
+	 * @param context Event context
+	 * @param message Target message
+	 * @return Rendered message
+	 * @since 1.3
+	 */
+	protected @NotNull String render(@NotNull PlaceholderContext context, @NotNull String message)
+	{
+		return Template.of(message).render(context);
+	}
+	
+	/**
+	 * A method used to render a message list using the custom variables of an event.
+	 *
+	 * @param context Event context
+	 * @param message Target messages
+	 * @return Rendered messages
+	 * @since 1.3
+	 */
+	protected @NotNull List<String> render(@NotNull PlaceholderContext context, @NotNull List<String> message)
+	{
+		List<String> output = new ArrayList<>(message.size());
+		
+		for (String current : message) {
+			output.add(render(context, current));
+		}
+		return output;
 	}
 	
 	/* PRINT METHODS */
 	
+	/**
+	 * A method used to hand a block change to our {@link AggregationService}. Once aggregated, the exact change
+	 * is only kept by our block index and the module must not print it to its log file. The message is only
+	 * rendered once the change was aggregated, a change that is logged as usual renders it itself.
+	 *
+	 * @param context Event context
+	 * @param message Message of the change, before it is rendered
+	 * @param action Action of the player, such as {@code broke}
+	 * @return Whether the change was aggregated
+	 * @since 1.3
+	 */
+	protected boolean aggregate(@NotNull PlaceholderContext context, @NotNull String message, @NotNull String action)
+	{
+		Player player     = context.getPlayer();
+		Location location = context.getLocation();
+		Material material = context.getMaterial();
+		
+		if (player == null || location == null || material == null || !plugin.getAggregationService().add(this, player, location, material, action)) {
+			return false;
+		}
+		String rendered = render(context, message);
+		
+		submit(player, location, material, rendered, rendered, true);
+		return true;
+	}
+	
 	/**
 	 * A method used to print a modules message to its log file.
 	 *
@@ -170,28 +336,7 @@ public abstract class Module
 	 */
 	protected void printToFile(Player player, @NotNull String message, String alternate)
 	{
-		File playerFile = getModuleFile(player);
-		manager.initializeCorrection();
-		
-		try {
-			if (manager.getBoolean(Config.MODULARIZE)) {
-				api.createParent(playerFile);
-				FileWriter writer = new FileWriter(playerFile, true);
-				PrintWriter printer = new PrintWriter(writer);
-				
-				if (message.contains(Variable.DEFAULT.toVar())) {
-					printer.println("[" + api.getTodayAsString() + "]: " + api.stripColor(alternate));
-				}
-				else {
-					printer.println("[" + api.getTodayAsString() + "]: " + api.stripColor(message));
-				}
-				printer.close();
-			}
-			printToFile(message, alternate);
-		}
-		catch (IOException ex) {
-			plugin.getReport().create(ex);
-		}
+		submit(player, message, alternate);
 	}
 	
 	/**
@@ -204,31 +349,38 @@ public abstract class Module
 	 */
 	protected void printToFile(Player player, @NotNull List<String> message, String alternate)
 	{
-		File playerFile = getModuleFile(player);
-		manager.initializeCorrection();
-		
-		try {
-			if (manager.getBoolean(Config.MODULARIZE)) {
-				api.createParent(playerFile);
-				FileWriter writer = new FileWriter(playerFile, true);
-				PrintWriter printer = new PrintWriter(writer);
-				
-				for (String current : message) {
-					if (manager.getBoolean(Config.MODULARIZE)) {
-						if (message.contains(Variable.DEFAULT.toVar())) {
-							printer.println("[" + api.getTodayAsString() + "]: " + api.stripColor(alternate));
-						}
-						else {
-							printer.println("[" + api.getTodayAsString() + "]: " + api.stripColor(current));
-						}
-					}
-				}
-				printer.close();
-			}
-			printToFile(message, alternate);
+		for (String current : message) {
+			submit(player, current, alternate);
 		}
-		catch (IOException ex) {
-			plugin.getReport().create(ex);
+	}
+	
+	/**
+	 * A method used to print a modules message to its log file, the location and material of the event
+	 * context are stored alongside the message.
+	 *
+	 * @param context Event context
+	 * @param message Target message
+	 * @param alternate An alternative message
+	 * @since 1.3
+	 */
+	protected void printToFile(@NotNull PlaceholderContext context, @NotNull String message, String alternate)
+	{
+		submit(context.getPlayer(), context.getLocation(), context.getMaterial(), message, alternate, false);
+	}
+	
+	/**
+	 * A method used to print a modules message list to its log file, the location and material of the event
+	 * context are stored alongside each message.
+	 *
+	 * @param context Event context
+	 * @param message Target messages
+	 * @param alternate An alternative message
+	 * @since 1.3
+	 */
+	protected void printToFile(@NotNull PlaceholderContext context, @NotNull List<String> message, String alternate)
+	{
+		for (String current : message) {
+			submit(context.getPlayer(), context.getLocation(), context.getMaterial(), current, alternate, false);
 		}
 	}
 	
@@ -243,24 +395,7 @@ public abstract class Module
 	 */
 	protected void printToFile(@NotNull String message, String alternate)
 	{
-		File logFile = Util.toFile(manager.getLogDirectory(), "global.log");
-		api.createParent(logFile);
-		
-		try {
-			FileWriter writer = new FileWriter(logFile, true);
-			PrintWriter printer = new PrintWriter(writer);
-			
-			if (message.contains(Variable.DEFAULT.toVar())) {
-				printer.println("[" + api.getTodayAsString() + "]: " + api.stripColor(alternate));
-			}
-			else {
-				printer.println("[" + api.getTodayAsString() + "]: " + api.stripColor(message));
-			}
-			printer.close();
-		}
-		catch (IOException ex) {
-			plugin.getReport().create(ex);
-		}
+		submit(null, message, alternate);
 	}
 	
 	/**
@@ -274,25 +409,50 @@ public abstract class Module
 	 */
 	protected void printToFile(@NotNull List<String> message, String alternate)
 	{
-		File logFile = Util.toFile(manager.getLogDirectory(), "global.log");
-		api.createParent(logFile);
-		
-		try {
-			FileWriter writer = new FileWriter(logFile, true);
-			PrintWriter printer = new PrintWriter(writer);
-			
-			for (String current : message) {
-				if (current.contains(Variable.DEFAULT.toVar())) {
-					printer.println("[" + api.getTodayAsString() + "]: " + api.stripColor(alternate));
-				}
-				else {
-					printer.println("[" + api.getTodayAsString() + "]: " + api.stripColor(current));
-				}
-			}
-			printer.close();
-		}
-		catch (IOException ex) {
-			plugin.getReport().create(ex);
+		for (String current : message) {
+			submit(null, current, alternate);
 		}
 	}
+	
+	/**
+	 * A method used to hand a message to our {@link LogService}, the message is written in the background
+	 * so the thread that triggered the event does not have to wait for it to be stored. If the message
+	 * contains the default placeholder, the alternate message will be written instead.
+	 *
+	 * @param player Target player, can be null if the message is not player specific
+	 * @param message Target message
+	 * @param alternate An alternative message
+	 * @since 1.3
+	 */
+	private void submit(@Nullable Player player, @NotNull String message, String alternate)
+	{
+		submit(player, null, null, message, alternate, false);
+	}
+	
+	/**
+	 * A method used to hand a message that took place at a location to our {@link LogService}.
+	 *
+	 * @param player Target player, can be null if the message is not player specific
+	 * @param location The location of the event, can be null
+	 * @param material The material involved in the event, can be null
+	 * @param message Target message
+	 * @param alternate An alternative message
+	 * @param detail Whether the record is left out of our text logs
+	 * @since 1.3
+	 */
+	private void submit(@Nullable Player player, @Nullable Location location, @Nullable Material material, @NotNull String message, String alternate, boolean detail)
+	{
+		String output = message.contains(Variable.DEFAULT.toVar()) ? alternate : message;
+		
+		UUID uuid    = player != null ? player.getUniqueId() : null;
+		String name  = player != null ? player.getName() : null;
+		String world = location != null && location.getWorld() != null ? location.getWorld().getName() : null;
+		String type  = material != null ? material.name() : null;
+		
+		int x = location != null ? location.getBlockX() : 0;
+		int y = location != null ? location.getBlockY() : 0;
+		int z = location != null ? location.getBlockZ() : 0;
+		
+		plugin.getLogService().submit(new LogRecord(System.currentTimeMillis(), api.getTodayAsString(), getFullIdentifier(), uuid, name, output, manager.getBoolean(Config.MODULARIZE), world, x, y, z, type, detail));
+	}
 }
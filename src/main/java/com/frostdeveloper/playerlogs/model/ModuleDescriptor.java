@@ -0,0 +1,98 @@
+package com.frostdeveloper.playerlogs.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A class used to describe a module. Every name a module is known by is derived from its class once, next to
+ * a dense id that can be used to index arrays and bitsets. A descriptor never changes, it can be shared with
+ * any thread.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public final class ModuleDescriptor
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final Map<Class<?>, ModuleDescriptor> descriptors = new ConcurrentHashMap<>();
+	private static final AtomicInteger counter = new AtomicInteger();
+	
+	private final int id;
+	private final String identifier;
+	private final String fullIdentifier;
+	private final String name;
+	private final String fileName;
+	
+	/**
+	 * A constructor used to derive every name of a module from its class.
+	 *
+	 * @param id Dense id of the module
+	 * @param type Class of the module
+	 * @since 1.3
+	 */
+	private ModuleDescriptor(int id, @NotNull Class<?> type)
+	{
+		String raw = type.getSimpleName().toLowerCase();
+		
+		this.id             = id;
+		this.identifier     = raw.replace("module", "");
+		this.fullIdentifier = raw.replace("module", "-module");
+		this.name           = identifier.substring(0, 1).toUpperCase() + identifier.substring(1) + " Module";
+		this.fileName       = fullIdentifier + ".log";
+	}
+	
+	/**
+	 * A method used to return the descriptor of a module class, the descriptor is created once per class.
+	 *
+	 * @param type Class of the module
+	 * @return Module descriptor
+	 * @since 1.3
+	 */
+	public static @NotNull ModuleDescriptor of(@NotNull Class<? extends Module> type)
+	{
+		return descriptors.computeIfAbsent(type, key -> new ModuleDescriptor(counter.getAndIncrement(), key));
+	}
+	
+	/**
+	 * A method used to return the dense id of this module, ids start at zero.
+	 *
+	 * @return Module id
+	 * @since 1.3
+	 */
+	public int getId()                         { return id;             }
+	
+	/**
+	 * A method used to return the identifier of this module, such as {@code break}.
+	 *
+	 * @return Module identifier
+	 * @since 1.3
+	 */
+	public @NotNull String getIdentifier()     { return identifier;     }
+	
+	/**
+	 * A method used to return the full identifier of this module, such as {@code break-module}.
+	 *
+	 * @return Full module identifier
+	 * @since 1.3
+	 */
+	public @NotNull String getFullIdentifier() { return fullIdentifier; }
+	
+	/**
+	 * A method used to return the display name of this module, such as {@code Break Module}.
+	 *
+	 * @return Module name
+	 * @since 1.3
+	 */
+	public @NotNull String getName()           { return name;           }
+	
+	/**
+	 * A method used to return the name of the log file this module writes inside a player's directory.
+	 *
+	 * @return Module file name
+	 * @since 1.3
+	 */
+	public @NotNull String getFileName()       { return fileName;       }
+}
@@ -2,10 +2,10 @@ package com.frostdeveloper.playerlogs.module;
 
 import com.frostdeveloper.playerlogs.definition.Config;
 import com.frostdeveloper.playerlogs.model.Module;
-import com.frostdeveloper.playerlogs.util.Placeholder;
+import com.frostdeveloper.playerlogs.util.PlaceholderContext;
+import com.frostdeveloper.playerlogs.util.Util;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
+import org.bukkit.event.Event;
 import org.bukkit.event.player.PlayerCommandPreprocessEvent;
 import org.jetbrains.annotations.NotNull;
 
@@ -19,11 +19,12 @@ import java.util.List;
  * @author OMGitzFROST
  * @since 1.0
  */
-public class CMDModule extends Module implements Listener
+public class CMDModule extends Module
 {
 	// CLASS SPECIFIC OBJECTS
-	private final Config enabled = Config.MODULE_CMD_ENABLED;
-	private final Config message = Config.MODULE_CMD_MSG;
+	private final Config enabled   = Config.MODULE_CMD_ENABLED;
+	private final Config message   = Config.MODULE_CMD_MSG;
+	private final Config retention = Config.MODULE_CMD_RETENTION;
 	
 	/**
 	 * A method used to handle our event trigger and complete a task when triggered.
@@ -31,25 +32,24 @@ public class CMDModule extends Module implements Listener
 	 * @param event Target event
 	 * @since 1.0
 	 */
-	@EventHandler
 	public void onEventTrigger(@NotNull PlayerCommandPreprocessEvent event)
 	{
 		Player player = event.getPlayer();
 		
-		// SET CUSTOM PLACEHOLDERS
-		Placeholder.addCustom("%issued_command%", event.getMessage());
-		
-		String defaultMessage = api.format("%player_name% issued %issued_command%");
-		
-		if (!manager.getUserDirectory(player).exists() && !manager.getUserDirectory(player).mkdirs()) {
-			throw new IllegalArgumentException("Failed to create directory for: " + player.getName());
-		}
-		
-		if (manager.isList(message)) {
-			printToFile(player, Placeholder.set(player, getMessageList()), Placeholder.set(player, defaultMessage));
-		}
-		else {
-			printToFile(player, Placeholder.set(player, getMessage()), Placeholder.set(player, defaultMessage));
+		try (PlaceholderContext context = PlaceholderContext.obtain(player)) {
+			// SET CUSTOM PLACEHOLDERS
+			context.set("%issued_command%", event.getMessage());
+			
+			String defaultMessage = api.format("%player_name% issued %issued_command%");
+			
+			getSession(player).createDirectory();
+			
+			if (manager.isList(message)) {
+				printToFile(player, render(context, getMessageList()), render(context, defaultMessage));
+			}
+			else {
+				printToFile(player, render(context, getMessage()), render(context, defaultMessage));
+			}
 		}
 	}
 	
@@ -81,10 +81,29 @@ public class CMDModule extends Module implements Listener
 	public boolean isEnabled()    { return manager.getBoolean(enabled);                                 }
 	
 	/**
-	 * A method used to return the active handler list for a module.
+	 * A method used to return how long the logs of a module are kept.
 	 *
-	 * @since 1.2
+	 * @return Retention in milliseconds, zero if logs are kept forever
+	 * @since 1.3
+	 */
+	@Override
+	public long getRetention()    { return Util.toDuration(manager.getString(retention));               }
+	
+	/**
+	 * A method used to return the event this module logs.
+	 *
+	 * @return Event class
+	 * @since 1.3
+	 */
+	@Override
+	public @NotNull Class<? extends Event> getEvent() { return PlayerCommandPreprocessEvent.class; }
+	
+	/**
+	 * A method used to log an event, it is called by our event dispatcher.
+	 *
+	 * @param event Triggered event
+	 * @since 1.3
 	 */
 	@Override
-	public void removeListener() { PlayerCommandPreprocessEvent.getHandlerList().unregister(this); }
+	public void handle(@NotNull Event event)         { onEventTrigger((PlayerCommandPreprocessEvent) event); }
 }
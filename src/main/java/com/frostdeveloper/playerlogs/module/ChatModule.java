@@ -3,9 +3,9 @@ package com.frostdeveloper.playerlogs.module;
 import com.frostdeveloper.playerlogs.definition.Config;
 import com.frostdeveloper.playerlogs.model.Module;
 import com.frostdeveloper.playerlogs.util.Placeholder;
+import com.frostdeveloper.playerlogs.util.Util;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
+import org.bukkit.event.Event;
 import org.bukkit.event.player.AsyncPlayerChatEvent;
 import org.jetbrains.annotations.NotNull;
 
@@ -19,10 +19,11 @@ import java.util.List;
  * @author OMGitzFROST
  * @since 1.0
  */
-public class ChatModule extends Module implements Listener
+public class ChatModule extends Module
 {
-	private final Config message = Config.MODULE_CHAT_MSG;
-	private final Config enabled = Config.MODULE_CHAT_ENABLED;
+	private final Config message   = Config.MODULE_CHAT_MSG;
+	private final Config enabled   = Config.MODULE_CHAT_ENABLED;
+	private final Config retention = Config.MODULE_CHAT_RETENTION;
 	
 	/**
 	 * A method used to handle our event trigger and complete a task when triggered.
@@ -30,20 +31,17 @@ public class ChatModule extends Module implements Listener
 	 * @param event Target event
 	 * @since 1.0
 	 */
-	@EventHandler
 	public void onEventTrigger(@NotNull AsyncPlayerChatEvent event)
 	{
 		Player player = event.getPlayer();
 		
-		if (!manager.getUserDirectory(player).exists() && !manager.getUserDirectory(player).mkdirs()) {
-			throw new IllegalArgumentException("Failed to create directory for: " + player.getName());
-		}
+		getSession(player).createDirectory();
 		
 		if (manager.isList(message)) {
-			printToFile(player, Placeholder.set(player, getMessageList()), Placeholder.set(player, event.getMessage()));
+			printToFile(player, render(player, getMessageList()), Placeholder.set(player, event.getMessage()));
 		}
 		else {
-			printToFile(player, Placeholder.set(player, getMessage()), Placeholder.set(player, event.getMessage()));
+			printToFile(player, render(player, getMessage()), Placeholder.set(player, event.getMessage()));
 		}
 	}
 	
@@ -75,10 +73,29 @@ public class ChatModule extends Module implements Listener
 	public boolean isEnabled()    { return manager.getBoolean(enabled);                                 }
 	
 	/**
-	 * A method used to return the active handler list for a module.
+	 * A method used to return how long the logs of a module are kept.
 	 *
-	 * @since 1.2
+	 * @return Retention in milliseconds, zero if logs are kept forever
+	 * @since 1.3
+	 */
+	@Override
+	public long getRetention()    { return Util.toDuration(manager.getString(retention));               }
+	
+	/**
+	 * A method used to return the event this module logs.
+	 *
+	 * @return Event class
+	 * @since 1.3
+	 */
+	@Override
+	public @NotNull Class<? extends Event> getEvent() { return AsyncPlayerChatEvent.class; }
+	
+	/**
+	 * A method used to log an event, it is called by our event dispatcher.
+	 *
+	 * @param event Triggered event
+	 * @since 1.3
 	 */
 	@Override
-	public void removeListener()  { AsyncPlayerChatEvent.getHandlerList().unregister(this);             }
+	public void handle(@NotNull Event event)         { onEventTrigger((AsyncPlayerChatEvent) event); }
 }
@@ -3,12 +3,13 @@ package com.frostdeveloper.playerlogs.module;
 import com.frostdeveloper.playerlogs.definition.Config;
 import com.frostdeveloper.playerlogs.model.Module;
 import com.frostdeveloper.playerlogs.util.Placeholder;
+import com.frostdeveloper.playerlogs.util.PlaceholderContext;
+import com.frostdeveloper.playerlogs.util.Util;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
-import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.Event;
 import org.bukkit.event.entity.PlayerDeathEvent;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
@@ -20,11 +21,12 @@ import java.util.List;
  * @author OMGitzFROST
  * @since 1.0
  */
-public class DeathModule extends Module implements Listener
+public class DeathModule extends Module
 {
 	// CLASS SPECIFIC OBJECTS
-	private final Config message = Config.MODULE_DEATH_MSG;
-	private final Config enabled = Config.MODULE_DEATH_ENABLED;
+	private final Config message   = Config.MODULE_DEATH_MSG;
+	private final Config enabled   = Config.MODULE_DEATH_ENABLED;
+	private final Config retention = Config.MODULE_DEATH_RETENTION;
 	
 	/**
 	 * A method used to handle our event trigger and complete a task when triggered.
@@ -32,23 +34,22 @@ public class DeathModule extends Module implements Listener
 	 * @param event Target event
 	 * @since 1.0
 	 */
-	@EventHandler
 	public void onEventTrigger(@NotNull PlayerDeathEvent event)
 	{
 		Player player = event.getEntity();
 		
-		// SET CUSTOM PLACEHOLDERS
-		Placeholder.addCustom("%player_killer%", player.getKiller());
-		
-		if (!manager.getUserDirectory(player).exists() && !manager.getUserDirectory(player).mkdirs()) {
-			throw new IllegalArgumentException("Failed to create directory for: " + player.getName());
-		}
-		
-		if (manager.isList(message)) {
-			printToFile(player, Placeholder.set(player, getMessageList()), Placeholder.set(player, event.getDeathMessage()));
-		}
-		else {
-			printToFile(player, Placeholder.set(player, getMessage()), Placeholder.set(player, event.getDeathMessage()));
+		try (PlaceholderContext context = PlaceholderContext.obtain(player)) {
+			// SET CUSTOM PLACEHOLDERS
+			context.set("%player_killer%", player.getKiller());
+			
+			getSession(player).createDirectory();
+			
+			if (manager.isList(message)) {
+				printToFile(player, render(context, getMessageList()), Placeholder.set(context, event.getDeathMessage()));
+			}
+			else {
+				printToFile(player, render(context, getMessage()), Placeholder.set(context, event.getDeathMessage()));
+			}
 		}
 	}
 	
@@ -80,10 +81,39 @@ public class DeathModule extends Module implements Listener
 	public boolean isEnabled()    { return manager.getBoolean(enabled);                                 }
 	
 	/**
-	 * A method used to return the active handler list for a module.
+	 * A method used to return how long the logs of a module are kept.
 	 *
-	 * @since 1.2
+	 * @return Retention in milliseconds, zero if logs are kept forever
+	 * @since 1.3
+	 */
+	@Override
+	public long getRetention()    { return Util.toDuration(manager.getString(retention));               }
+	
+	/**
+	 * A method used to return the event this module logs.
+	 *
+	 * @return Event class
+	 * @since 1.3
+	 */
+	@Override
+	public @NotNull Class<? extends Event> getEvent() { return PlayerDeathEvent.class; }
+	
+	/**
+	 * A method used to log an event, it is called by our event dispatcher.
+	 *
+	 * @param event Triggered event
+	 * @since 1.3
+	 */
+	@Override
+	public void handle(@NotNull Event event)         { onEventTrigger((PlayerDeathEvent) event); }
+	
+	/**
+	 * A method used to return the player of an event logged by this module.
+	 *
+	 * @param event Triggered event
+	 * @return Player of the event
+	 * @since 1.3
 	 */
 	@Override
-	public void removeListener()  { BlockBreakEvent.getHandlerList().unregister(this);                  }
+	public @Nullable Player getPlayer(@NotNull Event event) { return ((PlayerDeathEvent) event).getEntity(); }
 }
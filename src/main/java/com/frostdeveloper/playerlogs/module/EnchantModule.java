@@ -2,13 +2,13 @@ package com.frostdeveloper.playerlogs.module;
 
 import com.frostdeveloper.playerlogs.definition.Config;
 import com.frostdeveloper.playerlogs.model.Module;
-import com.frostdeveloper.playerlogs.util.Placeholder;
+import com.frostdeveloper.playerlogs.util.PlaceholderContext;
+import com.frostdeveloper.playerlogs.util.Util;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
-import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.Event;
 import org.bukkit.event.enchantment.EnchantItemEvent;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
@@ -20,11 +20,12 @@ import java.util.List;
  * @author OMGitzFROST
  * @since 1.0
  */
-public class EnchantModule extends Module implements Listener
+public class EnchantModule extends Module
 {
 	// CLASS SPECIFIC OBJECTS
-	private final Config message = Config.MODULE_ENCHANT_MSG;
-	private final Config enabled = Config.MODULE_ENCHANT_ENABLED;
+	private final Config message   = Config.MODULE_ENCHANT_MSG;
+	private final Config enabled   = Config.MODULE_ENCHANT_ENABLED;
+	private final Config retention = Config.MODULE_ENCHANT_RETENTION;
 	
 	/**
 	 * A method used to handle our event trigger and complete a task when triggered.
@@ -32,28 +33,28 @@ public class EnchantModule extends Module implements Listener
 	 * @param event Target event
 	 * @since 1.2
 	 */
-	@EventHandler
 	public void onEventTrigger(@NotNull EnchantItemEvent event)
 	{
 		Player player = event.getEnchanter();
 		
-		// SET CUSTOM PLACEHOLDERS
-		Placeholder.addCustom("%enchanted_item%", event.getItem().getType());
-		Placeholder.addCustom("%enchantments%", event.getEnchantsToAdd());
-		Placeholder.addCustom("%enchantment_cost%", event.getExpLevelCost());
-		Placeholder.addCustom("%enchantment_location%", event.getEnchantBlock().getLocation());
-		
-		String defaultMessage = api.format("%player_name% enchanted a(n) %enchanted_item% for %enchantment_cost%");
-		
-		if (!manager.getUserDirectory(player).exists() && !manager.getUserDirectory(player).mkdirs()) {
-			throw new IllegalArgumentException("Failed to create directory for: " + player.getName());
-		}
-		
-		if (manager.isList(message)) {
-			printToFile(player, Placeholder.set(player, getMessageList()), Placeholder.set(player, defaultMessage));
-		}
-		else {
-			printToFile(player, Placeholder.set(player, getMessage()), Placeholder.set(player, defaultMessage));
+		try (PlaceholderContext context = PlaceholderContext.obtain(player)) {
+			// SET CUSTOM PLACEHOLDERS
+			context.set("%enchanted_item%", event.getItem().getType());
+			context.set("%enchantments%", event.getEnchantsToAdd());
+			context.set("%enchantment_cost%", event.getExpLevelCost());
+			context.set("%enchantment_location%", event.getEnchantBlock().getLocation());
+			context.setLocation(event.getEnchantBlock().getLocation()).setMaterial(event.getItem().getType());
+			
+			String defaultMessage = api.format("%player_name% enchanted a(n) %enchanted_item% for %enchantment_cost%");
+			
+			getSession(player).createDirectory();
+			
+			if (manager.isList(message)) {
+				printToFile(context, render(context, getMessageList()), render(context, defaultMessage));
+			}
+			else {
+				printToFile(context, render(context, getMessage()), render(context, defaultMessage));
+			}
 		}
 	}
 	
@@ -85,10 +86,39 @@ public class EnchantModule extends Module implements Listener
 	public boolean isEnabled()    { return manager.getBoolean(enabled);                                 }
 	
 	/**
-	 * A method used to return the active handler list for a module.
+	 * A method used to return how long the logs of a module are kept.
 	 *
-	 * @since 1.2
+	 * @return Retention in milliseconds, zero if logs are kept forever
+	 * @since 1.3
+	 */
+	@Override
+	public long getRetention()    { return Util.toDuration(manager.getString(retention));               }
+	
+	/**
+	 * A method used to return the event this module logs.
+	 *
+	 * @return Event class
+	 * @since 1.3
+	 */
+	@Override
+	public @NotNull Class<? extends Event> getEvent() { return EnchantItemEvent.class; }
+	
+	/**
+	 * A method used to log an event, it is called by our event dispatcher.
+	 *
+	 * @param event Triggered event
+	 * @since 1.3
+	 */
+	@Override
+	public void handle(@NotNull Event event)         { onEventTrigger((EnchantItemEvent) event); }
+	
+	/**
+	 * A method used to return the player of an event logged by this module.
+	 *
+	 * @param event Triggered event
+	 * @return Player of the event
+	 * @since 1.3
 	 */
 	@Override
-	public void removeListener()  { BlockBreakEvent.getHandlerList().unregister(this);                  }
+	public @Nullable Player getPlayer(@NotNull Event event) { return ((EnchantItemEvent) event).getEnchanter(); }
 }
@@ -2,13 +2,13 @@ package com.frostdeveloper.playerlogs.module;
 
 import com.frostdeveloper.playerlogs.definition.Config;
 import com.frostdeveloper.playerlogs.model.Module;
-import com.frostdeveloper.playerlogs.util.Placeholder;
+import com.frostdeveloper.playerlogs.util.PlaceholderContext;
+import com.frostdeveloper.playerlogs.util.Util;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
-import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.Event;
 import org.bukkit.event.block.BlockPlaceEvent;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
@@ -20,11 +20,13 @@ import java.util.List;
  * @author OMGitzFROST
  * @since 1.0
  */
-public class PlaceModule extends Module implements Listener
+public class PlaceModule extends Module
 {
 	// CLASS SPECIFIC OBJECTS
-	private final Config message = Config.MODULE_PLACE_MSG;
-	private final Config enabled = Config.MODULE_PLACE_ENABLED;
+	private final Config message   = Config.MODULE_PLACE_MSG;
+	private final Config enabled   = Config.MODULE_PLACE_ENABLED;
+	private final Config retention = Config.MODULE_PLACE_RETENTION;
+	private final Config aggregate = Config.MODULE_PLACE_AGGREGATE;
 	
 	/**
 	 * A method used to handle our event trigger and complete a task when triggered.
@@ -32,26 +34,31 @@ public class PlaceModule extends Module implements Listener
 	 * @param event Target event
 	 * @since 1.0
 	 */
-	@EventHandler
 	public void onEventTrigger(@NotNull BlockPlaceEvent event)
 	{
 		Player player = event.getPlayer();
 		
-		// SET CUSTOM PLACEHOLDERS
-		Placeholder.addCustom("%block_type%", event.getBlock().getType());
-		Placeholder.addCustom("%block_location%", event.getBlock().getLocation().toVector());
-		
-		String defaultMessage = api.format("%player_name% placed %block_type% at %block_location%");
-		
-		if (!manager.getUserDirectory(player).exists() && !manager.getUserDirectory(player).mkdirs()) {
-			throw new IllegalArgumentException("Failed to create directory for: " + player.getName());
-		}
-		
-		if (manager.isList(message)) {
-			printToFile(player, Placeholder.set(player, getMessageList()), Placeholder.set(player, defaultMessage));
-		}
-		else {
-			printToFile(player, Placeholder.set(player, getMessage()), Placeholder.set(player, defaultMessage));
+		try (PlaceholderContext context = PlaceholderContext.obtain(player)) {
+			// SET CUSTOM PLACEHOLDERS
+			context.set("%block_type%", event.getBlock().getType());
+			context.set("%block_location%", event.getBlock().getLocation().toVector());
+			context.setLocation(event.getBlock().getLocation()).setMaterial(event.getBlock().getType());
+			
+			String defaultMessage = api.format("%player_name% placed %block_type% at %block_location%");
+			
+			// BULK CHANGES ARE WRITTEN AS A SINGLE LINE ONCE THEIR WINDOW PASSED
+			if (aggregate(context, defaultMessage, "placed")) {
+				return;
+			}
+			String alternate = render(context, defaultMessage);
+			getSession(player).createDirectory();
+			
+			if (manager.isList(message)) {
+				printToFile(context, render(context, getMessageList()), alternate);
+			}
+			else {
+				printToFile(context, render(context, getMessage()), alternate);
+			}
 		}
 	}
 	
@@ -83,10 +90,48 @@ public class PlaceModule extends Module implements Listener
 	public boolean isEnabled()    { return manager.getBoolean(enabled);                                 }
 	
 	/**
-	 * A method used to return the active handler list for a module.
+	 * A method used to return how long the logs of a module are kept.
 	 *
-	 * @since 1.2
+	 * @return Retention in milliseconds, zero if logs are kept forever
+	 * @since 1.3
+	 */
+	@Override
+	public long getRetention()    { return Util.toDuration(manager.getString(retention));               }
+	
+	/**
+	 * A method used to return the window in which the changes of this module are merged into a single line.
+	 *
+	 * @return Window in milliseconds, zero if changes are not aggregated
+	 * @since 1.3
+	 */
+	@Override
+	public long getAggregateWindow() { return Util.toDuration(manager.getString(aggregate));            }
+	
+	/**
+	 * A method used to return the event this module logs.
+	 *
+	 * @return Event class
+	 * @since 1.3
+	 */
+	@Override
+	public @NotNull Class<? extends Event> getEvent() { return BlockPlaceEvent.class; }
+	
+	/**
+	 * A method used to log an event, it is called by our event dispatcher.
+	 *
+	 * @param event Triggered event
+	 * @since 1.3
+	 */
+	@Override
+	public void handle(@NotNull Event event)         { onEventTrigger((BlockPlaceEvent) event); }
+	
+	/**
+	 * A method used to return the player of an event logged by this module.
+	 *
+	 * @param event Triggered event
+	 * @return Player of the event
+	 * @since 1.3
 	 */
 	@Override
-	public void removeListener()  { BlockBreakEvent.getHandlerList().unregister(this);                  }
+	public @Nullable Player getPlayer(@NotNull Event event) { return ((BlockPlaceEvent) event).getPlayer(); }
 }
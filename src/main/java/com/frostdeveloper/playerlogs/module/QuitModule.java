@@ -4,10 +4,10 @@ import com.frostdeveloper.playerlogs.definition.Config;
 import com.frostdeveloper.playerlogs.definition.Variable;
 import com.frostdeveloper.playerlogs.model.Module;
 import com.frostdeveloper.playerlogs.util.Placeholder;
+import com.frostdeveloper.playerlogs.util.Util;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
+import org.bukkit.event.Event;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.jetbrains.annotations.NotNull;
 
@@ -21,11 +21,12 @@ import java.util.List;
  * @author OMGitzFROST
  * @since 1.0
  */
-public class QuitModule extends Module implements Listener
+public class QuitModule extends Module
 {
 	// CLASS SPECIFIC OBJECTS
-	private final Config enabled = Config.MODULE_QUIT_ENABLED;
-	private final Config message  = Config.MODULE_QUIT_MSG;
+	private final Config enabled   = Config.MODULE_QUIT_ENABLED;
+	private final Config message   = Config.MODULE_QUIT_MSG;
+	private final Config retention = Config.MODULE_QUIT_RETENTION;
 	
 	/**
 	 * A method used to handle our event trigger and complete a task when triggered.
@@ -33,20 +34,17 @@ public class QuitModule extends Module implements Listener
 	 * @param event Target event
 	 * @since 1.0
 	 */
-	@EventHandler
 	public void onEventTrigger(@NotNull PlayerQuitEvent event)
 	{
 		Player player = event.getPlayer();
 		
-		if (!manager.getUserDirectory(player).exists() && !manager.getUserDirectory(player).mkdirs()) {
-			throw new IllegalArgumentException("Failed to create directory for: " + player.getName());
-		}
+		getSession(player).createDirectory();
 		
 		if (manager.isList(message)) {
-			printToFile(player, Placeholder.set(player, getMessageList()), Placeholder.set(player, event.getQuitMessage()));
+			printToFile(player, render(player, getMessageList()), Placeholder.set(player, event.getQuitMessage()));
 		}
 		else {
-			printToFile(player, Placeholder.set(player, getMessage()), Placeholder.set(player, event.getQuitMessage()));
+			printToFile(player, render(player, getMessage()), Placeholder.set(player, event.getQuitMessage()));
 		}
 	}
 	
@@ -78,10 +76,29 @@ public class QuitModule extends Module implements Listener
 	public boolean isEnabled() { return manager.getBoolean(enabled); }
 	
 	/**
-	 * A method used to return the active handler list for a module.
+	 * A method used to return how long the logs of a module are kept.
 	 *
-	 * @since 1.2
+	 * @return Retention in milliseconds, zero if logs are kept forever
+	 * @since 1.3
+	 */
+	@Override
+	public long getRetention() { return Util.toDuration(manager.getString(retention)); }
+	
+	/**
+	 * A method used to return the event this module logs.
+	 *
+	 * @return Event class
+	 * @since 1.3
+	 */
+	@Override
+	public @NotNull Class<? extends Event> getEvent() { return PlayerQuitEvent.class; }
+	
+	/**
+	 * A method used to log an event, it is called by our event dispatcher.
+	 *
+	 * @param event Triggered event
+	 * @since 1.3
 	 */
 	@Override
-	public void removeListener() { PlayerQuitEvent.getHandlerList().unregister(this); }
+	public void handle(@NotNull Event event)         { onEventTrigger((PlayerQuitEvent) event); }
 }
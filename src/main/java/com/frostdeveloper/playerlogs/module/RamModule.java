@@ -4,10 +4,10 @@ import com.frostdeveloper.playerlogs.definition.Config;
 import com.frostdeveloper.playerlogs.event.RamEvent;
 import com.frostdeveloper.playerlogs.model.Module;
 import com.frostdeveloper.playerlogs.model.Scheduler;
-import com.frostdeveloper.playerlogs.util.Placeholder;
+import com.frostdeveloper.playerlogs.util.PlaceholderContext;
+import com.frostdeveloper.playerlogs.util.Util;
 import org.bukkit.Bukkit;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
+import org.bukkit.event.Event;
 import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 
@@ -21,12 +21,13 @@ import java.util.List;
  * @author OMGitzFROST
  * @since 1.0
  */
-public class RamModule extends Module implements Listener, Scheduler
+public class RamModule extends Module implements Scheduler
 {
 	// CLASS SPECIFIC OBJECTS
-	private final Config message  = Config.MODULE_RAM_MSG;
-	private final Config enabled  = Config.MODULE_RAM_ENABLED;
-	private final Config cooldown = Config.MODULE_RAM_COOLDOWN;
+	private final Config message   = Config.MODULE_RAM_MSG;
+	private final Config enabled   = Config.MODULE_RAM_ENABLED;
+	private final Config cooldown  = Config.MODULE_RAM_COOLDOWN;
+	private final Config retention = Config.MODULE_RAM_RETENTION;
 	
 	private BukkitTask task;
 	
@@ -36,14 +37,15 @@ public class RamModule extends Module implements Listener, Scheduler
 	 * @param event Target event
 	 * @since 1.0
 	 */
-	@EventHandler
 	public void onEventTrigger(@NotNull RamEvent event)
 	{
-		if (manager.isList(message)) {
-			printToFile(Placeholder.set(getMessageList()), Placeholder.set(event.getMessage()));
-		}
-		else {
-			printToFile(Placeholder.set(getMessage()), Placeholder.set(event.getMessage()));
+		try (PlaceholderContext context = PlaceholderContext.obtain(null)) {
+			if (manager.isList(message)) {
+				printToFile(render(context, getMessageList()), event.getMessage());
+			}
+			else {
+				printToFile(render(context, getMessage()), event.getMessage());
+			}
 		}
 	}
 	
@@ -55,10 +57,7 @@ public class RamModule extends Module implements Listener, Scheduler
 	@Override
 	public void initialize()
 	{
-		Bukkit.getServer().getPluginManager().registerEvents(this, plugin);
-		
 		task = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-			manager.reload();
 			Bukkit.getServer().getPluginManager().callEvent(new RamEvent());
 		}, 0, api.toTime(manager.getString(cooldown)) * 20L);
 	}
@@ -91,12 +90,31 @@ public class RamModule extends Module implements Listener, Scheduler
 	public boolean isEnabled()           { return manager.getBoolean(enabled);               }
 	
 	/**
-	 * A method used to return the active handler list for a module.
+	 * A method used to return how long the logs of a module are kept.
 	 *
-	 * @since 1.2
+	 * @return Retention in milliseconds, zero if logs are kept forever
+	 * @since 1.3
+	 */
+	@Override
+	public long getRetention()           { return Util.toDuration(manager.getString(retention)); }
+	
+	/**
+	 * A method used to return the event this module logs.
+	 *
+	 * @return Event class
+	 * @since 1.3
+	 */
+	@Override
+	public @NotNull Class<? extends Event> getEvent() { return RamEvent.class; }
+	
+	/**
+	 * A method used to log an event, it is called by our event dispatcher.
+	 *
+	 * @param event Triggered event
+	 * @since 1.3
 	 */
 	@Override
-	public void removeListener()         { RamEvent.getHandlerList().unregister(this);       }
+	public void handle(@NotNull Event event)         { onEventTrigger((RamEvent) event); }
 	
 	/**
 	 * Returns the taskId for the task.
@@ -2,10 +2,10 @@ package com.frostdeveloper.playerlogs.module;
 
 import com.frostdeveloper.playerlogs.definition.Config;
 import com.frostdeveloper.playerlogs.model.Module;
-import com.frostdeveloper.playerlogs.util.Placeholder;
+import com.frostdeveloper.playerlogs.util.PlaceholderContext;
+import com.frostdeveloper.playerlogs.util.Util;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
+import org.bukkit.event.Event;
 import org.bukkit.event.player.PlayerTeleportEvent;
 import org.jetbrains.annotations.NotNull;
 
@@ -20,11 +20,12 @@ import java.util.Objects;
  * @author OMGitzFROST
  * @since 1.1
  */
-public class TeleportModule extends Module implements Listener
+public class TeleportModule extends Module
 {
 	// CLASS SPECIFIC OBJECTS
-	private final Config message = Config.MODULE_TELEPORT_MSG;
-	private final Config enabled = Config.MODULE_TELEPORT_ENABLED;
+	private final Config message   = Config.MODULE_TELEPORT_MSG;
+	private final Config enabled   = Config.MODULE_TELEPORT_ENABLED;
+	private final Config retention = Config.MODULE_TELEPORT_RETENTION;
 	
 	/**
 	 * A method used to handle our event trigger and complete a task when triggered.
@@ -32,34 +33,34 @@ public class TeleportModule extends Module implements Listener
 	 * @param event Target event
 	 * @since 1.1
 	 */
-	@EventHandler
 	public void onEventTrigger(@NotNull PlayerTeleportEvent event)
 	{
 		Player player = event.getPlayer();
 		
-		// SET CUSTOM PLACEHOLDERS
-		Placeholder.addCustom("%last_location%", event.getFrom().toVector());
-		Placeholder.addCustom("%player_location%", Objects.requireNonNull(event.getTo()).toVector());
-		
-		// DEFAULT MESSAGE
-		String defaultMessage = api.format("%player_name% teleported from (%last_location%) to (%player_location%)");
-		
-		if (!manager.getUserDirectory(player).exists() && !manager.getUserDirectory(player).mkdirs()) {
-			throw new IllegalArgumentException("Failed to create directory for: " + player.getName());
-		}
-		
-		switch (event.getCause()) {
-			case COMMAND:
-			case PLUGIN:
-			case ENDER_PEARL:
-			case CHORUS_FRUIT:
-				if (manager.isList(message)) {
-					printToFile(player, Placeholder.set(player, getMessageList()), Placeholder.set(player, defaultMessage));
-				}
-				else {
-					printToFile(player, Placeholder.set(player, getMessage()), Placeholder.set(player, defaultMessage));
-				}
-				break;
+		try (PlaceholderContext context = PlaceholderContext.obtain(player)) {
+			// SET CUSTOM PLACEHOLDERS
+			context.set("%last_location%", event.getFrom().toVector());
+			context.set("%player_location%", Objects.requireNonNull(event.getTo()).toVector());
+			context.setLocation(event.getTo());
+			
+			// DEFAULT MESSAGE
+			String defaultMessage = api.format("%player_name% teleported from (%last_location%) to (%player_location%)");
+			
+			getSession(player).createDirectory();
+			
+			switch (event.getCause()) {
+				case COMMAND:
+				case PLUGIN:
+				case ENDER_PEARL:
+				case CHORUS_FRUIT:
+					if (manager.isList(message)) {
+						printToFile(context, render(context, getMessageList()), render(context, defaultMessage));
+					}
+					else {
+						printToFile(context, render(context, getMessage()), render(context, defaultMessage));
+					}
+					break;
+			}
 		}
 	}
 	
@@ -91,10 +92,29 @@ public class TeleportModule extends Module implements Listener
 	public boolean isEnabled()           { return manager.getBoolean(enabled);                    }
 	
 	/**
-	 * A method used to return the active handler list for a module.
+	 * A method used to return how long the logs of a module are kept.
 	 *
-	 * @since 1.2
+	 * @return Retention in milliseconds, zero if logs are kept forever
+	 * @since 1.3
+	 */
+	@Override
+	public long getRetention()           { return Util.toDuration(manager.getString(retention));  }
+	
+	/**
+	 * A method used to return the event this module logs.
+	 *
+	 * @return Event class
+	 * @since 1.3
+	 */
+	@Override
+	public @NotNull Class<? extends Event> getEvent() { return PlayerTeleportEvent.class; }
+	
+	/**
+	 * A method used to log an event, it is called by our event dispatcher.
+	 *
+	 * @param event Triggered event
+	 * @since 1.3
 	 */
 	@Override
-	public void removeListener()         { PlayerTeleportEvent.getHandlerList().unregister(this); }
+	public void handle(@NotNull Event event)         { onEventTrigger((PlayerTeleportEvent) event); }
 }
@@ -0,0 +1,300 @@
+package com.frostdeveloper.playerlogs.service;
+
+import com.frostdeveloper.api.FrostAPI;
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.definition.Config;
+import com.frostdeveloper.playerlogs.definition.StorageType;
+import com.frostdeveloper.playerlogs.manager.ModuleManager;
+import com.frostdeveloper.playerlogs.model.LogRecord;
+import com.frostdeveloper.playerlogs.model.Module;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A class used to merge bulk block changes into a single line of our text logs. Changes made by the same
+ * player to the same material inside the same chunk are counted until the window of their module passed,
+ * they are then written as one line holding their count and the bounding box they took place in.
+ * <p>
+ * Every change is still handed to our writer as a detailed record, so our block index keeps its exact
+ * coordinates. Our searchable storage types keep every change on their own, therefore changes are only
+ * aggregated while our logs are written as text.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class AggregationService
+{
+	// CLASS INSTANCES
+	private final PlayerLogs plugin     = PlayerLogs.getInstance();
+	private final FrostAPI api          = plugin.getFrostAPI();
+	private final ModuleManager manager = plugin.getModuleManager();
+	
+	// CLASS SPECIFIC OBJECTS
+	private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+	private volatile boolean enabled;
+	private BukkitTask task;
+	
+	/**
+	 * A class used to identify the changes that are merged into the same line.
+	 *
+	 * @since 1.3
+	 */
+	private static final class Key
+	{
+		private final int module;
+		private final UUID player;
+		private final Material material;
+		private final String world;
+		private final int chunkX;
+		private final int chunkZ;
+		
+		/**
+		 * A constructor used to define the values of a key.
+		 *
+		 * @param module Id of the module
+		 * @param player Unique id of the player
+		 * @param material Changed material
+		 * @param world Name of the world
+		 * @param chunkX Chunk x coordinate
+		 * @param chunkZ Chunk z coordinate
+		 * @since 1.3
+		 */
+		private Key(int module, @NotNull UUID player, @NotNull Material material, @NotNull String world, int chunkX, int chunkZ)
+		{
+			this.module   = module;
+			this.player   = player;
+			this.material = material;
+			this.world    = world;
+			this.chunkX   = chunkX;
+			this.chunkZ   = chunkZ;
+		}
+		
+		/**
+		 * A method used to determine whether two keys describe the same player, material and chunk.
+		 *
+		 * @param other Target object
+		 * @return Whether both keys are equal
+		 * @since 1.3
+		 */
+		@Override
+		public boolean equals(Object other)
+		{
+			if (this == other) {
+				return true;
+			}
+			
+			if (!(other instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) other;
+			
+			return module == key.module && chunkX == key.chunkX && chunkZ == key.chunkZ && material == key.material && player.equals(key.player) && world.equals(key.world);
+		}
+		
+		/**
+		 * A method used to return the hash code of this key.
+		 *
+		 * @return Hash code
+		 * @since 1.3
+		 */
+		@Override
+		public int hashCode() { return Objects.hash(module, player, material, world, chunkX, chunkZ); }
+	}
+	
+	/**
+	 * A class used to count the changes of a single key. An entry is only changed while it is part of our
+	 * map, so it can be read safely once it was removed.
+	 *
+	 * @since 1.3
+	 */
+	private static final class Entry
+	{
+		private final Key key;
+		private final String module;
+		private final String name;
+		private final String action;
+		private final long timestamp;
+		private final String date;
+		private final long window;
+		private int count;
+		private int minX;
+		private int minY;
+		private int minZ;
+		private int maxX;
+		private int maxY;
+		private int maxZ;
+		
+		/**
+		 * A constructor used to define the first change of an entry.
+		 *
+		 * @param key Key of the entry
+		 * @param module Full identifier of the module
+		 * @param name Name of the player
+		 * @param action Action of the player, such as {@code broke}
+		 * @param date Date of the first change
+		 * @param window Time in milliseconds the entry is kept before it is written
+		 * @param location Location of the first change
+		 * @since 1.3
+		 */
+		private Entry(@NotNull Key key, @NotNull String module, @NotNull String name, @NotNull String action, @NotNull String date, long window, @NotNull Location location)
+		{
+			this.key       = key;
+			this.module    = module;
+			this.name      = name;
+			this.action    = action;
+			this.timestamp = System.currentTimeMillis();
+			this.date      = date;
+			this.window    = window;
+			this.minX      = location.getBlockX();
+			this.minY      = location.getBlockY();
+			this.minZ      = location.getBlockZ();
+			this.maxX      = minX;
+			this.maxY      = minY;
+			this.maxZ      = minZ;
+		}
+		
+		/**
+		 * A method used to add a change to this entry.
+		 *
+		 * @param location Location of the change
+		 * @return This entry
+		 * @since 1.3
+		 */
+		private @NotNull Entry add(@NotNull Location location)
+		{
+			count++;
+			minX = Math.min(minX, location.getBlockX());
+			minY = Math.min(minY, location.getBlockY());
+			minZ = Math.min(minZ, location.getBlockZ());
+			maxX = Math.max(maxX, location.getBlockX());
+			maxY = Math.max(maxY, location.getBlockY());
+			maxZ = Math.max(maxZ, location.getBlockZ());
+			return this;
+		}
+		
+		/**
+		 * A method used to determine whether the window of this entry has passed.
+		 *
+		 * @param now Current time in milliseconds
+		 * @return Whether the entry should be written
+		 * @since 1.3
+		 */
+		private boolean isExpired(long now) { return now - timestamp >= window; }
+		
+		/**
+		 * A method used to return the values the line of this entry is built from, in the order they are
+		 * used by our {@code log.aggregate.line} message. Numbers are passed as text so they are never
+		 * formatted using the separators of a locale.
+		 *
+		 * @return Message arguments
+		 * @since 1.3
+		 */
+		private @NotNull Object[] toArguments()
+		{
+			return new Object[] { name, action, String.valueOf(count), key.material.name(), key.world, String.valueOf(key.chunkX), String.valueOf(key.chunkZ),
+					String.valueOf(minX), String.valueOf(minY), String.valueOf(minZ), String.valueOf(maxX), String.valueOf(maxY), String.valueOf(maxZ) };
+		}
+	}
+	
+	/**
+	 * A method used to start merging block changes, changes are only merged while our logs are written as
+	 * text. Entries whose window passed are written twice every second.
+	 *
+	 * @since 1.3
+	 */
+	public void initialize()
+	{
+		enabled = plugin.getLogService().getStorageType() == StorageType.TEXT;
+		
+		if (enabled) {
+			task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> flush(false), 10L, 10L);
+		}
+	}
+	
+	/**
+	 * A method used to stop merging block changes, every entry is written right away. This must be called
+	 * before our writer threads stop.
+	 *
+	 * @since 1.3
+	 */
+	public void shutdown()
+	{
+		enabled = false;
+		
+		if (task != null) {
+			task.cancel();
+			task = null;
+		}
+		flush(true);
+	}
+	
+	/**
+	 * A method used to write every entry right away once our configuration was reloaded, changes made
+	 * afterwards are merged with the window that is configured now.
+	 *
+	 * @since 1.3
+	 */
+	public void refresh() { flush(true); }
+	
+	/**
+	 * A method used to add a block change to the entry of its player, material and chunk. If the change
+	 * can not be aggregated, it must be logged by its module as usual.
+	 *
+	 * @param module Module that logged the change
+	 * @param player Player that made the change
+	 * @param location Location of the change
+	 * @param material Changed material
+	 * @param action Action of the player, such as {@code broke}
+	 * @return Whether the change was aggregated
+	 * @since 1.3
+	 */
+	public boolean add(@NotNull Module module, @NotNull Player player, @NotNull Location location, @NotNull Material material, @NotNull String action)
+	{
+		if (!enabled || location.getWorld() == null) {
+			return false;
+		}
+		long window = module.getAggregateWindow();
+		
+		if (window <= 0) {
+			return false;
+		}
+		
+		Key key = new Key(module.getDescriptor().getId(), player.getUniqueId(), material, location.getWorld().getName(), location.getBlockX() >> 4, location.getBlockZ() >> 4);
+		
+		entries.compute(key, (current, entry) -> {
+			if (entry == null) {
+				entry = new Entry(current, module.getFullIdentifier(), player.getName(), action, api.getTodayAsString(), window, location);
+			}
+			return entry.add(location);
+		});
+		return true;
+	}
+	
+	/**
+	 * A method used to write every entry whose window passed.
+	 *
+	 * @param force Whether every entry should be written regardless of its window
+	 * @since 1.3
+	 */
+	private void flush(boolean force)
+	{
+		long now        = System.currentTimeMillis();
+		String template = plugin.getLocaleManager().getMessage("log.aggregate.line");
+		
+		for (Entry entry : entries.values()) {
+			if ((force || entry.isExpired(now)) && entries.remove(entry.key, entry)) {
+				String message = api.format(template, entry.toArguments());
+				plugin.getLogService().submit(new LogRecord(entry.timestamp, entry.date, entry.module, entry.key.player, entry.name, message, manager.getBoolean(Config.MODULARIZE)));
+			}
+		}
+	}
+}
@@ -0,0 +1,225 @@
+package com.frostdeveloper.playerlogs.service;
+
+import com.frostdeveloper.api.FrostAPI;
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.manager.ModuleManager;
+import com.frostdeveloper.playerlogs.model.LogRecord;
+import com.frostdeveloper.playerlogs.model.Module;
+import com.frostdeveloper.playerlogs.module.BreakModule;
+import com.frostdeveloper.playerlogs.module.PlaceModule;
+import com.frostdeveloper.playerlogs.storage.BlockIndex;
+import com.frostdeveloper.playerlogs.util.Util;
+import org.bukkit.Bukkit;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A class used to answer who changed a block. Every block change written by our writer threads is added to
+ * our {@link BlockIndex}, a player in inspect mode can then click a block to receive its history, without
+ * a single log being read.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class InspectService implements Listener
+{
+	// CLASS INSTANCES
+	private final PlayerLogs plugin     = PlayerLogs.getInstance();
+	private final FrostAPI api          = plugin.getFrostAPI();
+	private final ModuleManager manager = plugin.getModuleManager();
+	
+	// CLASS SPECIFIC OBJECTS
+	private static final int HISTORY_LIMIT = 10;
+	private final Set<UUID> inspectors = ConcurrentHashMap.newKeySet();
+	private BlockIndex index;
+	
+	/**
+	 * A method used to register our listeners, so players in inspect mode can click a block.
+	 *
+	 * @since 1.3
+	 */
+	public void initialize() { Bukkit.getPluginManager().registerEvents(this, plugin); }
+	
+	/**
+	 * A method used to leave inspect mode for every player and to write our index to disk. This must be
+	 * called once our writer threads have stopped.
+	 *
+	 * @since 1.3
+	 */
+	public synchronized void shutdown()
+	{
+		inspectors.clear();
+		
+		if (index != null) {
+			index.close();
+			index = null;
+		}
+	}
+	
+	/**
+	 * A method used to enter or leave inspect mode.
+	 *
+	 * @param player Target player
+	 * @return Whether the player is now in inspect mode
+	 * @since 1.3
+	 */
+	public boolean toggle(@NotNull Player player)
+	{
+		if (inspectors.remove(player.getUniqueId())) {
+			return false;
+		}
+		inspectors.add(player.getUniqueId());
+		return true;
+	}
+	
+	/**
+	 * A method used by our writer threads to add the block changes of a batch to our index.
+	 *
+	 * @param batch Written batch
+	 * @since 1.3
+	 */
+	public void index(@NotNull List<LogRecord> batch)
+	{
+		try {
+			getBlockIndex().add(batch);
+		}
+		catch (IOException ex) {
+			plugin.getReport().create(ex);
+		}
+	}
+	
+	/**
+	 * A method used to return our block index, it is created once it is first used.
+	 *
+	 * @return Our block index
+	 * @since 1.3
+	 */
+	public synchronized @NotNull BlockIndex getBlockIndex()
+	{
+		if (index == null) {
+			List<String> modules = new ArrayList<>();
+			
+			for (Module module : manager.getMasterList()) {
+				if (module instanceof BreakModule || module instanceof PlaceModule) {
+					modules.add(module.getFullIdentifier());
+				}
+			}
+			index = new BlockIndex(Util.toFile(manager.getLogDirectory(), "blocks"), modules);
+		}
+		return index;
+	}
+	
+	/**
+	 * A listener used to return the history of a block that was clicked by a player in inspect mode. The
+	 * click itself is cancelled, so inspecting never changes the block.
+	 *
+	 * @param event Triggered event
+	 * @since 1.3
+	 */
+	@EventHandler(priority = EventPriority.LOWEST)
+	public void onPlayerInteract(@NotNull PlayerInteractEvent event)
+	{
+		Player player = event.getPlayer();
+		Block block   = event.getClickedBlock();
+		
+		if (block == null || !inspectors.contains(player.getUniqueId())) {
+			return;
+		}
+		
+		if (event.getAction() != Action.LEFT_CLICK_BLOCK && event.getAction() != Action.RIGHT_CLICK_BLOCK) {
+			return;
+		}
+		event.setCancelled(true);
+		
+		// ONLY ANSWER THE MAIN HAND, A RIGHT CLICK FIRES ONCE FOR EACH HAND
+		if (event.getHand() != EquipmentSlot.HAND) {
+			return;
+		}
+		
+		String world    = block.getWorld().getName();
+		int x           = block.getX();
+		int y           = block.getY();
+		int z           = block.getZ();
+		String location = x + ", " + y + ", " + z;
+		
+		Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+			try {
+				long start = System.nanoTime();
+				List<BlockIndex.Change> changes = getBlockIndex().find(world, x, y, z, HISTORY_LIMIT);
+				String elapsed = String.format(Locale.ROOT, "%.3f", (System.nanoTime() - start) / 1000000.0);
+				
+				if (changes.isEmpty()) {
+					sendMessage(player, "inspect.result.empty", location, elapsed);
+					return;
+				}
+				sendMessage(player, "inspect.result.header", location, elapsed);
+				
+				SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+				
+				for (BlockIndex.Change change : changes) {
+					String name     = change.getName() != null ? change.getName() : "-";
+					String material = change.getMaterial() != null ? change.getMaterial() : "-";
+					
+					sendMessage(player, "inspect.result.line", format.format(new Date(change.getTimestamp())), name, getAction(change), material);
+				}
+			}
+			catch (IOException ex) {
+				plugin.getReport().create(ex);
+				sendMessage(player, "inspect.failed");
+			}
+		});
+	}
+	
+	/**
+	 * A listener used to leave inspect mode once a player leaves.
+	 *
+	 * @param event Triggered event
+	 * @since 1.3
+	 */
+	@EventHandler
+	public void onPlayerQuit(@NotNull PlayerQuitEvent event) { inspectors.remove(event.getPlayer().getUniqueId()); }
+	
+	/**
+	 * A method used to return the identifier of the module that recorded a change, such as break or place.
+	 *
+	 * @param change Target change
+	 * @return Module identifier
+	 * @since 1.3
+	 */
+	private @NotNull String getAction(@NotNull BlockIndex.Change change)
+	{
+		Module module = change.getModule() != null ? manager.getModule(change.getModule()) : null;
+		return module != null ? module.getIdentifier() : String.valueOf(change.getModule());
+	}
+	
+	/**
+	 * A method used to send a formatted message to a player.
+	 *
+	 * @param player Target player
+	 * @param message Message key
+	 * @param param Message parameters
+	 * @since 1.3
+	 */
+	private void sendMessage(@NotNull Player player, String message, Object... param)
+	{
+		player.sendMessage(api.format(Util.getPrefix() + Util.format(plugin.getLocaleManager().getMessage(message)), param));
+	}
+}
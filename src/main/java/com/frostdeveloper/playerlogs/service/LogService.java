@@ -0,0 +1,690 @@
+package com.frostdeveloper.playerlogs.service;
+
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.definition.Config;
+import com.frostdeveloper.playerlogs.definition.StorageType;
+import com.frostdeveloper.playerlogs.manager.ConfigManager;
+import com.frostdeveloper.playerlogs.model.LogRecord;
+import com.frostdeveloper.playerlogs.storage.Journal;
+import com.frostdeveloper.playerlogs.storage.LogSink;
+import com.frostdeveloper.playerlogs.storage.RotatingLog;
+import com.frostdeveloper.playerlogs.util.Util;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+
+/**
+ * A class used to write our log records in the background. Modules hand their finished records to this
+ * service, which places them into a bounded queue that is drained in batches by one or more writer threads,
+ * this way the thread that fired an event only pays the cost of an enqueue. If a queue stays full for longer
+ * than our configured timeout, the record is dropped and counted rather than stalling the thread that fired
+ * the event, the amount of dropped records is reported by its writer. Every writer thread hands its
+ * batches to its own {@link LogSink}, which stores them in the configured storage backend.
+ * <p>
+ * Every record is appended to the {@link Journal} of its writer before it is queued and only forgotten once
+ * its batch was written, a batch that failed is written again. If our server stops before a record was
+ * written, it is written once our plugin enables again. Records that are submitted while
+ * our writer threads are not running are written right away by a single fallback sink.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class LogService
+{
+	// CLASS INSTANCES
+	private final PlayerLogs plugin    = PlayerLogs.getInstance();
+	private final ConfigManager config = plugin.getConfigManager();
+	
+	// CLASS SPECIFIC OBJECTS
+	private static final int STOP_ATTEMPTS = 3;
+	private static final long MAXIMUM_DELAY = TimeUnit.SECONDS.toMillis(30);
+	private static final long REPORT_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+	private final List<Thread> writers = new ArrayList<>();
+	private final List<AtomicInteger> acknowledged = new CopyOnWriteArrayList<>();
+	private final AtomicInteger generation = new AtomicInteger();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final ReadWriteLock state = new ReentrantReadWriteLock();
+	private final Object fallbackLock = new Object();
+	private volatile List<Partition> partitions = Collections.emptyList();
+	private volatile boolean running;
+	private StorageType storage = StorageType.TEXT;
+	private LogSink fallback;
+	private int fallbackGeneration;
+	private long fallbackSequence;
+	private int threads;
+	private int batchSize;
+	private long queueTimeout;
+	private long batchInterval;
+	private int cacheLimit;
+	private long segmentSize;
+	private long journalSize;
+	private long journalSync;
+	private RotatingLog globalLog;
+	
+	/**
+	 * A class used to hold the queue of a single writer thread together with its journal. A record reserves
+	 * its place in the queue before it is journaled, so a full queue never blocks while the journal is held.
+	 *
+	 * @since 1.3
+	 */
+	private static class Partition
+	{
+		private final AtomicInteger dropped = new AtomicInteger();
+		private final BlockingQueue<LogRecord> queue;
+		private final Semaphore permits;
+		private final Journal journal;
+		private long reported = System.nanoTime();
+		
+		/**
+		 * A constructor used to define the capacity and journal of a partition.
+		 *
+		 * @param capacity Maximum amount of queued records
+		 * @param journal Writer journal, can be null if journaling is disabled
+		 * @since 1.3
+		 */
+		private Partition(int capacity, @Nullable Journal journal)
+		{
+			this.queue   = new ArrayBlockingQueue<>(capacity);
+			this.permits = new Semaphore(capacity);
+			this.journal = journal;
+		}
+	}
+	
+	/**
+	 * A method used to start our writer threads. The amount of threads, the queue capacity and the
+	 * batch limits are defined inside our configuration file.
+	 *
+	 * @since 1.3
+	 */
+	public void initialize()
+	{
+		int capacity = Math.max(1, config.getInt(Config.QUEUE_CAPACITY));
+		
+		threads       = Math.max(1, config.getInt(Config.WRITER_THREADS));
+		queueTimeout  = Math.max(0, config.getInt(Config.QUEUE_TIMEOUT));
+		batchSize     = Math.max(1, config.getInt(Config.BATCH_SIZE));
+		batchInterval = Math.max(1, config.getInt(Config.BATCH_INTERVAL));
+		cacheLimit    = Math.max(1, config.getInt(Config.MAX_OPEN_FILES) / threads);
+		segmentSize   = Math.max(1, config.getInt(Config.SEGMENT_SIZE)) * 1048576L;
+		journalSize   = Math.max(0, config.getInt(Config.JOURNAL_SIZE)) * 1048576L;
+		journalSync   = Math.max(0, config.getInt(Config.JOURNAL_SYNC_INTERVAL));
+		storage       = StorageType.fromString(config.getString(Config.STORAGE_TYPE));
+		
+		// A FALLBACK SINK MAY STILL BE OPEN FOR THE STORAGE WE USED BEFORE OUR CONFIGURATION WAS RELOADED
+		closeFallback();
+		recover();
+		closeFallback();
+		
+		List<Partition> created = new ArrayList<>();
+		
+		for (int i = 0; i < threads; i++) {
+			Partition partition = new Partition(capacity, openJournal(i));
+			LogSink sink = storage.createSink(i, cacheLimit, segmentSize);
+			AtomicInteger acknowledgement = new AtomicInteger(generation.get());
+			Thread writer = new Thread(() -> drain(partition, sink, acknowledgement), "PlayerLogs-Writer-" + i);
+			writer.setDaemon(true);
+			
+			created.add(partition);
+			acknowledged.add(acknowledgement);
+			writers.add(writer);
+		}
+		state.writeLock().lock();
+		
+		try {
+			partitions = Collections.unmodifiableList(created);
+			running    = true;
+		}
+		finally {
+			state.writeLock().unlock();
+		}
+		writers.forEach(Thread::start);
+	}
+	
+	/**
+	 * A method used to stop our writer threads. Any record that is still queued will be written and every
+	 * open file will be closed before this method returns.
+	 *
+	 * @since 1.3
+	 */
+	public void shutdown()
+	{
+		// NO RECORD IS QUEUED ONCE THIS RETURNS, SO OUR WRITERS ONLY HAVE TO EMPTY THEIR QUEUES
+		state.writeLock().lock();
+		
+		try {
+			running = false;
+		}
+		finally {
+			state.writeLock().unlock();
+		}
+		
+		for (Thread writer : writers) {
+			try {
+				writer.join(TimeUnit.SECONDS.toMillis(10));
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		writers.clear();
+		acknowledged.clear();
+		
+		for (Partition partition : partitions) {
+			if (partition.journal != null) {
+				partition.journal.close();
+			}
+		}
+		partitions = Collections.emptyList();
+		closeFallback();
+		
+		synchronized (this) {
+			if (globalLog != null) {
+				globalLog.close();
+				globalLog = null;
+			}
+		}
+	}
+	
+	/**
+	 * A method used to hand a record to our writer threads. Records of the same player are always handled
+	 * by the same writer so their order is kept. If the queue is full, this method waits for our configured
+	 * timeout at most, no lock is held while it waits. A record that still has no place in the queue is
+	 * dropped and counted, so a writer that can not keep up never stalls our main thread. The record is
+	 * journaled before it is queued.
+	 *
+	 * @param record Target record
+	 * @since 1.3
+	 */
+	public void submit(@NotNull LogRecord record)
+	{
+		List<Partition> current = partitions;
+		
+		if (running && !current.isEmpty()) {
+			Partition partition = current.get((record.getPartition() & 0x7fffffff) % current.size());
+			
+			try {
+				if (!partition.permits.tryAcquire(queueTimeout, TimeUnit.MILLISECONDS)) {
+					partition.dropped.incrementAndGet();
+					return;
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			
+			if (enqueue(current, partition, record)) {
+				return;
+			}
+			partition.permits.release();
+		}
+		
+		try {
+			writeDirectly(Collections.singletonList(record));
+		}
+		catch (Exception ex) {
+			plugin.getReport().create(ex);
+		}
+	}
+	
+	/**
+	 * A method used to notify our writer threads that log files are about to be moved or renamed. This method
+	 * waits until every writer closed its open files, so a file that is moved afterwards is never written to
+	 * through a channel that was opened before. It must not be called by a writer thread.
+	 *
+	 * @since 1.3
+	 */
+	public void invalidate()
+	{
+		int target = generation.incrementAndGet();
+		
+		synchronized (generation) {
+			while (!isAcknowledged(target)) {
+				try {
+					generation.wait(batchInterval);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * A method used to run a task while none of our writers writes a batch, such as deleting a file that a
+	 * writer may hold open. Every writer closes its open files before it writes its next batch, so a deleted
+	 * file is created again rather than written to after it was deleted.
+	 *
+	 * @param task Target task
+	 * @return The outcome of the task
+	 * @since 1.3
+	 */
+	public boolean exclusive(@NotNull BooleanSupplier task)
+	{
+		lock.writeLock().lock();
+		
+		try {
+			generation.incrementAndGet();
+			return task.getAsBoolean();
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * A method used to return the storage backend our logs are written to.
+	 *
+	 * @return Active storage type
+	 * @since 1.3
+	 */
+	public @NotNull StorageType getStorageType() { return storage; }
+	
+	/**
+	 * A method used to return our global log, it is shared by every writer thread and rotated according to
+	 * our configuration file. Rotated logs are compressed in the background, so a rotation never blocks
+	 * the thread that fired an event.
+	 *
+	 * @return Our global log
+	 * @since 1.3
+	 */
+	public synchronized @NotNull RotatingLog getGlobalLog()
+	{
+		if (globalLog == null) {
+			File directory = plugin.getModuleManager().getLogDirectory();
+			RotatingLog.Interval interval = RotatingLog.Interval.fromString(config.getString(Config.ROTATION_INTERVAL));
+			long maxSize = Math.max(0, config.getInt(Config.ROTATION_SIZE)) * 1048576L;
+			
+			globalLog = new RotatingLog(Util.toFile(directory, "global.log"), Util.toFile(directory, "archive"), interval, maxSize);
+		}
+		return globalLog;
+	}
+	
+	/**
+	 * A method used to write every record that was still part of a journal once our plugin stopped, this is
+	 * the case if our server crashed or was killed before our writer threads could finish. Journals of
+	 * writers that no longer exist are removed once they were written.
+	 *
+	 * @since 1.3
+	 */
+	private void recover()
+	{
+		File[] files = plugin.getModuleManager().getLogDirectory().listFiles(file -> file.isFile() && file.getName().startsWith(Journal.PREFIX));
+		
+		if (files == null) {
+			return;
+		}
+		
+		for (File file : files) {
+			try {
+				Journal journal         = new Journal(file, journalSize, journalSync);
+				List<LogRecord> records = journal.recover();
+				
+				if (!records.isEmpty()) {
+					writeDirectly(records);
+					plugin.log("journal.recovered", records.size(), file.getName());
+				}
+				journal.reset();
+				journal.close();
+				
+				// A JOURNAL IS CREATED AGAIN IF ITS WRITER IS GONE OR ITS SIZE WAS CHANGED
+				if (journal.getSize() != journalSize || getIndex(file) < 0 || getIndex(file) >= threads) {
+					Files.deleteIfExists(file.toPath());
+				}
+			}
+			catch (Exception ex) {
+				plugin.getReport().create(ex);
+			}
+		}
+	}
+	
+	/**
+	 * A method used to queue a record that already reserved its place in the queue of its partition. The
+	 * record is only queued if our writers are still running, otherwise it has to be written directly.
+	 *
+	 * @param current The partitions the record was assigned with
+	 * @param partition Target partition
+	 * @param record Target record
+	 * @return Whether the record was queued
+	 * @since 1.3
+	 */
+	private boolean enqueue(@NotNull List<Partition> current, @NotNull Partition partition, @NotNull LogRecord record)
+	{
+		state.readLock().lock();
+		
+		try {
+			if (!running || partitions != current) {
+				return false;
+			}
+			
+			// OUR JOURNAL MUST HOLD ITS RECORDS IN THE SAME ORDER THEY ARE QUEUED
+			synchronized (partition) {
+				if (partition.journal != null) {
+					try {
+						partition.journal.append(record);
+					}
+					catch (IOException ex) {
+						plugin.getReport().create(ex);
+					}
+				}
+				
+				// THE RESERVED PERMIT GUARANTEES A FREE PLACE, SO THIS NEVER FAILS
+				partition.queue.offer(record);
+			}
+			return true;
+		}
+		finally {
+			state.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * A method used to write records right away, this is used while our writer threads are not running and
+	 * to write the records of a journal. Every record is written by a single fallback sink, which never
+	 * shares its files with a writer thread and closes its files once an invalidation was requested.
+	 *
+	 * @param records Target records
+	 * @throws IOException Thrown if the records could not be written
+	 * @since 1.3
+	 */
+	private void writeDirectly(@NotNull List<LogRecord> records) throws IOException
+	{
+		lock.readLock().lock();
+		
+		try {
+			synchronized (fallbackLock) {
+				if (fallback == null) {
+					LogSink sink = storage.createSink(threads, cacheLimit, segmentSize);
+					sink.open();
+					
+					fallback           = sink;
+					fallbackGeneration = generation.get();
+				}
+				else if (fallbackGeneration != generation.get()) {
+					fallback.invalidate();
+					fallbackGeneration = generation.get();
+				}
+				fallback.write(++fallbackSequence, records);
+				plugin.getInspectService().index(records);
+			}
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * A method used to close our fallback sink, it is opened again once it is needed.
+	 *
+	 * @since 1.3
+	 */
+	private void closeFallback()
+	{
+		synchronized (fallbackLock) {
+			if (fallback != null) {
+				fallback.close();
+				fallback = null;
+			}
+		}
+	}
+	
+	/**
+	 * A method used to open the journal of a writer thread.
+	 *
+	 * @param writer Writer index
+	 * @return Writer journal, null if journaling is disabled or the journal could not be opened
+	 * @since 1.3
+	 */
+	private @Nullable Journal openJournal(int writer)
+	{
+		if (journalSize <= 0) {
+			return null;
+		}
+		
+		try {
+			return new Journal(Util.toFile(plugin.getModuleManager().getLogDirectory(), Journal.PREFIX + writer), journalSize, journalSync);
+		}
+		catch (IOException ex) {
+			plugin.getReport().create(ex);
+			return null;
+		}
+	}
+	
+	/**
+	 * A method used to return the writer index a journal belongs to.
+	 *
+	 * @param file Journal file
+	 * @return Writer index, or -1 if the name is not valid
+	 * @since 1.3
+	 */
+	private static int getIndex(@NotNull File file)
+	{
+		try {
+			return Integer.parseInt(file.getName().substring(Journal.PREFIX.length()));
+		}
+		catch (NumberFormatException ex) {
+			return -1;
+		}
+	}
+	
+	/**
+	 * A method used to determine whether every writer closed the files it held open before an invalidation.
+	 * Writers that stopped no longer hold any file open.
+	 *
+	 * @param target Generation of the invalidation
+	 * @return Whether every writer acknowledged the invalidation
+	 * @since 1.3
+	 */
+	private boolean isAcknowledged(int target)
+	{
+		for (AtomicInteger current : acknowledged) {
+			if (current.get() - target < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * A method used by a writer thread to close its open files once an invalidation was requested, every
+	 * thread that waits for the invalidation is then notified.
+	 *
+	 * @param sink The sink owned by this writer
+	 * @param acknowledgement The last generation this writer acknowledged
+	 * @since 1.3
+	 */
+	private void acknowledge(@NotNull LogSink sink, @NotNull AtomicInteger acknowledgement)
+	{
+		int current = generation.get();
+		
+		if (acknowledgement.get() == current) {
+			return;
+		}
+		sink.invalidate();
+		acknowledgement.set(current);
+		
+		synchronized (generation) {
+			generation.notifyAll();
+		}
+	}
+	
+	/**
+	 * A method used to report the amount of records that were dropped because the queue of a writer was full.
+	 * To keep our console readable while a writer can not keep up, this is reported once every second at most.
+	 *
+	 * @param partition The partition of the writer
+	 * @param force Whether the amount should be reported regardless of when it was last reported
+	 * @since 1.3
+	 */
+	private void report(@NotNull Partition partition, boolean force)
+	{
+		long now = System.nanoTime();
+		
+		if (!force && now - partition.reported < REPORT_INTERVAL) {
+			return;
+		}
+		partition.reported = now;
+		int dropped        = partition.dropped.getAndSet(0);
+		
+		if (dropped > 0) {
+			plugin.log(Level.WARNING, "log.queue.dropped", String.valueOf(dropped));
+		}
+	}
+	
+	/**
+	 * A method used by each writer thread to drain its queue. A batch is written as soon as it reaches
+	 * the configured size or the configured interval has passed since its first record. Invalidations are
+	 * acknowledged between two batches and while the queue is empty.
+	 * <p>
+	 * The records of a batch are only forgotten by our journal once the batch was written, if a batch
+	 * cannot be written while our plugin is stopping, our writer stops and leaves the rest of its records
+	 * to our journal.
+	 *
+	 * @param partition The partition of this writer
+	 * @param sink The sink owned by this writer
+	 * @param acknowledgement The last generation this writer acknowledged
+	 * @since 1.3
+	 */
+	private void drain(@NotNull Partition partition, @NotNull LogSink sink, @NotNull AtomicInteger acknowledgement)
+	{
+		BlockingQueue<LogRecord> queue = partition.queue;
+		Journal journal                = partition.journal;
+		List<LogRecord> batch          = new ArrayList<>(batchSize);
+		long sequence                  = 0;
+		
+		try {
+			sink.open();
+		}
+		catch (Exception ex) {
+			plugin.getReport().create(ex);
+		}
+		
+		while (running || !queue.isEmpty()) {
+			try {
+				acknowledge(sink, acknowledgement);
+				report(partition, false);
+				
+				LogRecord first = queue.poll(batchInterval, TimeUnit.MILLISECONDS);
+				
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchInterval);
+				
+				while (batch.size() < batchSize) {
+					queue.drainTo(batch, batchSize - batch.size());
+					long remaining = deadline - System.nanoTime();
+					
+					if (batch.size() >= batchSize || remaining <= 0 || !running) {
+						break;
+					}
+					
+					LogRecord next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+				
+				if (!write(sink, ++sequence, batch, acknowledgement)) {
+					plugin.log(Level.WARNING, "log.writer.stopped", String.valueOf(batch.size() + queue.size()));
+					break;
+				}
+				
+				if (journal != null) {
+					journal.commit(batch.size());
+				}
+				partition.permits.release(batch.size());
+				plugin.getInspectService().index(batch);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+			catch (Exception ex) {
+				plugin.getReport().create(ex);
+			}
+			finally {
+				batch.clear();
+			}
+		}
+		sink.close();
+		report(partition, true);
+		
+		// A STOPPED WRITER NO LONGER HAS TO ACKNOWLEDGE ANY INVALIDATION
+		acknowledged.remove(acknowledgement);
+		
+		synchronized (generation) {
+			generation.notifyAll();
+		}
+	}
+	
+	/**
+	 * A method used by a writer thread to write a batch. A batch that failed is written again with the same
+	 * sequence number, waiting twice as long after every attempt, until it was written. Once our plugin is
+	 * stopping, a batch is only attempted a few more times.
+	 *
+	 * @param sink The sink owned by this writer
+	 * @param sequence Sequence number of the batch
+	 * @param batch Target batch
+	 * @param acknowledgement The last generation this writer acknowledged
+	 * @return Whether the batch was written
+	 * @throws InterruptedException Thrown if this writer was interrupted while it waited
+	 * @since 1.3
+	 */
+	private boolean write(@NotNull LogSink sink, long sequence, @NotNull List<LogRecord> batch, @NotNull AtomicInteger acknowledgement) throws InterruptedException
+	{
+		long delay = batchInterval;
+		
+		for (int attempt = 1; ; attempt++) {
+			lock.readLock().lock();
+			
+			try {
+				acknowledge(sink, acknowledgement);
+				sink.write(sequence, batch);
+				return true;
+			}
+			catch (Exception ex) {
+				// A BATCH THAT KEEPS FAILING IS ONLY REPORTED ONCE
+				if (attempt == 1) {
+					plugin.getReport().create(ex);
+				}
+			}
+			finally {
+				lock.readLock().unlock();
+			}
+			
+			if (!running && attempt >= STOP_ATTEMPTS) {
+				return false;
+			}
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+			
+			// A WRITER THAT WAITS IS WOKEN UP IN TIME ONCE OUR PLUGIN STOPS
+			do {
+				Thread.sleep(batchInterval);
+			}
+			while (running && System.nanoTime() - deadline < 0);
+			
+			delay = Math.min(delay * 2, MAXIMUM_DELAY);
+		}
+	}
+}
@@ -0,0 +1,443 @@
+package com.frostdeveloper.playerlogs.service;
+
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.definition.Config;
+import com.frostdeveloper.playerlogs.manager.ConfigManager;
+import com.frostdeveloper.playerlogs.model.Migration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A class used to run our migrations in the background. Migrations run one after another on a single
+ * coordinating thread, the targets of a migration are spread across a small pool of threads, so a migration
+ * never holds up the server while it starts and never takes over the disk either.
+ * <p>
+ * The progress of every migration is recorded inside a checkpoint file. A migration that was interrupted by
+ * a restart is submitted again once our plugin enables, it then continues with the targets that remain.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class MigrationService
+{
+	// CLASS INSTANCES
+	private final PlayerLogs plugin    = PlayerLogs.getInstance();
+	private final ConfigManager config = plugin.getConfigManager();
+	
+	// CLASS SPECIFIC OBJECTS
+	private static final long CHECKPOINT_INTERVAL = 1000;
+	private static final long SHUTDOWN_TIMEOUT = 60;
+	
+	private final Map<String, Job> jobs = new LinkedHashMap<>();
+	private final List<Runnable> queued = new ArrayList<>();
+	private final Properties checkpoint = new Properties();
+	private final File file;
+	private ExecutorService coordinator;
+	private ExecutorService workers;
+	private volatile boolean stopping;
+	private long saved;
+	private boolean loaded;
+	
+	/**
+	 * An enum used to describe the state of a migration.
+	 *
+	 * @since 1.3
+	 */
+	public enum State
+	{
+		QUEUED, RUNNING, INTERRUPTED, COMPLETE, FAILED
+	}
+	
+	/**
+	 * A class used to describe the progress of a migration.
+	 *
+	 * @since 1.3
+	 */
+	public static class Job
+	{
+		private final String identifier;
+		private final AtomicInteger done;
+		private final int total;
+		private volatile State state;
+		
+		/**
+		 * A constructor used to define the progress of a migration.
+		 *
+		 * @param identifier Migration identifier
+		 * @param state Current state
+		 * @param done Amount of migrated targets
+		 * @param total Amount of targets
+		 * @since 1.3
+		 */
+		private Job(@NotNull String identifier, @NotNull State state, int done, int total)
+		{
+			this.identifier = identifier;
+			this.state      = state;
+			this.done       = new AtomicInteger(done);
+			this.total      = total;
+		}
+		
+		/**
+		 * A method used to return the identifier of this migration.
+		 *
+		 * @return Migration identifier
+		 * @since 1.3
+		 */
+		public @NotNull String getIdentifier() { return identifier; }
+		
+		/**
+		 * A method used to return the state of this migration.
+		 *
+		 * @return Current state
+		 * @since 1.3
+		 */
+		public @NotNull State getState()       { return state;      }
+		
+		/**
+		 * A method used to return the amount of targets that were migrated.
+		 *
+		 * @return Migrated targets
+		 * @since 1.3
+		 */
+		public int getDone()                   { return done.get(); }
+		
+		/**
+		 * A method used to return the amount of targets of this migration.
+		 *
+		 * @return Total targets
+		 * @since 1.3
+		 */
+		public int getTotal()                  { return total;      }
+	}
+	
+	/**
+	 * A constructor used to define the file our checkpoint is stored in.
+	 *
+	 * @param file Checkpoint file
+	 * @since 1.3
+	 */
+	public MigrationService(@NotNull File file) { this.file = file; }
+	
+	/**
+	 * A method used to start our migration threads, migrations that were submitted before are started now.
+	 * The amount of threads is defined inside our configuration file.
+	 *
+	 * @since 1.3
+	 */
+	public synchronized void initialize()
+	{
+		stopping    = false;
+		coordinator = Executors.newSingleThreadExecutor(runnable -> createThread(runnable, "PlayerLogs-Migration"));
+		workers     = Executors.newFixedThreadPool(Math.max(1, config.getInt(Config.MIGRATION_THREADS)), runnable -> createThread(runnable, "PlayerLogs-Migration-Worker"));
+		
+		queued.forEach(coordinator::execute);
+		queued.clear();
+	}
+	
+	/**
+	 * A method used to stop our migration threads. Targets that are being migrated are finished, the remaining
+	 * targets are migrated once our plugin enables again. Our threads are never interrupted, an interrupted
+	 * merge would leave a partially appended log behind that is appended a second time once resumed.
+	 *
+	 * @since 1.3
+	 */
+	public void shutdown()
+	{
+		ExecutorService coordinator;
+		ExecutorService workers;
+		
+		synchronized (this) {
+			coordinator      = this.coordinator;
+			workers          = this.workers;
+			this.coordinator = null;
+			this.workers     = null;
+			stopping         = true;
+			queued.clear();
+		}
+		
+		if (coordinator == null) {
+			return;
+		}
+		coordinator.shutdown();
+		workers.shutdown();
+		
+		try {
+			workers.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS);
+			coordinator.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		save(true);
+	}
+	
+	/**
+	 * A method used to submit a migration, its targets are collected right away and migrated in the
+	 * background. A migration that is already queued or running is not submitted twice.
+	 *
+	 * @param migration Target migration
+	 * @return Whether the migration was submitted
+	 * @since 1.3
+	 */
+	public synchronized boolean submit(@NotNull Migration migration)
+	{
+		load();
+		
+		String identifier = migration.getIdentifier();
+		Job current       = jobs.get(identifier);
+		
+		if (current != null && (current.getState() == State.QUEUED || current.getState() == State.RUNNING)) {
+			return false;
+		}
+		
+		// A MIGRATION THAT WAS INTERRUPTED CONTINUES WHERE IT STOPPED
+		List<String> targets = migration.collect();
+		int done             = current != null && current.getState() != State.COMPLETE ? current.getDone() : 0;
+		Job job              = new Job(identifier, State.QUEUED, done, done + targets.size());
+		
+		jobs.put(identifier, job);
+		save(true);
+		
+		Runnable task = () -> run(migration, job, targets);
+		
+		if (coordinator != null) {
+			coordinator.execute(task);
+		}
+		else {
+			queued.add(task);
+		}
+		return true;
+	}
+	
+	/**
+	 * A method used to determine whether a migration was completed before.
+	 *
+	 * @param identifier Migration identifier
+	 * @return Whether the migration is complete
+	 * @since 1.3
+	 */
+	public synchronized boolean isComplete(@NotNull String identifier)
+	{
+		load();
+		
+		Job job = jobs.get(identifier);
+		return job != null && job.getState() == State.COMPLETE;
+	}
+	
+	/**
+	 * A method used to return the progress of every migration we know of.
+	 *
+	 * @return Migration progress
+	 * @since 1.3
+	 */
+	public synchronized @NotNull List<Job> getJobs()
+	{
+		load();
+		return new ArrayList<>(jobs.values());
+	}
+	
+	/**
+	 * A method used to migrate every target of a migration and to complete it once every target succeeded.
+	 *
+	 * @param migration Target migration
+	 * @param job Progress of the migration
+	 * @param targets Targets to migrate
+	 * @since 1.3
+	 */
+	private void run(@NotNull Migration migration, @NotNull Job job, @NotNull List<String> targets)
+	{
+		ExecutorService workers;
+		
+		synchronized (this) {
+			workers = this.workers;
+		}
+		
+		if (workers == null || stopping) {
+			return;
+		}
+		job.state = State.RUNNING;
+		save(true);
+		
+		List<Future<?>> futures = new ArrayList<>();
+		boolean failed          = false;
+		
+		try {
+			for (String target : targets) {
+				futures.add(workers.submit(() -> {
+					// TARGETS THAT DID NOT START BEFORE WE STOPPED ARE MIGRATED ONCE OUR PLUGIN ENABLES AGAIN
+					if (stopping) {
+						return null;
+					}
+					migration.migrate(target);
+					job.done.incrementAndGet();
+					save(false);
+					return null;
+				}));
+			}
+			
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				}
+				catch (ExecutionException ex) {
+					plugin.getReport().create(ex);
+					failed = true;
+				}
+			}
+			
+			// THE JOB STAYS RUNNING, SO IT IS RECORDED AS INTERRUPTED ONCE OUR PLUGIN ENABLES AGAIN
+			if (stopping) {
+				return;
+			}
+			
+			if (!failed) {
+				migration.complete();
+				plugin.log("migrate.complete", job.getIdentifier(), job.getDone());
+			}
+			job.state = failed ? State.FAILED : State.COMPLETE;
+			save(true);
+			
+			if (failed) {
+				migration.fail();
+			}
+		}
+		catch (InterruptedException ex) {
+			// OUR PLUGIN IS DISABLING, THE REMAINING TARGETS ARE MIGRATED ONCE IT ENABLES AGAIN
+			Thread.currentThread().interrupt();
+		}
+		catch (RejectedExecutionException ex) {
+			// OUR WORKERS STOPPED WHILE TARGETS WERE SUBMITTED, THE JOB IS RESUMED LIKE AN INTERRUPTED ONE
+		}
+		catch (Exception ex) {
+			plugin.getReport().create(ex);
+			job.state = State.FAILED;
+			save(true);
+			migration.fail();
+		}
+	}
+	
+	/**
+	 * A method used to record the progress of a migration inside our checkpoint.
+	 *
+	 * @param job Target migration
+	 * @since 1.3
+	 */
+	private void record(@NotNull Job job)
+	{
+		checkpoint.setProperty(job.getIdentifier() + ".state", job.getState().name());
+		checkpoint.setProperty(job.getIdentifier() + ".done", String.valueOf(job.getDone()));
+		checkpoint.setProperty(job.getIdentifier() + ".total", String.valueOf(job.getTotal()));
+	}
+	
+	/**
+	 * A method used to read our checkpoint the first time it is used. Migrations that were queued or running
+	 * once our plugin stopped are recorded as interrupted until they are submitted again.
+	 *
+	 * @since 1.3
+	 */
+	private void load()
+	{
+		if (loaded) {
+			return;
+		}
+		loaded = true;
+		
+		if (!file.exists()) {
+			return;
+		}
+		
+		try (InputStream input = new FileInputStream(file)) {
+			checkpoint.load(input);
+		}
+		catch (IOException ex) {
+			plugin.getReport().create(ex);
+		}
+		
+		for (String key : checkpoint.stringPropertyNames()) {
+			if (!key.endsWith(".state")) {
+				continue;
+			}
+			String identifier = key.substring(0, key.length() - ".state".length());
+			
+			try {
+				State state = State.valueOf(checkpoint.getProperty(key));
+				int done    = Integer.parseInt(checkpoint.getProperty(identifier + ".done", "0"));
+				int total   = Integer.parseInt(checkpoint.getProperty(identifier + ".total", "0"));
+				
+				jobs.put(identifier, new Job(identifier, state == State.QUEUED || state == State.RUNNING ? State.INTERRUPTED : state, done, total));
+			}
+			catch (IllegalArgumentException ex) {
+				plugin.getReport().create(ex);
+			}
+		}
+	}
+	
+	/**
+	 * A method used to write the progress of every migration to a new checkpoint, which then replaces the
+	 * old one. Progress is written at most once per second unless forced.
+	 *
+	 * @param force Whether the checkpoint must be written right away
+	 * @since 1.3
+	 */
+	private synchronized void save(boolean force)
+	{
+		long now = System.currentTimeMillis();
+		
+		if (!force && now - saved < CHECKPOINT_INTERVAL) {
+			return;
+		}
+		saved = now;
+		jobs.values().forEach(this::record);
+		
+		File temp = new File(file.getPath() + ".tmp");
+		
+		try {
+			if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
+				throw new IOException("Failed to create directory for: " + file.getName());
+			}
+			
+			try (OutputStream output = new FileOutputStream(temp)) {
+				checkpoint.store(output, "PlayerLogs migration progress, do not edit");
+			}
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (IOException ex) {
+			plugin.getReport().create(ex);
+		}
+	}
+	
+	/**
+	 * A method used to create one of our migration threads.
+	 *
+	 * @param runnable Task of the thread
+	 * @param name Name of the thread
+	 * @return Created thread
+	 * @since 1.3
+	 */
+	private static @NotNull Thread createThread(@NotNull Runnable runnable, @NotNull String name)
+	{
+		Thread thread = new Thread(runnable, name);
+		thread.setDaemon(true);
+		return thread;
+	}
+}
@@ -0,0 +1,358 @@
+package com.frostdeveloper.playerlogs.service;
+
+import com.frostdeveloper.api.FrostAPI;
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.definition.Config;
+import com.frostdeveloper.playerlogs.manager.ModuleManager;
+import com.frostdeveloper.playerlogs.model.LogRecord;
+import com.frostdeveloper.playerlogs.model.Module;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * A class used to limit how many events a module may log. Every module can be limited per player and across
+ * every player using token buckets, and can log a random sample of its events only. Our event dispatcher asks
+ * this service before an event is passed to its module, so a dropped event never renders a single placeholder.
+ * <p>
+ * Once a bucket refilled, a single line holding the amount of events it dropped is written in their place.
+ * Buckets never lock, they can be used by the main thread and by asynchronous events at the same time.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class RateLimitService
+{
+	// CLASS INSTANCES
+	private final PlayerLogs plugin     = PlayerLogs.getInstance();
+	private final FrostAPI api          = plugin.getFrostAPI();
+	private final ModuleManager manager = plugin.getModuleManager();
+	
+	// CLASS SPECIFIC OBJECTS
+	private volatile Limit[] limits = new Limit[0];
+	private volatile FileConfiguration source;
+	private BukkitTask task;
+	
+	/**
+	 * A class used to describe the limits of a single module.
+	 *
+	 * @since 1.3
+	 */
+	private static final class Limit
+	{
+		private final Map<UUID, Bucket> players = new ConcurrentHashMap<>();
+		private final AtomicInteger sampled = new AtomicInteger();
+		private final Module module;
+		private final double playerRate;
+		private final double sample;
+		private final Bucket bucket;
+		
+		/**
+		 * A constructor used to define the limits of a module.
+		 *
+		 * @param module Limited module
+		 * @param playerRate Events per second every player may log, zero if unlimited
+		 * @param moduleRate Events per second every player combined may log, zero if unlimited
+		 * @param sample Share of events that are logged
+		 * @since 1.3
+		 */
+		private Limit(@NotNull Module module, double playerRate, double moduleRate, double sample)
+		{
+			this.module     = module;
+			this.playerRate = playerRate;
+			this.sample     = sample;
+			this.bucket     = moduleRate > 0 ? new Bucket(null, null, moduleRate) : null;
+		}
+	}
+	
+	/**
+	 * A class used to describe a token bucket. Instead of counting its tokens, a bucket only keeps the time
+	 * at which it is full again, so taking a token is a single compare-and-set.
+	 *
+	 * @since 1.3
+	 */
+	static final class Bucket
+	{
+		private final AtomicLong full = new AtomicLong(System.nanoTime());
+		final AtomicInteger suppressed = new AtomicInteger();
+		private final UUID uniqueId;
+		private final String name;
+		private final long interval;
+		private final long capacity;
+		
+		/**
+		 * A constructor used to define a full bucket. A bucket holds the events of a single second, so short
+		 * bursts are not limited.
+		 *
+		 * @param uniqueId Unique id of the player, null if the bucket is shared by every player
+		 * @param name Name of the player, null if the bucket is shared by every player
+		 * @param rate Events per second
+		 * @since 1.3
+		 */
+		Bucket(@Nullable UUID uniqueId, @Nullable String name, double rate)
+		{
+			this.uniqueId = uniqueId;
+			this.name     = name;
+			this.interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+			this.capacity = interval * Math.max(1, (long) rate);
+		}
+		
+		/**
+		 * A method used to take a token from this bucket, an event is suppressed if no token is left.
+		 *
+		 * @param now Current time in nanoseconds
+		 * @return Whether a token was taken
+		 * @since 1.3
+		 */
+		boolean acquire(long now)
+		{
+			while (true) {
+				long current = full.get();
+				long next    = Math.max(current, now) + interval;
+				
+				if (next - now > capacity) {
+					suppressed.incrementAndGet();
+					return false;
+				}
+				
+				if (full.compareAndSet(current, next)) {
+					return true;
+				}
+			}
+		}
+		
+		/**
+		 * A method used to give back a token that was taken for an event that was suppressed by another
+		 * bucket.
+		 *
+		 * @since 1.3
+		 */
+		void release() { full.addAndGet(-interval); }
+		
+		/**
+		 * A method used to determine whether this bucket refilled.
+		 *
+		 * @param now Current time in nanoseconds
+		 * @return Whether the bucket is full
+		 * @since 1.3
+		 */
+		boolean isFull(long now) { return full.get() - now <= 0; }
+	}
+	
+	/**
+	 * A method used to write the amount of suppressed events of every refilled bucket, this runs once every
+	 * second.
+	 *
+	 * @since 1.3
+	 */
+	public void initialize()
+	{
+		task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> sweep(false), 20L, 20L);
+	}
+	
+	/**
+	 * A method used to stop our sweep, the amount of suppressed events of every bucket is written right away.
+	 * This must be called before our writer threads stop.
+	 *
+	 * @since 1.3
+	 */
+	public void shutdown()
+	{
+		if (task != null) {
+			task.cancel();
+			task = null;
+		}
+		sweep(true);
+	}
+	
+	/**
+	 * A method used to read our limits again once our configuration was reloaded, the amount of suppressed
+	 * events of every bucket is written before it is replaced.
+	 *
+	 * @since 1.3
+	 */
+	public void refresh() { update(); }
+	
+	/**
+	 * A method used to determine whether a module may log an event. A suppressed event must not be passed
+	 * to its module.
+	 *
+	 * @param module Target module
+	 * @param player Player of the event, can be null
+	 * @return Whether the event may be logged
+	 * @since 1.3
+	 */
+	public boolean acquire(@NotNull Module module, @Nullable Player player)
+	{
+		Limit limit = getLimit(module);
+		
+		if (limit == null) {
+			return true;
+		}
+		
+		if (limit.sample < 1 && ThreadLocalRandom.current().nextDouble() >= limit.sample) {
+			limit.sampled.incrementAndGet();
+			return false;
+		}
+		long now      = System.nanoTime();
+		Bucket bucket = null;
+		
+		if (player != null && limit.playerRate > 0) {
+			bucket = limit.players.get(player.getUniqueId());
+			
+			if (bucket == null) {
+				bucket = limit.players.computeIfAbsent(player.getUniqueId(), key -> new Bucket(key, player.getName(), limit.playerRate));
+			}
+			
+			if (!bucket.acquire(now)) {
+				return false;
+			}
+		}
+		
+		// AN EVENT THAT EXCEEDS THE LIMIT OF ITS MODULE DOES NOT COUNT TOWARDS THE LIMIT OF ITS PLAYER
+		if (limit.bucket != null && !limit.bucket.acquire(now)) {
+			if (bucket != null) {
+				bucket.release();
+			}
+			return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * A method used to return the limits of a module. Our limits are read again once our module file was
+	 * reloaded, which is noticed by its configuration being replaced.
+	 *
+	 * @param module Target module
+	 * @return Module limits, null if the module is not limited
+	 * @since 1.3
+	 */
+	private @Nullable Limit getLimit(@NotNull Module module)
+	{
+		if (manager.getConfig() != source) {
+			update();
+		}
+		
+		Limit[] current = limits;
+		int id          = module.getDescriptor().getId();
+		
+		return id < current.length ? current[id] : null;
+	}
+	
+	/**
+	 * A method used to read our limits from our module file. The suppressed events of the previous limits are
+	 * written before they are replaced.
+	 *
+	 * @since 1.3
+	 */
+	private synchronized void update()
+	{
+		FileConfiguration config = manager.getConfig();
+		
+		if (config == source) {
+			return;
+		}
+		sweep(true);
+		
+		Limit[] updated              = new Limit[manager.getMasterList().size()];
+		ConfigurationSection section = config.getConfigurationSection(Config.LIMITS.getPath());
+		
+		if (section != null) {
+			for (String key : section.getKeys(false)) {
+				Module module = manager.getModule(key);
+				
+				if (module == null) {
+					plugin.log(Level.WARNING, "module.limit.unknown", key);
+					continue;
+				}
+				
+				double playerRate = Math.max(0, section.getDouble(key + ".player", 0));
+				double moduleRate = Math.max(0, section.getDouble(key + ".module", 0));
+				double sample     = Math.min(1, Math.max(0, section.getDouble(key + ".sample", 1)));
+				int id            = module.getDescriptor().getId();
+				
+				if ((playerRate > 0 || moduleRate > 0 || sample < 1) && id < updated.length) {
+					updated[id] = new Limit(module, playerRate, moduleRate, sample);
+				}
+			}
+		}
+		limits = updated;
+		source = config;
+	}
+	
+	/**
+	 * A method used to write the amount of suppressed and sampled out events. Player buckets that refilled
+	 * are removed before their amount is written, so no event can be suppressed by them once written, they
+	 * are created again once their player logs.
+	 *
+	 * @param force Whether every bucket should be written regardless of whether it refilled
+	 * @since 1.3
+	 */
+	private void sweep(boolean force)
+	{
+		long now = System.nanoTime();
+		
+		for (Limit limit : limits) {
+			if (limit == null) {
+				continue;
+			}
+			
+			if (limit.bucket != null && (force || limit.bucket.isFull(now))) {
+				report(limit, limit.bucket);
+			}
+			
+			for (Bucket bucket : limit.players.values()) {
+				if ((bucket.isFull(now) && limit.players.remove(bucket.uniqueId, bucket)) || force) {
+					report(limit, bucket);
+				}
+			}
+			report(limit, null, null, limit.sampled.getAndSet(0), "log.limit.sampled");
+		}
+	}
+	
+	/**
+	 * A method used to write the amount of events a bucket suppressed since it was last reported.
+	 *
+	 * @param limit Limits of the module
+	 * @param bucket Target bucket
+	 * @since 1.3
+	 */
+	private void report(@NotNull Limit limit, @NotNull Bucket bucket)
+	{
+		String key = bucket.name != null ? "log.limit.suppressed.player" : "log.limit.suppressed";
+		report(limit, bucket.uniqueId, bucket.name, bucket.suppressed.getAndSet(0), key);
+	}
+	
+	/**
+	 * A method used to write a summary of the events of a module that were not logged.
+	 *
+	 * @param limit Limits of the module
+	 * @param uniqueId Unique id of the player, null if the summary covers every player
+	 * @param name Name of the player, null if the summary covers every player
+	 * @param count Amount of events that were not logged
+	 * @param key Message key of the summary
+	 * @since 1.3
+	 */
+	private void report(@NotNull Limit limit, @Nullable UUID uniqueId, @Nullable String name, int count, @NotNull String key)
+	{
+		if (count == 0) {
+			return;
+		}
+		String message = api.format(plugin.getLocaleManager().getMessage(key), String.valueOf(count), limit.module.getName(), name);
+		
+		plugin.getLogService().submit(new LogRecord(System.currentTimeMillis(), api.getTodayAsString(), limit.module.getFullIdentifier(), uniqueId, name, message, manager.getBoolean(Config.MODULARIZE)));
+	}
+}
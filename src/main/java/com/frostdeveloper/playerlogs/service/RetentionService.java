@@ -0,0 +1,416 @@
+package com.frostdeveloper.playerlogs.service;
+
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.definition.Config;
+import com.frostdeveloper.playerlogs.manager.ConfigManager;
+import com.frostdeveloper.playerlogs.manager.ModuleManager;
+import com.frostdeveloper.playerlogs.model.Module;
+import com.frostdeveloper.playerlogs.storage.ArchiveIndex;
+import com.frostdeveloper.playerlogs.storage.PostingIndex;
+import com.frostdeveloper.playerlogs.storage.RotatingLog;
+import com.frostdeveloper.playerlogs.storage.SegmentIndex;
+import com.frostdeveloper.playerlogs.storage.SegmentSink;
+import com.frostdeveloper.playerlogs.storage.SqlSink;
+import com.frostdeveloper.playerlogs.util.Util;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+/**
+ * A class used to remove logs that are older than their retention. Logs are only ever removed as whole files,
+ * such as a player's module log, a rotated archive or a binary segment, so no log is rewritten. Database
+ * records are removed in small chunks. Every purge runs in the background and is throttled so it does not
+ * compete with our writer threads for disk access.
+ * <p>
+ * A module log of a player is never split by time, it is only removed once it was idle for longer than the
+ * retention. Rotated archives and segments are split by time and are removed once their newest line expired.
+ * Files are deleted while our writers are paused, a writer that held a deleted file open creates it again.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class RetentionService
+{
+	// CLASS INSTANCES
+	private final PlayerLogs plugin     = PlayerLogs.getInstance();
+	private final ConfigManager config  = plugin.getConfigManager();
+	private final ModuleManager manager = plugin.getModuleManager();
+	
+	// CLASS SPECIFIC OBJECTS
+	private static final List<String> RESERVED = Arrays.asList("archive", "blocks", "export", "segments");
+	private static final int CHUNK_SIZE = 1000;
+	
+	private final AtomicBoolean running = new AtomicBoolean();
+	private BukkitTask task;
+	
+	/**
+	 * A class used to hold the outcome of a purge.
+	 *
+	 * @since 1.3
+	 */
+	public static class Result
+	{
+		private final int files;
+		private final long records;
+		
+		/**
+		 * A constructor used to define the outcome of a purge.
+		 *
+		 * @param files Amount of deleted files
+		 * @param records Amount of deleted database records
+		 * @since 1.3
+		 */
+		public Result(int files, long records)
+		{
+			this.files   = files;
+			this.records = records;
+		}
+		
+		/**
+		 * A method used to return the amount of deleted files.
+		 *
+		 * @return Deleted files
+		 * @since 1.3
+		 */
+		public int getFiles()     { return files;   }
+		
+		/**
+		 * A method used to return the amount of deleted database records.
+		 *
+		 * @return Deleted records
+		 * @since 1.3
+		 */
+		public long getRecords()  { return records; }
+	}
+	
+	/**
+	 * A method used to schedule our retention sweep, it first runs a minute after the server started and
+	 * then once every hour.
+	 *
+	 * @since 1.3
+	 */
+	public void initialize()
+	{
+		task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::sweep, 1200L, 72000L);
+	}
+	
+	/**
+	 * A method used to cancel our retention sweep.
+	 *
+	 * @since 1.3
+	 */
+	public void shutdown()
+	{
+		if (task != null) {
+			task.cancel();
+			task = null;
+		}
+	}
+	
+	/**
+	 * A method used to remove every log that is older than the retention of its module. Rotated archives and
+	 * segments hold the logs of every module, they are only removed once every module has a retention and
+	 * they are older than the longest of them.
+	 *
+	 * @since 1.3
+	 */
+	public void sweep()
+	{
+		if (!running.compareAndSet(false, true)) {
+			return;
+		}
+		
+		try {
+			long now     = System.currentTimeMillis();
+			long longest = 0;
+			boolean all  = true;
+			int files    = 0;
+			long records = 0;
+			
+			for (Module module : new ArrayList<>(manager.getMasterList())) {
+				long retention = module.getRetention();
+				
+				if (retention <= 0) {
+					all = false;
+					continue;
+				}
+				longest = Math.max(longest, retention);
+				
+				Result result = execute(module, null, now - retention, null);
+				files   += result.getFiles();
+				records += result.getRecords();
+			}
+			
+			if (all && longest > 0) {
+				Result result = execute(null, null, now - longest, null);
+				files   += result.getFiles();
+				records += result.getRecords();
+			}
+			
+			if (files > 0 || records > 0) {
+				plugin.debug(getClass(), "purge.sweep.success", files, records);
+			}
+		}
+		finally {
+			running.set(false);
+		}
+	}
+	
+	/**
+	 * A method used to remove the logs of a module or player that are older than a point in time. If neither a
+	 * module nor a player is defined, rotated archives and segments are removed as well.
+	 *
+	 * @param module Target module, can be null
+	 * @param player Target player, can be null
+	 * @param cutoff Logs last written before this time are removed
+	 * @param progress Notified with the amount of deleted and found files while the purge runs, can be null
+	 * @return The outcome of this purge, or null if another purge is already running
+	 * @since 1.3
+	 */
+	public @Nullable Result purge(@Nullable Module module, @Nullable OfflinePlayer player, long cutoff, @Nullable BiConsumer<Integer, Integer> progress)
+	{
+		if (!running.compareAndSet(false, true)) {
+			return null;
+		}
+		
+		try {
+			return execute(module, player, cutoff, progress);
+		}
+		finally {
+			running.set(false);
+		}
+	}
+	
+	/**
+	 * A method used to remove every matching file and database record.
+	 *
+	 * @param module Target module, can be null
+	 * @param player Target player, can be null
+	 * @param cutoff Logs last written before this time are removed
+	 * @param progress Notified with the amount of deleted and found files, can be null
+	 * @return The outcome of this purge
+	 * @since 1.3
+	 */
+	private @NotNull Result execute(@Nullable Module module, @Nullable OfflinePlayer player, long cutoff, @Nullable BiConsumer<Integer, Integer> progress)
+	{
+		List<File> targets = collect(module, player, cutoff);
+		long delay         = TimeUnit.SECONDS.toMillis(1) / Math.max(1, config.getInt(Config.PURGE_RATE));
+		long report        = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+		int deleted        = 0;
+		
+		for (File target : targets) {
+			if (plugin.getLogService().exclusive(() -> delete(target, cutoff))) {
+				deleted++;
+				
+				if (target.getName().endsWith(SegmentSink.EXTENSION)) {
+					SegmentIndex.delete(target);
+				}
+				else if (target.getName().endsWith(RotatingLog.EXTENSION)) {
+					PostingIndex.delete(target);
+					ArchiveIndex.delete(target);
+				}
+				deleteIfEmpty(target.getParentFile());
+			}
+			
+			if (progress != null && System.currentTimeMillis() >= report) {
+				progress.accept(deleted, targets.size());
+				report = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+			}
+			
+			if (!pause(delay)) {
+				break;
+			}
+		}
+		return new Result(deleted, purgeDatabase(module, player, cutoff, delay));
+	}
+	
+	/**
+	 * A method used to delete a single file, this must be called while our writers are paused. A module log
+	 * that was written to since it was found is kept.
+	 *
+	 * @param target Target file
+	 * @param cutoff Logs last written before this time are removed
+	 * @return Whether the file was deleted
+	 * @since 1.3
+	 */
+	private boolean delete(@NotNull File target, long cutoff)
+	{
+		boolean archived = target.getName().endsWith(RotatingLog.EXTENSION) || target.getName().endsWith(SegmentSink.EXTENSION);
+		return (archived || target.lastModified() < cutoff) && target.delete();
+	}
+	
+	/**
+	 * A method used to find every file that only holds logs written before a point in time.
+	 *
+	 * @param module Target module, can be null
+	 * @param player Target player, can be null
+	 * @param cutoff Logs last written before this time are removed
+	 * @return Matching files
+	 * @since 1.3
+	 */
+	private @NotNull List<File> collect(@Nullable Module module, @Nullable OfflinePlayer player, long cutoff)
+	{
+		List<File> targets = new ArrayList<>();
+		List<File> directories = new ArrayList<>();
+		
+		if (player != null) {
+			directories.add(manager.getUserDirectory(player));
+		}
+		else {
+			File[] children = manager.getLogDirectory().listFiles(file -> file.isDirectory() && !RESERVED.contains(file.getName()));
+			
+			if (children != null) {
+				directories.addAll(Arrays.asList(children));
+			}
+		}
+		
+		for (File directory : directories) {
+			addFiles(targets, directory, module, cutoff);
+			addFiles(targets, Util.toFile(directory, "inactive"), module, cutoff);
+		}
+		
+		// ARCHIVES AND SEGMENTS HOLD EVERY MODULE AND PLAYER
+		if (module == null && player == null) {
+			File[] archives = Util.toFile(manager.getLogDirectory(), "archive").listFiles(file -> {
+				long[] range = RotatingLog.getRange(file);
+				return file.getName().endsWith(RotatingLog.EXTENSION) && range != null && range[1] < cutoff;
+			});
+			File[] segments = SegmentSink.getDirectory().listFiles(file -> file.getName().endsWith(SegmentSink.EXTENSION) && file.lastModified() < cutoff && !SegmentSink.isActive(file));
+			
+			if (archives != null) {
+				targets.addAll(Arrays.asList(archives));
+			}
+			
+			if (segments != null) {
+				targets.addAll(Arrays.asList(segments));
+			}
+		}
+		return targets;
+	}
+	
+	/**
+	 * A method used to add every module log inside a directory that was last written before a point in time.
+	 *
+	 * @param targets Target list
+	 * @param directory Target directory
+	 * @param module Target module, can be null
+	 * @param cutoff Logs last written before this time are removed
+	 * @since 1.3
+	 */
+	private void addFiles(@NotNull List<File> targets, @NotNull File directory, @Nullable Module module, long cutoff)
+	{
+		String name  = module != null ? module.getDescriptor().getFileName() : null;
+		File[] files = directory.listFiles(file -> file.isFile() && file.lastModified() < cutoff && (name != null ? file.getName().equals(name) : file.getName().endsWith(".log")));
+		
+		if (files != null) {
+			targets.addAll(Arrays.asList(files));
+		}
+	}
+	
+	/**
+	 * A method used to remove matching records from our database in small chunks, so that our writer threads
+	 * are never locked out of the database for long.
+	 *
+	 * @param module Target module, can be null
+	 * @param player Target player, can be null
+	 * @param cutoff Records written before this time are removed
+	 * @param delay Pause between two chunks in milliseconds
+	 * @return The amount of deleted records
+	 * @since 1.3
+	 */
+	private long purgeDatabase(@Nullable Module module, @Nullable OfflinePlayer player, long cutoff, long delay)
+	{
+		if (!SqlSink.getDatabase().exists()) {
+			return 0;
+		}
+		
+		StringBuilder filter = new StringBuilder("timestamp < ?");
+		
+		if (module != null) {
+			filter.append(" AND module = ?");
+		}
+		
+		if (player != null) {
+			filter.append(" AND player = ?");
+		}
+		
+		String sql   = "DELETE FROM records WHERE id IN (SELECT id FROM records WHERE " + filter + " LIMIT " + CHUNK_SIZE + ")";
+		long deleted = 0;
+		
+		try (Connection connection = SqlSink.connect(); PreparedStatement statement = connection.prepareStatement(sql)) {
+			int index = 1;
+			statement.setLong(index++, cutoff);
+			
+			if (module != null) {
+				statement.setString(index++, module.getFullIdentifier());
+			}
+			
+			if (player != null) {
+				statement.setString(index, player.getUniqueId().toString());
+			}
+			
+			int count;
+			
+			do {
+				count    = statement.executeUpdate();
+				deleted += count;
+			}
+			while (count == CHUNK_SIZE && pause(delay));
+		}
+		catch (SQLException ex) {
+			plugin.getReport().create(ex);
+		}
+		return deleted;
+	}
+	
+	/**
+	 * A method used to delete a directory once its last log was removed.
+	 *
+	 * @param directory Target directory
+	 * @since 1.3
+	 */
+	private void deleteIfEmpty(@Nullable File directory)
+	{
+		if (directory == null || directory.equals(manager.getLogDirectory()) || RESERVED.contains(directory.getName())) {
+			return;
+		}
+		
+		String[] children = directory.list();
+		
+		if (children != null && children.length == 0 && directory.delete() && directory.getName().equals("inactive")) {
+			deleteIfEmpty(directory.getParentFile());
+		}
+	}
+	
+	/**
+	 * A method used to pause between two deletions.
+	 *
+	 * @param delay Pause in milliseconds
+	 * @return Whether the purge may continue
+	 * @since 1.3
+	 */
+	private boolean pause(long delay)
+	{
+		try {
+			Thread.sleep(delay);
+			return true;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+}
@@ -38,7 +38,6 @@ public class UpdateService implements Listener
 	private final PlayerLogs plugin    = PlayerLogs.getInstance();
 	private final FrostAPI api         = plugin.getFrostAPI();
 	private final ConfigManager config = plugin.getConfigManager();
-	private final LocaleManager locale = plugin.getLocaleManager();
 	
 	// REQUIRED OBJECTS
 	private final File UPDATE_FOLDER;
@@ -233,6 +232,8 @@ public class UpdateService implements Listener
 	 */
 	public String getMessage()
 	{
+		LocaleManager locale = plugin.getLocaleManager();
+		
 		switch (result) {
 			case DOWNLOADED:
 				return api.format(locale.getMessage("update.result.downloaded"), REMOTE_VERSION);
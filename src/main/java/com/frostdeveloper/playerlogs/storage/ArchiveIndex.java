@@ -0,0 +1,273 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * A class used to index an archive of a text log. The lines of an archive are found through the
+ * {@link PostingIndex} it was rotated with, this index holds what is needed to use it once the archive no
+ * longer changes:
+ * <ul>
+ *     <li>The newest entry of every player and module in the archive, where its posting list starts. An
+ *     archive that holds no line of a player or module is therefore skipped without reading it.</li>
+ *     <li>Once the archive was compressed, the position of every block inside the compressed file. Every
+ *     block of {@link #BLOCK_SIZE} bytes is compressed on its own, so a line is read by only decompressing
+ *     the block it starts in.</li>
+ * </ul>
+ * An index is written once its archive was rotated and again once its archive was compressed, it is only
+ * read afterwards.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class ArchiveIndex
+{
+	// CLASS SPECIFIC OBJECTS
+	public static final String EXTENSION = ".aix";
+	public static final int BLOCK_SIZE = 64 * 1024;
+	private static final int MAGIC = 0x504C4149;
+	private static final int VERSION = 1;
+	
+	private final int[] playerIds;
+	private final int[] playerEntries;
+	private final int[] moduleIds;
+	private final int[] moduleEntries;
+	private long[] blocks = new long[0];
+	
+	/**
+	 * A constructor used to define the newest entry of every player and module, ids are sorted in ascending
+	 * order.
+	 *
+	 * @param playerIds Player ids
+	 * @param playerEntries The newest entry of every player
+	 * @param moduleIds Module ids
+	 * @param moduleEntries The newest entry of every module
+	 * @since 1.3
+	 */
+	private ArchiveIndex(int @NotNull [] playerIds, int @NotNull [] playerEntries, int @NotNull [] moduleIds, int @NotNull [] moduleEntries)
+	{
+		this.playerIds     = playerIds;
+		this.playerEntries = playerEntries;
+		this.moduleIds     = moduleIds;
+		this.moduleEntries = moduleEntries;
+	}
+	
+	/**
+	 * A method used to create the index of an archive from the newest entries its posting index kept.
+	 *
+	 * @param players The newest entry of every player plus one, indexed by id
+	 * @param modules The newest entry of every module plus one, indexed by id
+	 * @return The index of the archive
+	 * @since 1.3
+	 */
+	static @NotNull ArchiveIndex of(int @NotNull [] players, int @NotNull [] modules)
+	{
+		int[][] sortedPlayers = toSorted(players);
+		int[][] sortedModules = toSorted(modules);
+		
+		return new ArchiveIndex(sortedPlayers[0], sortedPlayers[1], sortedModules[0], sortedModules[1]);
+	}
+	
+	/**
+	 * A method used to load the index of an archive.
+	 *
+	 * @param archive Target archive
+	 * @return The index of the archive, or null if it has none
+	 * @throws IOException Thrown if the index could not be read
+	 * @since 1.3
+	 */
+	public static @Nullable ArchiveIndex load(@NotNull File archive) throws IOException
+	{
+		File file = getFile(archive);
+		
+		if (!file.exists()) {
+			return null;
+		}
+		
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+				return null;
+			}
+			int[][] players = readEntries(input);
+			int[][] modules = readEntries(input);
+			
+			ArchiveIndex index = new ArchiveIndex(players[0], players[1], modules[0], modules[1]);
+			index.blocks       = new long[VarInt.readInt(input)];
+			
+			for (int i = 0; i < index.blocks.length; i++) {
+				index.blocks[i] = (i > 0 ? index.blocks[i - 1] : 0) + VarInt.readLong(input);
+			}
+			return index;
+		}
+	}
+	
+	/**
+	 * A method used to store this index next to its archive. The index is written to a temporary file first,
+	 * which replaces the stored index once it is complete.
+	 *
+	 * @param archive Target archive
+	 * @throws IOException Thrown if the index could not be written
+	 * @since 1.3
+	 */
+	public void save(@NotNull File archive) throws IOException
+	{
+		File target    = getFile(archive);
+		File temporary = new File(target.getPath() + ".tmp");
+		
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))) {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			writeEntries(output, playerIds, playerEntries);
+			writeEntries(output, moduleIds, moduleEntries);
+			VarInt.writeInt(output, blocks.length);
+			
+			for (int i = 0; i < blocks.length; i++) {
+				VarInt.writeLong(output, blocks[i] - (i > 0 ? blocks[i - 1] : 0));
+			}
+		}
+		Files.move(temporary.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+	
+	/**
+	 * A method used to return the newest entry of a player or module, this is where its posting list starts.
+	 *
+	 * @param type Either {@link Dictionary.Type#PLAYER} or {@link Dictionary.Type#MODULE}
+	 * @param id Dictionary id of the player or module
+	 * @return Index of the entry, or -1 if our archive holds no line of it
+	 * @since 1.3
+	 */
+	public int getLast(@NotNull Dictionary.Type type, int id)
+	{
+		int[] ids   = type == Dictionary.Type.PLAYER ? playerIds : moduleIds;
+		int current = Arrays.binarySearch(ids, id);
+		
+		return current >= 0 ? (type == Dictionary.Type.PLAYER ? playerEntries : moduleEntries)[current] : -1;
+	}
+	
+	/**
+	 * A method used to define the position of every block inside our compressed archive.
+	 *
+	 * @param blocks Position of every block, in order
+	 * @since 1.3
+	 */
+	public void setBlocks(long @NotNull [] blocks) { this.blocks = blocks; }
+	
+	/**
+	 * A method used to return the position of every block inside our compressed archive.
+	 *
+	 * @return Position of every block, empty if our archive was not compressed yet
+	 * @since 1.3
+	 */
+	public long @NotNull [] getBlocks()            { return blocks;        }
+	
+	/**
+	 * A method used to delete the index of an archive.
+	 *
+	 * @param archive Target archive
+	 * @since 1.3
+	 */
+	public static void delete(@NotNull File archive)
+	{
+		File file = getFile(archive);
+		
+		if (file.exists() && !file.delete()) {
+			file.deleteOnExit();
+		}
+	}
+	
+	/**
+	 * A method used to return the file the index of an archive is stored in. A compressed archive shares its
+	 * index with the archive it was compressed from.
+	 *
+	 * @param archive Target archive
+	 * @return Index file
+	 * @since 1.3
+	 */
+	public static @NotNull File getFile(@NotNull File archive)
+	{
+		String path = archive.getPath();
+		return new File((path.endsWith(".gz") ? path.substring(0, path.length() - 3) : path) + EXTENSION);
+	}
+	
+	/**
+	 * A method used to turn the newest entries of every id into a sorted list of ids and their entries.
+	 *
+	 * @param heads The newest entry of every id plus one, indexed by id
+	 * @return The ids and their entries
+	 * @since 1.3
+	 */
+	private static int @NotNull [] @NotNull [] toSorted(int @NotNull [] heads)
+	{
+		int count = 0;
+		
+		for (int head : heads) {
+			if (head > 0) {
+				count++;
+			}
+		}
+		int[] ids     = new int[count];
+		int[] entries = new int[count];
+		
+		for (int id = 0, i = 0; id < heads.length; id++) {
+			if (heads[id] > 0) {
+				ids[i]     = id;
+				entries[i] = heads[id] - 1;
+				i++;
+			}
+		}
+		return new int[][] { ids, entries };
+	}
+	
+	/**
+	 * A method used to write a sorted list of ids and their entries, every id is stored as its distance to
+	 * the id before it.
+	 *
+	 * @param output Target output
+	 * @param ids Sorted ids
+	 * @param entries The entry of every id
+	 * @throws IOException Thrown if the entries could not be written
+	 * @since 1.3
+	 */
+	private static void writeEntries(@NotNull DataOutputStream output, int @NotNull [] ids, int @NotNull [] entries) throws IOException
+	{
+		VarInt.writeInt(output, ids.length);
+		
+		for (int i = 0; i < ids.length; i++) {
+			VarInt.writeInt(output, ids[i] - (i > 0 ? ids[i - 1] : 0));
+			VarInt.writeInt(output, entries[i]);
+		}
+	}
+	
+	/**
+	 * A method used to read a sorted list of ids and their entries.
+	 *
+	 * @param input Target input
+	 * @return The ids and their entries
+	 * @throws IOException Thrown if the entries could not be read
+	 * @since 1.3
+	 */
+	private static int @NotNull [] @NotNull [] readEntries(@NotNull DataInputStream input) throws IOException
+	{
+		int count     = VarInt.readInt(input);
+		int[] ids     = new int[count];
+		int[] entries = new int[count];
+		
+		for (int i = 0; i < count; i++) {
+			ids[i]     = (i > 0 ? ids[i - 1] : 0) + VarInt.readInt(input);
+			entries[i] = VarInt.readInt(input);
+		}
+		return new int[][] { ids, entries };
+	}
+}
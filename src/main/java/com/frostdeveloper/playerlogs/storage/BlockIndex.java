@@ -0,0 +1,476 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.model.LogRecord;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A class used to keep the change history of every block, so the history of a single block can be returned
+ * without reading any log. Changes are stored per world in region files of 32 by 32 chunks, which are memory
+ * mapped while in use. A region starts with a directory that points at the newest change of each of its
+ * chunks, every change points at the change before it within the same chunk, so a lookup only walks the
+ * changes of a single chunk.
+ * <p>
+ * Each change takes up {@link #ENTRY_SIZE} bytes and is stored as follows, the module, name and material are
+ * mapped through a {@link Dictionary} that is stored next to our regions.
+ * <ul>
+ *     <li>The block coordinates, packed into a single long by {@link #pack(int, int, int)}</li>
+ *     <li>The timestamp of the change</li>
+ *     <li>The position of the previous change in the same chunk, or zero if there is none</li>
+ *     <li>The module, player name and material ids</li>
+ * </ul>
+ * An index is shared by every writer thread and by our inspector, every method is therefore synchronized.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class BlockIndex
+{
+	// CLASS INSTANCES
+	private final PlayerLogs plugin = PlayerLogs.getInstance();
+	
+	// CLASS SPECIFIC OBJECTS
+	private static final int MAGIC = 0x504C4249;
+	private static final int VERSION = 1;
+	private static final int CACHE_SIZE = 64;
+	private static final int REGION_CHUNKS = 1024;
+	private static final int HEADER_SIZE = 16 + REGION_CHUNKS * 4;
+	public static final int ENTRY_SIZE = 32;
+	public static final String EXTENSION = ".bix";
+	
+	private final File directory;
+	private final Set<String> modules = new HashSet<>();
+	private final Map<File, Region> regions = new LinkedHashMap<File, Region>(16, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<File, Region> eldest)
+		{
+			if (size() > CACHE_SIZE) {
+				eldest.getValue().close();
+				return true;
+			}
+			return false;
+		}
+	};
+	private Dictionary dictionary;
+	
+	/**
+	 * A class used to describe a single change of a block.
+	 *
+	 * @since 1.3
+	 */
+	public static class Change
+	{
+		private final long timestamp;
+		private final String module;
+		private final String name;
+		private final String material;
+		
+		/**
+		 * A constructor used to define the values of a change.
+		 *
+		 * @param timestamp Timestamp of the change
+		 * @param module Full identifier of the module that recorded the change
+		 * @param name Name of the player that made the change, can be null
+		 * @param material Material involved, can be null
+		 * @since 1.3
+		 */
+		private Change(long timestamp, @Nullable String module, @Nullable String name, @Nullable String material)
+		{
+			this.timestamp = timestamp;
+			this.module    = module;
+			this.name      = name;
+			this.material  = material;
+		}
+		
+		/**
+		 * A method used to return the time of this change.
+		 *
+		 * @return Timestamp of the change
+		 * @since 1.3
+		 */
+		public long getTimestamp()             { return timestamp; }
+		
+		/**
+		 * A method used to return the full identifier of the module that recorded this change.
+		 *
+		 * @return Module identifier
+		 * @since 1.3
+		 */
+		public @Nullable String getModule()    { return module;    }
+		
+		/**
+		 * A method used to return the name of the player that made this change.
+		 *
+		 * @return Player name
+		 * @since 1.3
+		 */
+		public @Nullable String getName()      { return name;      }
+		
+		/**
+		 * A method used to return the material involved in this change.
+		 *
+		 * @return Material name
+		 * @since 1.3
+		 */
+		public @Nullable String getMaterial()  { return material;  }
+	}
+	
+	/**
+	 * A constructor used to define the directory our regions are stored in and the modules whose records
+	 * are block changes.
+	 *
+	 * @param directory Target directory
+	 * @param modules Full identifiers of the tracked modules
+	 * @since 1.3
+	 */
+	public BlockIndex(@NotNull File directory, @NotNull Collection<String> modules)
+	{
+		this.directory = directory;
+		this.modules.addAll(modules);
+	}
+	
+	/**
+	 * A method used to add every block change of a batch to our index, records of other modules are ignored.
+	 *
+	 * @param batch Target batch
+	 * @throws IOException Thrown if a change could not be stored
+	 * @since 1.3
+	 */
+	public synchronized void add(@NotNull List<LogRecord> batch) throws IOException
+	{
+		List<LogRecord> changes = new ArrayList<>();
+		
+		for (LogRecord record : batch) {
+			if (record.hasLocation() && modules.contains(record.getModule())) {
+				changes.add(record);
+			}
+		}
+		
+		if (changes.isEmpty()) {
+			return;
+		}
+		
+		if (dictionary == null) {
+			dictionary = Dictionary.of(directory);
+		}
+		
+		int[] ids = new int[changes.size() * 3];
+		
+		for (int i = 0; i < changes.size(); i++) {
+			LogRecord record = changes.get(i);
+			ids[i * 3]       = dictionary.getId(Dictionary.Type.MODULE, record.getModule());
+			ids[i * 3 + 1]   = dictionary.getId(Dictionary.Type.NAME, record.getName());
+			ids[i * 3 + 2]   = dictionary.getId(Dictionary.Type.MATERIAL, record.getMaterial());
+		}
+		
+		// ENTRIES MAY ONLY POINT AT IDS THAT ARE STORED
+		dictionary.flush();
+		
+		for (int i = 0; i < changes.size(); i++) {
+			LogRecord record = changes.get(i);
+			Region region    = getRegion(record.getWorld(), record.getX(), record.getZ());
+			
+			region.append(pack(record.getX(), record.getY(), record.getZ()), getSlot(record.getX(), record.getZ()), record.getTimestamp(), ids[i * 3], ids[i * 3 + 1], ids[i * 3 + 2]);
+		}
+	}
+	
+	/**
+	 * A method used to return the changes of a single block, newest first.
+	 *
+	 * @param world Target world
+	 * @param x Block x coordinate
+	 * @param y Block y coordinate
+	 * @param z Block z coordinate
+	 * @param limit Maximum amount of changes to return
+	 * @return The changes of the block
+	 * @throws IOException Thrown if the region could not be read
+	 * @since 1.3
+	 */
+	public synchronized @NotNull List<Change> find(@NotNull String world, int x, int y, int z, int limit) throws IOException
+	{
+		List<Change> changes = new ArrayList<>();
+		File file            = getFile(world, x, z);
+		
+		if (!file.exists()) {
+			return changes;
+		}
+		
+		if (dictionary == null) {
+			dictionary = Dictionary.of(directory);
+		}
+		
+		Region region = getRegion(world, x, z);
+		long position = pack(x, y, z);
+		
+		for (int offset = region.getHead(getSlot(x, z)); offset != 0 && changes.size() < limit; offset = region.getPrevious(offset)) {
+			if (region.getPosition(offset) == position) {
+				String module   = dictionary.getValue(Dictionary.Type.MODULE, region.getModule(offset));
+				String name     = dictionary.getValue(Dictionary.Type.NAME, region.getName(offset));
+				String material = dictionary.getValue(Dictionary.Type.MATERIAL, region.getMaterial(offset));
+				
+				changes.add(new Change(region.getTimestamp(offset), module, name, material));
+			}
+		}
+		return changes;
+	}
+	
+	/**
+	 * A method used to write every open region to disk and release it.
+	 *
+	 * @since 1.3
+	 */
+	public synchronized void close()
+	{
+		regions.values().forEach(Region::close);
+		regions.clear();
+	}
+	
+	/**
+	 * A method used to pack block coordinates into a single long. The x and z coordinates take up 26 bits
+	 * each and the y coordinate takes up the remaining 12 bits.
+	 *
+	 * @param x Block x coordinate
+	 * @param y Block y coordinate
+	 * @param z Block z coordinate
+	 * @return Packed coordinates
+	 * @since 1.3
+	 */
+	public static long pack(int x, int y, int z) { return ((x & 0x3FFFFFFL) << 38) | ((z & 0x3FFFFFFL) << 12) | (y & 0xFFFL); }
+	
+	/**
+	 * A method used to return the directory slot of the chunk a block belongs to.
+	 *
+	 * @param x Block x coordinate
+	 * @param z Block z coordinate
+	 * @return Directory slot
+	 * @since 1.3
+	 */
+	private static int getSlot(int x, int z) { return ((x >> 4) & 31) | (((z >> 4) & 31) << 5); }
+	
+	/**
+	 * A method used to return the region file a block belongs to.
+	 *
+	 * @param world Target world
+	 * @param x Block x coordinate
+	 * @param z Block z coordinate
+	 * @return Region file
+	 * @since 1.3
+	 */
+	private @NotNull File getFile(@NotNull String world, int x, int z) { return new File(new File(directory, world), "r." + (x >> 9) + "." + (z >> 9) + EXTENSION); }
+	
+	/**
+	 * A method used to return an open region, if the region is not open yet, it is opened and created if it
+	 * does not exist.
+	 *
+	 * @param world Target world
+	 * @param x Block x coordinate
+	 * @param z Block z coordinate
+	 * @return An open region
+	 * @throws IOException Thrown if the region could not be opened
+	 * @since 1.3
+	 */
+	private @NotNull Region getRegion(@NotNull String world, int x, int z) throws IOException
+	{
+		File file     = getFile(world, x, z);
+		Region region = regions.get(file);
+		
+		if (region == null) {
+			region = new Region(file);
+			regions.put(file, region);
+		}
+		return region;
+	}
+	
+	/**
+	 * A class used to access a single memory mapped region file.
+	 *
+	 * @since 1.3
+	 */
+	private class Region
+	{
+		private final File file;
+		private final FileChannel channel;
+		private MappedByteBuffer buffer;
+		private int end;
+		
+		/**
+		 * A constructor used to open and map a region file, a new region starts with an empty directory.
+		 *
+		 * @param file Target file
+		 * @throws IOException Thrown if the file could not be opened or is not a region
+		 * @since 1.3
+		 */
+		private Region(@NotNull File file) throws IOException
+		{
+			if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
+				throw new IOException("Failed to create directory for: " + file.getName());
+			}
+			
+			this.file    = file;
+			this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			
+			try {
+				if (channel.size() == 0) {
+					buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + 256L * ENTRY_SIZE);
+					buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, HEADER_SIZE);
+				}
+				else {
+					buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+					
+					if (channel.size() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+						throw new IOException("Unsupported block index: " + file.getName());
+					}
+				}
+				end = buffer.getInt(8);
+			}
+			catch (IOException ex) {
+				channel.close();
+				throw ex;
+			}
+		}
+		
+		/**
+		 * A method used to append a change and make it the newest change of its chunk.
+		 *
+		 * @param position Packed block coordinates
+		 * @param slot Directory slot of its chunk
+		 * @param timestamp Timestamp of the change
+		 * @param module Module id
+		 * @param name Player name id
+		 * @param material Material id
+		 * @throws IOException Thrown if the region could not be grown
+		 * @since 1.3
+		 */
+		private void append(long position, int slot, long timestamp, int module, int name, int material) throws IOException
+		{
+			if (end + ENTRY_SIZE > buffer.capacity()) {
+				grow();
+			}
+			
+			int offset = end;
+			buffer.putLong(offset, position);
+			buffer.putLong(offset + 8, timestamp);
+			buffer.putInt(offset + 16, getHead(slot));
+			buffer.putInt(offset + 20, module);
+			buffer.putInt(offset + 24, name);
+			buffer.putInt(offset + 28, material);
+			
+			// PUBLISH THE CHANGE ONLY ONCE IT IS COMPLETE
+			buffer.putInt(16 + slot * 4, offset);
+			end += ENTRY_SIZE;
+			buffer.putInt(8, end);
+		}
+		
+		/**
+		 * A method used to double the mapped size of this region.
+		 *
+		 * @throws IOException Thrown if the region reached its maximum size or could not be mapped
+		 * @since 1.3
+		 */
+		private void grow() throws IOException
+		{
+			long size = Math.min(Integer.MAX_VALUE, (long) buffer.capacity() * 2);
+			
+			if (size < end + ENTRY_SIZE) {
+				throw new IOException("Block index is full: " + file.getName());
+			}
+			buffer.force();
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+		}
+		
+		/**
+		 * A method used to write this region to disk and close its file, the mapping itself is released
+		 * once it is no longer referenced.
+		 *
+		 * @since 1.3
+		 */
+		private void close()
+		{
+			try {
+				buffer.force();
+				channel.close();
+			}
+			catch (IOException ex) {
+				plugin.getReport().create(ex);
+			}
+		}
+		
+		/**
+		 * A method used to return the position of the newest change of a chunk.
+		 *
+		 * @param slot Directory slot of the chunk
+		 * @return Position of the change, or zero if the chunk has none
+		 * @since 1.3
+		 */
+		private int getHead(int slot)         { return buffer.getInt(16 + slot * 4);  }
+		
+		/**
+		 * A method used to return the packed coordinates of a change.
+		 *
+		 * @param offset Position of the change
+		 * @return Packed block coordinates
+		 * @since 1.3
+		 */
+		private long getPosition(int offset)  { return buffer.getLong(offset);        }
+		
+		/**
+		 * A method used to return the timestamp of a change.
+		 *
+		 * @param offset Position of the change
+		 * @return Timestamp of the change
+		 * @since 1.3
+		 */
+		private long getTimestamp(int offset) { return buffer.getLong(offset + 8);    }
+		
+		/**
+		 * A method used to return the position of the change before a change in the same chunk.
+		 *
+		 * @param offset Position of the change
+		 * @return Position of the previous change, or zero if there is none
+		 * @since 1.3
+		 */
+		private int getPrevious(int offset)   { return buffer.getInt(offset + 16);    }
+		
+		/**
+		 * A method used to return the module id of a change.
+		 *
+		 * @param offset Position of the change
+		 * @return Module id
+		 * @since 1.3
+		 */
+		private int getModule(int offset)     { return buffer.getInt(offset + 20);    }
+		
+		/**
+		 * A method used to return the player name id of a change.
+		 *
+		 * @param offset Position of the change
+		 * @return Player name id
+		 * @since 1.3
+		 */
+		private int getName(int offset)       { return buffer.getInt(offset + 24);    }
+		
+		/**
+		 * A method used to return the material id of a change.
+		 *
+		 * @param offset Position of the change
+		 * @return Material id
+		 * @since 1.3
+		 */
+		private int getMaterial(int offset)   { return buffer.getInt(offset + 28);    }
+	}
+}
@@ -0,0 +1,252 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A class used to map values that repeat across many records, such as player ids, module names, worlds and
+ * materials to small numeric ids. The mapping is stored on disk next to our segments, new entries are only
+ * appended, so an id once assigned never changes.
+ * <p>
+ * A dictionary is shared by every writer and reader of the same directory and is thread-safe.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class Dictionary
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final Map<File, Dictionary> instances = new ConcurrentHashMap<>();
+	private static final int MAGIC = 0x504C4443;
+	private static final int VERSION = 1;
+	
+	private final Map<Type, Map<String, Integer>> ids = new EnumMap<>(Type.class);
+	private final Map<Type, List<String>> values = new EnumMap<>(Type.class);
+	private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+	private final DataOutputStream output = new DataOutputStream(pending);
+	private final File file;
+	
+	/**
+	 * An enum used to define the kinds of values a dictionary holds, each kind has its own ids.
+	 *
+	 * @since 1.3
+	 */
+	public enum Type
+	{
+		MODULE,
+		PLAYER,
+		NAME,
+		WORLD,
+		MATERIAL
+	}
+	
+	/**
+	 * A constructor used to load the dictionary stored in a file.
+	 *
+	 * @param file Dictionary file
+	 * @throws IOException Thrown if the file could not be read
+	 * @since 1.3
+	 */
+	private Dictionary(@NotNull File file) throws IOException
+	{
+		this.file = file;
+		
+		for (Type type : Type.values()) {
+			ids.put(type, new HashMap<>());
+			values.put(type, new ArrayList<>());
+		}
+		load();
+	}
+	
+	/**
+	 * A method used to return the dictionary stored inside a directory, a dictionary is only loaded once.
+	 *
+	 * @param directory Target directory
+	 * @return The dictionary of the directory
+	 * @throws IOException Thrown if the dictionary could not be read
+	 * @since 1.3
+	 */
+	public static @NotNull Dictionary of(@NotNull File directory) throws IOException
+	{
+		File file = new File(directory, "dictionary.dat").getAbsoluteFile();
+		Dictionary dictionary = instances.get(file);
+		
+		if (dictionary == null) {
+			synchronized (instances) {
+				dictionary = instances.get(file);
+				
+				if (dictionary == null) {
+					dictionary = new Dictionary(file);
+					instances.put(file, dictionary);
+				}
+			}
+		}
+		return dictionary;
+	}
+	
+	/**
+	 * A method used to return the id assigned to a value, if the value has no id yet, a new one is assigned.
+	 * New entries are written once {@link #flush()} is called.
+	 *
+	 * @param type Value type
+	 * @param value Target value, null is always mapped to zero
+	 * @return Assigned id
+	 * @throws IOException Thrown if the entry could not be buffered
+	 * @since 1.3
+	 */
+	public synchronized int getId(@NotNull Type type, @Nullable String value) throws IOException
+	{
+		if (value == null) {
+			return 0;
+		}
+		
+		Integer id = ids.get(type).get(value);
+		
+		if (id == null) {
+			id = register(type, value);
+			
+			output.writeByte(type.ordinal());
+			VarInt.writeInt(output, id);
+			output.writeUTF(value);
+		}
+		return id;
+	}
+	
+	/**
+	 * A method used to return the id assigned to a value without assigning a new one, this is used when
+	 * searching, where an unknown value simply has no matches.
+	 *
+	 * @param type Value type
+	 * @param value Target value
+	 * @return Assigned id, or zero if the value has no id
+	 * @since 1.3
+	 */
+	public synchronized int findId(@NotNull Type type, @Nullable String value)
+	{
+		Integer id = value != null ? ids.get(type).get(value) : null;
+		return id != null ? id : 0;
+	}
+	
+	/**
+	 * A method used to return the value assigned to an id.
+	 *
+	 * @param type Value type
+	 * @param id Target id
+	 * @return Assigned value, or null if the id is zero or unknown
+	 * @since 1.3
+	 */
+	public synchronized @Nullable String getValue(@NotNull Type type, int id)
+	{
+		List<String> list = values.get(type);
+		return id > 0 && id <= list.size() ? list.get(id - 1) : null;
+	}
+	
+	/**
+	 * A method used to write every new entry to disk, this must be called before a record that uses one
+	 * of these entries is written.
+	 *
+	 * @throws IOException Thrown if the entries could not be written
+	 * @since 1.3
+	 */
+	public synchronized void flush() throws IOException
+	{
+		if (pending.size() == 0 && file.exists()) {
+			return;
+		}
+		
+		if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
+			throw new IOException("Failed to create directory for: " + file.getName());
+		}
+		
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			if (channel.size() == 0) {
+				ByteBuffer header = ByteBuffer.allocate(8);
+				header.putInt(MAGIC).putInt(VERSION).flip();
+				
+				while (header.hasRemaining()) {
+					channel.write(header);
+				}
+			}
+			
+			ByteBuffer buffer = ByteBuffer.wrap(pending.toByteArray());
+			
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(false);
+		}
+		pending.reset();
+	}
+	
+	/**
+	 * A method used to assign the next id of a type to a value.
+	 *
+	 * @param type Value type
+	 * @param value Target value
+	 * @return Assigned id
+	 * @since 1.3
+	 */
+	private int register(@NotNull Type type, @NotNull String value)
+	{
+		List<String> list = values.get(type);
+		list.add(value);
+		ids.get(type).put(value, list.size());
+		return list.size();
+	}
+	
+	/**
+	 * A method used to read every entry of our dictionary file.
+	 *
+	 * @throws IOException Thrown if the file could not be read
+	 * @since 1.3
+	 */
+	private void load() throws IOException
+	{
+		if (!file.exists()) {
+			return;
+		}
+		
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+				throw new IOException("Unsupported dictionary: " + file.getName());
+			}
+			
+			while (true) {
+				int type;
+				
+				try {
+					type = input.readUnsignedByte();
+				}
+				catch (EOFException ex) {
+					break;
+				}
+				
+				int id = VarInt.readInt(input);
+				String value = input.readUTF();
+				
+				if (id == values.get(Type.values()[type]).size() + 1) {
+					register(Type.values()[type], value);
+				}
+			}
+		}
+		catch (EOFException ignored) {}
+	}
+}
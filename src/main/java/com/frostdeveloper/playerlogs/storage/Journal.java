@@ -0,0 +1,431 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import com.frostdeveloper.playerlogs.model.LogRecord;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * A class used to keep the records of a writer thread safe until they are written. A record is appended to
+ * the journal of its writer before it is queued, once its writer wrote it, the journal forgets it again. If
+ * our server stops without our writer threads being able to finish, the records that are still part of a
+ * journal are written once our plugin enables again.
+ * <p>
+ * A journal is a fixed-size memory mapped file that is used as a ring. Every entry is stored alongside its
+ * position inside the ring and a checksum of its record, so an entry that was overwritten or only partially
+ * written is never mistaken for a record. The header holds the position of the oldest record that was not
+ * written yet.
+ * <p>
+ * Our mapped file survives our server being killed as it is, only a crash of the whole machine requires it
+ * to be forced to disk. It is therefore only forced once per sync interval, a crash of the machine may then
+ * write the records of the last interval a second time.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class Journal
+{
+	// CLASS SPECIFIC OBJECTS
+	public static final int MAGIC = 0x504C4A4E;
+	public static final int VERSION = 1;
+	public static final int HEADER_SIZE = 16;
+	public static final String PREFIX = ".journal-";
+	private static final int ENTRY_HEADER = 16;
+	private static final int WRAP = -1;
+	
+	private final File file;
+	private final FileChannel channel;
+	private final MappedByteBuffer buffer;
+	private final long capacity;
+	private final long syncInterval;
+	private long lastSync;
+	private int[] pending = new int[64];
+	private int pendingStart;
+	private int pendingSize;
+	private long head;
+	private long tail;
+	
+	/**
+	 * A constructor used to open and map a journal, a new journal is created with the given size. The records
+	 * of an existing journal can be read through {@link #recover()}.
+	 *
+	 * @param file Target file
+	 * @param size Size of a new journal in bytes
+	 * @param syncInterval Minimum time between two writes of this journal to disk in milliseconds, zero
+	 *                     writes it to disk every time records are committed
+	 * @throws IOException Thrown if the file could not be opened or is not a journal
+	 * @since 1.3
+	 */
+	public Journal(@NotNull File file, long size, long syncInterval) throws IOException
+	{
+		if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
+			throw new IOException("Failed to create directory for: " + file.getName());
+		}
+		
+		this.file         = file;
+		this.syncInterval = TimeUnit.MILLISECONDS.toNanos(Math.max(0, syncInterval));
+		this.lastSync     = System.nanoTime();
+		this.channel      = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		
+		try {
+			long length = channel.size() > 0 ? channel.size() : Math.min(Integer.MAX_VALUE, HEADER_SIZE + size);
+			
+			this.buffer   = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+			this.capacity = length - HEADER_SIZE;
+			
+			if (buffer.getInt(0) == 0) {
+				buffer.putInt(0, MAGIC).putInt(4, VERSION).putLong(8, 0);
+			}
+			else if (length < HEADER_SIZE + ENTRY_HEADER || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+				throw new IOException("Unsupported journal: " + file.getName());
+			}
+			head = buffer.getLong(8);
+			tail = head;
+		}
+		catch (IOException ex) {
+			channel.close();
+			throw ex;
+		}
+	}
+	
+	/**
+	 * A method used to read every record that was not written before our plugin stopped. The records stay
+	 * part of this journal until {@link #reset()} is called, so they are not lost if we stop while they are
+	 * written.
+	 *
+	 * @return Records that were not written
+	 * @since 1.3
+	 */
+	public synchronized @NotNull List<LogRecord> recover()
+	{
+		List<LogRecord> records = new ArrayList<>();
+		long position           = head;
+		
+		while (position - head < capacity) {
+			int offset     = getOffset(position);
+			long remaining = capacity - (position % capacity);
+			
+			if (remaining < ENTRY_HEADER) {
+				position += remaining;
+				continue;
+			}
+			
+			// AN ENTRY THAT DOES NOT HOLD ITS OWN POSITION WAS WRITTEN DURING AN EARLIER ROUND
+			if (buffer.getLong(offset) != position) {
+				break;
+			}
+			int length = buffer.getInt(offset + 8);
+			
+			if (length == WRAP) {
+				position += remaining;
+				continue;
+			}
+			
+			if (length <= 0 || ENTRY_HEADER + length > remaining) {
+				break;
+			}
+			byte[] data     = new byte[length];
+			ByteBuffer view = buffer.duplicate();
+			
+			view.position(offset + ENTRY_HEADER);
+			view.get(data);
+			
+			if (checksum(data) != buffer.getInt(offset + 12)) {
+				break;
+			}
+			
+			try {
+				records.add(decode(data));
+			}
+			catch (IOException ex) {
+				break;
+			}
+			position += ENTRY_HEADER + length;
+		}
+		tail = position;
+		return records;
+	}
+	
+	/**
+	 * A method used to forget every record of this journal, this must be called once the records returned
+	 * by {@link #recover()} were written.
+	 *
+	 * @since 1.3
+	 */
+	public synchronized void reset()
+	{
+		head         = tail;
+		pendingStart = 0;
+		pendingSize  = 0;
+		buffer.putLong(8, head);
+		buffer.force();
+	}
+	
+	/**
+	 * A method used to append a record, records must be appended in the same order they are written by
+	 * our writer. If the journal is full, the record is not kept.
+	 *
+	 * @param record Target record
+	 * @throws IOException Thrown if the record could not be encoded
+	 * @since 1.3
+	 */
+	public synchronized void append(@NotNull LogRecord record) throws IOException
+	{
+		byte[] data;
+		
+		try {
+			data = encode(record);
+		}
+		catch (IOException ex) {
+			push(0);
+			throw ex;
+		}
+		long remaining = capacity - (tail % capacity);
+		long skip      = remaining < ENTRY_HEADER + data.length ? remaining : 0;
+		long size      = skip + ENTRY_HEADER + data.length;
+		
+		// A RECORD THAT DOES NOT FIT IS STILL WRITTEN, IT IS ONLY LOST IF WE STOP BEFORE IT IS WRITTEN
+		if (tail - head + size > capacity || ENTRY_HEADER + data.length > capacity) {
+			push(0);
+			return;
+		}
+		
+		if (skip > 0) {
+			if (skip >= ENTRY_HEADER) {
+				buffer.putInt(getOffset(tail) + 8, WRAP);
+				buffer.putLong(getOffset(tail), tail);
+			}
+			tail += skip;
+		}
+		int offset      = getOffset(tail);
+		ByteBuffer view = buffer.duplicate();
+		
+		view.position(offset + ENTRY_HEADER);
+		view.put(data);
+		buffer.putInt(offset + 8, data.length);
+		buffer.putInt(offset + 12, checksum(data));
+		
+		// PUBLISH THE ENTRY ONLY ONCE IT IS COMPLETE
+		buffer.putLong(offset, tail);
+		tail += ENTRY_HEADER + data.length;
+		push((int) size);
+	}
+	
+	/**
+	 * A method used to forget the oldest records of this journal once they were written by our writer, the
+	 * journal is written to disk once our sync interval passed since it was last written. Records that could
+	 * not be written must not be committed, they are then written once our plugin enables again.
+	 *
+	 * @param count Amount of written records
+	 * @since 1.3
+	 */
+	public synchronized void commit(int count)
+	{
+		for (int i = 0; i < count && pendingSize > 0; i++) {
+			head += pending[pendingStart];
+			pendingStart = (pendingStart + 1) % pending.length;
+			pendingSize--;
+		}
+		buffer.putLong(8, head);
+		
+		if (System.nanoTime() - lastSync >= syncInterval) {
+			buffer.force();
+			lastSync = System.nanoTime();
+		}
+	}
+	
+	/**
+	 * A method used to write this journal to disk and close its file, the mapping itself is released once it
+	 * is no longer referenced.
+	 *
+	 * @since 1.3
+	 */
+	public synchronized void close()
+	{
+		try {
+			buffer.force();
+			channel.close();
+		}
+		catch (IOException ignored) {}
+	}
+	
+	/**
+	 * A method used to return the file of this journal.
+	 *
+	 * @return Journal file
+	 * @since 1.3
+	 */
+	public @NotNull File getFile() { return file;     }
+	
+	/**
+	 * A method used to return the size this journal was created with, in bytes.
+	 *
+	 * @return Journal size
+	 * @since 1.3
+	 */
+	public long getSize()          { return capacity; }
+	
+	/**
+	 * A method used to return the position of an entry inside our mapped file.
+	 *
+	 * @param position Position inside the ring
+	 * @return Position inside the file
+	 * @since 1.3
+	 */
+	private int getOffset(long position) { return (int) (HEADER_SIZE + position % capacity); }
+	
+	/**
+	 * A method used to remember the size of a record that was appended, until it is written.
+	 *
+	 * @param size Size of the record inside the ring, zero if it was not kept
+	 * @since 1.3
+	 */
+	private void push(int size)
+	{
+		if (pendingSize == pending.length) {
+			int[] grown = new int[pending.length * 2];
+			
+			for (int i = 0; i < pendingSize; i++) {
+				grown[i] = pending[(pendingStart + i) % pending.length];
+			}
+			pending      = grown;
+			pendingStart = 0;
+		}
+		pending[(pendingStart + pendingSize) % pending.length] = size;
+		pendingSize++;
+	}
+	
+	/**
+	 * A method used to return the checksum of an entry.
+	 *
+	 * @param data Encoded record
+	 * @return Checksum
+	 * @since 1.3
+	 */
+	private static int checksum(byte[] data)
+	{
+		CRC32 crc = new CRC32();
+		crc.update(data, 0, data.length);
+		return (int) crc.getValue();
+	}
+	
+	/**
+	 * A method used to encode a record.
+	 *
+	 * @param record Target record
+	 * @return Encoded record
+	 * @throws IOException Thrown if the record could not be encoded
+	 * @since 1.3
+	 */
+	private static byte[] encode(@NotNull LogRecord record) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+		DataOutputStream output     = new DataOutputStream(bytes);
+		
+		output.writeLong(record.getTimestamp());
+		writeString(output, record.getDate());
+		writeString(output, record.getModule());
+		writeString(output, record.getPlayer() != null ? record.getPlayer().toString() : null);
+		writeString(output, record.getName());
+		writeString(output, record.getMessage());
+		output.writeBoolean(record.isModular());
+		writeString(output, record.getWorld());
+		output.writeInt(record.getX());
+		output.writeInt(record.getY());
+		output.writeInt(record.getZ());
+		writeString(output, record.getMaterial());
+		output.writeBoolean(record.isDetail());
+		return bytes.toByteArray();
+	}
+	
+	/**
+	 * A method used to decode a record.
+	 *
+	 * @param data Encoded record
+	 * @return Decoded record
+	 * @throws IOException Thrown if the record could not be decoded
+	 * @since 1.3
+	 */
+	private static @NotNull LogRecord decode(byte[] data) throws IOException
+	{
+		DataInputStream input = new DataInputStream(new ByteArrayInputStream(data));
+		
+		long timestamp  = input.readLong();
+		String date     = readString(input);
+		String module   = readString(input);
+		String player   = readString(input);
+		String name     = readString(input);
+		String message  = readString(input);
+		boolean modular = input.readBoolean();
+		String world    = readString(input);
+		int x           = input.readInt();
+		int y           = input.readInt();
+		int z           = input.readInt();
+		String material = readString(input);
+		boolean detail  = input.readBoolean();
+		
+		if (date == null || module == null || message == null) {
+			throw new IOException("Incomplete journal entry");
+		}
+		return new LogRecord(timestamp, date, module, player != null ? UUID.fromString(player) : null, name, message, modular, world, x, y, z, material, detail);
+	}
+	
+	/**
+	 * A method used to write a string that can be null.
+	 *
+	 * @param output Target output
+	 * @param value Target string
+	 * @throws IOException Thrown if the string could not be written
+	 * @since 1.3
+	 */
+	private static void writeString(@NotNull DataOutputStream output, @Nullable String value) throws IOException
+	{
+		if (value == null) {
+			output.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+	
+	/**
+	 * A method used to read a string that can be null.
+	 *
+	 * @param input Target input
+	 * @return Read string, can be null
+	 * @throws IOException Thrown if the string could not be read
+	 * @since 1.3
+	 */
+	private static @Nullable String readString(@NotNull DataInputStream input) throws IOException
+	{
+		int length = input.readInt();
+		
+		if (length < 0) {
+			return null;
+		}
+		
+		if (length > input.available()) {
+			throw new IOException("Incomplete journal entry");
+		}
+		byte[] bytes = new byte[length];
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
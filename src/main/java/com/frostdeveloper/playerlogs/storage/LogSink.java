@@ -0,0 +1,52 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import com.frostdeveloper.playerlogs.model.LogRecord;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * An interface used to define a storage backend for our log records. Each writer thread owns its own sink,
+ * a sink is therefore only ever called from a single thread and does not need to be thread-safe.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public interface LogSink
+{
+	/**
+	 * A method used to prepare this sink before its first batch is written.
+	 *
+	 * @throws IOException Thrown if the storage could not be opened
+	 * @since 1.3
+	 */
+	void open() throws IOException;
+	
+	/**
+	 * A method used to write a batch of records, a batch should be stored as a whole whenever the
+	 * backend allows it. A batch that failed is handed to this sink again with the same sequence number,
+	 * the records it already stored during a failed attempt must not be stored a second time.
+	 *
+	 * @param sequence Sequence number of the batch, it grows with every new batch
+	 * @param batch Target batch
+	 * @throws IOException Thrown if the batch could not be written
+	 * @since 1.3
+	 */
+	void write(long sequence, @NotNull List<LogRecord> batch) throws IOException;
+	
+	/**
+	 * A method used to notify this sink that files inside our log directory were moved or renamed, any
+	 * file that is kept open should be closed.
+	 *
+	 * @since 1.3
+	 */
+	default void invalidate() {}
+	
+	/**
+	 * A method used to close this sink, once closed, it will not be used again.
+	 *
+	 * @since 1.3
+	 */
+	void close();
+}
@@ -0,0 +1,490 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import com.frostdeveloper.playerlogs.core.ChannelCache;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A class used to maintain the posting lists of a text log. For every line, the index holds its timestamp,
+ * its position and length inside the log, the {@link Dictionary} ids of its player and module and the entry
+ * of the line before it of the same player and of the same module. Every player and module therefore has its
+ * own posting list, which is walked from its newest line backwards, so a search for a player or module only
+ * reads the entries of their own lines. Our text lines do not hold their player or module, so this index is
+ * what allows a text log to be searched by them.
+ * <p>
+ * The newest entry of every player and module is kept in memory while our log is written. Once our log is
+ * rotated, our index is moved into our archive together with it and the newest entries are stored in the
+ * {@link ArchiveIndex} of the archive. Entries are stored in the order their lines were written, so the
+ * entries of a range of the log, such as the range a {@link TimeIndex} returned, are found through a binary
+ * search.
+ * <p>
+ * An index is only written to by the writer of its log and is not thread-safe, its file is kept open inside
+ * the channel cache of that writer.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class PostingIndex
+{
+	// CLASS SPECIFIC OBJECTS
+	public static final String EXTENSION = ".pst";
+	private static final int ENTRY_SIZE = 36;
+	private static final int CHUNK_SIZE = 512;
+	
+	private final ChannelCache cache;
+	private final File log;
+	private final File file;
+	private int[] players = new int[64];
+	private int[] modules = new int[64];
+	private int count;
+	private boolean loaded;
+	
+	/**
+	 * A class used to read the entries of an index, entries are read in chunks so that walking through the
+	 * index in either direction only reads every chunk once.
+	 *
+	 * @since 1.3
+	 */
+	public static class Reader implements Closeable
+	{
+		private final ByteBuffer chunk = ByteBuffer.allocate(ENTRY_SIZE * CHUNK_SIZE);
+		private final FileChannel channel;
+		private final long count;
+		private long chunkStart = -1;
+		private long chunkCount;
+		private long timestamp;
+		private long offset;
+		private int length;
+		private int player;
+		private int module;
+		private int previousPlayer;
+		private int previousModule;
+		
+		/**
+		 * A constructor used to open the index of a log.
+		 *
+		 * @param file Index file
+		 * @throws IOException Thrown if the index could not be opened
+		 * @since 1.3
+		 */
+		private Reader(@NotNull File file) throws IOException
+		{
+			this.channel = file.exists() ? FileChannel.open(file.toPath(), StandardOpenOption.READ) : null;
+			this.count   = channel != null ? channel.size() / ENTRY_SIZE : 0;
+		}
+		
+		/**
+		 * A method used to return the index of the first entry whose line starts at or after a position.
+		 *
+		 * @param position Position inside the log
+		 * @return Index of the entry, or the amount of entries if every line starts before the position
+		 * @throws IOException Thrown if an entry could not be read
+		 * @since 1.3
+		 */
+		public long search(long position) throws IOException
+		{
+			long low  = 0;
+			long high = count;
+			
+			while (low < high) {
+				long middle = (low + high) >>> 1;
+				seek(middle);
+				
+				if (offset < position) {
+					low = middle + 1;
+				}
+				else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+		
+		/**
+		 * A method used to read a single entry, its values are returned by the getters of this reader.
+		 *
+		 * @param index Index of the entry
+		 * @throws IOException Thrown if the entry could not be read
+		 * @since 1.3
+		 */
+		public void seek(long index) throws IOException
+		{
+			if (index < 0 || index >= count) {
+				throw new IndexOutOfBoundsException("Entry " + index + " of " + count);
+			}
+			
+			if (index < chunkStart || index >= chunkStart + chunkCount) {
+				// WALKING BACKWARDS LOADS THE CHUNK THAT ENDS AT THE ENTRY, OTHERWISE THE ONE THAT STARTS AT IT
+				chunkStart = index < chunkStart ? Math.max(0, index - CHUNK_SIZE + 1) : index;
+				chunkCount = Math.min(CHUNK_SIZE, count - chunkStart);
+				chunk.clear().limit((int) (chunkCount * ENTRY_SIZE));
+				
+				while (chunk.hasRemaining() && channel.read(chunk, chunkStart * ENTRY_SIZE + chunk.position()) > 0) {
+					// KEEP READING UNTIL THE CHUNK IS COMPLETE
+				}
+				
+				if (chunk.hasRemaining()) {
+					chunkStart = -1;
+					throw new IOException("Incomplete entry in: " + channel);
+				}
+			}
+			int position = (int) ((index - chunkStart) * ENTRY_SIZE);
+			
+			timestamp      = chunk.getLong(position);
+			offset         = chunk.getLong(position + 8);
+			length         = chunk.getInt(position + 16);
+			player         = chunk.getInt(position + 20);
+			module         = chunk.getInt(position + 24);
+			previousPlayer = chunk.getInt(position + 28);
+			previousModule = chunk.getInt(position + 32);
+		}
+		
+		/**
+		 * A method used to close this reader.
+		 *
+		 * @throws IOException Thrown if the index could not be closed
+		 * @since 1.3
+		 */
+		@Override
+		public void close() throws IOException
+		{
+			if (channel != null) {
+				channel.close();
+			}
+		}
+		
+		/**
+		 * A method used to return the amount of entries in this index.
+		 *
+		 * @return Amount of entries
+		 * @since 1.3
+		 */
+		public long size()                 { return count;              }
+		
+		/**
+		 * A method used to return the timestamp of the current line.
+		 *
+		 * @return Timestamp
+		 * @since 1.3
+		 */
+		public long getTimestamp()         { return timestamp;          }
+		
+		/**
+		 * A method used to return the position of the current line inside its log.
+		 *
+		 * @return Position in bytes
+		 * @since 1.3
+		 */
+		public long getOffset()            { return offset;             }
+		
+		/**
+		 * A method used to return the length of the current line, including its line separator.
+		 *
+		 * @return Length in bytes
+		 * @since 1.3
+		 */
+		public int getLength()             { return length;             }
+		
+		/**
+		 * A method used to return the dictionary id of the player of the current line.
+		 *
+		 * @return Player id, zero if the line has no player
+		 * @since 1.3
+		 */
+		public int getPlayer()             { return player;             }
+		
+		/**
+		 * A method used to return the dictionary id of the module of the current line.
+		 *
+		 * @return Module id
+		 * @since 1.3
+		 */
+		public int getModule()             { return module;             }
+		
+		/**
+		 * A method used to return the entry of the previous line of the same player.
+		 *
+		 * @return Index of the entry, or -1 if there is none
+		 * @since 1.3
+		 */
+		public int getPreviousPlayer()     { return previousPlayer - 1; }
+		
+		/**
+		 * A method used to return the entry of the previous line of the same module.
+		 *
+		 * @return Index of the entry, or -1 if there is none
+		 * @since 1.3
+		 */
+		public int getPreviousModule()     { return previousModule - 1; }
+	}
+	
+	/**
+	 * A constructor used to define the log this index belongs to.
+	 *
+	 * @param log Target log
+	 * @param cache The channel cache our file is kept open in
+	 * @since 1.3
+	 */
+	public PostingIndex(@NotNull File log, @NotNull ChannelCache cache)
+	{
+		this.log   = log;
+		this.file  = getFile(log);
+		this.cache = cache;
+	}
+	
+	/**
+	 * A method used to add the lines of a block that was just written to our log.
+	 *
+	 * @param block Written block
+	 * @param position Position of the block inside our log
+	 * @throws IOException Thrown if our index could not be written
+	 * @since 1.3
+	 */
+	public void add(@NotNull TextBlock block, long position) throws IOException
+	{
+		if (!loaded) {
+			load(position);
+		}
+		
+		FileChannel channel = cache.get(file);
+		ByteBuffer entries  = ByteBuffer.allocate(ENTRY_SIZE * block.size());
+		long size           = channel.size();
+		
+		for (int i = 0; i < block.size(); i++) {
+			int player = block.getPlayer(i);
+			int module = block.getModule(i);
+			
+			entries.putLong(block.getTimestamp(i)).putLong(position + block.getOffset(i)).putInt(block.getLength(i));
+			entries.putInt(player).putInt(module).putInt(getHead(players, player)).putInt(getHead(modules, module));
+			
+			count++;
+			players = setHead(players, player, count);
+			modules = setHead(modules, module, count);
+		}
+		entries.flip();
+		
+		try {
+			while (entries.hasRemaining()) {
+				channel.write(entries);
+			}
+		}
+		catch (IOException ex) {
+			// OUR NEWEST ENTRIES ARE RESTORED FROM THE ENTRIES THAT ARE LEFT ONCE WE ARE WRITTEN TO AGAIN
+			loaded = false;
+			
+			try {
+				channel.truncate(size);
+			}
+			catch (IOException ignored) {}
+			throw ex;
+		}
+	}
+	
+	/**
+	 * A method used to move our index next to the file our log was moved to, once our log was rotated. The
+	 * newest entry of every player and module is stored in the index of the archive, our index then starts
+	 * over.
+	 *
+	 * @param target The file our log was moved to
+	 * @throws IOException Thrown if our index could not be moved
+	 * @since 1.3
+	 */
+	public void moveTo(@NotNull File target) throws IOException
+	{
+		cache.close(file);
+		
+		if (!loaded) {
+			load(target.length());
+		}
+		
+		try {
+			if (file.exists()) {
+				Files.move(file.toPath(), getFile(target).toPath(), StandardCopyOption.REPLACE_EXISTING);
+				ArchiveIndex.of(players, modules).save(target);
+			}
+		}
+		finally {
+			Arrays.fill(players, 0);
+			Arrays.fill(modules, 0);
+			count = 0;
+		}
+	}
+	
+	/**
+	 * A method used to return the newest entry of a player or module, this is where its posting list starts.
+	 *
+	 * @param type Either {@link Dictionary.Type#PLAYER} or {@link Dictionary.Type#MODULE}
+	 * @param id Dictionary id of the player or module
+	 * @return Index of the entry, or -1 if our log holds no line of it
+	 * @throws IOException Thrown if our index could not be read
+	 * @since 1.3
+	 */
+	public int getLast(@NotNull Dictionary.Type type, int id) throws IOException
+	{
+		if (!loaded) {
+			load(log.length());
+		}
+		return getHead(type == Dictionary.Type.PLAYER ? players : modules, id) - 1;
+	}
+	
+	/**
+	 * A method used to open the index of a log for reading, a log without an index returns an empty reader.
+	 *
+	 * @param log Target log
+	 * @return An open reader
+	 * @throws IOException Thrown if the index could not be opened
+	 * @since 1.3
+	 */
+	public static @NotNull Reader open(@NotNull File log) throws IOException { return new Reader(getFile(log)); }
+	
+	/**
+	 * A method used to delete the index of a log.
+	 *
+	 * @param log Target log
+	 * @since 1.3
+	 */
+	public static void delete(@NotNull File log)
+	{
+		File file = getFile(log);
+		
+		if (file.exists() && !file.delete()) {
+			file.deleteOnExit();
+		}
+	}
+	
+	/**
+	 * A method used to return the file the index of a log is stored in. A compressed archive shares its
+	 * index with the log it was compressed from.
+	 *
+	 * @param log Target log
+	 * @return Index file
+	 * @since 1.3
+	 */
+	public static @NotNull File getFile(@NotNull File log)
+	{
+		String path = log.getPath();
+		return new File((path.endsWith(".gz") ? path.substring(0, path.length() - 3) : path) + EXTENSION);
+	}
+	
+	/**
+	 * A method used to index an archive whose newest entries were not stored, such as an archive that was
+	 * rotated while our server stopped. Its index is read as a whole to find them.
+	 *
+	 * @param log Target log
+	 * @return The index of the archive
+	 * @throws IOException Thrown if the index could not be read
+	 * @since 1.3
+	 */
+	static @NotNull ArchiveIndex createArchiveIndex(@NotNull File log) throws IOException
+	{
+		int[] players = new int[64];
+		int[] modules = new int[64];
+		
+		try (Reader reader = open(log)) {
+			for (long i = 0; i < reader.size(); i++) {
+				reader.seek(i);
+				
+				players = setHead(players, reader.getPlayer(), (int) i + 1);
+				modules = setHead(modules, reader.getModule(), (int) i + 1);
+			}
+		}
+		return ArchiveIndex.of(players, modules);
+	}
+	
+	/**
+	 * A method used to check our index before its first entry is written. An index whose last line ends past
+	 * the position we are about to write at belongs to an older log and is discarded, an entry that was only
+	 * partially written is cut off. The newest entry of every player and module is then restored.
+	 *
+	 * @param position Position the next block is written at
+	 * @throws IOException Thrown if our index could not be read
+	 * @since 1.3
+	 */
+	private void load(long position) throws IOException
+	{
+		loaded = true;
+		count  = 0;
+		
+		Arrays.fill(players, 0);
+		Arrays.fill(modules, 0);
+		
+		if (!file.exists()) {
+			return;
+		}
+		
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			long entries = channel.size() / ENTRY_SIZE;
+			
+			if (channel.size() % ENTRY_SIZE != 0) {
+				channel.truncate(entries * ENTRY_SIZE);
+			}
+			
+			if (entries == 0) {
+				return;
+			}
+			ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+			
+			while (entry.hasRemaining() && channel.read(entry, (entries - 1) * ENTRY_SIZE + entry.position()) > 0) {
+				// KEEP READING UNTIL THE ENTRY IS COMPLETE
+			}
+			
+			if (entry.getLong(8) + entry.getInt(16) > position) {
+				channel.close();
+				delete(log);
+				return;
+			}
+		}
+		
+		try (Reader reader = new Reader(file)) {
+			for (long i = 0; i < reader.size(); i++) {
+				reader.seek(i);
+				
+				count++;
+				players = setHead(players, reader.getPlayer(), count);
+				modules = setHead(modules, reader.getModule(), count);
+			}
+		}
+	}
+	
+	/**
+	 * A method used to return the newest entry of an id.
+	 *
+	 * @param heads The newest entry of every id plus one, indexed by id
+	 * @param id Target id
+	 * @return The newest entry plus one, or zero if there is none
+	 * @since 1.3
+	 */
+	private static int getHead(int @NotNull [] heads, int id) { return id > 0 && id < heads.length ? heads[id] : 0; }
+	
+	/**
+	 * A method used to set the newest entry of an id, ids are assigned by our dictionary in order, so they are
+	 * used as an index directly. Zero is not an id and is never stored.
+	 *
+	 * @param heads The newest entry of every id plus one, indexed by id
+	 * @param id Target id
+	 * @param entry The newest entry plus one
+	 * @return The array the entry was stored in, which is grown if the id did not fit
+	 * @since 1.3
+	 */
+	private static int @NotNull [] setHead(int @NotNull [] heads, int id, int entry)
+	{
+		if (id <= 0) {
+			return heads;
+		}
+		
+		if (id >= heads.length) {
+			heads = Arrays.copyOf(heads, Math.max(heads.length * 2, id + 1));
+		}
+		heads[id] = entry;
+		return heads;
+	}
+}
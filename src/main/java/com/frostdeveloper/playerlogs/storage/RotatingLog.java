@@ -0,0 +1,496 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.core.ChannelCache;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A class used to write a log file that is rotated once it grows too large or once a new hour or day starts.
+ * A rotated file is moved into our archive directory and compressed by a background thread, its name holds
+ * the time of its first and last line, so a time range can be looked up without opening any archive. Within
+ * the active file, a time range is found through its {@link TimeIndex}. Every line is also added to our
+ * {@link PostingIndex}, which is moved into our archive together with the file it belongs to. Archives are
+ * compressed in blocks, whose positions are kept in the {@link ArchiveIndex} of the archive, so a line of an
+ * archive is read without decompressing the lines before it.
+ * <p>
+ * A rotating log is shared by every writer thread, writes and rotations are therefore synchronized.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class RotatingLog
+{
+	// CLASS INSTANCES
+	private final PlayerLogs plugin = PlayerLogs.getInstance();
+	
+	// CLASS SPECIFIC OBJECTS
+	private static final String DATE_FORMAT = "yyyyMMdd-HHmmss";
+	public static final String EXTENSION = ".log.gz";
+	
+	private final File active;
+	private final File archive;
+	private final Interval interval;
+	private final long maxSize;
+	private final ExecutorService compressor;
+	private final ChannelCache indexes;
+	private final TimeIndex index;
+	private final PostingIndex postings;
+	private FileChannel channel;
+	private long firstTimestamp;
+	private long lastTimestamp;
+	
+	/**
+	 * An enum used to define how often a log is rotated regardless of its size.
+	 *
+	 * @since 1.3
+	 */
+	public enum Interval
+	{
+		NONE,
+		HOURLY,
+		DAILY;
+		
+		/**
+		 * A method used to return the interval matching a configured value, if the value is unknown, the
+		 * log will not be rotated by time.
+		 *
+		 * @param value Configured value
+		 * @return Matching interval
+		 * @since 1.3
+		 */
+		public static @NotNull Interval fromString(@Nullable String value)
+		{
+			for (Interval current : values()) {
+				if (current.name().equalsIgnoreCase(value)) {
+					return current;
+				}
+			}
+			return NONE;
+		}
+	}
+	
+	/**
+	 * A constructor used to define the file that is written to and how it is rotated.
+	 *
+	 * @param active The file that is written to
+	 * @param archive The directory rotated files are moved to
+	 * @param interval Time based rotation interval
+	 * @param maxSize Maximum size of the active file in bytes, zero disables size based rotation
+	 * @since 1.3
+	 */
+	public RotatingLog(@NotNull File active, @NotNull File archive, @NotNull Interval interval, long maxSize)
+	{
+		this.active     = active;
+		this.archive    = archive;
+		this.interval   = interval;
+		this.maxSize    = maxSize;
+		this.indexes    = new ChannelCache(2);
+		this.index      = new TimeIndex(active, indexes);
+		this.postings   = new PostingIndex(active, indexes);
+		this.compressor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "PlayerLogs-Compressor");
+			thread.setDaemon(true);
+			return thread;
+		});
+		
+		resume();
+	}
+	
+	/**
+	 * A method used to append a block of lines, if the active file is due for rotation, it is rotated before
+	 * the lines are written. Once written, the lines are added to the indexes of the active file, a block
+	 * that could not be written is not part of the active file.
+	 *
+	 * @param block Target block
+	 * @throws IOException Thrown if the lines could not be written
+	 * @since 1.3
+	 */
+	public synchronized void write(@NotNull TextBlock block) throws IOException
+	{
+		if (block.isEmpty()) {
+			return;
+		}
+		
+		if (channel == null) {
+			open(block.getFirst());
+		}
+		else if (isDue(block.getFirst(), block.getLength())) {
+			rotate();
+			open(block.getFirst());
+		}
+		
+		long position     = channel.size();
+		ByteBuffer buffer = block.toBuffer();
+		
+		try {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+		catch (IOException ex) {
+			// LINES THAT WERE ONLY PARTIALLY WRITTEN ARE CUT OFF, THEY ARE WRITTEN AGAIN AS A WHOLE
+			try {
+				channel.truncate(position);
+			}
+			catch (IOException ignored) {}
+			throw ex;
+		}
+		lastTimestamp = Math.max(lastTimestamp, block.getLast());
+		
+		try {
+			index.add(block, position);
+			postings.add(block, position);
+		}
+		catch (IOException ex) {
+			plugin.getReport().create(ex);
+		}
+	}
+	
+	/**
+	 * A method used to close the active file and stop our compressor. Archives that are still waiting to be
+	 * compressed will be compressed the next time a log is created for the same archive.
+	 *
+	 * @since 1.3
+	 */
+	public synchronized void close()
+	{
+		closeChannel();
+		indexes.closeAll();
+		compressor.shutdown();
+		
+		try {
+			compressor.awaitTermination(10, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * A method used to return the newest line of a player or module in the active file, this is where its
+	 * posting list starts.
+	 *
+	 * @param type Either {@link Dictionary.Type#PLAYER} or {@link Dictionary.Type#MODULE}
+	 * @param id Dictionary id of the player or module
+	 * @return Index of its entry in the postings of the active file, or -1 if the file holds no line of it
+	 * @throws IOException Thrown if the postings could not be read
+	 * @since 1.3
+	 */
+	public synchronized int getLast(@NotNull Dictionary.Type type, int id) throws IOException { return postings.getLast(type, id); }
+	
+	/**
+	 * A method used to return the time range of an archive based on its name.
+	 *
+	 * @param file Target archive
+	 * @return The timestamps of its first and last line, or null if the name is not an archive name
+	 * @since 1.3
+	 */
+	public static long @Nullable [] getRange(@NotNull File file)
+	{
+		String name = file.getName();
+		
+		if (!name.endsWith(EXTENSION) && !name.endsWith(".log")) {
+			return null;
+		}
+		
+		String[] parts = name.substring(0, name.indexOf('.')).split("_");
+		
+		if (parts.length < 3) {
+			return null;
+		}
+		
+		try {
+			SimpleDateFormat format = new SimpleDateFormat(DATE_FORMAT);
+			return new long[] { format.parse(parts[1]).getTime(), format.parse(parts[2]).getTime() + 999 };
+		}
+		catch (ParseException ex) {
+			return null;
+		}
+	}
+	
+	/**
+	 * A method used to determine whether the active file should be rotated before a block is written.
+	 *
+	 * @param timestamp Timestamp of the block
+	 * @param length Length of the block in bytes
+	 * @return Whether the file is due for rotation
+	 * @throws IOException Thrown if the size of the file could not be read
+	 * @since 1.3
+	 */
+	private boolean isDue(long timestamp, long length) throws IOException
+	{
+		if (maxSize > 0 && channel.size() > 0 && channel.size() + length > maxSize) {
+			return true;
+		}
+		return interval != Interval.NONE && getPeriod(timestamp) != getPeriod(firstTimestamp);
+	}
+	
+	/**
+	 * A method used to return the period a timestamp belongs to.
+	 *
+	 * @param timestamp Target timestamp
+	 * @return Start of the hour or day the timestamp belongs to
+	 * @since 1.3
+	 */
+	private long getPeriod(long timestamp)
+	{
+		ChronoUnit unit = interval == Interval.HOURLY ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+		return Instant.ofEpochMilli(timestamp).atZone(ZoneId.systemDefault()).truncatedTo(unit).toInstant().toEpochMilli();
+	}
+	
+	/**
+	 * A method used to open the active file. If the file already exists, its first line is assumed to be
+	 * as old as the file itself.
+	 *
+	 * @param timestamp Timestamp of the block that is about to be written
+	 * @throws IOException Thrown if the file could not be opened
+	 * @since 1.3
+	 */
+	private void open(long timestamp) throws IOException
+	{
+		if (!active.getParentFile().exists() && !active.getParentFile().mkdirs()) {
+			throw new IOException("Failed to create directory for: " + active.getName());
+		}
+		
+		channel = FileChannel.open(active.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		
+		if (channel.size() > 0) {
+			firstTimestamp = Math.min(timestamp, Files.readAttributes(active.toPath(), BasicFileAttributes.class).creationTime().toMillis());
+			lastTimestamp  = Math.max(firstTimestamp, active.lastModified());
+			
+			if (isDue(timestamp, 0)) {
+				rotate();
+				open(timestamp);
+			}
+		}
+		else {
+			firstTimestamp = timestamp;
+			lastTimestamp  = timestamp;
+		}
+	}
+	
+	/**
+	 * A method used to close the active file, move it into our archive and hand it to our compressor.
+	 *
+	 * @throws IOException Thrown if the file could not be moved
+	 * @since 1.3
+	 */
+	private void rotate() throws IOException
+	{
+		closeChannel();
+		
+		if (!archive.exists() && !archive.mkdirs()) {
+			throw new IOException("Failed to create directory for: " + archive.getName());
+		}
+		
+		File target = getArchiveFile(firstTimestamp, lastTimestamp);
+		
+		try {
+			Files.move(active.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (AtomicMoveNotSupportedException ex) {
+			Files.move(active.toPath(), target.toPath());
+		}
+		
+		// ARCHIVES ARE FOUND BY THE TIME RANGE IN THEIR NAME, THEIR POSTINGS ARE READ WHILE THEY ARE STREAMED
+		index.reset();
+		postings.moveTo(target);
+		compress(target);
+	}
+	
+	/**
+	 * A method used to return a free archive name for a time range.
+	 *
+	 * @param first Timestamp of the first line
+	 * @param last Timestamp of the last line
+	 * @return An archive file that does not exist yet
+	 * @since 1.3
+	 */
+	private @NotNull File getArchiveFile(long first, long last)
+	{
+		SimpleDateFormat format = new SimpleDateFormat(DATE_FORMAT);
+		String base = getBaseName() + "_" + format.format(new Date(first)) + "_" + format.format(new Date(last));
+		
+		File target = new File(archive, base + ".log");
+		
+		for (int i = 1; target.exists() || new File(archive, target.getName() + ".gz").exists(); i++) {
+			target = new File(archive, base + "." + i + ".log");
+		}
+		return target;
+	}
+	
+	/**
+	 * A method used to return the name of the active file without its extension.
+	 *
+	 * @return Base name
+	 * @since 1.3
+	 */
+	private @NotNull String getBaseName()
+	{
+		String name = active.getName();
+		return name.contains(".") ? name.substring(0, name.indexOf('.')) : name;
+	}
+	
+	/**
+	 * A method used to compress every archive of this log that was left uncompressed, for example because
+	 * the server stopped while an archive was being compressed.
+	 *
+	 * @since 1.3
+	 */
+	private void resume()
+	{
+		File[] pending = archive.listFiles((dir, name) -> name.startsWith(getBaseName() + "_") && name.endsWith(".log"));
+		
+		if (pending != null) {
+			for (File file : pending) {
+				compress(file);
+			}
+		}
+	}
+	
+	/**
+	 * A method used to hand an archive to our compressor thread. The archive is compressed into a temporary
+	 * file first, which replaces the archive once it is complete. The position of every compressed block is
+	 * stored in the {@link ArchiveIndex} of the archive before it is replaced, an archive that was rotated
+	 * without its index is indexed from its postings first.
+	 *
+	 * @param file Target archive
+	 * @since 1.3
+	 */
+	private void compress(@NotNull File file)
+	{
+		try {
+			compressor.execute(() -> {
+				File temporary = new File(file.getPath() + ".gz.tmp");
+				File target    = new File(file.getPath() + ".gz");
+				
+				try {
+					ArchiveIndex archiveIndex = ArchiveIndex.load(file);
+					
+					if (archiveIndex == null && PostingIndex.getFile(file).exists()) {
+						archiveIndex = PostingIndex.createArchiveIndex(file);
+					}
+					long[] blocks = compress(file, temporary);
+					
+					if (archiveIndex != null) {
+						archiveIndex.setBlocks(blocks);
+						archiveIndex.save(file);
+					}
+					Files.move(temporary.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+					Files.delete(file.toPath());
+				}
+				catch (IOException ex) {
+					plugin.getReport().create(ex);
+				}
+			});
+		}
+		catch (RejectedExecutionException ignored) {}
+	}
+	
+	/**
+	 * A method used to compress a file in blocks of {@link ArchiveIndex#BLOCK_SIZE} bytes. Every block is
+	 * written as a gzip member of its own, so a block is decompressed without the blocks before it, while the
+	 * file as a whole is still read by any gzip reader.
+	 *
+	 * @param source Target file
+	 * @param target The file the compressed blocks are written to
+	 * @return Position of every block inside the compressed file
+	 * @throws IOException Thrown if the file could not be compressed
+	 * @since 1.3
+	 */
+	private static long @NotNull [] compress(@NotNull File source, @NotNull File target) throws IOException
+	{
+		long[] blocks = new long[16];
+		int count     = 0;
+		
+		try (InputStream input = new FileInputStream(source); FileOutputStream output = new FileOutputStream(target)) {
+			byte[] buffer = new byte[ArchiveIndex.BLOCK_SIZE];
+			int read;
+			
+			while ((read = readFully(input, buffer)) > 0) {
+				if (count == blocks.length) {
+					blocks = Arrays.copyOf(blocks, count * 2);
+				}
+				blocks[count++] = output.getChannel().position();
+				
+				// CLOSING A MEMBER ONLY FINISHES IT, THE FILE ITSELF STAYS OPEN FOR THE NEXT BLOCK
+				try (OutputStream member = new GZIPOutputStream(new FilterOutputStream(output) {
+					@Override
+					public void write(byte @NotNull [] bytes, int offset, int length) throws IOException { out.write(bytes, offset, length); }
+					
+					@Override
+					public void close() throws IOException { flush(); }
+				}, 8192)) {
+					member.write(buffer, 0, read);
+				}
+			}
+		}
+		return Arrays.copyOf(blocks, count);
+	}
+	
+	/**
+	 * A method used to fill a buffer from a stream, unless the stream ends first.
+	 *
+	 * @param input Target stream
+	 * @param buffer Target buffer
+	 * @return Amount of bytes read, zero once the stream ended
+	 * @throws IOException Thrown if the stream could not be read
+	 * @since 1.3
+	 */
+	private static int readFully(@NotNull InputStream input, byte @NotNull [] buffer) throws IOException
+	{
+		int total = 0;
+		int read;
+		
+		while (total < buffer.length && (read = input.read(buffer, total, buffer.length - total)) != -1) {
+			total += read;
+		}
+		return total;
+	}
+	
+	/**
+	 * A method used to close the active file.
+	 *
+	 * @since 1.3
+	 */
+	private void closeChannel()
+	{
+		try {
+			if (channel != null) {
+				channel.close();
+			}
+		}
+		catch (IOException ex) {
+			plugin.getReport().create(ex);
+		}
+		channel = null;
+	}
+}
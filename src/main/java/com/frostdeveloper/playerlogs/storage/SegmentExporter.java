@@ -0,0 +1,96 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import com.frostdeveloper.playerlogs.model.LogRecord;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A class used to render binary segments back into the plain text format used by our text logs.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public final class SegmentExporter
+{
+	/**
+	 * A constructor used to prevent this utility class from being created.
+	 *
+	 * @since 1.3
+	 */
+	private SegmentExporter() {}
+	
+	/**
+	 * A method used to export every segment inside our segment directory, each segment is written to a text
+	 * file of the same name inside the target directory.
+	 *
+	 * @param target Target directory
+	 * @return The amount of exported records
+	 * @throws IOException Thrown if a segment could not be exported
+	 * @since 1.3
+	 */
+	public static long exportAll(@NotNull File target) throws IOException
+	{
+		File[] segments = SegmentSink.getDirectory().listFiles((dir, name) -> name.endsWith(SegmentSink.EXTENSION));
+		long count = 0;
+		
+		if (segments == null) {
+			return 0;
+		}
+		Arrays.sort(segments);
+		
+		for (File segment : segments) {
+			String name = segment.getName().substring(0, segment.getName().length() - SegmentSink.EXTENSION.length());
+			count += export(segment, new File(target, name + ".log"));
+		}
+		return count;
+	}
+	
+	/**
+	 * A method used to export a single segment into a text file.
+	 *
+	 * @param segment Target segment
+	 * @param target Target text file, it will be replaced if it exists
+	 * @return The amount of exported records
+	 * @throws IOException Thrown if the segment could not be exported
+	 * @since 1.3
+	 */
+	public static long export(@NotNull File segment, @NotNull File target) throws IOException
+	{
+		if (!target.getParentFile().exists() && !target.getParentFile().mkdirs()) {
+			throw new IOException("Failed to create directory for: " + target.getName());
+		}
+		
+		long count = 0;
+		
+		try (SegmentReader reader = new SegmentReader(segment);
+		     Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(target), StandardCharsets.UTF_8))) {
+			LogRecord record;
+			
+			while ((record = reader.next()) != null) {
+				writer.write(toLine(record));
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * A method used to render a record the same way our text logs do.
+	 *
+	 * @param record Target record
+	 * @return Rendered line, including its line separator
+	 * @since 1.3
+	 */
+	public static @NotNull String toLine(@NotNull LogRecord record)
+	{
+		return '[' + record.getDate() + "]: " + record.getMessage() + System.lineSeparator();
+	}
+}
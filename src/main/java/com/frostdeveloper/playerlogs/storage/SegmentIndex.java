@@ -0,0 +1,423 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import com.frostdeveloper.playerlogs.model.LogRecord;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A class used to index the records of a single segment. Records are grouped into blocks of a fixed size,
+ * for each block we keep its position, the time range it covers and the state needed to decode it. For each
+ * player and module we keep a posting list, the set of blocks that hold at least one of its records. A search
+ * therefore only decodes the blocks that can match, instead of reading the whole segment.
+ * <p>
+ * The index of a segment is built by its writer and stored next to it once the segment is closed. Segments
+ * without a stored index, such as the segments that are still being written to, are indexed on demand.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class SegmentIndex
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final int MAGIC = 0x504C5349;
+	private static final int VERSION = 1;
+	private static final int CACHE_SIZE = 64;
+	public static final int BLOCK_SIZE = 128;
+	public static final String EXTENSION = ".idx";
+	
+	private static final Map<File, SegmentIndex> cache = new LinkedHashMap<File, SegmentIndex>(16, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<File, SegmentIndex> eldest) { return size() > CACHE_SIZE; }
+	};
+	
+	private final List<Block> blocks = new ArrayList<>();
+	private final Map<Integer, BitSet> modules = new HashMap<>();
+	private final Map<Integer, BitSet> players = new HashMap<>();
+	private long length = SegmentSink.HEADER_SIZE;
+	private long lastTimestamp = Long.MIN_VALUE;
+	private String lastDate;
+	
+	/**
+	 * A class used to describe a block of records.
+	 *
+	 * @since 1.3
+	 */
+	public static class Block
+	{
+		private final long offset;
+		private final long previousTimestamp;
+		private final String previousDate;
+		private long first;
+		private long last;
+		private int count;
+		
+		/**
+		 * A constructor used to define where a block starts and the state needed to decode it.
+		 *
+		 * @param offset Position of its first record
+		 * @param previousTimestamp Timestamp of the record before it
+		 * @param previousDate Date of the record before it, can be null
+		 * @since 1.3
+		 */
+		private Block(long offset, long previousTimestamp, @Nullable String previousDate)
+		{
+			this.offset            = offset;
+			this.previousTimestamp = previousTimestamp;
+			this.previousDate      = previousDate;
+			this.first             = Long.MAX_VALUE;
+			this.last              = Long.MIN_VALUE;
+		}
+		
+		/**
+		 * A method used to determine whether a block may hold records of a time range.
+		 *
+		 * @param since Start of the range
+		 * @param until End of the range
+		 * @return Whether the ranges overlap
+		 * @since 1.3
+		 */
+		public boolean overlaps(long since, long until) { return first <= until && last >= since; }
+		
+		/**
+		 * A method used to return the position of the first record in this block.
+		 *
+		 * @return Block offset
+		 * @since 1.3
+		 */
+		public long getOffset()                         { return offset;            }
+		
+		/**
+		 * A method used to return the timestamp of the record before this block.
+		 *
+		 * @return Previous timestamp
+		 * @since 1.3
+		 */
+		public long getPreviousTimestamp()              { return previousTimestamp; }
+		
+		/**
+		 * A method used to return the date of the record before this block.
+		 *
+		 * @return Previous date, can be null
+		 * @since 1.3
+		 */
+		public @Nullable String getPreviousDate()       { return previousDate;      }
+		
+		/**
+		 * A method used to return the amount of records in this block.
+		 *
+		 * @return Record count
+		 * @since 1.3
+		 */
+		public int getCount()                           { return count;             }
+	}
+	
+	/**
+	 * A method used to add a record to this index, records must be added in the order they were written.
+	 *
+	 * @param offset Position of the record
+	 * @param end Position right after the record
+	 * @param previousTimestamp Timestamp of the record before it
+	 * @param previousDate Date of the record before it, can be null
+	 * @param timestamp Timestamp of the record
+	 * @param date Date of the record
+	 * @param module Dictionary id of its module
+	 * @param player Dictionary id of its player, zero if it has no player
+	 * @since 1.3
+	 */
+	public synchronized void add(long offset, long end, long previousTimestamp, @Nullable String previousDate, long timestamp, @NotNull String date, int module, int player)
+	{
+		if (blocks.isEmpty() || blocks.get(blocks.size() - 1).count >= BLOCK_SIZE) {
+			blocks.add(new Block(offset, previousTimestamp, previousDate));
+		}
+		
+		int number  = blocks.size() - 1;
+		Block block = blocks.get(number);
+		block.first = Math.min(block.first, timestamp);
+		block.last  = Math.max(block.last, timestamp);
+		block.count++;
+		
+		modules.computeIfAbsent(module, key -> new BitSet()).set(number);
+		
+		if (player != 0) {
+			players.computeIfAbsent(player, key -> new BitSet()).set(number);
+		}
+		length        = end;
+		lastTimestamp = timestamp;
+		lastDate      = date;
+	}
+	
+	/**
+	 * A method used to return the blocks that may hold matching records. A value of zero for the module or
+	 * player means it is not filtered by.
+	 *
+	 * @param module Dictionary id of a module, or zero
+	 * @param player Dictionary id of a player, or zero
+	 * @param since Start of the time range
+	 * @param until End of the time range
+	 * @return Matching blocks, newest first
+	 * @since 1.3
+	 */
+	public synchronized @NotNull List<Block> find(int module, int player, long since, long until)
+	{
+		BitSet candidates = new BitSet(blocks.size());
+		candidates.set(0, blocks.size());
+		
+		if (module != 0) {
+			candidates.and(modules.getOrDefault(module, new BitSet()));
+		}
+		
+		if (player != 0) {
+			candidates.and(players.getOrDefault(player, new BitSet()));
+		}
+		
+		List<Block> found = new ArrayList<>();
+		
+		for (int i = candidates.previousSetBit(blocks.size() - 1); i >= 0; i = candidates.previousSetBit(i - 1)) {
+			Block block = blocks.get(i);
+			
+			if (block.overlaps(since, until)) {
+				found.add(block);
+			}
+		}
+		return found;
+	}
+	
+	/**
+	 * A method used to return the amount of segment bytes covered by this index.
+	 *
+	 * @return Indexed length
+	 * @since 1.3
+	 */
+	public synchronized long getLength() { return length; }
+	
+	/**
+	 * A method used to store this index next to its segment, the index is written to a temporary file first
+	 * so that a reader never sees a partially written index.
+	 *
+	 * @param segment Indexed segment
+	 * @throws IOException Thrown if the index could not be written
+	 * @since 1.3
+	 */
+	public synchronized void save(@NotNull File segment) throws IOException
+	{
+		File target    = getFile(segment);
+		File temporary = new File(target.getPath() + ".tmp");
+		
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))) {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeLong(length);
+			output.writeLong(lastTimestamp);
+			output.writeUTF(lastDate != null ? lastDate : "");
+			VarInt.writeInt(output, blocks.size());
+			
+			for (Block block : blocks) {
+				VarInt.writeLong(output, block.offset);
+				output.writeLong(block.previousTimestamp);
+				output.writeUTF(block.previousDate != null ? block.previousDate : "");
+				output.writeLong(block.first);
+				output.writeLong(block.last);
+				VarInt.writeInt(output, block.count);
+			}
+			writePostings(output, modules);
+			writePostings(output, players);
+		}
+		Files.move(temporary.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+	
+	/**
+	 * A method used to return the index of a segment. Indexes are cached, a stored index is loaded from disk
+	 * while a segment without one is indexed by reading it. If a segment grew since it was indexed, only its
+	 * new records are read.
+	 *
+	 * @param segment Target segment
+	 * @return The index of the segment
+	 * @throws IOException Thrown if the segment or its index could not be read
+	 * @since 1.3
+	 */
+	public static @NotNull SegmentIndex of(@NotNull File segment) throws IOException
+	{
+		File key = segment.getAbsoluteFile();
+		
+		synchronized (cache) {
+			SegmentIndex index = cache.get(key);
+			
+			if (index == null) {
+				index = getFile(segment).exists() ? load(getFile(segment)) : new SegmentIndex();
+			}
+			
+			if (index.getLength() < segment.length()) {
+				index.extend(segment);
+				
+				if (!SegmentSink.isActive(segment)) {
+					index.save(segment);
+				}
+			}
+			cache.put(key, index);
+			return index;
+		}
+	}
+	
+	/**
+	 * A method used to delete the stored index of a segment.
+	 *
+	 * @param segment Target segment
+	 * @since 1.3
+	 */
+	public static void delete(@NotNull File segment)
+	{
+		synchronized (cache) {
+			cache.remove(segment.getAbsoluteFile());
+		}
+		
+		if (getFile(segment).exists() && !getFile(segment).delete()) {
+			getFile(segment).deleteOnExit();
+		}
+	}
+	
+	/**
+	 * A method used to return the file the index of a segment is stored in.
+	 *
+	 * @param segment Target segment
+	 * @return Index file
+	 * @since 1.3
+	 */
+	public static @NotNull File getFile(@NotNull File segment) { return new File(segment.getPath() + EXTENSION); }
+	
+	/**
+	 * A method used to index every record written after the indexed length of a segment.
+	 *
+	 * @param segment Target segment
+	 * @throws IOException Thrown if the segment could not be read
+	 * @since 1.3
+	 */
+	private synchronized void extend(@NotNull File segment) throws IOException
+	{
+		Dictionary dictionary = Dictionary.of(segment.getAbsoluteFile().getParentFile());
+		
+		try (SegmentReader reader = new SegmentReader(segment, length, lastTimestamp, lastDate)) {
+			long offset            = reader.getPosition();
+			long previousTimestamp = reader.getPreviousTimestamp();
+			String previousDate    = reader.getPreviousDate();
+			LogRecord record;
+			
+			while ((record = reader.next()) != null) {
+				int module = dictionary.findId(Dictionary.Type.MODULE, record.getModule());
+				int player = record.getPlayer() != null ? dictionary.findId(Dictionary.Type.PLAYER, record.getPlayer().toString()) : 0;
+				
+				add(offset, reader.getPosition(), previousTimestamp, previousDate, record.getTimestamp(), record.getDate(), module, player);
+				
+				offset            = reader.getPosition();
+				previousTimestamp = record.getTimestamp();
+				previousDate      = record.getDate();
+			}
+		}
+	}
+	
+	/**
+	 * A method used to load a stored index.
+	 *
+	 * @param file Index file
+	 * @return Loaded index
+	 * @throws IOException Thrown if the index could not be read
+	 * @since 1.3
+	 */
+	private static @NotNull SegmentIndex load(@NotNull File file) throws IOException
+	{
+		SegmentIndex index = new SegmentIndex();
+		
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+				return index;
+			}
+			
+			long length        = input.readLong();
+			long lastTimestamp = input.readLong();
+			String lastDate    = input.readUTF();
+			int count          = VarInt.readInt(input);
+			
+			for (int i = 0; i < count; i++) {
+				long offset   = VarInt.readLong(input);
+				long previous = input.readLong();
+				String date   = input.readUTF();
+				
+				Block block = new Block(offset, previous, date.isEmpty() ? null : date);
+				block.first = input.readLong();
+				block.last  = input.readLong();
+				block.count = VarInt.readInt(input);
+				index.blocks.add(block);
+			}
+			readPostings(input, index.modules);
+			readPostings(input, index.players);
+			
+			index.length        = length;
+			index.lastTimestamp = lastTimestamp;
+			index.lastDate      = lastDate.isEmpty() ? null : lastDate;
+		}
+		return index;
+	}
+	
+	/**
+	 * A method used to write a set of posting lists.
+	 *
+	 * @param output Target output
+	 * @param postings Target posting lists
+	 * @throws IOException Thrown if the posting lists could not be written
+	 * @since 1.3
+	 */
+	private static void writePostings(@NotNull DataOutputStream output, @NotNull Map<Integer, BitSet> postings) throws IOException
+	{
+		VarInt.writeInt(output, postings.size());
+		
+		for (Map.Entry<Integer, BitSet> entry : postings.entrySet()) {
+			long[] words = entry.getValue().toLongArray();
+			VarInt.writeInt(output, entry.getKey());
+			VarInt.writeInt(output, words.length);
+			
+			for (long word : words) {
+				output.writeLong(word);
+			}
+		}
+	}
+	
+	/**
+	 * A method used to read a set of posting lists.
+	 *
+	 * @param input Target input
+	 * @param postings Map the posting lists are added to
+	 * @throws IOException Thrown if the posting lists could not be read
+	 * @since 1.3
+	 */
+	private static void readPostings(@NotNull DataInputStream input, @NotNull Map<Integer, BitSet> postings) throws IOException
+	{
+		int count = VarInt.readInt(input);
+		
+		for (int i = 0; i < count; i++) {
+			int id       = VarInt.readInt(input);
+			long[] words = new long[VarInt.readInt(input)];
+			
+			for (int j = 0; j < words.length; j++) {
+				words[j] = input.readLong();
+			}
+			postings.put(id, BitSet.valueOf(words));
+		}
+	}
+}
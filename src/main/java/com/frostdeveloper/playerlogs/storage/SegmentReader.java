@@ -0,0 +1,240 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import com.frostdeveloper.playerlogs.model.LogRecord;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * A class used to read the records of a single segment written by our {@link SegmentSink}. Records are
+ * read in the order they were written, a record that was only partially written is treated as the end
+ * of the segment.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class SegmentReader implements Closeable
+{
+	// CLASS SPECIFIC OBJECTS
+	private final CountingInputStream counter;
+	private final DataInputStream input;
+	private final Dictionary dictionary;
+	private final long baseTimestamp;
+	private long previousTimestamp;
+	private String previousDate;
+	private long position;
+	
+	/**
+	 * A constructor used to open a segment and verify its header.
+	 *
+	 * @param segment Target segment
+	 * @throws IOException Thrown if the segment could not be opened or has an unsupported format
+	 * @since 1.3
+	 */
+	public SegmentReader(@NotNull File segment) throws IOException { this(segment, SegmentSink.HEADER_SIZE, Long.MIN_VALUE, null); }
+	
+	/**
+	 * A constructor used to open a segment at the position of a record. Records are delta encoded, the
+	 * timestamp and date of the record before that position are therefore required.
+	 *
+	 * @param segment Target segment
+	 * @param offset Position of the first record that will be read
+	 * @param previousTimestamp Timestamp of the record before that position, or {@link Long#MIN_VALUE} to use the base timestamp
+	 * @param previousDate Date of the record before that position, can be null
+	 * @throws IOException Thrown if the segment could not be opened or has an unsupported format
+	 * @since 1.3
+	 */
+	public SegmentReader(@NotNull File segment, long offset, long previousTimestamp, @Nullable String previousDate) throws IOException
+	{
+		FileInputStream file = new FileInputStream(segment);
+		ByteBuffer header    = ByteBuffer.allocate(SegmentSink.HEADER_SIZE);
+		
+		try {
+			while (header.hasRemaining() && file.getChannel().read(header) != -1) {
+				// READ UNTIL OUR HEADER IS COMPLETE
+			}
+			header.flip();
+			
+			if (header.remaining() < SegmentSink.HEADER_SIZE || header.getInt() != SegmentSink.MAGIC || header.getInt() != SegmentSink.VERSION) {
+				throw new IOException("Unsupported segment format: " + segment.getName());
+			}
+			file.getChannel().position(offset);
+		}
+		catch (IOException ex) {
+			file.close();
+			throw ex;
+		}
+		
+		this.counter           = new CountingInputStream(new BufferedInputStream(file, 65536), offset);
+		this.input             = new DataInputStream(counter);
+		this.dictionary        = Dictionary.of(segment.getAbsoluteFile().getParentFile());
+		this.baseTimestamp     = header.getLong();
+		this.previousTimestamp = previousTimestamp != Long.MIN_VALUE ? previousTimestamp : baseTimestamp;
+		this.previousDate      = previousDate;
+		this.position          = offset;
+	}
+	
+	/**
+	 * A method used to read the next record of this segment.
+	 *
+	 * @return The next record, or null if the end of the segment was reached
+	 * @throws IOException Thrown if the segment could not be read
+	 * @since 1.3
+	 */
+	public @Nullable LogRecord next() throws IOException
+	{
+		try {
+			long timestamp = previousTimestamp + VarInt.readSignedLong(input);
+			String module  = dictionary.getValue(Dictionary.Type.MODULE, VarInt.readInt(input));
+			String player  = dictionary.getValue(Dictionary.Type.PLAYER, VarInt.readInt(input));
+			String name    = dictionary.getValue(Dictionary.Type.NAME, VarInt.readInt(input));
+			int flags      = input.readUnsignedByte();
+			
+			String date = (flags & SegmentSink.FLAG_SAME_DATE) != 0 ? previousDate : input.readUTF();
+			String world = null;
+			String material = null;
+			int x = 0;
+			int y = 0;
+			int z = 0;
+			
+			if ((flags & SegmentSink.FLAG_LOCATION) != 0) {
+				world = dictionary.getValue(Dictionary.Type.WORLD, VarInt.readInt(input));
+				x     = VarInt.readSignedInt(input);
+				y     = VarInt.readSignedInt(input);
+				z     = VarInt.readSignedInt(input);
+			}
+			
+			if ((flags & SegmentSink.FLAG_MATERIAL) != 0) {
+				material = dictionary.getValue(Dictionary.Type.MATERIAL, VarInt.readInt(input));
+			}
+			
+			byte[] message = new byte[VarInt.readInt(input)];
+			input.readFully(message);
+			
+			previousTimestamp = timestamp;
+			previousDate      = date;
+			position          = counter.getCount();
+			
+			UUID uuid = player != null ? UUID.fromString(player) : null;
+			return new LogRecord(timestamp, date != null ? date : "", module != null ? module : "", uuid, name, new String(message, StandardCharsets.UTF_8), false, world, x, y, z, material);
+		}
+		catch (EOFException ex) {
+			return null;
+		}
+	}
+	
+	/**
+	 * A method used to return the position of the next record, once {@link #next()} returned null, this is
+	 * the position right after the last complete record.
+	 *
+	 * @return Current position
+	 * @since 1.3
+	 */
+	public long getPosition()                 { return position;          }
+	
+	/**
+	 * A method used to return the timestamp of the last record that was read.
+	 *
+	 * @return Previous timestamp
+	 * @since 1.3
+	 */
+	public long getPreviousTimestamp()        { return previousTimestamp; }
+	
+	/**
+	 * A method used to return the date of the last record that was read.
+	 *
+	 * @return Previous date, can be null
+	 * @since 1.3
+	 */
+	public @Nullable String getPreviousDate() { return previousDate;      }
+	
+	/**
+	 * A method used to return the timestamp of the first record in this segment.
+	 *
+	 * @return Base timestamp
+	 * @since 1.3
+	 */
+	public long getBaseTimestamp()            { return baseTimestamp;     }
+	
+	/**
+	 * A method used to close this segment.
+	 *
+	 * @throws IOException Thrown if the segment could not be closed
+	 * @since 1.3
+	 */
+	@Override
+	public void close() throws IOException { input.close(); }
+	
+	/**
+	 * A class used to count the bytes read from a stream, so that the position of each record is known.
+	 *
+	 * @since 1.3
+	 */
+	private static class CountingInputStream extends FilterInputStream
+	{
+		private long count;
+		
+		/**
+		 * A constructor used to define the stream that is counted and its current position.
+		 *
+		 * @param input Target stream
+		 * @param count Current position
+		 * @since 1.3
+		 */
+		CountingInputStream(@NotNull InputStream input, long count)
+		{
+			super(input);
+			this.count = count;
+		}
+		
+		@Override
+		public int read() throws IOException
+		{
+			int value = super.read();
+			
+			if (value != -1) {
+				count++;
+			}
+			return value;
+		}
+		
+		@Override
+		public int read(byte @NotNull [] buffer, int offset, int length) throws IOException
+		{
+			int read = super.read(buffer, offset, length);
+			
+			if (read > 0) {
+				count += read;
+			}
+			return read;
+		}
+		
+		@Override
+		public long skip(long length) throws IOException
+		{
+			long skipped = super.skip(length);
+			count += skipped;
+			return skipped;
+		}
+		
+		/**
+		 * A method used to return the amount of bytes read so far.
+		 *
+		 * @return Current position
+		 * @since 1.3
+		 */
+		long getCount() { return count; }
+	}
+}
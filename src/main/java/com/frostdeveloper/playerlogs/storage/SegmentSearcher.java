@@ -0,0 +1,136 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import com.frostdeveloper.playerlogs.model.LogQuery;
+import com.frostdeveloper.playerlogs.model.LogRecord;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A class used to search our binary segments. Segments are pruned by the time range in their name and their
+ * last write, the remaining segments are narrowed down to the blocks their {@link SegmentIndex} lists for the
+ * queried player and module, and only those blocks are decoded. Results are returned newest segment first.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public final class SegmentSearcher
+{
+	/**
+	 * A constructor used to prevent this utility class from being created.
+	 *
+	 * @since 1.3
+	 */
+	private SegmentSearcher() {}
+	
+	/**
+	 * A method used to return a single page of records that match a query.
+	 *
+	 * @param query Target query
+	 * @param offset Amount of matching records to skip
+	 * @param limit Maximum amount of records to return
+	 * @return Matching records
+	 * @throws IOException Thrown if a segment could not be read
+	 * @since 1.3
+	 */
+	public static @NotNull List<LogRecord> search(@NotNull LogQuery query, int offset, int limit) throws IOException
+	{
+		File[] segments = SegmentSink.getDirectory().listFiles((dir, name) -> name.endsWith(SegmentSink.EXTENSION));
+		List<LogRecord> results = new ArrayList<>();
+		
+		if (segments == null || segments.length == 0) {
+			return results;
+		}
+		
+		// AN UNKNOWN PLAYER OR MODULE HAS NO RECORDS
+		Dictionary dictionary = Dictionary.of(SegmentSink.getDirectory());
+		int module = dictionary.findId(Dictionary.Type.MODULE, query.getModule());
+		int player = dictionary.findId(Dictionary.Type.PLAYER, query.getPlayer() != null ? query.getPlayer().toString() : null);
+		
+		if ((query.getModule() != null && module == 0) || (query.getPlayer() != null && player == 0)) {
+			return results;
+		}
+		
+		Arrays.sort(segments, Comparator.comparingLong(SegmentSearcher::getStart).reversed());
+		int skipped = 0;
+		
+		for (File segment : segments) {
+			if (getStart(segment) > query.getUntil() || segment.lastModified() < query.getSince()) {
+				continue;
+			}
+			
+			for (SegmentIndex.Block block : SegmentIndex.of(segment).find(module, player, query.getSince(), query.getUntil())) {
+				List<LogRecord> matches = read(segment, block, query);
+				Collections.reverse(matches);
+				
+				for (LogRecord record : matches) {
+					if (skipped < offset) {
+						skipped++;
+						continue;
+					}
+					results.add(record);
+					
+					if (results.size() >= limit) {
+						return results;
+					}
+				}
+			}
+		}
+		return results;
+	}
+	
+	/**
+	 * A method used to decode a single block and return its matching records.
+	 *
+	 * @param segment Target segment
+	 * @param block Target block
+	 * @param query Target query
+	 * @return Matching records, in the order they were written
+	 * @throws IOException Thrown if the block could not be read
+	 * @since 1.3
+	 */
+	private static @NotNull List<LogRecord> read(@NotNull File segment, @NotNull SegmentIndex.Block block, @NotNull LogQuery query) throws IOException
+	{
+		List<LogRecord> matches = new ArrayList<>();
+		
+		try (SegmentReader reader = new SegmentReader(segment, block.getOffset(), block.getPreviousTimestamp(), block.getPreviousDate())) {
+			for (int i = 0; i < block.getCount(); i++) {
+				LogRecord record = reader.next();
+				
+				if (record == null) {
+					break;
+				}
+				
+				if (query.matches(record)) {
+					matches.add(record);
+				}
+			}
+		}
+		return matches;
+	}
+	
+	/**
+	 * A method used to return the time a segment was started, based on its name.
+	 *
+	 * @param segment Target segment
+	 * @return Start timestamp, or zero if the name is not a segment name
+	 * @since 1.3
+	 */
+	private static long getStart(@NotNull File segment)
+	{
+		String name = segment.getName();
+		
+		try {
+			return Long.parseLong(name.substring(0, name.indexOf('-')));
+		}
+		catch (IndexOutOfBoundsException | NumberFormatException ex) {
+			return 0;
+		}
+	}
+}
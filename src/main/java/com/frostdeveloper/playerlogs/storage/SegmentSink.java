@@ -0,0 +1,293 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import com.frostdeveloper.api.FrostAPI;
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.model.LogRecord;
+import com.frostdeveloper.playerlogs.util.Util;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A sink used to store our records inside append-only binary segments. Each writer thread appends to its
+ * own segment, once a segment reaches its maximum size, it is closed and a new segment is started. A segment
+ * is named after the writer that created it and the time its first record was written.
+ * <p>
+ * A segment starts with a header holding its format version and the timestamp of its first record. Each
+ * record is stored as follows, values that repeat across records are mapped through our {@link Dictionary}.
+ * <ul>
+ *     <li>The difference to the timestamp of the previous record, as a signed variable length long</li>
+ *     <li>The module, player and player name ids, as variable length integers</li>
+ *     <li>A flag byte, defining which of the optional values below are present</li>
+ *     <li>The date as it appears in our text logs, only if it differs from the previous record</li>
+ *     <li>The world id followed by the block coordinates as signed variable length integers</li>
+ *     <li>The material id</li>
+ *     <li>The length of the message followed by its UTF-8 bytes</li>
+ * </ul>
+ * While a segment is written, its writer also maintains its {@link SegmentIndex}, which is stored next to the
+ * segment once it is closed.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class SegmentSink implements LogSink
+{
+	// CLASS INSTANCES
+	private final PlayerLogs plugin = PlayerLogs.getInstance();
+	private final FrostAPI api      = plugin.getFrostAPI();
+	
+	// CLASS SPECIFIC OBJECTS
+	public static final int MAGIC = 0x504C5347;
+	public static final int VERSION = 2;
+	public static final int HEADER_SIZE = 16;
+	public static final String EXTENSION = ".seg";
+	
+	public static final int FLAG_SAME_DATE = 1;
+	public static final int FLAG_LOCATION = 2;
+	public static final int FLAG_MATERIAL = 4;
+	
+	private static final Set<File> active = ConcurrentHashMap.newKeySet();
+	
+	private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+	private final DataOutputStream output = new DataOutputStream(buffer);
+	private final int writer;
+	private final long maxSize;
+	private Dictionary dictionary;
+	private FileChannel channel;
+	private File segment;
+	private SegmentIndex index;
+	private long previousTimestamp;
+	private String previousDate;
+	
+	/**
+	 * A constructor used to define the writer this sink belongs to and the maximum size of a segment.
+	 *
+	 * @param writer Writer index
+	 * @param maxSize Maximum size of a segment in bytes
+	 * @since 1.3
+	 */
+	public SegmentSink(int writer, long maxSize)
+	{
+		this.writer  = writer;
+		this.maxSize = Math.max(1024, maxSize);
+	}
+	
+	/**
+	 * A method used to load the dictionary shared by our segments, a segment is started once the first
+	 * batch is written.
+	 *
+	 * @throws IOException Thrown if the dictionary could not be read
+	 * @since 1.3
+	 */
+	@Override
+	public void open() throws IOException { dictionary = Dictionary.of(getDirectory()); }
+	
+	/**
+	 * A method used to append a batch of records to the active segment using a single write. If the write
+	 * fails, the part of the batch that was written is cut off again, so a batch that is written again is
+	 * never stored twice.
+	 *
+	 * @param sequence Sequence number of the batch
+	 * @param batch Target batch
+	 * @throws IOException Thrown if the batch could not be written
+	 * @since 1.3
+	 */
+	@Override
+	public void write(long sequence, @NotNull List<LogRecord> batch) throws IOException
+	{
+		if (batch.isEmpty()) {
+			return;
+		}
+		
+		if (dictionary == null) {
+			open();
+		}
+		
+		if (channel == null || channel.size() >= maxSize) {
+			rotate(batch.get(0).getTimestamp());
+		}
+		
+		buffer.reset();
+		long position = channel.size();
+		
+		try {
+			for (LogRecord record : batch) {
+				encode(record, position);
+			}
+			output.flush();
+			dictionary.flush();
+			
+			ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+			
+			while (bytes.hasRemaining()) {
+				channel.write(bytes);
+			}
+		}
+		catch (IOException ex) {
+			try {
+				channel.truncate(position);
+			}
+			catch (IOException ignored) {}
+			
+			// RECORDS ARE DELTA ENCODED, THE NEXT BATCH MUST START A NEW SEGMENT
+			index = null;
+			close();
+			throw ex;
+		}
+	}
+	
+	/**
+	 * A method used to close the active segment and store its index.
+	 *
+	 * @since 1.3
+	 */
+	@Override
+	public void close()
+	{
+		try {
+			if (channel != null) {
+				channel.close();
+			}
+			
+			if (index != null && segment != null) {
+				index.save(segment);
+			}
+		}
+		catch (IOException ex) {
+			plugin.getReport().create(ex);
+		}
+		finally {
+			if (segment != null) {
+				active.remove(segment.getAbsoluteFile());
+			}
+		}
+		channel = null;
+		segment = null;
+		index   = null;
+	}
+	
+	/**
+	 * A method used to return the directory our segments are stored in.
+	 *
+	 * @return Segment directory
+	 * @since 1.3
+	 */
+	public static @NotNull File getDirectory() { return Util.toFile(PlayerLogs.getInstance().getModuleManager().getLogDirectory(), "segments"); }
+	
+	/**
+	 * A method used to determine whether a segment is still being written to.
+	 *
+	 * @param segment Target segment
+	 * @return Whether the segment is active
+	 * @since 1.3
+	 */
+	public static boolean isActive(@NotNull File segment) { return active.contains(segment.getAbsoluteFile()); }
+	
+	/**
+	 * A method used to close the active segment and start a new one.
+	 *
+	 * @param timestamp Timestamp of the first record in the new segment
+	 * @throws IOException Thrown if the segment could not be created
+	 * @since 1.3
+	 */
+	private void rotate(long timestamp) throws IOException
+	{
+		close();
+		
+		File directory = getDirectory();
+		
+		if (!directory.exists() && !directory.mkdirs()) {
+			throw new IOException("Failed to create directory for: " + directory.getName());
+		}
+		
+		File target = new File(directory, timestamp + "-" + writer + EXTENSION);
+		channel = FileChannel.open(target.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		
+		if (channel.size() == 0) {
+			segment = target;
+			index   = new SegmentIndex();
+			active.add(target.getAbsoluteFile());
+			
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			header.putInt(MAGIC).putInt(VERSION).putLong(timestamp).flip();
+			
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+			previousTimestamp = timestamp;
+			previousDate      = null;
+		}
+		else {
+			close();
+			rotate(timestamp + 1);
+		}
+	}
+	
+	/**
+	 * A method used to encode a single record into our buffer.
+	 *
+	 * @param record Target record
+	 * @param position Position of our buffer inside the active segment
+	 * @throws IOException Thrown if the record could not be encoded
+	 * @since 1.3
+	 */
+	private void encode(@NotNull LogRecord record, long position) throws IOException
+	{
+		long offset = position + buffer.size();
+		int module  = dictionary.getId(Dictionary.Type.MODULE, record.getModule());
+		int player  = dictionary.getId(Dictionary.Type.PLAYER, record.getPlayer() != null ? record.getPlayer().toString() : null);
+		
+		int flags = 0;
+		
+		if (record.getDate().equals(previousDate)) {
+			flags |= FLAG_SAME_DATE;
+		}
+		if (record.hasLocation()) {
+			flags |= FLAG_LOCATION;
+		}
+		if (record.getMaterial() != null) {
+			flags |= FLAG_MATERIAL;
+		}
+		
+		VarInt.writeSignedLong(output, record.getTimestamp() - previousTimestamp);
+		VarInt.writeInt(output, module);
+		VarInt.writeInt(output, player);
+		VarInt.writeInt(output, dictionary.getId(Dictionary.Type.NAME, record.getName()));
+		output.writeByte(flags);
+		
+		if ((flags & FLAG_SAME_DATE) == 0) {
+			output.writeUTF(record.getDate());
+		}
+		
+		if ((flags & FLAG_LOCATION) != 0) {
+			VarInt.writeInt(output, dictionary.getId(Dictionary.Type.WORLD, record.getWorld()));
+			VarInt.writeSignedInt(output, record.getX());
+			VarInt.writeSignedInt(output, record.getY());
+			VarInt.writeSignedInt(output, record.getZ());
+		}
+		
+		if ((flags & FLAG_MATERIAL) != 0) {
+			VarInt.writeInt(output, dictionary.getId(Dictionary.Type.MATERIAL, record.getMaterial()));
+		}
+		
+		byte[] message = api.stripColor(record.getMessage()).getBytes(StandardCharsets.UTF_8);
+		VarInt.writeInt(output, message.length);
+		output.write(message);
+		
+		if (index != null) {
+			index.add(offset, position + buffer.size(), previousTimestamp, previousDate, record.getTimestamp(), record.getDate(), module, player);
+		}
+		previousTimestamp = record.getTimestamp();
+		previousDate      = record.getDate();
+	}
+}
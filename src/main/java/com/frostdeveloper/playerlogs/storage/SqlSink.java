@@ -0,0 +1,247 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import com.frostdeveloper.api.FrostAPI;
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.model.LogQuery;
+import com.frostdeveloper.playerlogs.model.LogRecord;
+import com.frostdeveloper.playerlogs.util.Util;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A sink used to store our records inside an embedded SQLite database. SQLite does not require a server
+ * and its driver is bundled with every Spigot server, every batch is written in a single transaction
+ * using one prepared statement.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class SqlSink implements LogSink
+{
+	// CLASS INSTANCES
+	private final PlayerLogs plugin = PlayerLogs.getInstance();
+	private final FrostAPI api      = plugin.getFrostAPI();
+	
+	// CLASS SPECIFIC OBJECTS
+	private static final String INSERT = "INSERT INTO records (timestamp, date, module, player, name, message) VALUES (?, ?, ?, ?, ?, ?)";
+	private Connection connection;
+	private PreparedStatement insert;
+	
+	/**
+	 * A method used to open our database and create its tables if they do not exist yet.
+	 *
+	 * @throws IOException Thrown if the database could not be opened
+	 * @since 1.3
+	 */
+	@Override
+	public void open() throws IOException
+	{
+		try {
+			connection = connect();
+			connection.setAutoCommit(false);
+			insert = connection.prepareStatement(INSERT);
+		}
+		catch (SQLException ex) {
+			close();
+			throw new IOException(ex);
+		}
+	}
+	
+	/**
+	 * A method used to insert a batch of records inside a single transaction, a batch that failed is rolled
+	 * back as a whole, so it can simply be inserted again.
+	 *
+	 * @param sequence Sequence number of the batch
+	 * @param batch Target batch
+	 * @throws IOException Thrown if the batch could not be inserted
+	 * @since 1.3
+	 */
+	@Override
+	public void write(long sequence, @NotNull List<LogRecord> batch) throws IOException
+	{
+		if (connection == null) {
+			open();
+		}
+		
+		try {
+			for (LogRecord record : batch) {
+				insert.setLong(1, record.getTimestamp());
+				insert.setString(2, record.getDate());
+				insert.setString(3, record.getModule());
+				
+				if (record.getPlayer() != null) {
+					insert.setString(4, record.getPlayer().toString());
+				}
+				else {
+					insert.setNull(4, Types.VARCHAR);
+				}
+				insert.setString(5, record.getName());
+				insert.setString(6, api.stripColor(record.getMessage()));
+				insert.addBatch();
+			}
+			insert.executeBatch();
+			connection.commit();
+		}
+		catch (SQLException ex) {
+			rollback();
+			throw new IOException(ex);
+		}
+	}
+	
+	/**
+	 * A method used to close our database connection.
+	 *
+	 * @since 1.3
+	 */
+	@Override
+	public void close()
+	{
+		try {
+			if (insert != null) {
+				insert.close();
+			}
+			if (connection != null) {
+				connection.close();
+			}
+		}
+		catch (SQLException ex) {
+			plugin.getReport().create(ex);
+		}
+		insert     = null;
+		connection = null;
+	}
+	
+	/**
+	 * A method used to return a single page of records that match a query, newest first. Each filter is
+	 * served by one of our indexes, so only matching rows are read.
+	 *
+	 * @param query Target query
+	 * @param offset Amount of matching records to skip
+	 * @param limit Maximum amount of records to return
+	 * @return Matching records
+	 * @throws IOException Thrown if the database could not be read
+	 * @since 1.3
+	 */
+	public static @NotNull List<LogRecord> search(@NotNull LogQuery query, int offset, int limit) throws IOException
+	{
+		List<LogRecord> results = new ArrayList<>();
+		
+		if (!getDatabase().exists()) {
+			return results;
+		}
+		
+		StringBuilder sql = new StringBuilder("SELECT timestamp, date, module, player, name, message FROM records WHERE timestamp >= ? AND timestamp <= ?");
+		
+		if (query.getModule() != null) {
+			sql.append(" AND module = ?");
+		}
+		
+		if (query.getPlayer() != null) {
+			sql.append(" AND player = ?");
+		}
+		
+		for (int i = 0; i < query.getTerms().size(); i++) {
+			sql.append(" AND message LIKE ? ESCAPE '!'");
+		}
+		sql.append(" ORDER BY timestamp DESC LIMIT ? OFFSET ?");
+		
+		try (Connection connection = connect(); PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+			int index = 1;
+			statement.setLong(index++, query.getSince());
+			statement.setLong(index++, query.getUntil());
+			
+			if (query.getModule() != null) {
+				statement.setString(index++, query.getModule());
+			}
+			
+			if (query.getPlayer() != null) {
+				statement.setString(index++, query.getPlayer().toString());
+			}
+			
+			for (String term : query.getTerms()) {
+				statement.setString(index++, '%' + term.replace("!", "!!").replace("%", "!%").replace("_", "!_") + '%');
+			}
+			statement.setInt(index++, limit);
+			statement.setInt(index, offset);
+			
+			try (ResultSet result = statement.executeQuery()) {
+				while (result.next()) {
+					String player = result.getString(4);
+					UUID uuid     = player != null ? UUID.fromString(player) : null;
+					
+					results.add(new LogRecord(result.getLong(1), result.getString(2), result.getString(3), uuid, result.getString(5), result.getString(6), false));
+				}
+			}
+		}
+		catch (SQLException ex) {
+			throw new IOException(ex);
+		}
+		return results;
+	}
+	
+	/**
+	 * A method used to open a new connection to our database, the schema is created if needed. Our database
+	 * uses write-ahead logging so that multiple writers and readers do not block each other.
+	 *
+	 * @return A new connection
+	 * @throws SQLException Thrown if the database could not be opened
+	 * @since 1.3
+	 */
+	public static @NotNull Connection connect() throws SQLException
+	{
+		File database = getDatabase();
+		
+		if (!database.getParentFile().exists() && !database.getParentFile().mkdirs()) {
+			throw new SQLException("Failed to create directory for: " + database.getName());
+		}
+		
+		Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database.getAbsolutePath());
+		
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("PRAGMA journal_mode=WAL");
+			statement.execute("PRAGMA synchronous=NORMAL");
+			statement.execute("PRAGMA busy_timeout=5000");
+			statement.execute("CREATE TABLE IF NOT EXISTS records (id INTEGER PRIMARY KEY AUTOINCREMENT, timestamp INTEGER NOT NULL, date TEXT NOT NULL, module TEXT NOT NULL, player TEXT, name TEXT, message TEXT NOT NULL)");
+			statement.execute("CREATE INDEX IF NOT EXISTS records_timestamp ON records (timestamp)");
+			statement.execute("CREATE INDEX IF NOT EXISTS records_player ON records (player, timestamp)");
+			statement.execute("CREATE INDEX IF NOT EXISTS records_module ON records (module, timestamp)");
+		}
+		return connection;
+	}
+	
+	/**
+	 * A method used to return the file of our database.
+	 *
+	 * @return Database file
+	 * @since 1.3
+	 */
+	public static @NotNull File getDatabase() { return Util.toFile(PlayerLogs.getInstance().getModuleManager().getLogDirectory(), "playerlogs.db"); }
+	
+	/**
+	 * A method used to roll back a failed transaction.
+	 *
+	 * @since 1.3
+	 */
+	private void rollback()
+	{
+		try {
+			insert.clearBatch();
+			connection.rollback();
+		}
+		catch (SQLException ex) {
+			plugin.getReport().create(ex);
+		}
+	}
+}
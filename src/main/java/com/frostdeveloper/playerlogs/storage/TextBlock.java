@@ -0,0 +1,281 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A class used to collect the lines a batch writes to a single text file. Next to the lines themselves, we
+ * keep the timestamp, player and module of every line and its position inside the block once encoded, this
+ * allows our {@link TimeIndex} to point at the exact line a time range starts at and our {@link PostingIndex}
+ * to find the lines of a player or module.
+ * <p>
+ * Lines are encoded as UTF-8 straight into a direct buffer while they are appended, their color codes are
+ * stripped on the way. A block can be cleared and used again, so its buffers are kept across batches
+ * instead of being allocated again for every batch.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class TextBlock
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final byte[] SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+	private static final int INITIAL_CAPACITY = 4096;
+	private static final int MAXIMUM_CAPACITY = 1 << 20;
+	private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_CAPACITY);
+	private long[] timestamps = new long[16];
+	private long[] offsets = new long[16];
+	private int[] players = new int[16];
+	private int[] modules = new int[16];
+	private String lastDate;
+	private byte[] lastDateBytes;
+	private int count;
+	
+	/**
+	 * A method used to append a line to this block, such as {@code [date]: message}. Since most lines of a
+	 * batch share their date, the date is only encoded again once it changed.
+	 *
+	 * @param timestamp Timestamp of the line
+	 * @param date Date of the line, as it appears in our text logs
+	 * @param message Message of the line, its color codes are stripped
+	 * @since 1.3
+	 */
+	public void append(long timestamp, @NotNull String date, @NotNull String message) { append(timestamp, date, message, 0, 0); }
+	
+	/**
+	 * A method used to append a line to this block together with the dictionary ids of its player and
+	 * module, they are only used by logs that keep a {@link PostingIndex}.
+	 *
+	 * @param timestamp Timestamp of the line
+	 * @param date Date of the line, as it appears in our text logs
+	 * @param message Message of the line, its color codes are stripped
+	 * @param player Dictionary id of the player, zero if the line has no player
+	 * @param module Dictionary id of the module
+	 * @since 1.3
+	 */
+	public void append(long timestamp, @NotNull String date, @NotNull String message, int player, int module)
+	{
+		if (count == timestamps.length) {
+			timestamps = Arrays.copyOf(timestamps, count * 2);
+			offsets    = Arrays.copyOf(offsets, count * 2);
+			players    = Arrays.copyOf(players, count * 2);
+			modules    = Arrays.copyOf(modules, count * 2);
+		}
+		
+		if (!date.equals(lastDate)) {
+			lastDate      = date;
+			lastDateBytes = date.getBytes(StandardCharsets.UTF_8);
+		}
+		
+		// A CHARACTER TAKES UP AT MOST THREE BYTES, A SURROGATE PAIR TAKES UP FOUR BYTES FOR TWO CHARACTERS
+		ensureCapacity(lastDateBytes.length + message.length() * 3 + SEPARATOR.length + 4);
+		
+		timestamps[count] = timestamp;
+		offsets[count]    = buffer.position();
+		players[count]    = player;
+		modules[count]    = module;
+		count++;
+		
+		buffer.put((byte) '[').put(lastDateBytes).put((byte) ']').put((byte) ':').put((byte) ' ');
+		encode(message);
+		buffer.put(SEPARATOR);
+	}
+	
+	/**
+	 * A method used to remove every line of this block so it can be used again. A buffer that grew beyond a
+	 * single mebibyte is released, so a single large batch does not keep its memory forever.
+	 *
+	 * @since 1.3
+	 */
+	public void clear()
+	{
+		if (buffer.capacity() > MAXIMUM_CAPACITY) {
+			buffer = ByteBuffer.allocateDirect(INITIAL_CAPACITY);
+		}
+		buffer.clear();
+		count = 0;
+	}
+	
+	/**
+	 * A method used to return the encoded lines of this block, the returned buffer shares its content with
+	 * this block and is only valid until this block is next changed.
+	 *
+	 * @return Encoded lines
+	 * @since 1.3
+	 */
+	public @NotNull ByteBuffer toBuffer()
+	{
+		ByteBuffer view = buffer.duplicate();
+		view.flip();
+		return view;
+	}
+	
+	/**
+	 * A method used to return the length of this block once encoded.
+	 *
+	 * @return Length in bytes
+	 * @since 1.3
+	 */
+	public long getLength()             { return buffer.position();     }
+	
+	/**
+	 * A method used to return the amount of lines in this block.
+	 *
+	 * @return Amount of lines
+	 * @since 1.3
+	 */
+	public int size()                   { return count;                 }
+	
+	/**
+	 * A method used to determine whether this block holds any line.
+	 *
+	 * @return Whether this block is empty
+	 * @since 1.3
+	 */
+	public boolean isEmpty()            { return count == 0;            }
+	
+	/**
+	 * A method used to return the timestamp of a line.
+	 *
+	 * @param index Line index
+	 * @return Timestamp of the line
+	 * @since 1.3
+	 */
+	public long getTimestamp(int index) { return timestamps[index];     }
+	
+	/**
+	 * A method used to return the position of a line inside this block once encoded.
+	 *
+	 * @param index Line index
+	 * @return Position in bytes
+	 * @since 1.3
+	 */
+	public long getOffset(int index)    { return offsets[index];        }
+	
+	/**
+	 * A method used to return the length of a line once encoded, including its line separator.
+	 *
+	 * @param index Line index
+	 * @return Length in bytes
+	 * @since 1.3
+	 */
+	public int getLength(int index)
+	{
+		long end = index + 1 < count ? offsets[index + 1] : buffer.position();
+		return (int) (end - offsets[index]);
+	}
+	
+	/**
+	 * A method used to return the dictionary id of the player of a line.
+	 *
+	 * @param index Line index
+	 * @return Player id, zero if unknown
+	 * @since 1.3
+	 */
+	public int getPlayer(int index)     { return players[index];        }
+	
+	/**
+	 * A method used to return the dictionary id of the module of a line.
+	 *
+	 * @param index Line index
+	 * @return Module id, zero if unknown
+	 * @since 1.3
+	 */
+	public int getModule(int index)     { return modules[index];        }
+	
+	/**
+	 * A method used to return the timestamp of the first line.
+	 *
+	 * @return Timestamp of the first line
+	 * @since 1.3
+	 */
+	public long getFirst()              { return timestamps[0];         }
+	
+	/**
+	 * A method used to return the timestamp of the last line.
+	 *
+	 * @return Timestamp of the last line
+	 * @since 1.3
+	 */
+	public long getLast()               { return timestamps[count - 1]; }
+	
+	/**
+	 * A method used to make sure our buffer has room for a number of bytes, if it does not, it is replaced by
+	 * a buffer at least twice its size.
+	 *
+	 * @param required Amount of bytes that are about to be written
+	 * @since 1.3
+	 */
+	private void ensureCapacity(int required)
+	{
+		if (buffer.remaining() >= required) {
+			return;
+		}
+		ByteBuffer grown = ByteBuffer.allocateDirect(Math.max(buffer.capacity() * 2, buffer.position() + required));
+		
+		buffer.flip();
+		grown.put(buffer);
+		buffer = grown;
+	}
+	
+	/**
+	 * A method used to encode a message as UTF-8 into our buffer. Every color code, either written using a
+	 * section sign or an ampersand, is skipped, just like our messages are translated before their colors
+	 * are stripped. An unpaired surrogate is replaced by a question mark.
+	 *
+	 * @param message Target message
+	 * @since 1.3
+	 */
+	private void encode(@NotNull String message)
+	{
+		int length = message.length();
+		
+		for (int i = 0; i < length; i++) {
+			char current = message.charAt(i);
+			
+			if ((current == '§' || current == '&') && i + 1 < length && isColorCode(message.charAt(i + 1))) {
+				i++;
+			}
+			else if (current < 0x80) {
+				buffer.put((byte) current);
+			}
+			else if (current < 0x800) {
+				buffer.put((byte) (0xC0 | current >> 6));
+				buffer.put((byte) (0x80 | current & 0x3F));
+			}
+			else if (Character.isHighSurrogate(current) && i + 1 < length && Character.isLowSurrogate(message.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(current, message.charAt(++i));
+				
+				buffer.put((byte) (0xF0 | codePoint >> 18));
+				buffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+				buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+				buffer.put((byte) (0x80 | codePoint & 0x3F));
+			}
+			else if (Character.isSurrogate(current)) {
+				buffer.put((byte) '?');
+			}
+			else {
+				buffer.put((byte) (0xE0 | current >> 12));
+				buffer.put((byte) (0x80 | current >> 6 & 0x3F));
+				buffer.put((byte) (0x80 | current & 0x3F));
+			}
+		}
+	}
+	
+	/**
+	 * A method used to determine whether a character follows a color code prefix, such as the {@code a} of
+	 * {@code &a}. Both lower and upper case codes are accepted.
+	 *
+	 * @param code Target character
+	 * @return Whether the character is a color code
+	 * @since 1.3
+	 */
+	private static boolean isColorCode(char code)
+	{
+		char lower = Character.toLowerCase(code);
+		return (lower >= '0' && lower <= '9') || (lower >= 'a' && lower <= 'f') || (lower >= 'k' && lower <= 'o') || lower == 'r' || lower == 'x';
+	}
+}
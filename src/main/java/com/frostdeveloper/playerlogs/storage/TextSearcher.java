@@ -0,0 +1,478 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.model.LogQuery;
+import com.frostdeveloper.playerlogs.model.LogRecord;
+import com.frostdeveloper.playerlogs.util.Util;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * A class used to search our text storage. Every record is written to our global log, so only the global log
+ * and its archives are read. Archives are pruned by the time range in their name, the active log is narrowed
+ * down to the range its {@link TimeIndex} returns. Within a log, a search for a player or module walks the
+ * posting list of that player or module in its {@link PostingIndex}, so only their own lines are read and
+ * parsed. An archive whose {@link ArchiveIndex} holds no line of them is not opened at all. Compressed
+ * archives are read by block, so only the blocks that hold a matching line are decompressed. Results are
+ * returned newest first.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public final class TextSearcher
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final int WINDOW_SIZE = 64 * 1024;
+	
+	/**
+	 * A class used to collect a single page of results, matches that belong to an earlier page are skipped.
+	 *
+	 * @since 1.3
+	 */
+	private static class Page
+	{
+		private final List<LogRecord> results = new ArrayList<>();
+		private final int offset;
+		private final int limit;
+		private int skipped;
+		
+		/**
+		 * A constructor used to define which matches belong to this page.
+		 *
+		 * @param offset Amount of matching records to skip
+		 * @param limit Maximum amount of records to return
+		 * @since 1.3
+		 */
+		private Page(int offset, int limit)
+		{
+			this.offset = offset;
+			this.limit  = limit;
+		}
+		
+		/**
+		 * A method used to add the next match, from newest to oldest.
+		 *
+		 * @param record Matching record
+		 * @return Whether this page is complete
+		 * @since 1.3
+		 */
+		private boolean add(@NotNull LogRecord record)
+		{
+			if (skipped < offset) {
+				skipped++;
+				return false;
+			}
+			results.add(record);
+			return isComplete();
+		}
+		
+		/**
+		 * A method used to determine whether this page is complete.
+		 *
+		 * @return Whether this page is complete
+		 * @since 1.3
+		 */
+		private boolean isComplete()   { return results.size() >= limit; }
+	}
+	
+	/**
+	 * A class used to read the lines of a log by their position. Lines are read through a window of the log,
+	 * which is kept while the lines before it are read. A compressed archive is read by its blocks, a window
+	 * then holds the blocks a line is part of.
+	 *
+	 * @since 1.3
+	 */
+	private static class Source implements Closeable
+	{
+		private final FileChannel channel;
+		private final long[] blocks;
+		private ByteBuffer window = ByteBuffer.allocate(WINDOW_SIZE);
+		private long windowStart;
+		
+		/**
+		 * A constructor used to open a log for reading.
+		 *
+		 * @param log Target log
+		 * @param blocks Position of every compressed block, empty if the log is not compressed
+		 * @throws IOException Thrown if the log could not be opened
+		 * @since 1.3
+		 */
+		private Source(@NotNull File log, long @NotNull [] blocks) throws IOException
+		{
+			this.channel = FileChannel.open(log.toPath(), StandardOpenOption.READ);
+			this.blocks  = blocks;
+			
+			window.limit(0);
+		}
+		
+		/**
+		 * A method used to read a single line.
+		 *
+		 * @param position Position of the line inside the uncompressed log
+		 * @param length Length of the line in bytes
+		 * @return The line, or null if the log ends before it
+		 * @throws IOException Thrown if the log could not be read
+		 * @since 1.3
+		 */
+		private @Nullable String read(long position, int length) throws IOException
+		{
+			if (position < windowStart || position + length > windowStart + window.limit()) {
+				if (blocks.length > 0) {
+					inflate(position, length);
+				}
+				else {
+					load(position, length);
+				}
+				
+				// A LINE PAST THE END OF THE LOG BELONGS TO A LOG THAT WAS ROTATED WHILE WE WERE SEARCHING
+				if (position < windowStart || position + length > windowStart + window.limit()) {
+					window.limit(0);
+					return null;
+				}
+			}
+			return new String(window.array(), (int) (position - windowStart), length, StandardCharsets.UTF_8);
+		}
+		
+		/**
+		 * A method used to load the window that ends at a line, the lines before it are most likely read next.
+		 *
+		 * @param position Position of the line
+		 * @param length Length of the line in bytes
+		 * @throws IOException Thrown if the log could not be read
+		 * @since 1.3
+		 */
+		private void load(long position, int length) throws IOException
+		{
+			window      = length > window.capacity() ? ByteBuffer.allocate(length) : window;
+			windowStart = Math.max(0, position + length - window.capacity());
+			window.clear();
+			
+			while (window.hasRemaining() && channel.read(window, windowStart + window.position()) > 0) {
+				// KEEP READING UNTIL THE WINDOW IS FULL OR THE LOG ENDS
+			}
+			window.flip();
+		}
+		
+		/**
+		 * A method used to decompress the blocks a line is part of into our window.
+		 *
+		 * @param position Position of the line
+		 * @param length Length of the line in bytes
+		 * @throws IOException Thrown if the log could not be read
+		 * @since 1.3
+		 */
+		private void inflate(long position, int length) throws IOException
+		{
+			long first = position / ArchiveIndex.BLOCK_SIZE;
+			long last  = Math.min(blocks.length - 1, (position + length - 1) / ArchiveIndex.BLOCK_SIZE);
+			
+			window.clear().limit(0);
+			
+			if (first >= blocks.length) {
+				return;
+			}
+			int size    = (int) (last - first + 1) * ArchiveIndex.BLOCK_SIZE;
+			window      = size > window.capacity() ? ByteBuffer.allocate(size) : window;
+			windowStart = first * ArchiveIndex.BLOCK_SIZE;
+			window.clear();
+			channel.position(blocks[(int) first]);
+			
+			// EVERY BLOCK IS A GZIP MEMBER OF ITS OWN, CLOSING OUR STREAM MUST NOT CLOSE OUR LOG
+			try (InputStream input = new GZIPInputStream(new FilterInputStream(Channels.newInputStream(channel)) {
+				@Override
+				public void close() {}
+			}, 8192)) {
+				int read;
+				
+				while (window.position() < size && (read = input.read(window.array(), window.position(), size - window.position())) != -1) {
+					window.position(window.position() + read);
+				}
+			}
+			window.flip();
+		}
+		
+		/**
+		 * A method used to close the log.
+		 *
+		 * @throws IOException Thrown if the log could not be closed
+		 * @since 1.3
+		 */
+		@Override
+		public void close() throws IOException { channel.close(); }
+	}
+	
+	/**
+	 * A constructor used to prevent this utility class from being created.
+	 *
+	 * @since 1.3
+	 */
+	private TextSearcher() {}
+	
+	/**
+	 * A method used to return a single page of records that match a query.
+	 *
+	 * @param query Target query
+	 * @param offset Amount of matching records to skip
+	 * @param limit Maximum amount of records to return
+	 * @return Matching records
+	 * @throws IOException Thrown if a log could not be read
+	 * @since 1.3
+	 */
+	public static @NotNull List<LogRecord> search(@NotNull LogQuery query, int offset, int limit) throws IOException
+	{
+		File directory = PlayerLogs.getInstance().getModuleManager().getLogDirectory();
+		Page page      = new Page(offset, limit);
+		
+		// AN UNKNOWN PLAYER OR MODULE HAS NO RECORDS
+		Dictionary dictionary = Dictionary.of(directory);
+		int module = dictionary.findId(Dictionary.Type.MODULE, query.getModule());
+		int player = dictionary.findId(Dictionary.Type.PLAYER, query.getPlayer() != null ? query.getPlayer().toString() : null);
+		
+		if ((query.getModule() != null && module == 0) || (query.getPlayer() != null && player == 0)) {
+			return page.results;
+		}
+		
+		File active = Util.toFile(directory, "global.log");
+		
+		if (active.exists() && searchActive(active, query, dictionary, module, player, page)) {
+			return page.results;
+		}
+		
+		for (File archive : getArchives(Util.toFile(directory, "archive"), query)) {
+			if (searchArchive(archive, query, dictionary, module, player, page)) {
+				break;
+			}
+		}
+		return page.results;
+	}
+	
+	/**
+	 * A method used to search the active log, from the end of the range its time index returned. The newest
+	 * line of our player or module is kept in memory by the writer of the log.
+	 *
+	 * @param log Active log
+	 * @param query Target query
+	 * @param dictionary Dictionary our postings refer to
+	 * @param module Module id, zero if any module matches
+	 * @param player Player id, zero if any player matches
+	 * @param page Page our matches are added to
+	 * @return Whether the page is complete
+	 * @throws IOException Thrown if the log could not be read
+	 * @since 1.3
+	 */
+	private static boolean searchActive(@NotNull File log, @NotNull LogQuery query, @NotNull Dictionary dictionary, int module, int player, @NotNull Page page) throws IOException
+	{
+		RotatingLog global = PlayerLogs.getInstance().getLogService().getGlobalLog();
+		long start         = player != 0 ? global.getLast(Dictionary.Type.PLAYER, player) : module != 0 ? global.getLast(Dictionary.Type.MODULE, module) : Long.MAX_VALUE;
+		long[] range       = TimeIndex.find(log, query.getSince(), query.getUntil());
+		
+		if (start < 0) {
+			return false;
+		}
+		
+		try (PostingIndex.Reader postings = PostingIndex.open(log); Source source = new Source(log, new long[0])) {
+			long first = postings.search(range[0]);
+			long last  = postings.search(range[1]);
+			
+			// OUR LOG WAS ROTATED SINCE WE READ ITS NEWEST LINE, THAT LINE IS PART OF AN ARCHIVE NOW
+			if (start != Long.MAX_VALUE && start >= postings.size()) {
+				return false;
+			}
+			return search(postings, source, start == Long.MAX_VALUE ? last - 1 : start, first, last, query, dictionary, module, player, page);
+		}
+	}
+	
+	/**
+	 * A method used to search an archive, from its newest line. An archive whose index holds no line of our
+	 * player or module is not opened, an archive without an index predates our postings and can not be
+	 * searched.
+	 *
+	 * @param archive Target archive
+	 * @param query Target query
+	 * @param dictionary Dictionary our postings refer to
+	 * @param module Module id, zero if any module matches
+	 * @param player Player id, zero if any player matches
+	 * @param page Page our matches are added to
+	 * @return Whether the page is complete
+	 * @throws IOException Thrown if the archive could not be read
+	 * @since 1.3
+	 */
+	private static boolean searchArchive(@NotNull File archive, @NotNull LogQuery query, @NotNull Dictionary dictionary, int module, int player, @NotNull Page page) throws IOException
+	{
+		// AN ARCHIVE THAT WAS COMPRESSED WHILE WE WERE SEARCHING IS READ IN ITS COMPRESSED FORM
+		if (!archive.exists()) {
+			archive = new File(archive.getPath() + ".gz");
+		}
+		ArchiveIndex index = ArchiveIndex.load(archive);
+		
+		if (index == null) {
+			return false;
+		}
+		long start         = player != 0 ? index.getLast(Dictionary.Type.PLAYER, player) : module != 0 ? index.getLast(Dictionary.Type.MODULE, module) : Long.MAX_VALUE;
+		boolean compressed = archive.getName().endsWith(".gz");
+		
+		if (start < 0 || (compressed && index.getBlocks().length == 0)) {
+			return false;
+		}
+		
+		try (PostingIndex.Reader postings = PostingIndex.open(archive); Source source = new Source(archive, compressed ? index.getBlocks() : new long[0])) {
+			if (start != Long.MAX_VALUE && start >= postings.size()) {
+				return false;
+			}
+			return search(postings, source, start == Long.MAX_VALUE ? postings.size() - 1 : start, 0, postings.size(), query, dictionary, module, player, page);
+		}
+	}
+	
+	/**
+	 * A method used to walk the postings of a log backwards, from a starting entry. A search for a player or
+	 * module follows the posting list of that player or module, any other search walks every entry.
+	 *
+	 * @param postings Postings of the log
+	 * @param source Lines of the log
+	 * @param start Entry to start at
+	 * @param first First entry that may match
+	 * @param last Entry after the last entry that may match
+	 * @param query Target query
+	 * @param dictionary Dictionary our postings refer to
+	 * @param module Module id, zero if any module matches
+	 * @param player Player id, zero if any player matches
+	 * @param page Page our matches are added to
+	 * @return Whether the page is complete
+	 * @throws IOException Thrown if the log could not be read
+	 * @since 1.3
+	 */
+	private static boolean search(@NotNull PostingIndex.Reader postings, @NotNull Source source, long start, long first, long last, @NotNull LogQuery query, @NotNull Dictionary dictionary, int module, int player, @NotNull Page page) throws IOException
+	{
+		long next = start;
+		
+		while (next >= first) {
+			long current = next;
+			postings.seek(current);
+			
+			// A DAMAGED INDEX CAN NOT SEND US IN CIRCLES, EVERY STEP MOVES TO AN OLDER ENTRY
+			next = Math.min(current - 1, player != 0 ? postings.getPreviousPlayer() : module != 0 ? postings.getPreviousModule() : current - 1);
+			
+			if (current >= last || !accepts(postings, query, module, player)) {
+				continue;
+			}
+			String line = source.read(postings.getOffset(), postings.getLength());
+			
+			if (line == null) {
+				continue;
+			}
+			LogRecord record = toRecord(line, postings, dictionary);
+			
+			if (query.matches(record) && page.add(record)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * A method used to return the archives of our global log that may hold lines within the time range of a
+	 * query, newest archive first. An archive that is still waiting to be compressed is read as it is.
+	 *
+	 * @param directory Archive directory
+	 * @param query Target query
+	 * @return Matching archives
+	 * @since 1.3
+	 */
+	private static @NotNull List<File> getArchives(@NotNull File directory, @NotNull LogQuery query)
+	{
+		File[] files = directory.listFiles((dir, name) -> {
+			File file = new File(dir, name);
+			
+			if (!name.startsWith("global_") || !(name.endsWith(RotatingLog.EXTENSION) || (name.endsWith(".log") && !new File(dir, name + ".gz").exists()))) {
+				return false;
+			}
+			long[] range = RotatingLog.getRange(file);
+			return range != null && range[0] <= query.getUntil() && range[1] >= query.getSince();
+		});
+		
+		if (files == null) {
+			return new ArrayList<>();
+		}
+		
+		Arrays.sort(files, Comparator.comparingLong((File file) -> RotatingLog.getRange(file)[1]).reversed());
+		return Arrays.asList(files);
+	}
+	
+	/**
+	 * A method used to determine whether the current posting may match a query, before its line is read.
+	 *
+	 * @param postings Postings, positioned at the current line
+	 * @param query Target query
+	 * @param module Module id, zero if any module matches
+	 * @param player Player id, zero if any player matches
+	 * @return Whether the line should be read
+	 * @since 1.3
+	 */
+	private static boolean accepts(@NotNull PostingIndex.Reader postings, @NotNull LogQuery query, int module, int player)
+	{
+		if (postings.getTimestamp() < query.getSince() || postings.getTimestamp() > query.getUntil()) {
+			return false;
+		}
+		return (module == 0 || postings.getModule() == module) && (player == 0 || postings.getPlayer() == player);
+	}
+	
+	/**
+	 * A method used to turn a line of our global log back into a record, such as {@code [date]: message}.
+	 * The player and module of the line are taken from its posting.
+	 *
+	 * @param line Target line, including its line separator
+	 * @param postings Postings, positioned at the line
+	 * @param dictionary Dictionary our postings refer to
+	 * @return The parsed record
+	 * @since 1.3
+	 */
+	private static @NotNull LogRecord toRecord(@NotNull String line, @NotNull PostingIndex.Reader postings, @NotNull Dictionary dictionary)
+	{
+		int end = line.length();
+		
+		while (end > 0 && (line.charAt(end - 1) == '\n' || line.charAt(end - 1) == '\r')) {
+			end--;
+		}
+		
+		int separator  = line.indexOf("]: ");
+		String date    = line.startsWith("[") && separator > 0 && separator < end ? line.substring(1, separator) : "";
+		String message = date.isEmpty() ? line.substring(0, end) : line.substring(separator + 3, end);
+		String module  = dictionary.getValue(Dictionary.Type.MODULE, postings.getModule());
+		
+		return new LogRecord(postings.getTimestamp(), date, module != null ? module : "", toUniqueId(dictionary.getValue(Dictionary.Type.PLAYER, postings.getPlayer())), null, message, false);
+	}
+	
+	/**
+	 * A method used to return the unique id stored for a player id.
+	 *
+	 * @param value Stored value
+	 * @return Unique id, or null if the line has no player
+	 * @since 1.3
+	 */
+	private static @Nullable UUID toUniqueId(@Nullable String value)
+	{
+		try {
+			return value != null ? UUID.fromString(value) : null;
+		}
+		catch (IllegalArgumentException ex) {
+			return null;
+		}
+	}
+}
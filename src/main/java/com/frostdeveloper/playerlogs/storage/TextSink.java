@@ -0,0 +1,235 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import com.frostdeveloper.api.FrostAPI;
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.core.ChannelCache;
+import com.frostdeveloper.playerlogs.model.LogRecord;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A sink used to write our records as plain text lines. Every record is appended to the global log, modular
+ * records are additionally appended to the module file inside the player's own directory. The global log is
+ * shared by every writer and rotated by our {@link RotatingLog}, which keeps its {@link TimeIndex} and
+ * {@link PostingIndex}. Our global log lines are therefore appended together with the {@link Dictionary} ids
+ * of their player and module, this is what allows our {@link TextSearcher} to search them.
+ * <p>
+ * A sink is only used by its own writer thread, therefore it keeps the blocks of previous batches and
+ * encodes the lines of the next batch into them. A batch is written to every one of its files even if one
+ * of them fails, the files it was written to are remembered, so a batch that is written again only writes
+ * the files that failed.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class TextSink implements LogSink
+{
+	// CLASS INSTANCES
+	private final PlayerLogs plugin = PlayerLogs.getInstance();
+	private final FrostAPI api      = plugin.getFrostAPI();
+	
+	// CLASS SPECIFIC OBJECTS
+	private static final int MAX_POOLED_BLOCKS = 16;
+	private final TextBlock global             = new TextBlock();
+	private final Map<File, TextBlock> grouped = new LinkedHashMap<>();
+	private final Deque<TextBlock> pool        = new ArrayDeque<>();
+	private final Set<File> written            = new HashSet<>();
+	private final ChannelCache cache;
+	private Dictionary dictionary;
+	private long sequence = -1;
+	private boolean globalWritten;
+	
+	/**
+	 * A constructor used to define how many files this sink may keep open.
+	 *
+	 * @param limit Maximum amount of open files
+	 * @since 1.3
+	 */
+	public TextSink(int limit) { this.cache = new ChannelCache(limit); }
+	
+	/**
+	 * A method used to load the dictionary our global log is indexed with, text files are opened once they
+	 * are first written to.
+	 *
+	 * @throws IOException Thrown if the dictionary could not be read
+	 * @since 1.3
+	 */
+	@Override
+	public void open() throws IOException { dictionary = Dictionary.of(plugin.getModuleManager().getLogDirectory()); }
+	
+	/**
+	 * A method used to write a batch of records. Records are grouped by their target file so that every
+	 * file receives all of its lines in a single write.
+	 *
+	 * @param sequence Sequence number of the batch
+	 * @param batch Target batch
+	 * @throws IOException Thrown if the batch could not be written to one of its files
+	 * @since 1.3
+	 */
+	@Override
+	public void write(long sequence, @NotNull List<LogRecord> batch) throws IOException
+	{
+		if (dictionary == null) {
+			open();
+		}
+		
+		// A NEW BATCH HAS NOT BEEN WRITTEN TO ANY FILE YET
+		if (sequence != this.sequence) {
+			this.sequence = sequence;
+			globalWritten = false;
+			written.clear();
+		}
+		IOException failure = null;
+		
+		try {
+			for (LogRecord record : batch) {
+				// DETAILED CHANGES ARE WRITTEN AS PART OF AN AGGREGATED LINE
+				if (record.isDetail()) {
+					continue;
+				}
+				int module = dictionary.getId(Dictionary.Type.MODULE, record.getModule());
+				int player = dictionary.getId(Dictionary.Type.PLAYER, record.getPlayer() != null ? record.getPlayer().toString() : null);
+				
+				global.append(record.getTimestamp(), record.getDate(), record.getMessage(), player, module);
+				
+				if (record.isModular()) {
+					File file       = plugin.getSessionCache().getModuleFile(record.getPlayer(), record.getName(), record.getModule());
+					TextBlock block = grouped.get(file);
+					
+					if (block == null) {
+						block = pool.isEmpty() ? new TextBlock() : pool.pop();
+						grouped.put(file, block);
+					}
+					append(block, record);
+				}
+			}
+			
+			// THE IDS OF OUR POSTINGS MUST BE STORED BEFORE THE LINES THEY POINT AT
+			dictionary.flush();
+			
+			// WRITE GLOBAL LOG, IT IS SHARED BY EVERY WRITER AND ROTATED BY OUR LOG SERVICE
+			if (!global.isEmpty() && !globalWritten) {
+				try {
+					plugin.getLogService().getGlobalLog().write(global);
+					globalWritten = true;
+				}
+				catch (IOException ex) {
+					failure = ex;
+				}
+			}
+			
+			for (Map.Entry<File, TextBlock> entry : grouped.entrySet()) {
+				if (written.contains(entry.getKey())) {
+					continue;
+				}
+				
+				try {
+					if (!entry.getKey().exists()) {
+						api.createParent(entry.getKey());
+					}
+					write(cache.get(entry.getKey()), entry.getValue().toBuffer());
+					written.add(entry.getKey());
+				}
+				catch (IOException ex) {
+					cache.close(entry.getKey());
+					
+					if (failure == null) {
+						failure = ex;
+					}
+					else {
+						failure.addSuppressed(ex);
+					}
+				}
+			}
+		}
+		finally {
+			release();
+		}
+		
+		if (failure != null) {
+			throw failure;
+		}
+	}
+	
+	/**
+	 * A method used to close every open file, they will be opened again once written to.
+	 *
+	 * @since 1.3
+	 */
+	@Override
+	public void invalidate() { cache.closeAll(); }
+	
+	/**
+	 * A method used to close this sink and every file it keeps open.
+	 *
+	 * @since 1.3
+	 */
+	@Override
+	public void close()      { cache.closeAll(); }
+	
+	/**
+	 * A method used to clear every block of the last batch, the blocks of module files are kept for the next
+	 * batch unless we already keep enough of them.
+	 *
+	 * @since 1.3
+	 */
+	private void release()
+	{
+		global.clear();
+		
+		for (TextBlock block : grouped.values()) {
+			if (pool.size() < MAX_POOLED_BLOCKS) {
+				block.clear();
+				pool.push(block);
+			}
+		}
+		grouped.clear();
+	}
+	
+	/**
+	 * A method used to append lines to a file, if they could not be written as a whole, the part that was
+	 * written is cut off again.
+	 *
+	 * @param channel Target channel
+	 * @param buffer Encoded lines
+	 * @throws IOException Thrown if the lines could not be written
+	 * @since 1.3
+	 */
+	private static void write(@NotNull FileChannel channel, @NotNull ByteBuffer buffer) throws IOException
+	{
+		long size = channel.size();
+		
+		try {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+		catch (IOException ex) {
+			try {
+				channel.truncate(size);
+			}
+			catch (IOException ignored) {}
+			throw ex;
+		}
+	}
+	
+	/**
+	 * A method used to append a record to the lines of a file.
+	 *
+	 * @param lines Target lines
+	 * @param record Target record
+	 * @since 1.3
+	 */
+	private void append(@NotNull TextBlock lines, @NotNull LogRecord record) { lines.append(record.getTimestamp(), record.getDate(), record.getMessage()); }
+}
@@ -0,0 +1,268 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import com.frostdeveloper.playerlogs.core.ChannelCache;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A class used to maintain the sparse time index of a text log. The index is stored next to its log and holds
+ * one entry for every {@link #INTERVAL_RECORDS} lines or {@link #INTERVAL_BYTES} bytes, whichever comes first.
+ * Each entry is made of a timestamp and the position of the line it was taken at, the timestamp is the newest
+ * timestamp written up to and including that line, so the entries are sorted even if lines of different
+ * writers interleave, and a time range can be found through a binary search.
+ * <p>
+ * Our global log keeps a time index, our {@link TextSearcher} uses it to only read the part of the log that
+ * was written within the time range of a search. An index is only written to by the writer of its log and
+ * is not thread-safe, its file is kept open inside the channel cache of that writer.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public class TimeIndex
+{
+	// CLASS SPECIFIC OBJECTS
+	public static final int INTERVAL_RECORDS = 256;
+	public static final long INTERVAL_BYTES = 64 * 1024;
+	public static final String EXTENSION = ".tdx";
+	private static final int ENTRY_SIZE = 16;
+	
+	private final ChannelCache cache;
+	private final File log;
+	private final File file;
+	private long newest = Long.MIN_VALUE;
+	private long lastOffset = -1;
+	private int records;
+	private boolean loaded;
+	
+	/**
+	 * A constructor used to define the log this index belongs to.
+	 *
+	 * @param log Target log
+	 * @param cache The channel cache our file is kept open in
+	 * @since 1.3
+	 */
+	public TimeIndex(@NotNull File log, @NotNull ChannelCache cache)
+	{
+		this.log   = log;
+		this.file  = getFile(log);
+		this.cache = cache;
+	}
+	
+	/**
+	 * A method used to add the lines of a block that was just written to our log. An entry is only stored
+	 * once enough lines or bytes were written since the last one.
+	 *
+	 * @param block Written block
+	 * @param position Position of the block inside our log
+	 * @throws IOException Thrown if our index could not be written
+	 * @since 1.3
+	 */
+	public void add(@NotNull TextBlock block, long position) throws IOException
+	{
+		if (!loaded) {
+			load(position);
+		}
+		
+		ByteBuffer entries = null;
+		
+		for (int i = 0; i < block.size(); i++) {
+			long offset = position + block.getOffset(i);
+			newest      = Math.max(newest, block.getTimestamp(i));
+			
+			if (lastOffset < 0 || records >= INTERVAL_RECORDS || offset - lastOffset >= INTERVAL_BYTES) {
+				if (entries == null) {
+					entries = ByteBuffer.allocate(ENTRY_SIZE * (block.size() - i));
+				}
+				entries.putLong(newest).putLong(offset);
+				lastOffset = offset;
+				records    = 0;
+			}
+			records++;
+		}
+		
+		if (entries != null) {
+			FileChannel channel = cache.get(file);
+			entries.flip();
+			
+			while (entries.hasRemaining()) {
+				channel.write(entries);
+			}
+		}
+	}
+	
+	/**
+	 * A method used to delete our index and start over, this is used once our log was rotated.
+	 *
+	 * @since 1.3
+	 */
+	public void reset()
+	{
+		cache.close(file);
+		delete(log);
+		newest     = Long.MIN_VALUE;
+		lastOffset = -1;
+		records    = 0;
+		loaded     = true;
+	}
+	
+	/**
+	 * A method used to return the range of a log that holds the lines written within a time range. The range
+	 * starts at the last entry before the time range and ends one entry after it, so it may hold up to one
+	 * interval of older and two intervals of newer lines. If the log has no usable index, the whole log is
+	 * returned.
+	 *
+	 * @param log Target log
+	 * @param since Start of the time range
+	 * @param until End of the time range
+	 * @return The start and end position of the range
+	 * @throws IOException Thrown if our index could not be read
+	 * @since 1.3
+	 */
+	public static long @NotNull [] find(@NotNull File log, long since, long until) throws IOException
+	{
+		long length = log.length();
+		File file   = getFile(log);
+		
+		if (!file.exists()) {
+			return new long[] { 0, length };
+		}
+		
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long count = channel.size() / ENTRY_SIZE;
+			
+			// AN INDEX THAT POINTS PAST ITS LOG BELONGS TO AN OLDER LOG
+			if (count == 0 || readEntry(channel, count - 1)[1] > length) {
+				return new long[] { 0, length };
+			}
+			
+			long first = search(channel, count, since);
+			long last  = search(channel, count, until + 1);
+			long start = first > 0 ? readEntry(channel, first - 1)[1] : 0;
+			
+			// READ ONE EXTRA INTERVAL, LINES OF DIFFERENT WRITERS MAY INTERLEAVE IN A SHARED LOG
+			long end = last + 1 < count ? readEntry(channel, last + 1)[1] : length;
+			return new long[] { start, Math.max(start, end) };
+		}
+	}
+	
+	/**
+	 * A method used to delete the index of a log.
+	 *
+	 * @param log Target log
+	 * @since 1.3
+	 */
+	public static void delete(@NotNull File log)
+	{
+		File file = getFile(log);
+		
+		if (file.exists() && !file.delete()) {
+			file.deleteOnExit();
+		}
+	}
+	
+	/**
+	 * A method used to return the file the index of a log is stored in.
+	 *
+	 * @param log Target log
+	 * @return Index file
+	 * @since 1.3
+	 */
+	public static @NotNull File getFile(@NotNull File log) { return new File(log.getPath() + EXTENSION); }
+	
+	/**
+	 * A method used to restore our state from the last stored entry. If the stored index points past the
+	 * position we are about to write at, it belongs to an older log and is discarded. An entry that was only
+	 * partially written is cut off, so the entries that follow stay aligned.
+	 *
+	 * @param position Position the next block is written at
+	 * @throws IOException Thrown if our index could not be read
+	 * @since 1.3
+	 */
+	private void load(long position) throws IOException
+	{
+		loaded = true;
+		
+		if (!file.exists()) {
+			return;
+		}
+		
+		long[] entry = null;
+		
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			long count = channel.size() / ENTRY_SIZE;
+			
+			if (channel.size() % ENTRY_SIZE != 0) {
+				channel.truncate(count * ENTRY_SIZE);
+			}
+			
+			if (count > 0) {
+				entry = readEntry(channel, count - 1);
+			}
+		}
+		
+		if (entry == null || entry[1] > position) {
+			reset();
+			return;
+		}
+		newest     = entry[0];
+		lastOffset = entry[1];
+	}
+	
+	/**
+	 * A method used to return the index of the first entry whose timestamp is equal to or newer than a
+	 * timestamp.
+	 *
+	 * @param channel Open index
+	 * @param count Amount of entries
+	 * @param timestamp Target timestamp
+	 * @return Index of the entry, or the amount of entries if every entry is older
+	 * @throws IOException Thrown if an entry could not be read
+	 * @since 1.3
+	 */
+	private static long search(@NotNull FileChannel channel, long count, long timestamp) throws IOException
+	{
+		long low  = 0;
+		long high = count;
+		
+		while (low < high) {
+			long middle = (low + high) >>> 1;
+			
+			if (readEntry(channel, middle)[0] < timestamp) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+	
+	/**
+	 * A method used to read a single entry of an index.
+	 *
+	 * @param channel Open index
+	 * @param index Index of the entry
+	 * @return The timestamp and position of the entry
+	 * @throws IOException Thrown if the entry could not be read
+	 * @since 1.3
+	 */
+	private static long @NotNull [] readEntry(@NotNull FileChannel channel, long index) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(ENTRY_SIZE);
+		
+		while (buffer.hasRemaining() && channel.read(buffer, index * ENTRY_SIZE + buffer.position()) > 0) {
+			// KEEP READING UNTIL THE ENTRY IS COMPLETE
+		}
+		
+		if (buffer.hasRemaining()) {
+			throw new IOException("Incomplete entry in: " + channel);
+		}
+		buffer.flip();
+		return new long[] { buffer.getLong(), buffer.getLong() };
+	}
+}
@@ -0,0 +1,152 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A class used to write and read variable length integers. Small values only take a single byte, signed
+ * values are zigzag encoded first so that small negative values stay small as well.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public final class VarInt
+{
+	/**
+	 * A constructor used to prevent this utility class from being created.
+	 *
+	 * @since 1.3
+	 */
+	private VarInt() {}
+	
+	/**
+	 * A method used to write an unsigned variable length integer.
+	 *
+	 * @param output Target output
+	 * @param value Target value
+	 * @throws IOException Thrown if the value could not be written
+	 * @since 1.3
+	 */
+	public static void writeInt(@NotNull DataOutput output, int value) throws IOException
+	{
+		while ((value & ~0x7F) != 0) {
+			output.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		output.writeByte(value);
+	}
+	
+	/**
+	 * A method used to write an unsigned variable length long.
+	 *
+	 * @param output Target output
+	 * @param value Target value
+	 * @throws IOException Thrown if the value could not be written
+	 * @since 1.3
+	 */
+	public static void writeLong(@NotNull DataOutput output, long value) throws IOException
+	{
+		while ((value & ~0x7FL) != 0) {
+			output.writeByte((int) (value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		output.writeByte((int) value);
+	}
+	
+	/**
+	 * A method used to write a signed variable length integer.
+	 *
+	 * @param output Target output
+	 * @param value Target value
+	 * @throws IOException Thrown if the value could not be written
+	 * @since 1.3
+	 */
+	public static void writeSignedInt(@NotNull DataOutput output, int value) throws IOException { writeInt(output, (value << 1) ^ (value >> 31)); }
+	
+	/**
+	 * A method used to write a signed variable length long.
+	 *
+	 * @param output Target output
+	 * @param value Target value
+	 * @throws IOException Thrown if the value could not be written
+	 * @since 1.3
+	 */
+	public static void writeSignedLong(@NotNull DataOutput output, long value) throws IOException { writeLong(output, (value << 1) ^ (value >> 63)); }
+	
+	/**
+	 * A method used to read an unsigned variable length integer.
+	 *
+	 * @param input Target input
+	 * @return Read value
+	 * @throws IOException Thrown if the value could not be read
+	 * @since 1.3
+	 */
+	public static int readInt(@NotNull DataInput input) throws IOException
+	{
+		int value = 0;
+		
+		for (int shift = 0; shift < 35; shift += 7) {
+			byte current = input.readByte();
+			value |= (current & 0x7F) << shift;
+			
+			if ((current & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Variable length integer is too long");
+	}
+	
+	/**
+	 * A method used to read an unsigned variable length long.
+	 *
+	 * @param input Target input
+	 * @return Read value
+	 * @throws IOException Thrown if the value could not be read
+	 * @since 1.3
+	 */
+	public static long readLong(@NotNull DataInput input) throws IOException
+	{
+		long value = 0;
+		
+		for (int shift = 0; shift < 70; shift += 7) {
+			byte current = input.readByte();
+			value |= (long) (current & 0x7F) << shift;
+			
+			if ((current & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Variable length long is too long");
+	}
+	
+	/**
+	 * A method used to read a signed variable length integer.
+	 *
+	 * @param input Target input
+	 * @return Read value
+	 * @throws IOException Thrown if the value could not be read
+	 * @since 1.3
+	 */
+	public static int readSignedInt(@NotNull DataInput input) throws IOException
+	{
+		int value = readInt(input);
+		return (value >>> 1) ^ -(value & 1);
+	}
+	
+	/**
+	 * A method used to read a signed variable length long.
+	 *
+	 * @param input Target input
+	 * @return Read value
+	 * @throws IOException Thrown if the value could not be read
+	 * @since 1.3
+	 */
+	public static long readSignedLong(@NotNull DataInput input) throws IOException
+	{
+		long value = readLong(input);
+		return (value >>> 1) ^ -(value & 1);
+	}
+}
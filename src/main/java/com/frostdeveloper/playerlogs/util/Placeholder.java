@@ -1,17 +1,16 @@
 package com.frostdeveloper.playerlogs.util;
 
 import com.frostdeveloper.api.FrostAPI;
-import com.frostdeveloper.playerlogs.PlayerLogs;
 import com.frostdeveloper.playerlogs.definition.Variable;
-import me.clip.placeholderapi.PlaceholderAPI;
 import org.apache.commons.lang.Validate;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -24,11 +23,25 @@ import java.util.stream.Collectors;
 public class Placeholder
 {
 	// CLASS INSTANCES
-	private static final PlayerLogs plugin = PlayerLogs.getInstance();
-	private static final FrostAPI api = plugin.getFrostAPI();
+	private static final FrostAPI api = FrostAPI.getInstance();
 	
-	// CUSTOM VARIABLE MAP
-	private static final HashMap<String, Object> customVariables = new HashMap<>();
+	// VARIABLE PROVIDERS
+	private static final int MB = 1048576;
+	private static final Map<Variable, VariableProvider> providers = new ConcurrentHashMap<>();
+	
+	static {
+		Runtime r = Runtime.getRuntime();
+		
+		// SERVER VARIABLES, CACHED FOR ONE TICK
+		register(Variable.RAM_USED, VariableProvider.cached(() -> (r.totalMemory() - r.freeMemory()) / MB, 50, TimeUnit.MILLISECONDS));
+		register(Variable.RAM_TOTAL, VariableProvider.cached(() -> r.totalMemory() / MB, 50, TimeUnit.MILLISECONDS));
+		register(Variable.RAM_FREE, VariableProvider.cached(() -> r.freeMemory() / MB, 50, TimeUnit.MILLISECONDS));
+		register(Variable.RAM_MAX, VariableProvider.cached(() -> r.maxMemory() / MB, 50, TimeUnit.MILLISECONDS));
+		
+		// PLAYER VARIABLES
+		register(Variable.PLAYER_NAME, VariableProvider.of(player -> player != null ? player.getName() : null));
+		register(Variable.PLAYER_DISPLAY, VariableProvider.of(player -> player != null ? player.getDisplayName() : null));
+	}
 	
 	/**
 	 * A method used to set placeholders which includes player variables to a list of strings.
@@ -68,10 +81,7 @@ public class Placeholder
 		Validate.notNull(input, api.format("Could not add placeholders, the input provided is null"));
 		Validate.notNull(player, api.format("Could not add placeholders, the player provided is null"));
 		
-		if (plugin.isPAPIHooked()) {
-			return applyCustomPlaceholder(PlaceholderAPI.setPlaceholders(player, input));
-		}
-		return applyPlaceholder(player, input);
+		return Template.compile(input).render(player);
 	}
 	
 	/**
@@ -84,133 +94,55 @@ public class Placeholder
 	{
 		Validate.notNull(input, api.format("Could not add placeholders, the input provided is null"));
 		
-		if (plugin.isPAPIHooked()) {
-			return applyCustomPlaceholder(PlaceholderAPI.setPlaceholders(null, input));
-		}
-		return applyPlaceholder(null, input);
+		return Template.compile(input).render();
 	}
 	
 	/**
-	 * This method is used to apply the placeholders into the input
+	 * A method used to set placeholders to a string using the custom variables of an event.
 	 *
-	 * @param input Provided input
-	 * @return Reformatted output.
-	 * @since 1.2
+	 * @param context Event context
+	 * @param input Target string
+	 * @return String with variables included
+	 * @since 1.3
 	 */
-	private static @NotNull String applyPlaceholder(@Nullable Player player, String input)
+	public static @NotNull String set(@NotNull PlaceholderContext context, String input)
 	{
-		Runtime r = Runtime.getRuntime();
-		final int MB = 1048576;
-		
-		// SERVER VARIABLES
-		input = replace(input, Variable.RAM_USED, (r.totalMemory() - r.freeMemory()) / MB);
-		input = replace(input, Variable.RAM_TOTAL, r.totalMemory() / MB);
-		input = replace(input, Variable.RAM_FREE, r.freeMemory() / MB);
-		input = replace(input, Variable.RAM_MAX, r.maxMemory() / MB);
+		Validate.notNull(input, api.format("Could not add placeholders, the input provided is null"));
 		
-		// PLAYER VARIABLES
-		if (player != null) {
-			input = replace(input, Variable.PLAYER_NAME, player.getName());
-			input = replace(input, Variable.PLAYER_DISPLAY, player.getDisplayName());
-		}
-		return applyCustomPlaceholder(input);
+		return Template.compile(input).render(context);
 	}
 	
 	/**
-	 * A method used to apply custom placeholder into an input
+	 * A method used to register the provider that computes the value of one of our variables, if the
+	 * variable already has a provider, it will be replaced.
 	 *
-	 * @param input Target input
-	 * @return A string with implemented variables
-	 * @since 1.2
-	 */
-	private static String applyCustomPlaceholder(String input)
-	{
-		for (Map.Entry<String, Object> custom : customVariables.entrySet()) {
-			input = replace(input, custom.getKey(), custom.getValue());
-		}
-		return input;
-	}
-	
-	/**
-	 * A method used to replace a variable inside a string with the defined value.
-	 *
-	 * @param input The input provided.
 	 * @param var Target variable
-	 * @param value Desired value
-	 * @return Reformatted output.
-	 * @since 1.2
-	 */
-	private static @NotNull String replace(@NotNull String input, @NotNull Variable var, Object value)
-	{
-		return input.replaceAll(var.toVar(), api.toString(value));
-	}
-	
-	/**
-	 * A method used to replace a variable inside a string with the defined value.
-	 *
-	 * @param input The input provided.
-	 * @param var Target variable (as string)
-	 * @param value Desired value
-	 * @return Reformatted output.
-	 * @since 1.2
+	 * @param provider Value provider
+	 * @since 1.3
 	 */
-	private static @NotNull String replace(@NotNull String input, @NotNull String var, Object value)
+	public static void register(@NotNull Variable var, @NotNull VariableProvider provider)
 	{
-		return input.replaceAll(var, api.toString(value));
+		providers.put(var, provider);
 	}
 	
 	/**
-	 * A method used to add a custom variable that cannot be defined in our Placeholder class, but will
-	 * be converted into a string when our {@link #set(String)} method is called.
+	 * A method used to resolve the value of a single variable, this is called by a {@link Template}
+	 * for every variable slot it renders.
 	 *
-	 * @param var Custom variable
-	 * @param value Custom value assigned to variable
-	 * @since 1.2
+	 * @param context Event context
+	 * @param var Target variable, including its percent signs
+	 * @return The resolved value, or null if the variable is unknown to us
+	 * @since 1.3
 	 */
-	public static void addCustom(String var, Object value)
+	static @Nullable String resolve(@NotNull PlaceholderContext context, @NotNull String var)
 	{
-		matchPattern(var);
+		Variable known = Variable.fromVar(var);
+		VariableProvider provider = known != null ? providers.get(known) : null;
 		
-		if (!customVariables.containsKey(var)) {
-			customVariables.put(var, value);
-		}
-		else {
-			customVariables.replace(var, value);
-		}
-	}
-	
-	/**
-	 * A method used to add a custom variable that cannot be defined in our Placeholder class, but will
-	 * be converted into a string when our {@link #set(String)} method is called.
-	 *
-	 * @param var Custom variable
-	 * @param value Custom value assigned to variable
-	 * @since 1.2
-	 */
-	public static void addCustom(@NotNull Variable var, Object value)
-	{
-		matchPattern(var.toVar());
-		
-		if (!customVariables.containsKey(var.toVar())) {
-			customVariables.put(var.toVar(), value);
-		}
-		else {
-			customVariables.replace(var.toVar(), value);
-		}
-	}
-	
-	/**
-	 * A method used to verify that a custom variable is in compliance with the required
-	 * format, If it cannot be verified or failed verification, this method will
-	 * throw an exception.
-	 *
-	 * @param var Target variable
-	 * @since 1.2
-	 */
-	private static void matchPattern(@NotNull String var)
-	{
-		if (!var.startsWith("%") || !var.endsWith("%")) {
-			throw new IllegalArgumentException("Custom variable format invalid: " + var);
+		if (provider != null) {
+			Object value = provider.get(context.getPlayer());
+			return value != null ? api.toString(value) : null;
 		}
+		return context.contains(var) ? api.toString(context.get(var)) : null;
 	}
 }
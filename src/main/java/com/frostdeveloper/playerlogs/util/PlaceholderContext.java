@@ -0,0 +1,223 @@
+package com.frostdeveloper.playerlogs.util;
+
+import com.frostdeveloper.playerlogs.definition.Variable;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * A class used to carry the custom variables of a single event while its messages are rendered, as well as
+ * the location and material the event took place with, so they can be stored alongside its message. Each thread
+ * keeps one context that is reused for every event it handles, a context must therefore be closed once the
+ * event is done with it, preferably by using a try-with-resources statement.
+ * <p>
+ * A context is only used by the thread that obtained it and is not thread-safe.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public final class PlaceholderContext implements AutoCloseable
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final ThreadLocal<PlaceholderContext> pool = ThreadLocal.withInitial(PlaceholderContext::new);
+	
+	private String[] vars = new String[8];
+	private Object[] values = new Object[8];
+	private int size;
+	
+	private Player player;
+	private Location location;
+	private Material material;
+	private boolean inUse;
+	
+	/**
+	 * A constructor used to prevent creating a context outside of this class.
+	 *
+	 * @since 1.3
+	 */
+	private PlaceholderContext() {}
+	
+	/**
+	 * A method used to obtain an empty context for a player. If the context of this thread is still in use,
+	 * for example by an event that was called while another one was rendered, a new context is created.
+	 *
+	 * @param player Target player, can be null if the event is not player specific
+	 * @return An empty context
+	 * @since 1.3
+	 */
+	public static @NotNull PlaceholderContext obtain(@Nullable Player player)
+	{
+		PlaceholderContext context = pool.get();
+		
+		if (context.inUse) {
+			context = new PlaceholderContext();
+		}
+		context.inUse  = true;
+		context.player = player;
+		return context;
+	}
+	
+	/**
+	 * A method used to assign a value to a custom variable, if the variable already has a value, it will
+	 * be replaced.
+	 *
+	 * @param var Custom variable
+	 * @param value Custom value assigned to variable
+	 * @return This context
+	 * @since 1.3
+	 */
+	public @NotNull PlaceholderContext set(@NotNull String var, @Nullable Object value)
+	{
+		matchPattern(var);
+		
+		for (int i = 0; i < size; i++) {
+			if (vars[i].equals(var)) {
+				values[i] = value;
+				return this;
+			}
+		}
+		
+		if (size == vars.length) {
+			vars   = Arrays.copyOf(vars, size * 2);
+			values = Arrays.copyOf(values, size * 2);
+		}
+		vars[size]   = var;
+		values[size] = value;
+		size++;
+		return this;
+	}
+	
+	/**
+	 * A method used to assign a value to a custom variable.
+	 *
+	 * @param var Custom variable
+	 * @param value Custom value assigned to variable
+	 * @return This context
+	 * @since 1.3
+	 */
+	public @NotNull PlaceholderContext set(@NotNull Variable var, @Nullable Object value) { return set(var.toVar(), value); }
+	
+	/**
+	 * A method used to assign the location an event took place at.
+	 *
+	 * @param location Target location
+	 * @return This context
+	 * @since 1.3
+	 */
+	public @NotNull PlaceholderContext setLocation(@Nullable Location location)
+	{
+		this.location = location;
+		return this;
+	}
+	
+	/**
+	 * A method used to assign the material involved in an event.
+	 *
+	 * @param material Target material
+	 * @return This context
+	 * @since 1.3
+	 */
+	public @NotNull PlaceholderContext setMaterial(@Nullable Material material)
+	{
+		this.material = material;
+		return this;
+	}
+	
+	/**
+	 * A method used to return whether a custom variable was assigned in this context.
+	 *
+	 * @param var Target variable
+	 * @return Whether the variable was assigned
+	 * @since 1.3
+	 */
+	public boolean contains(@NotNull String var) { return indexOf(var) != -1; }
+	
+	/**
+	 * A method used to return the value assigned to a custom variable.
+	 *
+	 * @param var Target variable
+	 * @return Assigned value, or null if not assigned
+	 * @since 1.3
+	 */
+	public @Nullable Object get(@NotNull String var)
+	{
+		int index = indexOf(var);
+		return index != -1 ? values[index] : null;
+	}
+	
+	/**
+	 * A method used to return the player this context belongs to.
+	 *
+	 * @return Target player, can be null
+	 * @since 1.3
+	 */
+	public @Nullable Player getPlayer()       { return player;   }
+	
+	/**
+	 * A method used to return the location the event took place at.
+	 *
+	 * @return Target location, can be null
+	 * @since 1.3
+	 */
+	public @Nullable Location getLocation()   { return location; }
+	
+	/**
+	 * A method used to return the material involved in the event.
+	 *
+	 * @return Target material, can be null
+	 * @since 1.3
+	 */
+	public @Nullable Material getMaterial()   { return material; }
+	
+	/**
+	 * A method used to clear this context and hand it back to its thread so it can be reused.
+	 *
+	 * @since 1.3
+	 */
+	@Override
+	public void close()
+	{
+		Arrays.fill(values, 0, size, null);
+		size     = 0;
+		player   = null;
+		location = null;
+		material = null;
+		inUse    = false;
+	}
+	
+	/**
+	 * A method used to return the index of a variable.
+	 *
+	 * @param var Target variable
+	 * @return Variable index, or -1 if not assigned
+	 * @since 1.3
+	 */
+	private int indexOf(@NotNull String var)
+	{
+		for (int i = 0; i < size; i++) {
+			if (vars[i].equals(var)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * A method used to verify that a custom variable is in compliance with the required
+	 * format, If it cannot be verified or failed verification, this method will
+	 * throw an exception.
+	 *
+	 * @param var Target variable
+	 * @since 1.2
+	 */
+	private static void matchPattern(@NotNull String var)
+	{
+		if (!var.startsWith("%") || !var.endsWith("%")) {
+			throw new IllegalArgumentException("Custom variable format invalid: " + var);
+		}
+	}
+}
@@ -0,0 +1,215 @@
+package com.frostdeveloper.playerlogs.util;
+
+import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.definition.Variable;
+import me.clip.placeholderapi.PlaceholderAPI;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A class used to define a compiled message template. A template is parsed once into a list of literal
+ * text and variable slots, rendering it only requires a single pass that appends each part into one builder.
+ * <p>
+ * Variables we are unable to resolve are kept as they are, if PlaceholderAPI is hooked, the rendered output
+ * is only handed to PlaceholderAPI when such a variable was found.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public final class Template
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final int CACHE_LIMIT = 512;
+	private static final Map<String, Template> cache = new ConcurrentHashMap<>();
+	
+	private final String source;
+	private final String[] parts;
+	private final boolean[] slots;
+	
+	/**
+	 * A constructor used to parse a source string into its literal and variable parts.
+	 *
+	 * @param source Template source
+	 * @since 1.3
+	 */
+	private Template(@NotNull String source)
+	{
+		List<String> parts = new ArrayList<>();
+		List<Boolean> slots = new ArrayList<>();
+		int literal = 0;
+		int index = 0;
+		
+		while (index < source.length()) {
+			int end = source.charAt(index) == '%' ? source.indexOf('%', index + 1) : -1;
+			
+			if (end > index + 1 && isIdentifier(source, index + 1, end)) {
+				if (index > literal) {
+					parts.add(source.substring(literal, index));
+					slots.add(false);
+				}
+				parts.add(source.substring(index, end + 1));
+				slots.add(true);
+				
+				index   = end + 1;
+				literal = index;
+			}
+			else {
+				index++;
+			}
+		}
+		
+		if (literal < source.length()) {
+			parts.add(source.substring(literal));
+			slots.add(false);
+		}
+		
+		this.source = source;
+		this.parts  = parts.toArray(new String[0]);
+		this.slots  = new boolean[slots.size()];
+		
+		for (int i = 0; i < this.slots.length; i++) {
+			this.slots[i] = slots.get(i);
+		}
+	}
+	
+	/**
+	 * A method used to return a compiled template for a source that rarely changes, such as a message
+	 * defined in our configuration. Compiled templates are cached and shared.
+	 *
+	 * @param source Template source
+	 * @return Compiled template
+	 * @since 1.3
+	 */
+	public static @NotNull Template of(@NotNull String source)
+	{
+		Template template = cache.get(source);
+		
+		if (template == null) {
+			if (cache.size() >= CACHE_LIMIT) {
+				cache.clear();
+			}
+			template = new Template(source);
+			cache.put(source, template);
+		}
+		return template;
+	}
+	
+	/**
+	 * A method used to compile a template without caching it, this should be used for sources that are
+	 * unlikely to be rendered again, such as a chat message.
+	 *
+	 * @param source Template source
+	 * @return Compiled template
+	 * @since 1.3
+	 */
+	public static @NotNull Template compile(@NotNull String source) { return new Template(source); }
+	
+	/**
+	 * A method used to render this template without a player or any custom variables.
+	 *
+	 * @return Rendered output
+	 * @since 1.3
+	 */
+	public @NotNull String render() { return render((Player) null); }
+	
+	/**
+	 * A method used to render this template without any custom variables.
+	 *
+	 * @param player Target player, can be null if the template is not player specific
+	 * @return Rendered output
+	 * @since 1.3
+	 */
+	public @NotNull String render(@Nullable Player player)
+	{
+		try (PlaceholderContext context = PlaceholderContext.obtain(player)) {
+			return render(context);
+		}
+	}
+	
+	/**
+	 * A method used to render this template using the custom variables of an event.
+	 *
+	 * @param context Event context
+	 * @return Rendered output
+	 * @since 1.3
+	 */
+	public @NotNull String render(@NotNull PlaceholderContext context)
+	{
+		StringBuilder builder = new StringBuilder(source.length() + 32);
+		boolean unresolved = false;
+		
+		for (int i = 0; i < parts.length; i++) {
+			if (!slots[i]) {
+				builder.append(parts[i]);
+				continue;
+			}
+			
+			String value = Placeholder.resolve(context, parts[i]);
+			
+			if (value != null) {
+				builder.append(value);
+			}
+			else {
+				builder.append(parts[i]);
+				unresolved |= !parts[i].equals(Variable.DEFAULT.toVar());
+			}
+		}
+		
+		if (unresolved && PlayerLogs.getInstance().isPAPIHooked()) {
+			return PlaceholderAPI.setPlaceholders(context.getPlayer(), builder.toString());
+		}
+		return builder.toString();
+	}
+	
+	/**
+	 * A method used to return whether this template contains a variable.
+	 *
+	 * @param var Target variable
+	 * @return Whether the variable is used
+	 * @since 1.3
+	 */
+	public boolean contains(@NotNull Variable var)
+	{
+		for (int i = 0; i < parts.length; i++) {
+			if (slots[i] && parts[i].equals(var.toVar())) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * A method used to return the source this template was compiled from.
+	 *
+	 * @return Template source
+	 * @since 1.3
+	 */
+	public @NotNull String getSource() { return source; }
+	
+	/**
+	 * A method used to determine whether a part of a source can be used as a variable name.
+	 *
+	 * @param source Template source
+	 * @param start Start index, inclusive
+	 * @param end End index, exclusive
+	 * @return Whether the part is a valid name
+	 * @since 1.3
+	 */
+	private static boolean isIdentifier(@NotNull String source, int start, int end)
+	{
+		for (int i = start; i < end; i++) {
+			char current = source.charAt(i);
+			
+			if (!Character.isLetterOrDigit(current) && current != '_' && current != '-' && current != '.' && current != ':') {
+				return false;
+			}
+		}
+		return true;
+	}
+}
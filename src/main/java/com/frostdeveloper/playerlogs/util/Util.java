@@ -2,17 +2,23 @@ package com.frostdeveloper.playerlogs.util;
 
 import com.frostdeveloper.api.FrostAPI;
 import com.frostdeveloper.playerlogs.PlayerLogs;
+import com.frostdeveloper.playerlogs.core.PlayerIndex;
 import com.frostdeveloper.playerlogs.definition.Config;
 import com.frostdeveloper.playerlogs.manager.ConfigManager;
 import org.apache.commons.lang.StringUtils;
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class is designed to add methods that are repetitive but are unique to this plugin.
@@ -27,7 +33,6 @@ public class Util
 	// CLASS INSTANCES
 	private static final PlayerLogs plugin = PlayerLogs.getInstance();
 	private static final FrostAPI api = plugin.getFrostAPI();
-	private static final ConfigManager config = plugin.getConfigManager();
 	
 	/**
 	 * A method used to return a file object from a path. If the path contains a '/' char
@@ -144,6 +149,7 @@ public class Util
 	 */
 	public static @NotNull String getPrefix()
 	{
+		ConfigManager config = plugin.getConfigManager();
 		String prefix = config.getString(Config.PREFIX);
 		boolean usePrefix = config.getBoolean(Config.USE_PREFIX);
 		
@@ -165,4 +171,64 @@ public class Util
 	{
 		return ChatColor.translateAlternateColorCodes('&', input.replace("§", "&"));
 	}
+	
+	/**
+	 * A method used to convert a duration such as '30d', '12h' or '45m' into milliseconds. Supported units are
+	 * seconds, minutes, hours, days and weeks, a number without a unit is read as days.
+	 *
+	 * @param input Target duration
+	 * @return Duration in milliseconds, zero if the input is empty or zero, or -1 if the input is invalid
+	 * @since 1.3
+	 */
+	public static long toDuration(@Nullable String input)
+	{
+		if (input == null || input.trim().isEmpty()) {
+			return 0;
+		}
+		
+		String value  = input.trim().toLowerCase();
+		char unit     = value.charAt(value.length() - 1);
+		String digits = Character.isDigit(unit) ? value : value.substring(0, value.length() - 1);
+		
+		if (digits.isEmpty() || !StringUtils.isNumeric(digits)) {
+			return -1;
+		}
+		
+		long amount = Long.parseLong(digits);
+		
+		switch (unit) {
+			case 's':
+				return TimeUnit.SECONDS.toMillis(amount);
+			case 'm':
+				return TimeUnit.MINUTES.toMillis(amount);
+			case 'h':
+				return TimeUnit.HOURS.toMillis(amount);
+			case 'w':
+				return TimeUnit.DAYS.toMillis(amount * 7);
+			case 'd':
+				return TimeUnit.DAYS.toMillis(amount);
+			default:
+				return Character.isDigit(unit) ? TimeUnit.DAYS.toMillis(amount) : -1;
+		}
+	}
+	
+	/**
+	 * A method used to find a player that joined this server before by their name. Players are looked up
+	 * through our player index, so only players that joined while our plugin was installed are found.
+	 *
+	 * @param name Target name
+	 * @return Matching player, or null if no player with this name joined before
+	 * @since 1.3
+	 */
+	public static @Nullable OfflinePlayer getOfflinePlayer(@NotNull String name)
+	{
+		Player online = Bukkit.getPlayerExact(name);
+		
+		if (online != null) {
+			return online;
+		}
+		
+		PlayerIndex.Entry entry = PlayerLogs.getInstance().getPlayerIndex().find(name);
+		return entry != null ? Bukkit.getOfflinePlayer(entry.getUniqueId()) : null;
+	}
 }
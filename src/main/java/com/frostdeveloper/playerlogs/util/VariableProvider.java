@@ -0,0 +1,113 @@
+package com.frostdeveloper.playerlogs.util;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A class used to define how the value of a variable is computed. A provider is only called when a
+ * template actually references its variable, values that are expensive to compute and are not player
+ * specific can additionally be cached for a short amount of time, so a burst of events shares one value.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+public final class VariableProvider
+{
+	// CLASS SPECIFIC OBJECTS
+	private final Function<Player, Object> function;
+	private final long ttl;
+	private volatile Snapshot snapshot;
+	
+	/**
+	 * A constructor used to define the required values of a provider.
+	 *
+	 * @param function Value function
+	 * @param ttl Amount of nanoseconds a value is cached for, zero disables caching
+	 * @since 1.3
+	 */
+	private VariableProvider(@NotNull Function<Player, Object> function, long ttl)
+	{
+		this.function = function;
+		this.ttl      = ttl;
+	}
+	
+	/**
+	 * A method used to create a provider whose value is computed every time it is requested.
+	 *
+	 * @param function Value function, the player can be null
+	 * @return A new provider
+	 * @since 1.3
+	 */
+	public static @NotNull VariableProvider of(@NotNull Function<Player, Object> function)
+	{
+		return new VariableProvider(function, 0);
+	}
+	
+	/**
+	 * A method used to create a provider for a server wide value that is cached for a given duration.
+	 *
+	 * @param supplier Value supplier
+	 * @param ttl Duration a value is cached for
+	 * @param unit Unit of the duration
+	 * @return A new provider
+	 * @since 1.3
+	 */
+	public static @NotNull VariableProvider cached(@NotNull Supplier<Object> supplier, long ttl, @NotNull TimeUnit unit)
+	{
+		return new VariableProvider(player -> supplier.get(), unit.toNanos(ttl));
+	}
+	
+	/**
+	 * A method used to return the value of this provider, if a cached value has not expired yet, it will
+	 * be returned instead of computing a new one.
+	 *
+	 * @param player Target player, can be null
+	 * @return Provided value
+	 * @since 1.3
+	 */
+	public @Nullable Object get(@Nullable Player player)
+	{
+		if (ttl <= 0) {
+			return function.apply(player);
+		}
+		
+		long now = System.nanoTime();
+		Snapshot current = snapshot;
+		
+		if (current == null || now - current.created >= ttl) {
+			current  = new Snapshot(function.apply(null), now);
+			snapshot = current;
+		}
+		return current.value;
+	}
+	
+	/**
+	 * A class used to hold a cached value together with the time it was computed.
+	 *
+	 * @since 1.3
+	 */
+	private static final class Snapshot
+	{
+		// CLASS SPECIFIC OBJECTS
+		private final Object value;
+		private final long created;
+		
+		/**
+		 * A constructor used to define a cached value.
+		 *
+		 * @param value Cached value
+		 * @param created Time the value was computed at
+		 * @since 1.3
+		 */
+		private Snapshot(@Nullable Object value, long created)
+		{
+			this.value   = value;
+			this.created = created;
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package com.frostdeveloper.playerlogs.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A class used to test that the token buckets of our {@link RateLimitService} allow a second of events at
+ * once and refill at their rate.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+class RateLimitServiceTest
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final long MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+	
+	/**
+	 * A method used to test that a full bucket allows a burst of one second of events, suppresses the
+	 * events that follow and hands out a new token once every interval.
+	 *
+	 * @since 1.3
+	 */
+	@Test
+	void testAcquire()
+	{
+		RateLimitService.Bucket bucket = new RateLimitService.Bucket(null, null, 5);
+		long now                       = System.nanoTime();
+		
+		for (int i = 0; i < 5; i++) {
+			assertTrue(bucket.acquire(now), "Token " + i + " was not taken");
+		}
+		assertFalse(bucket.acquire(now));
+		assertFalse(bucket.acquire(now + 199 * MILLISECOND));
+		assertEquals(2, bucket.suppressed.get());
+		
+		assertTrue(bucket.acquire(now + 200 * MILLISECOND));
+		assertFalse(bucket.acquire(now + 200 * MILLISECOND));
+		assertEquals(3, bucket.suppressed.get());
+	}
+	
+	/**
+	 * A method used to test that a bucket is only full once every token it handed out was given back.
+	 *
+	 * @since 1.3
+	 */
+	@Test
+	void testIsFull()
+	{
+		RateLimitService.Bucket bucket = new RateLimitService.Bucket(UUID.randomUUID(), "Notch", 5);
+		long now                       = System.nanoTime();
+		
+		assertTrue(bucket.isFull(now));
+		assertTrue(bucket.acquire(now));
+		assertTrue(bucket.acquire(now));
+		assertFalse(bucket.isFull(now + 399 * MILLISECOND));
+		assertTrue(bucket.isFull(now + 400 * MILLISECOND));
+		
+		// A BUCKET THAT WAS FULL FOR A WHILE STILL ONLY HOLDS ONE SECOND OF TOKENS
+		long later = now + TimeUnit.SECONDS.toNanos(10);
+		
+		for (int i = 0; i < 5; i++) {
+			assertTrue(bucket.acquire(later));
+		}
+		assertFalse(bucket.acquire(later));
+	}
+	
+	/**
+	 * A method used to test that a token that was given back can be taken again right away.
+	 *
+	 * @since 1.3
+	 */
+	@Test
+	void testRelease()
+	{
+		RateLimitService.Bucket bucket = new RateLimitService.Bucket(null, null, 2);
+		long now                       = System.nanoTime();
+		
+		assertTrue(bucket.acquire(now));
+		assertTrue(bucket.acquire(now));
+		assertFalse(bucket.acquire(now));
+		
+		bucket.release();
+		
+		assertTrue(bucket.acquire(now));
+		assertFalse(bucket.acquire(now));
+		assertEquals(2, bucket.suppressed.get());
+	}
+	
+	/**
+	 * A method used to test that a rate below one event per second still allows a single event.
+	 *
+	 * @since 1.3
+	 */
+	@Test
+	void testSlowRate()
+	{
+		RateLimitService.Bucket bucket = new RateLimitService.Bucket(null, null, 0.5);
+		long now                       = System.nanoTime();
+		
+		assertTrue(bucket.acquire(now));
+		assertFalse(bucket.acquire(now + 1999 * MILLISECOND));
+		assertTrue(bucket.acquire(now + 2000 * MILLISECOND));
+	}
+}
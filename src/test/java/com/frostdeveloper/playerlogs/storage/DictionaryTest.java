@@ -0,0 +1,111 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * A class used to test that a {@link Dictionary} assigns stable ids and reads them back from disk.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+class DictionaryTest
+{
+	// CLASS SPECIFIC OBJECTS
+	@TempDir
+	File directory;
+	
+	/**
+	 * A method used to test that ids are assigned per type, starting at one, and that null is mapped to zero.
+	 *
+	 * @throws IOException Thrown if the dictionary could not be read
+	 * @since 1.3
+	 */
+	@Test
+	void testAssignIds() throws IOException
+	{
+		Dictionary dictionary = Dictionary.of(new File(directory, "assign"));
+		
+		assertEquals(1, dictionary.getId(Dictionary.Type.MODULE, "chat"));
+		assertEquals(2, dictionary.getId(Dictionary.Type.MODULE, "command"));
+		assertEquals(1, dictionary.getId(Dictionary.Type.PLAYER, "chat"));
+		assertEquals(1, dictionary.getId(Dictionary.Type.MODULE, "chat"));
+		assertEquals(0, dictionary.getId(Dictionary.Type.MODULE, null));
+		
+		assertEquals(2, dictionary.findId(Dictionary.Type.MODULE, "command"));
+		assertEquals(0, dictionary.findId(Dictionary.Type.MODULE, "unknown"));
+		assertEquals("command", dictionary.getValue(Dictionary.Type.MODULE, 2));
+		assertNull(dictionary.getValue(Dictionary.Type.MODULE, 0));
+		assertNull(dictionary.getValue(Dictionary.Type.MODULE, 3));
+		assertSame(dictionary, Dictionary.of(new File(directory, "assign")));
+	}
+	
+	/**
+	 * A method used to test that a flushed dictionary is read back with the same ids, a copy of its file is
+	 * loaded since a dictionary is only loaded once per directory.
+	 *
+	 * @throws IOException Thrown if the dictionary could not be written or read
+	 * @since 1.3
+	 */
+	@Test
+	void testRoundTrip() throws IOException
+	{
+		File source = new File(directory, "source");
+		File target = new File(directory, "target");
+		
+		Dictionary dictionary = Dictionary.of(source);
+		dictionary.getId(Dictionary.Type.MODULE, "chat");
+		dictionary.getId(Dictionary.Type.PLAYER, "069a79f4-44e9-4726-a5be-fca90e38aaf5");
+		dictionary.flush();
+		
+		// ENTRIES THAT WERE ADDED LATER ARE APPENDED TO THE SAME FILE
+		dictionary.getId(Dictionary.Type.MODULE, "blöck-break");
+		dictionary.getId(Dictionary.Type.WORLD, "world_nether");
+		dictionary.flush();
+		
+		Files.createDirectories(target.toPath());
+		Files.copy(new File(source, "dictionary.dat").toPath(), new File(target, "dictionary.dat").toPath());
+		
+		Dictionary copy = Dictionary.of(target);
+		
+		assertEquals("chat", copy.getValue(Dictionary.Type.MODULE, 1));
+		assertEquals("blöck-break", copy.getValue(Dictionary.Type.MODULE, 2));
+		assertEquals("069a79f4-44e9-4726-a5be-fca90e38aaf5", copy.getValue(Dictionary.Type.PLAYER, 1));
+		assertEquals(1, copy.findId(Dictionary.Type.WORLD, "world_nether"));
+		assertEquals(3, copy.getId(Dictionary.Type.MODULE, "command"));
+	}
+	
+	/**
+	 * A method used to test that entries are only stored once they were flushed.
+	 *
+	 * @throws IOException Thrown if the dictionary could not be written or read
+	 * @since 1.3
+	 */
+	@Test
+	void testUnflushedEntries() throws IOException
+	{
+		File source = new File(directory, "unflushed");
+		File target = new File(directory, "unflushed-copy");
+		
+		Dictionary dictionary = Dictionary.of(source);
+		dictionary.getId(Dictionary.Type.MODULE, "chat");
+		dictionary.flush();
+		dictionary.getId(Dictionary.Type.MODULE, "command");
+		
+		Files.createDirectories(target.toPath());
+		Files.copy(new File(source, "dictionary.dat").toPath(), new File(target, "dictionary.dat").toPath());
+		
+		Dictionary copy = Dictionary.of(target);
+		
+		assertEquals(1, copy.findId(Dictionary.Type.MODULE, "chat"));
+		assertEquals(0, copy.findId(Dictionary.Type.MODULE, "command"));
+	}
+}
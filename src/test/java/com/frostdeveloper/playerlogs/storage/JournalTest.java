@@ -0,0 +1,239 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import com.frostdeveloper.playerlogs.model.LogRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A class used to test that a {@link Journal} returns exactly the records that were not committed, also
+ * once it wrapped around and once one of its entries was damaged.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+class JournalTest
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final UUID PLAYER = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+	
+	@TempDir
+	File directory;
+	
+	/**
+	 * A method used to test that the records that were not committed are recovered in order and with every
+	 * one of their values.
+	 *
+	 * @throws IOException Thrown if the journal could not be opened or written
+	 * @since 1.3
+	 */
+	@Test
+	void testRecover() throws IOException
+	{
+		File file       = new File(directory, Journal.PREFIX + "0");
+		Journal journal = new Journal(file, 4096, 0);
+		
+		LogRecord detailed = new LogRecord(42, "2022-01-05 10:15:00", "block-break", PLAYER, "Notch", "Broke §aStöne", true, "world", -12, 64, 300, "STONE", true);
+		
+		journal.append(createRecord(0, 10));
+		journal.append(createRecord(1, 10));
+		journal.append(detailed);
+		journal.commit(1);
+		journal.close();
+		
+		journal = new Journal(file, 4096, 0);
+		List<LogRecord> records = journal.recover();
+		
+		assertEquals(2, records.size());
+		assertRecord(createRecord(1, 10), records.get(0));
+		assertRecord(detailed, records.get(1));
+		
+		// RECOVERED RECORDS ARE KEPT UNTIL THE JOURNAL IS RESET
+		journal.close();
+		journal = new Journal(file, 4096, 0);
+		assertEquals(2, journal.recover().size());
+		
+		journal.reset();
+		journal.close();
+		journal = new Journal(file, 4096, 0);
+		assertEquals(0, journal.recover().size());
+		journal.close();
+	}
+	
+	/**
+	 * A method used to test that records are recovered once the journal wrapped around, using messages of
+	 * many lengths so that both a wrap marker and a gap too small to hold one are left at the end.
+	 *
+	 * @throws IOException Thrown if the journal could not be opened or written
+	 * @since 1.3
+	 */
+	@Test
+	void testWrap() throws IOException
+	{
+		for (int length = 0; length < 64; length++) {
+			File file       = new File(directory, Journal.PREFIX + length);
+			Journal journal = new Journal(file, 1024, 0);
+			List<LogRecord> expected = new ArrayList<>();
+			
+			// WRITE ENOUGH RECORDS TO GO AROUND THE RING MORE THAN ONCE
+			for (int i = 0; i < 40; i++) {
+				LogRecord record = createRecord(i, length + i % 7);
+				journal.append(record);
+				expected.add(record);
+				
+				if (expected.size() > 2) {
+					journal.commit(1);
+					expected.remove(0);
+				}
+			}
+			journal.close();
+			
+			journal = new Journal(file, 1024, 0);
+			List<LogRecord> records = journal.recover();
+			
+			assertEquals(expected.size(), records.size(), "Records of length " + length);
+			
+			for (int i = 0; i < expected.size(); i++) {
+				assertRecord(expected.get(i), records.get(i));
+			}
+			journal.close();
+		}
+	}
+	
+	/**
+	 * A method used to test that recovering stops at an entry whose checksum does not match its record.
+	 *
+	 * @throws IOException Thrown if the journal could not be opened or written
+	 * @since 1.3
+	 */
+	@Test
+	void testChecksum() throws IOException
+	{
+		File file       = new File(directory, Journal.PREFIX + "0");
+		Journal journal = new Journal(file, 4096, 0);
+		
+		for (int i = 0; i < 3; i++) {
+			journal.append(createRecord(i, 10));
+		}
+		journal.close();
+		
+		try (RandomAccessFile access = new RandomAccessFile(file, "rw")) {
+			access.seek(Journal.HEADER_SIZE + 8);
+			
+			// DAMAGE THE LAST BYTE OF THE MESSAGE OF THE SECOND ENTRY
+			long second = Journal.HEADER_SIZE + 16 + access.readInt();
+			access.seek(second + 8);
+			long end = second + 16 + access.readInt() - 1;
+			
+			access.seek(end - 20);
+			int value = access.read();
+			access.seek(end - 20);
+			access.write(value ^ 0x01);
+		}
+		
+		journal = new Journal(file, 4096, 0);
+		List<LogRecord> records = journal.recover();
+		
+		assertEquals(1, records.size());
+		assertRecord(createRecord(0, 10), records.get(0));
+		journal.close();
+	}
+	
+	/**
+	 * A method used to test that a record that does not fit is not recovered, while the records around it
+	 * are, and that it is still committed in order.
+	 *
+	 * @throws IOException Thrown if the journal could not be opened or written
+	 * @since 1.3
+	 */
+	@Test
+	void testFull() throws IOException
+	{
+		File file       = new File(directory, Journal.PREFIX + "0");
+		Journal journal = new Journal(file, 256, 0);
+		
+		journal.append(createRecord(0, 10));
+		journal.append(createRecord(1, 500));
+		journal.append(createRecord(3, 10));
+		journal.commit(1);
+		journal.close();
+		
+		journal = new Journal(file, 256, 0);
+		List<LogRecord> records = journal.recover();
+		
+		assertEquals(1, records.size());
+		assertRecord(createRecord(3, 10), records.get(0));
+		journal.close();
+	}
+	
+	/**
+	 * A method used to test that a file that is not a journal is not opened.
+	 *
+	 * @throws IOException Thrown if the file could not be written
+	 * @since 1.3
+	 */
+	@Test
+	void testUnsupported() throws IOException
+	{
+		File file = new File(directory, Journal.PREFIX + "0");
+		
+		try (RandomAccessFile access = new RandomAccessFile(file, "rw")) {
+			access.writeInt(0x12345678);
+			access.setLength(1024);
+		}
+		IOException ex = assertThrows(IOException.class, () -> new Journal(file, 1024, 0));
+		assertTrue(ex.getMessage().contains(file.getName()));
+	}
+	
+	/**
+	 * A method used to create a record with a message of a given length.
+	 *
+	 * @param index Index of the record
+	 * @param length Length of its message
+	 * @return Created record
+	 * @since 1.3
+	 */
+	private static LogRecord createRecord(int index, int length)
+	{
+		StringBuilder message = new StringBuilder(length);
+		
+		for (int i = 0; i < length; i++) {
+			message.append((char) ('a' + (index + i) % 26));
+		}
+		return new LogRecord(index, "2022-01-05 10:15:00", "chat", index % 2 == 0 ? PLAYER : null, null, message.toString(), false);
+	}
+	
+	/**
+	 * A method used to assert that two records hold the same values.
+	 *
+	 * @param expected Expected record
+	 * @param actual Recovered record
+	 * @since 1.3
+	 */
+	private static void assertRecord(LogRecord expected, LogRecord actual)
+	{
+		assertEquals(expected.getTimestamp(), actual.getTimestamp());
+		assertEquals(expected.getDate(), actual.getDate());
+		assertEquals(expected.getModule(), actual.getModule());
+		assertEquals(expected.getPlayer(), actual.getPlayer());
+		assertEquals(expected.getName(), actual.getName());
+		assertEquals(expected.getMessage(), actual.getMessage());
+		assertEquals(expected.isModular(), actual.isModular());
+		assertEquals(expected.getWorld(), actual.getWorld());
+		assertEquals(expected.getX(), actual.getX());
+		assertEquals(expected.getY(), actual.getY());
+		assertEquals(expected.getZ(), actual.getZ());
+		assertEquals(expected.getMaterial(), actual.getMaterial());
+		assertEquals(expected.isDetail(), actual.isDetail());
+	}
+}
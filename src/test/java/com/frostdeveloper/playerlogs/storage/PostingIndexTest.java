@@ -0,0 +1,178 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import com.frostdeveloper.playerlogs.core.ChannelCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A class used to test that a {@link PostingIndex} links every line to the line before it of the same player
+ * and module, and that the newest lines are stored in the {@link ArchiveIndex} of an archive.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+class PostingIndexTest
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final String DATE = "2022-01-05 10:15:00";
+	private final ChannelCache cache = new ChannelCache(2);
+	
+	@TempDir
+	File directory;
+	
+	/**
+	 * A method used to close every index that was left open by a test.
+	 *
+	 * @since 1.3
+	 */
+	@AfterEach
+	void close()
+	{
+		cache.closeAll();
+	}
+	
+	/**
+	 * A method used to test that the posting list of a player and of a module holds exactly their own lines,
+	 * newest first.
+	 *
+	 * @throws IOException Thrown if the index could not be written
+	 * @since 1.3
+	 */
+	@Test
+	void testChains() throws IOException
+	{
+		File log           = new File(directory, "global.log");
+		PostingIndex index = new PostingIndex(log, cache);
+		
+		index.add(createBlock(0, 300), 0);
+		cache.closeAll();
+		
+		assertChain(log, Dictionary.Type.PLAYER, 2, index.getLast(Dictionary.Type.PLAYER, 2), 300);
+		assertChain(log, Dictionary.Type.MODULE, 1, index.getLast(Dictionary.Type.MODULE, 1), 300);
+		assertEquals(-1, index.getLast(Dictionary.Type.PLAYER, 4));
+	}
+	
+	/**
+	 * A method used to test that an index that is opened again restores its newest lines, so the posting
+	 * lists continue across restarts.
+	 *
+	 * @throws IOException Thrown if the index could not be written
+	 * @since 1.3
+	 */
+	@Test
+	void testReload() throws IOException
+	{
+		File log      = new File(directory, "global.log");
+		TextBlock old = createBlock(0, 100);
+		
+		new PostingIndex(log, cache).add(old, 0);
+		cache.closeAll();
+		
+		PostingIndex index = new PostingIndex(log, cache);
+		index.add(createBlock(100, 200), old.getLength());
+		cache.closeAll();
+		
+		assertChain(log, Dictionary.Type.PLAYER, 3, index.getLast(Dictionary.Type.PLAYER, 3), 200);
+		assertChain(log, Dictionary.Type.MODULE, 2, index.getLast(Dictionary.Type.MODULE, 2), 200);
+	}
+	
+	/**
+	 * A method used to test that the newest lines of an archive are stored in its archive index, and survive
+	 * being saved and loaded together with the blocks of the archive.
+	 *
+	 * @throws IOException Thrown if the index could not be written
+	 * @since 1.3
+	 */
+	@Test
+	void testMoveTo() throws IOException
+	{
+		File log           = new File(directory, "global.log");
+		File archive       = new File(directory, "global_20220105-101500_20220105-113059.log");
+		PostingIndex index = new PostingIndex(log, cache);
+		TextBlock block    = createBlock(0, 300);
+		
+		Files.write(log.toPath(), new byte[(int) block.getLength()]);
+		index.add(block, 0);
+		
+		int player = index.getLast(Dictionary.Type.PLAYER, 1);
+		int module = index.getLast(Dictionary.Type.MODULE, 2);
+		
+		Files.move(log.toPath(), archive.toPath());
+		index.moveTo(archive);
+		
+		ArchiveIndex archiveIndex = ArchiveIndex.load(archive);
+		
+		assertNotNull(archiveIndex);
+		assertEquals(player, archiveIndex.getLast(Dictionary.Type.PLAYER, 1));
+		assertEquals(module, archiveIndex.getLast(Dictionary.Type.MODULE, 2));
+		assertEquals(-1, archiveIndex.getLast(Dictionary.Type.PLAYER, 4));
+		assertEquals(-1, index.getLast(Dictionary.Type.PLAYER, 1));
+		assertChain(archive, Dictionary.Type.PLAYER, 1, archiveIndex.getLast(Dictionary.Type.PLAYER, 1), 300);
+		
+		archiveIndex.setBlocks(new long[] { 0, 1200, 2500 });
+		archiveIndex.save(new File(archive.getPath() + ".gz"));
+		
+		assertEquals(2500, ArchiveIndex.load(archive).getBlocks()[2]);
+		assertEquals(player, PostingIndex.createArchiveIndex(archive).getLast(Dictionary.Type.PLAYER, 1));
+	}
+	
+	/**
+	 * A method used to create a block whose lines belong to players one to three and modules one and two in
+	 * turn, by their timestamp.
+	 *
+	 * @param from Timestamp of the first line
+	 * @param to Timestamp after the last line
+	 * @return The block
+	 * @since 1.3
+	 */
+	private static TextBlock createBlock(int from, int to)
+	{
+		TextBlock block = new TextBlock();
+		
+		for (int i = from; i < to; i++) {
+			block.append(i, DATE, "Line " + i, i % 3 + 1, i % 2 + 1);
+		}
+		return block;
+	}
+	
+	/**
+	 * A method used to assert that a posting list holds every line of a player or module, newest first. Line
+	 * timestamps are assigned in turn as done by {@link #createBlock(int, int)}.
+	 *
+	 * @param log Target log
+	 * @param type Either a player or module
+	 * @param id Target id
+	 * @param start The newest entry of the id
+	 * @param count Amount of lines in the log
+	 * @throws IOException Thrown if the index could not be read
+	 * @since 1.3
+	 */
+	private static void assertChain(File log, Dictionary.Type type, int id, int start, int count) throws IOException
+	{
+		int modulo   = type == Dictionary.Type.PLAYER ? 3 : 2;
+		long visited = 0;
+		long last    = Long.MAX_VALUE;
+		
+		try (PostingIndex.Reader reader = PostingIndex.open(log)) {
+			for (int entry = start; entry >= 0; entry = type == Dictionary.Type.PLAYER ? reader.getPreviousPlayer() : reader.getPreviousModule()) {
+				reader.seek(entry);
+				
+				assertEquals(id, type == Dictionary.Type.PLAYER ? reader.getPlayer() : reader.getModule());
+				assertTrue(reader.getTimestamp() < last);
+				
+				last = reader.getTimestamp();
+				visited++;
+			}
+		}
+		assertEquals((count - id + modulo) / modulo, visited);
+	}
+}
@@ -0,0 +1,60 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * A class used to test that the time range of an archive is read from its name by {@link RotatingLog}.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+class RotatingLogTest
+{
+	/**
+	 * A method used to test that the range of a compressed, an uncompressed and a numbered archive is read,
+	 * the range ends at the last millisecond of its last second.
+	 *
+	 * @throws ParseException Thrown if an expected date could not be parsed
+	 * @since 1.3
+	 */
+	@Test
+	void testGetRange() throws ParseException
+	{
+		long[] expected = { toMillis("20220105-101500"), toMillis("20220105-113059") + 999 };
+		
+		assertArrayEquals(expected, RotatingLog.getRange(new File("archive", "global_20220105-101500_20220105-113059.log.gz")));
+		assertArrayEquals(expected, RotatingLog.getRange(new File("archive", "global_20220105-101500_20220105-113059.log")));
+		assertArrayEquals(expected, RotatingLog.getRange(new File("archive", "global_20220105-101500_20220105-113059.2.log.gz")));
+	}
+	
+	/**
+	 * A method used to test that a file that is not named like an archive has no range.
+	 *
+	 * @since 1.3
+	 */
+	@Test
+	void testGetRangeInvalid()
+	{
+		assertNull(RotatingLog.getRange(new File("log-files", "global.log")));
+		assertNull(RotatingLog.getRange(new File("archive", "global_20220105-101500_20220105-113059.log.pst")));
+		assertNull(RotatingLog.getRange(new File("archive", "global_20220105-101500.log.gz")));
+		assertNull(RotatingLog.getRange(new File("archive", "global_yesterday_today.log.gz")));
+	}
+	
+	/**
+	 * A method used to parse a date the way archive names are written.
+	 *
+	 * @param date Target date
+	 * @return Date in milliseconds
+	 * @throws ParseException Thrown if the date could not be parsed
+	 * @since 1.3
+	 */
+	private static long toMillis(String date) throws ParseException { return new SimpleDateFormat("yyyyMMdd-HHmmss").parse(date).getTime(); }
+}
@@ -0,0 +1,120 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A class used to test that a {@link TextBlock} encodes its lines the same way our text logs were written
+ * before, with their color codes stripped.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+class TextBlockTest
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final String DATE = "2022-01-05 10:15:00";
+	private static final String SEPARATOR = System.lineSeparator();
+	
+	/**
+	 * A method used to test that color codes written with either prefix and in either case are stripped,
+	 * while a prefix that is not followed by a color code is kept.
+	 *
+	 * @since 1.3
+	 */
+	@Test
+	void testStripColors()
+	{
+		assertEquals("Hello World!", encode("§aHello &lWorld&r!"));
+		assertEquals("Hello World", encode("§AHello &LWorld"));
+		assertEquals("Hex", encode("§x§f§f§0§0§0§0Hex"));
+		assertEquals("Fish & Chips &z", encode("Fish & Chips &z"));
+		assertEquals("Trailing &", encode("Trailing &"));
+		assertEquals("Trailing §", encode("Trailing §"));
+		assertEquals("&", encode("&&a"));
+		assertEquals("", encode("§k&0§9"));
+	}
+	
+	/**
+	 * A method used to test that messages are encoded as UTF-8, and that an unpaired surrogate is replaced.
+	 *
+	 * @since 1.3
+	 */
+	@Test
+	void testEncoding()
+	{
+		assertEquals("Broke Stöne ✓ 😀", encode("Broke §aStöne ✓ 😀"));
+		assertEquals("Half ? and ?", encode("Half \uD83D and \uDE00"));
+	}
+	
+	/**
+	 * A method used to test that the offset and length of every line point at that line, also once the
+	 * block grew, and that a cleared block starts over.
+	 *
+	 * @since 1.3
+	 */
+	@Test
+	void testLines()
+	{
+		TextBlock block = new TextBlock();
+		
+		for (int i = 0; i < 500; i++) {
+			block.append(i, DATE, "&6Line " + i, i, i % 3);
+		}
+		String content = toString(block.toBuffer());
+		
+		assertEquals(500, block.size());
+		assertEquals(content.getBytes(StandardCharsets.UTF_8).length, block.getLength());
+		assertTrue(block.getLength() > 4096);
+		
+		for (int i = 0; i < 500; i++) {
+			ByteBuffer line = block.toBuffer();
+			line.position((int) block.getOffset(i)).limit((int) block.getOffset(i) + block.getLength(i));
+			
+			assertEquals("[" + DATE + "]: Line " + i + SEPARATOR, toString(line));
+			assertEquals(i, block.getTimestamp(i));
+			assertEquals(i, block.getPlayer(i));
+			assertEquals(i % 3, block.getModule(i));
+		}
+		block.clear();
+		
+		assertTrue(block.isEmpty());
+		assertEquals(0, block.getLength());
+		
+		block.append(7, "2022-01-06 00:00:00", "§cCleared");
+		assertEquals("[2022-01-06 00:00:00]: Cleared" + SEPARATOR, toString(block.toBuffer()));
+	}
+	
+	/**
+	 * A method used to encode a single message and return it without its date and line separator.
+	 *
+	 * @param message Target message
+	 * @return Encoded message
+	 * @since 1.3
+	 */
+	private static String encode(String message)
+	{
+		TextBlock block = new TextBlock();
+		block.append(0, DATE, message);
+		
+		String line   = toString(block.toBuffer());
+		String prefix = "[" + DATE + "]: ";
+		
+		assertTrue(line.startsWith(prefix) && line.endsWith(SEPARATOR), line);
+		return line.substring(prefix.length(), line.length() - SEPARATOR.length());
+	}
+	
+	/**
+	 * A method used to decode the remaining bytes of a buffer.
+	 *
+	 * @param buffer Target buffer
+	 * @return Decoded content
+	 * @since 1.3
+	 */
+	private static String toString(ByteBuffer buffer) { return StandardCharsets.UTF_8.decode(buffer).toString(); }
+}
@@ -0,0 +1,136 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import com.frostdeveloper.playerlogs.core.ChannelCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A class used to test that {@link TimeIndex#find(File, long, long)} returns a range of the log that holds
+ * every line of a time range.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+class TimeIndexTest
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final int LINES = 1000;
+	private static final long START = 1_000_000L;
+	private final long[] offsets = new long[LINES];
+	private File log;
+	
+	@TempDir
+	File directory;
+	
+	/**
+	 * A method used to write a log of a thousand lines, one per millisecond, in blocks of a hundred lines.
+	 * An index entry is stored every {@link TimeIndex#INTERVAL_RECORDS} lines.
+	 *
+	 * @throws IOException Thrown if the log could not be written
+	 * @since 1.3
+	 */
+	@BeforeEach
+	void setUp() throws IOException
+	{
+		log = new File(directory, "global.log");
+		
+		ChannelCache cache = new ChannelCache(1);
+		TimeIndex index    = new TimeIndex(log, cache);
+		TextBlock block    = new TextBlock();
+		
+		try (FileChannel channel = FileChannel.open(log.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			for (int i = 0; i < LINES; i++) {
+				block.append(START + i, "2022-01-05 10:15:00", "Line " + i + " of our log");
+				
+				if (block.size() == 100 || i == LINES - 1) {
+					long position = channel.size();
+					
+					for (int j = 0; j < block.size(); j++) {
+						offsets[i - block.size() + 1 + j] = position + block.getOffset(j);
+					}
+					ByteBuffer buffer = block.toBuffer();
+					
+					while (buffer.hasRemaining()) {
+						channel.write(buffer, channel.size());
+					}
+					index.add(block, position);
+					block.clear();
+				}
+			}
+		}
+		finally {
+			cache.closeAll();
+		}
+	}
+	
+	/**
+	 * A method used to test that a range starts at the entry before the time range and ends one entry after
+	 * it, or at the end of the log.
+	 *
+	 * @throws IOException Thrown if the index could not be read
+	 * @since 1.3
+	 */
+	@Test
+	void testFind() throws IOException
+	{
+		assertArrayEquals(new long[] { offsets[256], offsets[768] }, TimeIndex.find(log, START + 300, START + 400));
+		assertArrayEquals(new long[] { 0, offsets[512] }, TimeIndex.find(log, 0, START + 100));
+		assertArrayEquals(new long[] { offsets[768], log.length() }, TimeIndex.find(log, START + 900, Long.MAX_VALUE - 1));
+	}
+	
+	/**
+	 * A method used to test that every line of a time range lies inside the range that was returned.
+	 *
+	 * @throws IOException Thrown if the index could not be read
+	 * @since 1.3
+	 */
+	@Test
+	void testFindContainsRange() throws IOException
+	{
+		for (int since = 0; since < LINES; since += 37) {
+			for (int until = since; until < LINES; until += 53) {
+				long[] range = TimeIndex.find(log, START + since, START + until);
+				
+				assertTrue(range[0] <= offsets[since], "Range of " + since + " starts too late");
+				assertTrue(range[1] >= (until + 1 < LINES ? offsets[until + 1] : log.length()), "Range of " + until + " ends too early");
+			}
+		}
+	}
+	
+	/**
+	 * A method used to test that a log without a usable index is read as a whole, this includes a missing
+	 * index, an empty index and an index that belongs to an older, longer log.
+	 *
+	 * @throws IOException Thrown if the index could not be read
+	 * @since 1.3
+	 */
+	@Test
+	void testFindWithoutIndex() throws IOException
+	{
+		File index = TimeIndex.getFile(log);
+		
+		try (RandomAccessFile file = new RandomAccessFile(log, "rw")) {
+			file.setLength(offsets[700]);
+		}
+		assertArrayEquals(new long[] { 0, offsets[700] }, TimeIndex.find(log, START, START + 10));
+		
+		try (RandomAccessFile file = new RandomAccessFile(index, "rw")) {
+			file.setLength(0);
+		}
+		assertArrayEquals(new long[] { 0, offsets[700] }, TimeIndex.find(log, START, START + 10));
+		
+		TimeIndex.delete(log);
+		assertArrayEquals(new long[] { 0, offsets[700] }, TimeIndex.find(log, START, START + 10));
+	}
+}
@@ -0,0 +1,151 @@
+package com.frostdeveloper.playerlogs.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A class used to test that every value written by {@link VarInt} is read back as it was written.
+ *
+ * @author OMGitzFROST
+ * @since 1.3
+ */
+class VarIntTest
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final int[] INTS = { 0, 1, 127, 128, 16383, 16384, 1 << 21, Integer.MAX_VALUE, -1, Integer.MIN_VALUE };
+	private static final long[] LONGS = { 0, 1, 127, 128, 1L << 35, 1L << 56, Long.MAX_VALUE, -1, Long.MIN_VALUE };
+	
+	/**
+	 * A method used to test that unsigned integers and longs are read back as they were written.
+	 *
+	 * @throws IOException Thrown if a value could not be written or read
+	 * @since 1.3
+	 */
+	@Test
+	void testUnsignedRoundTrip() throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream output     = new DataOutputStream(bytes);
+		
+		for (int value : INTS) {
+			VarInt.writeInt(output, value);
+		}
+		
+		for (long value : LONGS) {
+			VarInt.writeLong(output, value);
+		}
+		DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		
+		for (int value : INTS) {
+			assertEquals(value, VarInt.readInt(input));
+		}
+		
+		for (long value : LONGS) {
+			assertEquals(value, VarInt.readLong(input));
+		}
+		assertEquals(0, input.available());
+	}
+	
+	/**
+	 * A method used to test that signed integers and longs are read back as they were written.
+	 *
+	 * @throws IOException Thrown if a value could not be written or read
+	 * @since 1.3
+	 */
+	@Test
+	void testSignedRoundTrip() throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream output     = new DataOutputStream(bytes);
+		
+		for (int value : INTS) {
+			VarInt.writeSignedInt(output, value);
+		}
+		
+		for (long value : LONGS) {
+			VarInt.writeSignedLong(output, value);
+		}
+		DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		
+		for (int value : INTS) {
+			assertEquals(value, VarInt.readSignedInt(input));
+		}
+		
+		for (long value : LONGS) {
+			assertEquals(value, VarInt.readSignedLong(input));
+		}
+		assertEquals(0, input.available());
+	}
+	
+	/**
+	 * A method used to test that small values, including small negative values once signed, only take up
+	 * as many bytes as they need.
+	 *
+	 * @throws IOException Thrown if a value could not be written
+	 * @since 1.3
+	 */
+	@Test
+	void testEncodedLength() throws IOException
+	{
+		assertEquals(1, writeInt(127).length);
+		assertEquals(2, writeInt(128).length);
+		assertEquals(5, writeInt(-1).length);
+		assertEquals(1, writeSignedInt(-1).length);
+		assertEquals(1, writeSignedInt(63).length);
+		assertEquals(2, writeSignedInt(64).length);
+	}
+	
+	/**
+	 * A method used to test that a value that was cut off or never ends is not read.
+	 *
+	 * @since 1.3
+	 */
+	@Test
+	void testMalformedInput()
+	{
+		byte[] truncated = { (byte) 0x80 };
+		byte[] endless   = { (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01 };
+		
+		assertThrows(EOFException.class, () -> VarInt.readInt(new DataInputStream(new ByteArrayInputStream(truncated))));
+		assertThrows(IOException.class, () -> VarInt.readInt(new DataInputStream(new ByteArrayInputStream(endless))));
+	}
+	
+	/**
+	 * A method used to encode an unsigned integer.
+	 *
+	 * @param value Target value
+	 * @return Encoded value
+	 * @throws IOException Thrown if the value could not be written
+	 * @since 1.3
+	 */
+	private static byte[] writeInt(int value) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		VarInt.writeInt(new DataOutputStream(bytes), value);
+		return bytes.toByteArray();
+	}
+	
+	/**
+	 * A method used to encode a signed integer.
+	 *
+	 * @param value Target value
+	 * @return Encoded value
+	 * @throws IOException Thrown if the value could not be written
+	 * @since 1.3
+	 */
+	private static byte[] writeSignedInt(int value) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		VarInt.writeSignedInt(new DataOutputStream(bytes), value);
+		return bytes.toByteArray();
+	}
+}